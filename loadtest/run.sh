@@ -0,0 +1,28 @@
+#!/bin/sh
+# Compara threads de plataforma e threads virtuais sob a mesma carga.
+# Pré-requisitos: Docker e o jar construído (./mvnw package -DskipTests).
+# Uso: loadtest/run.sh [latencia-smtp-ms] [endpoint]
+set -e
+
+LATENCY_MS=${1:-200}
+ENDPOINT=${2:-/api/notification/send-email}
+DIR=$(cd "$(dirname "$0")" && pwd)
+COMPOSE="docker compose -f $DIR/docker-compose.yml"
+
+$COMPOSE up -d --build
+trap '$COMPOSE down' EXIT
+
+$COMPOSE exec -T toxiproxy /toxiproxy-cli create -l 0.0.0.0:1026 -u mailpit:1025 smtp >/dev/null
+$COMPOSE exec -T toxiproxy /toxiproxy-cli toxic add -t latency -a latency="$LATENCY_MS" smtp >/dev/null
+
+for mode in platform virtual; do
+  port=8083
+  [ "$mode" = virtual ] && port=8084
+  until curl -sf "http://localhost:$port/actuator/health" >/dev/null; do sleep 2; done
+
+  echo "=== $mode threads (SMTP +${LATENCY_MS}ms) ==="
+  docker run --rm -i --network host -v "$DIR:/scripts" grafana/k6 run \
+    -e BASE_URL="http://localhost:$port" -e ENDPOINT="$ENDPOINT" \
+    --summary-export "/scripts/summary-$mode.json" /scripts/send-email.js \
+    | grep -E "http_reqs|http_req_duration|http_req_failed|vus_max"
+done
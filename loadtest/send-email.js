@@ -0,0 +1,41 @@
+// Carga crescente no envio síncrono: cada VU mantém uma requisição aberta, então o número de VUs é a concorrência.
+// Uso: k6 run -e BASE_URL=http://localhost:8083 -e ENDPOINT=/api/notification/send-email loadtest/send-email.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8083';
+const ENDPOINT = __ENV.ENDPOINT || '/api/notification/send-email';
+
+export const options = {
+  scenarios: {
+    ramp: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: 50 },
+        { duration: '30s', target: 200 },
+        { duration: '30s', target: 500 },
+        { duration: '30s', target: 1000 },
+        { duration: '30s', target: 1000 },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+const payload = JSON.stringify({
+  to: 'cliente@loadtest.local',
+  subject: 'Teste de carga',
+  body: '<h1>Seu pedido mudou de status</h1><p>Pedido em preparação.</p>',
+});
+
+const params = { headers: { 'Content-Type': 'application/json' }, timeout: '60s' };
+
+export default function () {
+  const res = http.post(`${BASE_URL}${ENDPOINT}`, payload, params);
+  check(res, { 'status 2xx': (r) => r.status >= 200 && r.status < 300 });
+}
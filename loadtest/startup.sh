@@ -0,0 +1,78 @@
+#!/bin/sh
+# Mede o tempo até o /actuator/health responder e a memória residente (RSS) logo depois, em cada modo de execução:
+# jvm (jar extraído), cds (com o arquivo CDS gerado aqui), aot-cds (se o jar foi construído com -Paot) e native (se
+# existir target/notifiation-service, de ./mvnw -Pnative native:compile). Todos sobem com o perfil prod.
+# Pré-requisitos: JDK 21 e o jar construído (./mvnw package -DskipTests).
+# Uso: loadtest/startup.sh [execucoes] [jar]
+# A mediana de cada modo é somada a loadtest/startup-results.csv para comparar entre versões.
+set -e
+
+DIR=$(cd "$(dirname "$0")" && pwd)
+ROOT=$(dirname "$DIR")
+RUNS=${1:-5}
+JAR=$(cd "$ROOT" && realpath "${2:-$(ls target/*.jar | grep -v -- '-plain.jar' | head -1)}")
+PORT=${PORT:-18080}
+RESULTS="$DIR/startup-results.csv"
+VERSION=$(git -C "$ROOT" describe --always --dirty 2>/dev/null || echo desconhecida)
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+export EMAIL_USER=${EMAIL_USER:-startup} EMAIL_PASS=${EMAIL_PASS:-startup} EMAIL_FROM=${EMAIL_FROM:-no-reply@startup.local}
+export SPRING_PROFILES_ACTIVE=prod
+
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK/app" >/dev/null
+cd "$WORK/app"
+APP=$(basename "$JAR")
+
+AOT=false
+if jar tf "$APP" | grep -q '__ApplicationContextInitializer.class'; then
+  AOT=true
+fi
+
+# Treino do CDS, como no Dockerfile: sobe o contexto, sai e grava as classes carregadas
+java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh -Dspring.aot.enabled=$AOT -jar "$APP" \
+  >"$WORK/training.log" 2>&1
+rm -rf data
+
+# Sobe o processo RUNS vezes e imprime "modo inicio_ms rss_mb" com a mediana de cada coluna
+measure() {
+  mode=$1
+  shift
+  : >"$WORK/$mode.txt"
+  for i in $(seq "$RUNS"); do
+    start=$(date +%s%N)
+    "$@" --server.port="$PORT" >"$WORK/$mode.log" 2>&1 &
+    pid=$!
+    # Qualquer resposta conta: sem SMTP acessível o health responde 503, mas a aplicação já está de pé
+    until curl -s -o /dev/null "http://localhost:$PORT/actuator/health"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$mode não subiu:" >&2
+        tail -20 "$WORK/$mode.log" >&2
+        exit 1
+      fi
+      sleep 0.02
+    done
+    end=$(date +%s%N)
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -rf data
+    echo "$(( (end - start) / 1000000 )) $(( rss / 1024 ))" >>"$WORK/$mode.txt"
+  done
+  middle=$(( (RUNS + 1) / 2 ))
+  startup=$(cut -d' ' -f1 "$WORK/$mode.txt" | sort -n | sed -n "${middle}p")
+  rss=$(cut -d' ' -f2 "$WORK/$mode.txt" | sort -n | sed -n "${middle}p")
+  printf '%-8s %6s ms %6s MB\n' "$mode" "$startup" "$rss"
+  [ -f "$RESULTS" ] || echo "data,versao,modo,execucoes,inicio_ms,rss_mb" >"$RESULTS"
+  echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$VERSION,$mode,$RUNS,$startup,$rss" >>"$RESULTS"
+}
+
+echo "=== $VERSION: mediana de $RUNS execução(ões) ==="
+measure jvm java $JAVA_OPTS -jar "$APP"
+measure cds java -XX:SharedArchiveFile=app.jsa $JAVA_OPTS -jar "$APP"
+if [ "$AOT" = true ]; then
+  measure aot-cds java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true $JAVA_OPTS -jar "$APP"
+fi
+if [ -x "$ROOT/target/notifiation-service" ]; then
+  measure native "$ROOT/target/notifiation-service"
+fi
@@ -0,0 +1,20 @@
+package com.fiap.notification_service.benchmark;
+
+final class EmailBodies {
+
+    private static final String PARAGRAPH = "<p>Olá! Seu pedido está em preparação e será entregue em breve. Ação, atenção e obrigação.</p>\n";
+
+    private EmailBodies() {
+    }
+
+    // Corpo HTML com acentos, para exercitar a codificação quoted-printable
+    static String html(int size) {
+        StringBuilder body = new StringBuilder(size + PARAGRAPH.length());
+        body.append("<html><body>\n");
+        while (body.length() < size) {
+            body.append(PARAGRAPH);
+        }
+        body.setLength(size);
+        return body.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.fiap.notification_service.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGatewayImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HtmlContentBenchmark {
+
+    private final EmailNotificationGatewayImpl gateway = new EmailNotificationGatewayImpl(null, "no-reply@fiap.com.br");
+
+    private final UUID orderId = UUID.randomUUID();
+
+    @Benchmark
+    public String buildHtmlContent() {
+        return gateway.buildHtmlContent(orderId, "PRONTO");
+    }
+}
@@ -0,0 +1,93 @@
+package com.fiap.notification_service.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.fiap.notification_service.core.gateways.notification.mime.PreEncodedMimeMessage;
+
+import jakarta.mail.Message.RecipientType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+// Custo de montar a mensagem com MimeMessageHelper e de codificá-la como seria enviada no DATA, contra a cópia a
+// partir do MIME já codificado (o que o EncodedMimeCache devolve para um conteúdo repetido)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MimeMessageBuildBenchmark {
+
+    @Param({"256", "16384", "262144"})
+    private int bodySize;
+
+    private Session session;
+
+    private String body;
+
+    private byte[] encoded;
+
+    private InternetAddress[] recipients;
+
+    @Setup
+    public void setUp() throws MessagingException, IOException {
+        session = Session.getInstance(new Properties());
+        body = EmailBodies.html(bodySize);
+        MimeMessage template = build();
+        template.removeHeader("To");
+        template.saveChanges();
+        template.removeHeader("Message-ID");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        template.writeTo(out);
+        encoded = out.toByteArray();
+        recipients = InternetAddress.parse("cliente@teste.com");
+    }
+
+    @Benchmark
+    public MimeMessage build() throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("no-reply@fiap.com.br");
+        helper.setTo("cliente@teste.com");
+        helper.setSubject("Atualização do pedido");
+        helper.setText(body, true);
+        return message;
+    }
+
+    @Benchmark
+    public MimeMessage buildAndEncode() throws MessagingException, IOException {
+        MimeMessage message = build();
+        message.writeTo(OutputStream.nullOutputStream());
+        return message;
+    }
+
+    @Benchmark
+    public MimeMessage copyPreEncodedAndEncode() throws MessagingException, IOException {
+        PreEncodedMimeMessage message = new PreEncodedMimeMessage(session, encoded);
+        message.setRecipients(RecipientType.TO, recipients);
+        message.setSentDate(new Date());
+        message.saveChanges();
+        message.writeTo(OutputStream.nullOutputStream());
+        return message;
+    }
+}
@@ -0,0 +1,84 @@
+package com.fiap.notification_service.benchmark;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGatewayImpl;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics;
+import com.fiap.notification_service.core.gateways.notification.mime.EncodedMimeCache;
+import com.fiap.notification_service.core.gateways.notification.smtp.PooledJavaMailSender;
+import com.fiap.notification_service.core.gateways.notification.smtp.SmtpTransportPoolSettings;
+
+// Caminho completo de EmailNotificationGatewayImpl.sendEmail contra um servidor SMTP em processo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SendEmailBenchmark {
+
+    @Param({"pooled", "plain"})
+    private String sender;
+
+    @Param({"1024", "65536"})
+    private int bodySize;
+
+    // Com o cache, o mesmo corpo sai dos bytes MIME já codificados a partir do segundo envio
+    @Param({"false", "true"})
+    private boolean mimeCache;
+
+    private FakeSmtpServer server;
+
+    private JavaMailSenderImpl mailSender;
+
+    private EmailNotificationGatewayImpl gateway;
+
+    private String body;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = FakeSmtpServer.start();
+        mailSender = "pooled".equals(sender)
+                ? new PooledJavaMailSender(new SmtpTransportPoolSettings(1, 8, Duration.ofSeconds(5),
+                        Duration.ofMinutes(1), Duration.ofSeconds(30), Duration.ZERO))
+                : new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.getPort());
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", "false");
+        mailSender.setJavaMailProperties(properties);
+        gateway = new EmailNotificationGatewayImpl(mailSender, "no-reply@fiap.com.br", 50, EmailMetrics.NOOP, 100,
+                mimeCache ? new EncodedMimeCache(32L << 20, 10_000) : null);
+        body = EmailBodies.html(bodySize);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (mailSender instanceof PooledJavaMailSender pooled) {
+            pooled.destroy();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public void sendEmail() {
+        gateway.sendEmail("cliente@teste.com", "Atualização do pedido", body);
+    }
+}
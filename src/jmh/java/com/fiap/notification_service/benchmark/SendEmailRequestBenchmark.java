@@ -0,0 +1,121 @@
+package com.fiap.notification_service.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.notification_service._webApi.codec.SendEmailRequestJsonReader;
+import com.fiap.notification_service._webApi.dto.SendEmailRequestDTO;
+import com.fiap.notification_service._webApi.validation.NotificationRequestValidator;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+// Leitura do JSON de /send-email com a mesma configuração do Jackson do Spring, seguida da Bean Validation, contra o
+// caminho rápido (SendEmailRequestJsonReader + NotificationRequestValidator). Compare com -prof gc (gc.alloc.rate.norm)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SendEmailRequestBenchmark {
+
+    @Param({"body", "template"})
+    private String payload;
+
+    private ObjectMapper objectMapper;
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private SpringValidatorAdapter beanValidation;
+
+    private SendEmailRequestJsonReader reader;
+
+    private NotificationRequestValidator fastValidator;
+
+    private SendEmailRequestDTO request;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        beanValidation = new SpringValidatorAdapter(validator);
+        reader = new SendEmailRequestJsonReader(objectMapper);
+        fastValidator = new NotificationRequestValidator(beanValidation);
+        String content = "body".equals(payload)
+                ? "{\"to\":\"cliente@teste.com\",\"subject\":\"Atualização do pedido\",\"body\":\"" + EmailBodies.html(2048).replace("\"", "'").replace("\n", "\\n") + "\"}"
+                : "{\"to\":\"cliente@teste.com\",\"subject\":\"Atualização do pedido\",\"templateId\":\"order-status\",\"variables\":{\"orderId\":\"123\",\"status\":\"PRONTO\"}}";
+        json = content.getBytes(StandardCharsets.UTF_8);
+        request = reader.read(json);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public SendEmailRequestDTO deserialize() throws IOException {
+        return objectMapper.readValue(json, SendEmailRequestDTO.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SendEmailRequestDTO>> deserializeAndValidate() throws IOException {
+        return validator.validate(objectMapper.readValue(json, SendEmailRequestDTO.class));
+    }
+
+    @Benchmark
+    public SendEmailRequestDTO read() throws IOException {
+        return reader.read(json);
+    }
+
+    @Benchmark
+    public Errors readAndValidate() throws IOException {
+        SendEmailRequestDTO dto = reader.read(json);
+        Errors errors = new BeanPropertyBindingResult(dto, "sendEmailRequestDTO");
+        fastValidator.validate(dto, errors);
+        return errors;
+    }
+
+    // Só a validação, com o DTO já lido, pelos dois validadores que o Spring MVC pode usar
+    @Benchmark
+    public Errors validateBeanValidation() {
+        Errors errors = new BeanPropertyBindingResult(request, "sendEmailRequestDTO");
+        beanValidation.validate(request, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors validateFast() {
+        Errors errors = new BeanPropertyBindingResult(request, "sendEmailRequestDTO");
+        fastValidator.validate(request, errors);
+        return errors;
+    }
+}
@@ -0,0 +1,304 @@
+package com.fiap.notification_service._messaging.consumer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.notification_service._webApi.codec.SendEmailRequestJsonReader;
+import com.fiap.notification_service._webApi.dto.SendEmailRequestDTO;
+import com.fiap.notification_service.core.controller.NotificationController;
+import com.fiap.notification_service.core.controller.NotificationGateways;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.InboundMessage;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+import com.fiap.notification_service.core.gateways.notification.DispatchCallback;
+import com.fiap.notification_service.core.gateways.notification.ingestion.NotificationSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consome notificações de um broker e as entrega à fila de envio assíncrono. Cada consumidor só busca
+ * tantas mensagens quantas a fila de envio e o limite de mensagens sem ack comportam, e o ack só é dado
+ * quando o e-mail é enviado.
+ */
+@Slf4j
+public class NotificationIngestionConsumer implements MeterBinder, AutoCloseable {
+
+    private static final long BACKPRESSURE_PAUSE_MS = 50;
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+    private final NotificationSource source;
+
+    private final NotificationController notificationController;
+
+    private final SendEmailRequestJsonReader requestReader;
+
+    private final Validator validator;
+
+    private final int batchSize;
+
+    private final Duration pollTimeout;
+
+    private final int maxInFlight;
+
+    private final List<Thread> consumers;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Mensagens em andamento mais as vagas reservadas por consumidores aguardando o poll
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicLong acked = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong requeued = new AtomicLong();
+
+    private final AtomicLong backpressurePauses = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    @Builder
+    private NotificationIngestionConsumer(NotificationSource source, NotificationGateways notificationGateways,
+            ObjectMapper objectMapper, Validator validator, int concurrency, int batchSize, Duration pollTimeout,
+            int maxInFlight, ThreadFactory threadFactory) {
+        if (concurrency < 1 || batchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("O consumidor precisa de concorrência, lote e limite de mensagens positivos");
+        }
+        this.source = source;
+        this.notificationController = NotificationController.build(notificationGateways);
+        this.requestReader = new SendEmailRequestJsonReader(objectMapper);
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.pollTimeout = pollTimeout != null ? pollTimeout : Duration.ofSeconds(1);
+        this.maxInFlight = maxInFlight;
+        ThreadFactory factory = threadFactory != null ? threadFactory : consumerThreadFactory();
+        this.consumers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread consumer = factory.newThread(this::consume);
+            consumers.add(consumer);
+            consumer.start();
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void consume() {
+        while (running) {
+            int permits = reservePermits();
+            if (permits <= 0) {
+                backpressurePauses.incrementAndGet();
+                if (!pause()) {
+                    return;
+                }
+                continue;
+            }
+            List<InboundMessage> batch;
+            try {
+                batch = source.poll(permits, pollTimeout);
+            } catch (InterruptedException e) {
+                outstanding.addAndGet(-permits);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                outstanding.addAndGet(-permits);
+                log.warn("Falha ao buscar mensagens no broker: {}", e.getMessage());
+                if (!pause()) {
+                    return;
+                }
+                continue;
+            }
+            outstanding.addAndGet(batch.size() - permits);
+            for (int i = 0; i < batch.size(); i++) {
+                if (!handle(batch.get(i))) {
+                    // A fila de envio encheu entre a consulta e o envio: devolve o resto do lote ao broker
+                    for (int j = i; j < batch.size(); j++) {
+                        outstanding.decrementAndGet();
+                        source.nack(batch.get(j), true);
+                        requeued.incrementAndGet();
+                    }
+                    backpressurePauses.incrementAndGet();
+                    if (!pause()) {
+                        return;
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    // Reserva as vagas antes do poll para que consumidores concorrentes não passem juntos de maxInFlight
+    private int reservePermits() {
+        while (true) {
+            int current = outstanding.get();
+            int permits = Math.min(batchSize,
+                    Math.min(notificationController.getDispatchCapacity(), maxInFlight - current));
+            if (permits <= 0) {
+                return 0;
+            }
+            if (outstanding.compareAndSet(current, current + permits)) {
+                return permits;
+            }
+        }
+    }
+
+    // false quando a fila de envio recusou a mensagem e ela precisa voltar ao broker
+    private boolean handle(InboundMessage message) {
+        SendEmailRequestDTO dto;
+        String body;
+        try {
+            dto = requestReader.read(message.payload());
+            Set<ConstraintViolation<SendEmailRequestDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.iterator().next().getMessage());
+            }
+            if (dto.hasAttachments()) {
+                throw new IllegalArgumentException("Anexos não são aceitos pela ingestão por broker");
+            }
+            body = notificationController.renderBody(dto.body(), dto.templateId(), dto.variables());
+        } catch (IOException | RuntimeException e) {
+            // Reenviar uma mensagem inválida não vai resolver
+            outstanding.decrementAndGet();
+            rejected.incrementAndGet();
+            log.warn("Mensagem {} rejeitada: {}", message.messageId(), e.getMessage());
+            source.nack(message, false);
+            return true;
+        }
+        if (dto.isScheduled()) {
+            return schedule(message, dto, body);
+        }
+        inFlight.incrementAndGet();
+        try {
+            notificationController.dispatchEmail(dto.to(), dto.subject(), body, new AckOnSend(message));
+            return true;
+        } catch (DispatchQueueFullException e) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+    }
+
+    // O agendamento já fica durável no outbox, então o ack sai na hora em vez de segurar a mensagem até o envio
+    private boolean schedule(InboundMessage message, SendEmailRequestDTO dto, String body) {
+        try {
+            notificationController.scheduleEmail(dto.to(), dto.subject(), body, dto.deliverAt());
+        } catch (DispatchQueueFullException e) {
+            return false;
+        } catch (RuntimeException e) {
+            outstanding.decrementAndGet();
+            rejected.incrementAndGet();
+            log.warn("Agendamento da mensagem {} rejeitado: {}", message.messageId(), e.getMessage());
+            source.nack(message, false);
+            return true;
+        }
+        outstanding.decrementAndGet();
+        acked.incrementAndGet();
+        source.ack(message);
+        return true;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(BACKPRESSURE_PAUSE_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private final class AckOnSend implements DispatchCallback {
+
+        private final InboundMessage message;
+
+        private AckOnSend(InboundMessage message) {
+            this.message = message;
+        }
+
+        @Override
+        public void onSent(EmailNotification notification) {
+            inFlight.decrementAndGet();
+            outstanding.decrementAndGet();
+            acked.incrementAndGet();
+            source.ack(message);
+        }
+
+        @Override
+        public void onFailed(EmailNotification notification, String reason) {
+            // As retentativas já foram feitas pela fila de envio, que guardou a notificação na dead-letter
+            inFlight.decrementAndGet();
+            outstanding.decrementAndGet();
+            failed.incrementAndGet();
+            source.nack(message, false);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("notification.ingestion.messages", acked, AtomicLong::get)
+                .tag("result", "acked")
+                .description("Mensagens do broker por resultado")
+                .register(registry);
+        FunctionCounter.builder("notification.ingestion.messages", failed, AtomicLong::get)
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("notification.ingestion.messages", rejected, AtomicLong::get)
+                .tag("result", "rejected")
+                .register(registry);
+        FunctionCounter.builder("notification.ingestion.messages", requeued, AtomicLong::get)
+                .tag("result", "requeued")
+                .register(registry);
+        FunctionCounter.builder("notification.ingestion.backpressure.pauses", backpressurePauses, AtomicLong::get)
+                .description("Pausas do consumidor com a fila de envio cheia")
+                .register(registry);
+        Gauge.builder("notification.ingestion.inflight", inFlight, AtomicInteger::get)
+                .description("Mensagens entregues à fila de envio aguardando ack")
+                .register(registry);
+    }
+
+    // Mensagens ainda sem ack ficam no broker e são reentregues por ele
+    @Override
+    public void close() {
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        for (Thread consumer : consumers) {
+            long remaining = deadline - System.currentTimeMillis();
+            try {
+                if (remaining > 0) {
+                    consumer.join(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (consumer.isAlive()) {
+                consumer.interrupt();
+            }
+        }
+    }
+
+    private static ThreadFactory consumerThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "notification-ingestion-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
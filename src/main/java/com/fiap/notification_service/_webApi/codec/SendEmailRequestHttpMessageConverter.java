@@ -0,0 +1,58 @@
+package com.fiap.notification_service._webApi.codec;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchRequestDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailRequestDTO;
+
+// Só leitura, só dos DTOs de envio e só em UTF-8; o resto (e qualquer resposta) continua com o conversor Jackson
+public class SendEmailRequestHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final SendEmailRequestJsonReader reader;
+
+    public SendEmailRequestHttpMessageConverter(SendEmailRequestJsonReader reader) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.reader = reader;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == SendEmailRequestDTO.class || clazz == SendEmailBatchRequestDTO.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        Charset charset = mediaType != null ? mediaType.getCharset() : null;
+        return (charset == null || charset.equals(StandardCharsets.UTF_8)) && super.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return clazz == SendEmailBatchRequestDTO.class
+                    ? reader.readBatch(inputMessage.getBody())
+                    : reader.read(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) {
+        throw new UnsupportedOperationException("SendEmailRequestHttpMessageConverter só lê requisições");
+    }
+}
@@ -0,0 +1,323 @@
+package com.fiap.notification_service._webApi.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fiap.notification_service._webApi.dto.AttachmentReferenceDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchRequestDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailRequestDTO;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+
+/**
+ * Lê o JSON de /send-email (e do lote) direto dos tokens do JsonParser, sem o databind: nada de introspecção do record,
+ * deserializadores por campo ou buffers intermediários, só as Strings e o próprio DTO. Aceita o mesmo que o ObjectMapper
+ * do Spring aceita para esses DTOs: campos desconhecidos são ignorados, números e booleanos viram texto, sendAt e delay
+ * vêm em ISO-8601 ou em segundos, priority pelo nome da constante. O resto falha com MismatchedInputException, como no databind.
+ */
+public class SendEmailRequestJsonReader {
+
+    private final JsonFactory jsonFactory;
+
+    public SendEmailRequestJsonReader(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public SendEmailRequestDTO read(byte[] json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return readRequest(parser, firstToken(parser, SendEmailRequestDTO.class));
+        }
+    }
+
+    public SendEmailRequestDTO read(InputStream json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return readRequest(parser, firstToken(parser, SendEmailRequestDTO.class));
+        }
+    }
+
+    public SendEmailBatchRequestDTO readBatch(InputStream json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            JsonToken token = firstToken(parser, SendEmailBatchRequestDTO.class);
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            expectObject(parser, token, SendEmailBatchRequestDTO.class);
+            List<SendEmailRequestDTO> messages = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("messages".equals(field)) {
+                    messages = readList(parser, value);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new SendEmailBatchRequestDTO(messages);
+        }
+    }
+
+    private static JsonToken firstToken(JsonParser parser, Class<?> type) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw MismatchedInputException.from(parser, type, "No content to map due to end-of-input");
+        }
+        return token;
+    }
+
+    private static List<SendEmailRequestDTO> readList(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expectArray(parser, token, List.class);
+        List<SendEmailRequestDTO> messages = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            messages.add(readRequest(parser, token));
+        }
+        return messages;
+    }
+
+    private static SendEmailRequestDTO readRequest(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expectObject(parser, token, SendEmailRequestDTO.class);
+        String to = null;
+        String subject = null;
+        String body = null;
+        String templateId = null;
+        Map<String, String> variables = null;
+        List<AttachmentReferenceDTO> attachments = null;
+        Instant sendAt = null;
+        Duration delay = null;
+        NotificationPriority priority = null;
+        String tenant = null;
+        // Os nomes de campo vêm canonicalizados (internados) pelo parser, então o switch não aloca
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "to" -> to = readText(parser, value);
+                case "subject" -> subject = readText(parser, value);
+                case "body" -> body = readText(parser, value);
+                case "templateId" -> templateId = readText(parser, value);
+                case "variables" -> variables = readVariables(parser, value);
+                case "attachments" -> attachments = readAttachments(parser, value);
+                case "sendAt" -> sendAt = readInstant(parser, value);
+                case "delay" -> delay = readDuration(parser, value);
+                case "priority" -> priority = readPriority(parser, value);
+                case "tenant" -> tenant = readText(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new SendEmailRequestDTO(to, subject, body, templateId, variables, attachments, sendAt, delay, priority,
+                tenant);
+    }
+
+    private static Map<String, String> readVariables(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expectObject(parser, token, Map.class);
+        Map<String, String> variables = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            variables.put(name, readText(parser, parser.nextToken()));
+        }
+        return variables;
+    }
+
+    private static List<AttachmentReferenceDTO> readAttachments(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expectArray(parser, token, List.class);
+        List<AttachmentReferenceDTO> attachments = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            attachments.add(readAttachment(parser, token));
+        }
+        return attachments;
+    }
+
+    private static AttachmentReferenceDTO readAttachment(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expectObject(parser, token, AttachmentReferenceDTO.class);
+        String uri = null;
+        String fileName = null;
+        String contentType = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "uri" -> uri = readText(parser, value);
+                case "fileName" -> fileName = readText(parser, value);
+                case "contentType" -> contentType = readText(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new AttachmentReferenceDTO(uri, fileName, contentType);
+    }
+
+    private static String readText(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NULL -> null;
+            case VALUE_STRING, VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT, VALUE_TRUE, VALUE_FALSE -> parser.getText();
+            default -> throw mismatch(parser, String.class, token);
+        };
+    }
+
+    // ISO-8601 (com Z ou offset) ou segundos desde a época, em número ou texto, como o InstantDeserializer
+    private static Instant readInstant(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                return Instant.ofEpochSecond(parser.getLongValue());
+            case VALUE_NUMBER_FLOAT:
+                return epochSeconds(parser.getDecimalValue());
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return isDecimal(text) ? epochSeconds(new BigDecimal(text)) : Instant.parse(text);
+                } catch (DateTimeException | NumberFormatException | ArithmeticException e) {
+                    throw InvalidFormatException.from(parser, "Cannot deserialize value of type `java.time.Instant` "
+                            + "from String \"" + text + "\": " + e.getMessage(), text, Instant.class);
+                }
+            default:
+                throw mismatch(parser, Instant.class, token);
+        }
+    }
+
+    // ISO-8601 (PT30M) ou segundos em número, como o DurationDeserializer
+    private static Duration readDuration(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                return Duration.ofSeconds(parser.getLongValue());
+            case VALUE_NUMBER_FLOAT:
+                BigDecimal seconds = parser.getDecimalValue();
+                return Duration.ofSeconds(seconds.longValue(), nanosOf(seconds));
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return Duration.parse(text);
+                } catch (DateTimeException e) {
+                    throw InvalidFormatException.from(parser, "Cannot deserialize value of type `java.time.Duration` "
+                            + "from String \"" + text + "\": " + e.getMessage(), text, Duration.class);
+                }
+            default:
+                throw mismatch(parser, Duration.class, token);
+        }
+    }
+
+    // Como o EnumDeserializer: o nome exato da constante ou o índice em número
+    private static NotificationPriority readPriority(JsonParser parser, JsonToken token) throws IOException {
+        NotificationPriority[] values = NotificationPriority.values();
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                int index = parser.getIntValue();
+                if (index < 0 || index >= values.length) {
+                    throw InvalidFormatException.from(parser, "Cannot deserialize value of type `"
+                            + NotificationPriority.class.getName() + "` from number " + index
+                            + ": index value outside legal index range [0.." + (values.length - 1) + "]",
+                            index, NotificationPriority.class);
+                }
+                return values[index];
+            case VALUE_STRING:
+                String text = parser.getText();
+                for (NotificationPriority priority : values) {
+                    if (priority.name().equals(text)) {
+                        return priority;
+                    }
+                }
+                if (text.isEmpty()) {
+                    throw InvalidFormatException.from(parser, "Cannot coerce empty String (\"\") to `"
+                            + NotificationPriority.class.getName() + "` value", text, NotificationPriority.class);
+                }
+                throw InvalidFormatException.from(parser, "Cannot deserialize value of type `"
+                        + NotificationPriority.class.getName() + "` from String \"" + text
+                        + "\": not one of the values accepted for Enum class: " + Arrays.toString(values),
+                        text, NotificationPriority.class);
+            default:
+                throw mismatch(parser, NotificationPriority.class, token);
+        }
+    }
+
+    private static Instant epochSeconds(BigDecimal seconds) {
+        return Instant.ofEpochSecond(seconds.longValue(), nanosOf(seconds));
+    }
+
+    private static int nanosOf(BigDecimal seconds) {
+        return seconds.subtract(new BigDecimal(seconds.toBigInteger())).movePointRight(9).intValue();
+    }
+
+    // Só dígitos, com sinal e um ponto opcionais: o InstantDeserializer lê esse texto como segundos
+    private static boolean isDecimal(String text) {
+        int start = text.charAt(0) == '-' ? 1 : 0;
+        if (start == text.length()) {
+            return false;
+        }
+        boolean dot = false;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.' && !dot) {
+                dot = true;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void expectObject(JsonParser parser, JsonToken token, Class<?> type) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw mismatch(parser, type, token);
+        }
+    }
+
+    private static void expectArray(JsonParser parser, JsonToken token, Class<?> type) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            throw mismatch(parser, type, token);
+        }
+    }
+
+    private static MismatchedInputException mismatch(JsonParser parser, Class<?> type, JsonToken token) {
+        return MismatchedInputException.from(parser, type, "Cannot deserialize value of type `" + type.getName()
+                + "` from " + describe(token));
+    }
+
+    private static String describe(JsonToken token) {
+        return switch (token) {
+            case START_OBJECT -> "Object value (token `JsonToken.START_OBJECT`)";
+            case START_ARRAY -> "Array value (token `JsonToken.START_ARRAY`)";
+            case VALUE_STRING -> "String value";
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> "Number value";
+            case VALUE_TRUE, VALUE_FALSE -> "Boolean value";
+            default -> "token `JsonToken." + token + "`";
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.fiap.notification_service._webApi.controller;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fiap.notification_service._webApi.dto.SendChannelNotificationRequestDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailAcceptedResponseDTO;
+import com.fiap.notification_service.core.controller.NotificationController;
+import com.fiap.notification_service.core.controller.NotificationGateways;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+// Só enfileira na raia do canal, sem bloquear: serve igual às stacks servlet e reativa
+@RestController
+@RequestMapping("/api/notification/channels")
+@Tag(name = "Channels", description = "Envio de notificações por outros canais além do email")
+public class ChannelWebController {
+
+    private final NotificationController notificationController;
+
+    public ChannelWebController (NotificationGateways notificationGateways) {
+        this.notificationController = NotificationController.build(notificationGateways);
+    }
+
+    @GetMapping
+    @Operation(summary = "List Channels", description = "Lista os canais habilitados")
+    public ResponseEntity<Set<String>> list() {
+        return ResponseEntity.ok(new TreeSet<>(this.notificationController.getChannels()));
+    }
+
+    @PostMapping("/{channel}/send")
+    @Operation(summary = "Send Channel Notification",
+        description = "Aceita a notificação para envio em segundo plano pelo canal informado e retorna o id")
+    public ResponseEntity<SendEmailAcceptedResponseDTO> send(@PathVariable String channel,
+            @RequestBody @Valid SendChannelNotificationRequestDTO dto) {
+        String body = this.notificationController.renderBody(dto.body(), dto.templateId(), dto.variables());
+        UUID notificationId = this.notificationController.dispatchToChannel(channel, dto.recipient(), dto.subject(), body);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new SendEmailAcceptedResponseDTO(notificationId));
+    }
+}
@@ -0,0 +1,61 @@
+package com.fiap.notification_service._webApi.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fiap.notification_service._webApi.dto.DeadLetterResponseDTO;
+import com.fiap.notification_service._webApi.dto.PageResponseDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailAcceptedResponseDTO;
+import com.fiap.notification_service.core.controller.NotificationController;
+import com.fiap.notification_service.core.controller.NotificationGateways;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/notification/dead-letters")
+@Tag(name = "Dead Letters", description = "Consulta e reenvio de notificações que esgotaram as tentativas")
+public class DeadLetterWebController {
+
+    private final NotificationController notificationController;
+
+    public DeadLetterWebController (NotificationGateways notificationGateways) {
+        this.notificationController = NotificationController.build(notificationGateways);
+    }
+
+    @GetMapping
+    @Operation(summary = "List Dead Letters",
+        description = "Lista as notificações da dead-letter, das mais recentes para as mais antigas")
+    public ResponseEntity<PageResponseDTO<DeadLetterResponseDTO>> list(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<DeadLetterResponseDTO> content = this.notificationController.listDeadLetters(page, size).stream()
+            .map(DeadLetterResponseDTO::from)
+            .toList();
+        return ResponseEntity.ok(new PageResponseDTO<>(content, page, size, this.notificationController.countDeadLetters()));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get Dead Letter",
+        description = "Retorna uma notificação da dead-letter com o motivo da falha")
+    public ResponseEntity<DeadLetterResponseDTO> get(@PathVariable UUID id) {
+        return ResponseEntity.ok(DeadLetterResponseDTO.from(this.notificationController.findDeadLetter(id)));
+    }
+
+    @PostMapping("/{id}/replay")
+    @Operation(summary = "Replay Dead Letter",
+        description = "Remove a notificação da dead-letter e a reenfileira para envio")
+    public ResponseEntity<SendEmailAcceptedResponseDTO> replay(@PathVariable UUID id) {
+        UUID notificationId = this.notificationController.replayDeadLetter(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new SendEmailAcceptedResponseDTO(notificationId));
+    }
+}
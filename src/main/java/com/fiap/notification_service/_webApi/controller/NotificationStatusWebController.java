@@ -0,0 +1,61 @@
+package com.fiap.notification_service._webApi.controller;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fiap.notification_service._webApi.dto.NotificationStatusResponseDTO;
+import com.fiap.notification_service._webApi.dto.PageResponseDTO;
+import com.fiap.notification_service.core.controller.NotificationController;
+import com.fiap.notification_service.core.controller.NotificationGateways;
+import com.fiap.notification_service.core.domain.notification.NotificationQuery;
+import com.fiap.notification_service.core.domain.notification.NotificationStatus;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/notification")
+@Tag(name = "Notification Status", description = "Consulta do ciclo de vida das notificações")
+public class NotificationStatusWebController {
+
+    private final NotificationController notificationController;
+
+    public NotificationStatusWebController (NotificationGateways notificationGateways) {
+        this.notificationController = NotificationController.build(notificationGateways);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get Notification Status",
+        description = "Retorna o status mais recente da notificação; mudanças aparecem alguns milissegundos depois")
+    public ResponseEntity<NotificationStatusResponseDTO> get(@PathVariable UUID id) {
+        return ResponseEntity.ok(NotificationStatusResponseDTO.from(this.notificationController.findNotification(id)));
+    }
+
+    @GetMapping
+    @Operation(summary = "Search Notifications",
+        description = "Busca notificações por destinatário, status e período de aceite, das mais recentes para as mais antigas")
+    public ResponseEntity<PageResponseDTO<NotificationStatusResponseDTO>> search(
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) NotificationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant until,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        NotificationQuery query = new NotificationQuery(to, status, from, until);
+        List<NotificationStatusResponseDTO> content = this.notificationController.searchNotifications(query, page, size)
+            .stream()
+            .map(NotificationStatusResponseDTO::from)
+            .toList();
+        return ResponseEntity.ok(new PageResponseDTO<>(content, page, size,
+            this.notificationController.countNotifications(query)));
+    }
+}
@@ -1,15 +1,38 @@
 package com.fiap.notification_service._webApi.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.fiap.notification_service._webApi.dto.SendEmailAcceptedResponseDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchRequestDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchResponseDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailFanOutRequestDTO;
 import com.fiap.notification_service._webApi.dto.SendEmailRequestDTO;
 import com.fiap.notification_service.core.controller.NotificationController;
+import com.fiap.notification_service.core.controller.NotificationGateways;
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.IdempotentResult;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,20 +40,174 @@ import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/notification")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Notification", description = "APIs relacionadas ao envio de notificações")
 public class NotificationWebController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final NotificationController notificationController;
 
-    public NotificationWebController (JavaMailSender javaMailSender, @Value("${app.mail.from}") String mailFrom) {
-        this.notificationController = NotificationController.build(javaMailSender, mailFrom);
+    public NotificationWebController (NotificationGateways notificationGateways) {
+        this.notificationController = NotificationController.build(notificationGateways);
     }
 
     @PostMapping("/send-email")
     @Operation(summary = "Send Email",
-        description = "Envia um email para o destinatário informado")
-    public ResponseEntity<Void> sendEmail(@RequestBody @Valid SendEmailRequestDTO dto) {
-        this.notificationController.sendEmail(dto.to(), dto.subject(), dto.body());
-        return ResponseEntity.ok().build();
+        description = "Envia um email para o destinatário informado; com Idempotency-Key, repetições não geram novo envio. "
+            + "Com sendAt ou delay o envio é agendado e a resposta é 202 com o id da notificação. priority (HIGH, NORMAL, "
+            + "BULK) e tenant definem a faixa em que o envio espera a vez no SMTP")
+    public ResponseEntity<SendEmailAcceptedResponseDTO> sendEmail(@RequestBody @Valid SendEmailRequestDTO dto,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (dto.isScheduled()) {
+            return scheduleEmail(dto, idempotencyKey);
+        }
+        IdempotentResult result = this.notificationController.sendEmail(dto.to(), dto.subject(), renderBody(dto),
+            resolveAttachments(dto), idempotencyKey, dto.laneOr(NotificationPriority.NORMAL));
+        return ResponseEntity.ok()
+            .headers(replayHeaders(result))
+            .body(new SendEmailAcceptedResponseDTO(result.notificationId()));
+    }
+
+    @PostMapping(value = "/send-email", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Send Email with attachments",
+        description = "Envia um email com os arquivos enviados na parte files; a parte request tem o mesmo JSON de /send-email")
+    public ResponseEntity<SendEmailAcceptedResponseDTO> sendEmailWithAttachments(@RequestPart("request") @Valid SendEmailRequestDTO dto,
+            @RequestPart(name = "files", required = false) List<MultipartFile> files,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (dto.isScheduled()) {
+            throw new IllegalArgumentException("Envio agendado não aceita arquivos enviados; use /send-email sem anexos");
+        }
+        List<EmailAttachment> attachments = new ArrayList<>(resolveAttachments(dto));
+        if (files != null) {
+            // O upload já está em arquivo temporário; o conteúdo é lido dele durante o envio
+            for (MultipartFile file : files) {
+                attachments.add(new EmailAttachment(file.getOriginalFilename(), file.getContentType(), file.getSize(),
+                    file::getInputStream));
+            }
+        }
+        IdempotentResult result = this.notificationController.sendEmail(dto.to(), dto.subject(), renderBody(dto),
+            attachments, idempotencyKey, dto.laneOr(NotificationPriority.NORMAL));
+        return ResponseEntity.ok()
+            .headers(replayHeaders(result))
+            .body(new SendEmailAcceptedResponseDTO(result.notificationId()));
+    }
+
+    @PostMapping("/send-email/async")
+    @Operation(summary = "Send Email (async)",
+        description = "Aceita o email para envio em segundo plano e retorna o id da notificação")
+    public ResponseEntity<SendEmailAcceptedResponseDTO> sendEmailAsync(@RequestBody @Valid SendEmailRequestDTO dto,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (dto.isScheduled()) {
+            return scheduleEmail(dto, idempotencyKey);
+        }
+        requireNoAttachments(dto);
+        IdempotentResult result = this.notificationController.dispatchEmail(dto.to(), dto.subject(), renderBody(dto), idempotencyKey);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .headers(replayHeaders(result))
+            .body(new SendEmailAcceptedResponseDTO(result.notificationId()));
+    }
+
+    @DeleteMapping("/scheduled/{notificationId}")
+    @Operation(summary = "Cancel scheduled email",
+        description = "Cancela um envio agendado que ainda não entrou na fila de envio")
+    public ResponseEntity<Void> cancelScheduledEmail(@PathVariable UUID notificationId) {
+        this.notificationController.cancelScheduledEmail(notificationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/send-email/batch")
+    @Operation(summary = "Send Email Batch",
+        description = "Envia um lote de emails reaproveitando a sessão SMTP e retorna o resultado de cada item; "
+            + "sem priority, os itens entram como BULK")
+    public ResponseEntity<SendEmailBatchResponseDTO> sendEmailBatch(@RequestBody @Valid SendEmailBatchRequestDTO dto) {
+        dto.messages().forEach(this::requireNoAttachments);
+        List<SendEmailRequestDTO> messages = dto.messages();
+        List<EmailNotification> notifications = messages.stream()
+            .map(message -> EmailNotification.create(message.to(), message.subject(), renderBody(message)))
+            .toList();
+
+        // Itens seguidos da mesma faixa vão juntos, mantendo a ordem do lote nas respostas
+        List<EmailDeliveryResult> deliveryResults = new ArrayList<>(notifications.size());
+        int start = 0;
+        SendLane lane = messages.get(0).laneOr(NotificationPriority.BULK);
+        for (int i = 1; i <= messages.size(); i++) {
+            SendLane next = i < messages.size() ? messages.get(i).laneOr(NotificationPriority.BULK) : null;
+            if (!lane.equals(next)) {
+                List<EmailNotification> segment = notifications.subList(start, i);
+                try {
+                    deliveryResults.addAll(this.notificationController.sendEmails(segment, lane));
+                } catch (SmtpUnavailableException e) {
+                    // Só o lote sem nenhum item enviado vira 503; depois disso a resposta precisa dizer o que já saiu
+                    if (deliveryResults.isEmpty()) {
+                        throw e;
+                    }
+                    segment.forEach(notification -> deliveryResults.add(EmailDeliveryResult.failed(notification,
+                        e.getMessage())));
+                }
+                start = i;
+                lane = next;
+            }
+        }
+        return ResponseEntity.ok(SendEmailBatchResponseDTO.from(deliveryResults));
+    }
+
+    @PostMapping("/send-email/fan-out")
+    @Operation(summary = "Send Email Fan-out",
+        description = "Envia o mesmo email a vários destinatários montando o conteúdo uma única vez; mode BCC agrupa "
+            + "os destinatários em poucas mensagens, INDIVIDUAL envia uma cópia por destinatário")
+    public ResponseEntity<SendEmailBatchResponseDTO> sendEmailFanOut(@RequestBody @Valid SendEmailFanOutRequestDTO dto) {
+        String sharedBody = this.notificationController.renderBody(dto.body(), dto.templateId(), dto.variables());
+        List<EmailNotification> notifications = dto.recipients().stream()
+            .map(recipient -> EmailNotification.create(recipient.to(), dto.subject(),
+                recipient.variables() == null || recipient.variables().isEmpty()
+                    ? sharedBody
+                    : this.notificationController.renderBody(dto.body(), dto.templateId(), dto.variablesFor(recipient))))
+            .toList();
+
+        List<EmailDeliveryResult> deliveryResults = this.notificationController.sendFanOut(notifications, dto.modeOrDefault(),
+            dto.lane());
+        return ResponseEntity.ok(SendEmailBatchResponseDTO.from(deliveryResults));
+    }
+
+    private ResponseEntity<SendEmailAcceptedResponseDTO> scheduleEmail(SendEmailRequestDTO dto, String idempotencyKey) {
+        requireNoAttachments(dto);
+        IdempotentResult result = this.notificationController.scheduleEmail(dto.to(), dto.subject(), renderBody(dto),
+            dto.deliverAt(), idempotencyKey);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .headers(replayHeaders(result))
+            .body(new SendEmailAcceptedResponseDTO(result.notificationId()));
+    }
+
+    private HttpHeaders replayHeaders(IdempotentResult result) {
+        HttpHeaders headers = new HttpHeaders();
+        if (result.replayed()) {
+            headers.set(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return headers;
+    }
+
+    private List<EmailAttachment> resolveAttachments(SendEmailRequestDTO dto) {
+        if (!dto.hasAttachments()) {
+            return List.of();
+        }
+        return dto.attachments().stream()
+            .map(reference -> this.notificationController.resolveAttachment(reference.fileName(), reference.contentType(),
+                reference.uri()))
+            .toList();
+    }
+
+    // Na fila, no agendamento e no lote o envio acontece depois da requisição, quando o upload ou a referência já pode
+    // não existir
+    private void requireNoAttachments(SendEmailRequestDTO dto) {
+        if (dto.hasAttachments()) {
+            throw new IllegalArgumentException("Anexos só são aceitos no envio síncrono (/send-email)");
+        }
+    }
+
+    private String renderBody(SendEmailRequestDTO dto) {
+        return this.notificationController.renderBody(dto.body(), dto.templateId(), dto.variables());
     }
 }
@@ -0,0 +1,225 @@
+package com.fiap.notification_service._webApi.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fiap.notification_service._webApi.dto.SendEmailAcceptedResponseDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchItemResultDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchRequestDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchResponseDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailFanOutRequestDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailRequestDTO;
+import com.fiap.notification_service.core.controller.NotificationController;
+import com.fiap.notification_service.core.controller.NotificationGateways;
+import com.fiap.notification_service.core.controller.ReactiveNotificationController;
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.IdempotentResult;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Mesmos endpoints do NotificationWebController para spring.main.web-application-type=reactive. O envio SMTP vai
+ * para o scheduler limitado do BoundedElasticEmailNotificationGateway; o que ainda bloqueia fora do SMTP (gravação
+ * no outbox, espera pela Idempotency-Key, download de anexos) roda no boundedElastic, nunca no event loop.
+ */
+@RestController
+@RequestMapping("/api/notification")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Notification", description = "APIs relacionadas ao envio de notificações")
+public class ReactiveNotificationWebController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private record BatchItem(long index, String to, EmailNotification notification, String error) {
+    }
+
+    private final NotificationController notificationController;
+
+    private final ReactiveNotificationController reactiveNotificationController;
+
+    private final Validator validator;
+
+    public ReactiveNotificationWebController (NotificationGateways notificationGateways, Validator validator) {
+        this.notificationController = NotificationController.build(notificationGateways);
+        this.reactiveNotificationController = ReactiveNotificationController.build(notificationGateways);
+        this.validator = validator;
+    }
+
+    @PostMapping(value = "/send-email", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Send Email",
+        description = "Envia um email para o destinatário informado; com Idempotency-Key, repetições não geram novo envio. "
+            + "Com sendAt ou delay o envio é agendado e a resposta é 202 com o id da notificação")
+    public Mono<ResponseEntity<SendEmailAcceptedResponseDTO>> sendEmail(@RequestBody @Valid SendEmailRequestDTO dto,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (dto.isScheduled()) {
+            requireNoAttachments(dto);
+            return blocking(() -> this.notificationController.scheduleEmail(dto.to(), dto.subject(), renderBody(dto),
+                    dto.deliverAt(), idempotencyKey))
+                .map(result -> accepted(HttpStatus.ACCEPTED, result));
+        }
+        if (idempotencyKey == null && !dto.hasAttachments()) {
+            return this.reactiveNotificationController.sendEmail(dto.to(), dto.subject(), renderBody(dto))
+                .map(notificationId -> ResponseEntity.ok(new SendEmailAcceptedResponseDTO(notificationId)));
+        }
+        return blocking(() -> this.notificationController.sendEmail(dto.to(), dto.subject(), renderBody(dto),
+                resolveAttachments(dto), idempotencyKey, dto.laneOr(NotificationPriority.NORMAL)))
+            .map(result -> accepted(HttpStatus.OK, result));
+    }
+
+    @PostMapping("/send-email/async")
+    @Operation(summary = "Send Email (async)",
+        description = "Aceita o email para envio em segundo plano e retorna o id da notificação")
+    public Mono<ResponseEntity<SendEmailAcceptedResponseDTO>> sendEmailAsync(@RequestBody @Valid SendEmailRequestDTO dto,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        requireNoAttachments(dto);
+        String body = renderBody(dto);
+        return blocking(() -> dto.isScheduled()
+                ? this.notificationController.scheduleEmail(dto.to(), dto.subject(), body, dto.deliverAt(), idempotencyKey)
+                : this.notificationController.dispatchEmail(dto.to(), dto.subject(), body, idempotencyKey))
+            .map(result -> accepted(HttpStatus.ACCEPTED, result));
+    }
+
+    @DeleteMapping("/scheduled/{notificationId}")
+    @Operation(summary = "Cancel scheduled email",
+        description = "Cancela um envio agendado que ainda não entrou na fila de envio")
+    public Mono<ResponseEntity<Void>> cancelScheduledEmail(@PathVariable UUID notificationId) {
+        return blocking(() -> {
+            this.notificationController.cancelScheduledEmail(notificationId);
+            return ResponseEntity.noContent().<Void>build();
+        });
+    }
+
+    @PostMapping(value = "/send-email/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Send Email Batch",
+        description = "Envia um lote de emails reaproveitando a sessão SMTP e retorna o resultado de cada item")
+    public Mono<SendEmailBatchResponseDTO> sendEmailBatch(@RequestBody @Valid SendEmailBatchRequestDTO dto) {
+        dto.messages().forEach(this::requireNoAttachments);
+        List<EmailNotification> notifications = dto.messages().stream()
+            .map(message -> EmailNotification.create(message.to(), message.subject(), renderBody(message)))
+            .toList();
+
+        return this.reactiveNotificationController.sendEmails(Flux.fromIterable(notifications))
+            .collectList()
+            .map(SendEmailBatchResponseDTO::from);
+    }
+
+    // Um JSON por linha na entrada e na saída, sem limite de itens: a leitura do corpo acompanha os envios. Itens
+    // inválidos saem como FAILED sem esperar os demais, então a saída pode vir fora de ordem; use o index
+    @PostMapping(value = "/send-email/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+        produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream Email Batch",
+        description = "Recebe os emails em NDJSON e devolve o resultado de cada um em NDJSON assim que o grupo é enviado")
+    public Flux<SendEmailBatchItemResultDTO> streamEmailBatch(@RequestBody Flux<SendEmailRequestDTO> messages) {
+        Map<UUID, Long> indexes = new ConcurrentHashMap<>();
+        return messages.index(this::toBatchItem)
+            .publish(items -> Flux.merge(
+                items.filter(item -> item.error() != null)
+                    .map(item -> new SendEmailBatchItemResultDTO((int) item.index(), null, item.to(), "FAILED",
+                        item.error())),
+                this.reactiveNotificationController.sendEmails(items.filter(item -> item.error() == null)
+                        .doOnNext(item -> indexes.put(item.notification().id(), item.index()))
+                        .map(BatchItem::notification))
+                    .map(result -> SendEmailBatchItemResultDTO.from(indexes.remove(result.notificationId()).intValue(),
+                        result))));
+    }
+
+    @PostMapping("/send-email/fan-out")
+    @Operation(summary = "Send Email Fan-out",
+        description = "Envia o mesmo email a vários destinatários montando o conteúdo uma única vez; mode BCC agrupa "
+            + "os destinatários em poucas mensagens, INDIVIDUAL envia uma cópia por destinatário")
+    public Mono<SendEmailBatchResponseDTO> sendEmailFanOut(@RequestBody @Valid SendEmailFanOutRequestDTO dto) {
+        String sharedBody = this.notificationController.renderBody(dto.body(), dto.templateId(), dto.variables());
+        List<EmailNotification> notifications = dto.recipients().stream()
+            .map(recipient -> EmailNotification.create(recipient.to(), dto.subject(),
+                recipient.variables() == null || recipient.variables().isEmpty()
+                    ? sharedBody
+                    : this.notificationController.renderBody(dto.body(), dto.templateId(), dto.variablesFor(recipient))))
+            .toList();
+
+        return blocking(() -> this.notificationController.sendFanOut(notifications, dto.modeOrDefault(),
+                dto.lane()))
+            .map(SendEmailBatchResponseDTO::from);
+    }
+
+    private BatchItem toBatchItem(long index, SendEmailRequestDTO message) {
+        Set<ConstraintViolation<SendEmailRequestDTO>> violations = validator.validate(message);
+        if (!violations.isEmpty()) {
+            return new BatchItem(index, message.to(), null, violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+        if (message.hasAttachments()) {
+            return new BatchItem(index, message.to(), null, "Anexos só são aceitos no envio síncrono (/send-email)");
+        }
+        try {
+            return new BatchItem(index, message.to(),
+                EmailNotification.create(message.to(), message.subject(), renderBody(message)), null);
+        } catch (IllegalArgumentException e) {
+            return new BatchItem(index, message.to(), null, e.getMessage());
+        }
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static ResponseEntity<SendEmailAcceptedResponseDTO> accepted(HttpStatus status, IdempotentResult result) {
+        HttpHeaders headers = new HttpHeaders();
+        if (result.replayed()) {
+            headers.set(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return ResponseEntity.status(status)
+            .headers(headers)
+            .body(new SendEmailAcceptedResponseDTO(result.notificationId()));
+    }
+
+    private List<EmailAttachment> resolveAttachments(SendEmailRequestDTO dto) {
+        if (!dto.hasAttachments()) {
+            return List.of();
+        }
+        return dto.attachments().stream()
+            .map(reference -> this.notificationController.resolveAttachment(reference.fileName(), reference.contentType(),
+                reference.uri()))
+            .toList();
+    }
+
+    private void requireNoAttachments(SendEmailRequestDTO dto) {
+        if (dto.hasAttachments()) {
+            throw new IllegalArgumentException("Anexos só são aceitos no envio síncrono (/send-email)");
+        }
+    }
+
+    private String renderBody(SendEmailRequestDTO dto) {
+        return this.notificationController.renderBody(dto.body(), dto.templateId(), dto.variables());
+    }
+}
@@ -2,25 +2,49 @@ package com.fiap.notification_service._webApi.controller.errorHandler;
 
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fiap.notification_service.core.exceptions.AttachmentTooLargeException;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+import com.fiap.notification_service.core.exceptions.IdempotencyConflictException;
+import com.fiap.notification_service.core.exceptions.IdempotencyKeyReuseException;
+import com.fiap.notification_service.core.exceptions.NotificationNotFoundException;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
 
 
 @RestControllerAdvice
 public class GlobalHandlerException {
 
+    // Os pares campo/mensagem se repetem (são sempre as mesmas regras), então cada item de "errors" é montado uma vez
+    // e reaproveitado; o limite só segura campos indexados sem fim, como messages[i].to. Os mapas só são serializados.
+    private static final int MAX_CACHED_FIELD_ERRORS = 1024;
+
+    private record FieldErrorKey(String field, String message) {
+    }
+
+    private final ConcurrentHashMap<FieldErrorKey, HashMap<String, String>> fieldErrorPayloads = new ConcurrentHashMap<>();
+
     @ExceptionHandler({
         IllegalArgumentException.class,
         IllegalStateException.class,
@@ -34,6 +58,99 @@ public class GlobalHandlerException {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(DispatchQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleDispatchQueueFull(DispatchQueueFullException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    @ExceptionHandler(TransientEmailDeliveryException.class)
+    public ResponseEntity<ErrorResponse> handleTransientEmailDelivery(TransientEmailDeliveryException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(response);
+    }
+
+    // Circuito aberto, sem sessão SMTP livre ou sem ficha no limite de taxa: o Retry-After acompanha quando tentar de novo
+    @ExceptionHandler(SmtpUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSmtpUnavailable(SmtpUnavailableException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage()
+        );
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+
+    @ExceptionHandler(PermanentEmailDeliveryException.class)
+    public ResponseEntity<ErrorResponse> handlePermanentEmailDelivery(PermanentEmailDeliveryException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.BAD_GATEWAY,
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(response);
+    }
+
+    @ExceptionHandler(NotificationNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotificationNotFound(NotificationNotFoundException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.NOT_FOUND,
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.CONFLICT,
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    @ExceptionHandler({AttachmentTooLargeException.class, MaxUploadSizeExceededException.class})
+    public ResponseEntity<ErrorResponse> handleAttachmentTooLarge(Exception ex) {
+        String message = ex instanceof MaxUploadSizeExceededException
+                ? "Os arquivos enviados excedem o tamanho máximo permitido"
+                : ex.getMessage();
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.PAYLOAD_TOO_LARGE,
+                message
+        );
+
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+    }
+
     @ExceptionHandler(SQLIntegrityConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleSQLIntegrityConstraintViolationException(SQLIntegrityConstraintViolationException ex) {
 
@@ -52,18 +169,23 @@ public class GlobalHandlerException {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<HashMap<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
-        List<HashMap<String, String>> erros = ex.getBindingResult()
-                .getFieldErrors()
-                .stream()
-                .map(e -> {
-                    HashMap<String, String> error = new HashMap<>();
-                    error.put("field", e.getField());
-                    error.put("message", e.getDefaultMessage());
-                    return error;
-                })
-                .toList();
-
-        HashMap<String, Object> response = new HashMap<>();
+        return validationResponse(ex.getBindingResult());
+    }
+
+    // Equivalente do @Valid na stack reativa
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<HashMap<String, Object>> handleReactiveValidation(WebExchangeBindException ex) {
+        return validationResponse(ex.getBindingResult());
+    }
+
+    private ResponseEntity<HashMap<String, Object>> validationResponse(BindingResult bindingResult) {
+        List<FieldError> fieldErrors = bindingResult.getFieldErrors();
+        List<HashMap<String, String>> erros = new ArrayList<>(fieldErrors.size());
+        for (FieldError e : fieldErrors) {
+            erros.add(fieldErrorPayload(e.getField(), e.getDefaultMessage()));
+        }
+
+        HashMap<String, Object> response = HashMap.newHashMap(5);
         response.put("timestamp", LocalDateTime.now());
         response.put("status", HttpStatus.BAD_REQUEST.value());
         response.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
@@ -73,6 +195,21 @@ public class GlobalHandlerException {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    private HashMap<String, String> fieldErrorPayload(String field, String message) {
+        FieldErrorKey key = new FieldErrorKey(field, message);
+        HashMap<String, String> cached = fieldErrorPayloads.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        HashMap<String, String> error = HashMap.newHashMap(2);
+        error.put("field", field);
+        error.put("message", message);
+        if (fieldErrorPayloads.size() < MAX_CACHED_FIELD_ERRORS) {
+            fieldErrorPayloads.putIfAbsent(key, error);
+        }
+        return error;
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponse> handleInvalidEnumValueException(HttpMessageNotReadableException e) {
         String message = e.getMessage();
@@ -0,0 +1,14 @@
+package com.fiap.notification_service._webApi.dto;
+
+import jakarta.validation.constraints.NotBlank;
+public record AttachmentReferenceDTO(
+
+    @NotBlank(message = "A referência do anexo é obrigatória")
+    String uri,
+
+    String fileName,
+
+    String contentType
+) {
+
+}
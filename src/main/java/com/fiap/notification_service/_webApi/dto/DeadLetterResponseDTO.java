@@ -0,0 +1,28 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+
+public record DeadLetterResponseDTO(
+    UUID notificationId,
+    String to,
+    String subject,
+    int attempts,
+    Integer replyCode,
+    String reason,
+    Instant failedAt
+) {
+
+    public static DeadLetterResponseDTO from(DeadLetter deadLetter) {
+        return new DeadLetterResponseDTO(
+            deadLetter.notification().id(),
+            deadLetter.notification().to(),
+            deadLetter.notification().subject(),
+            deadLetter.attempts(),
+            deadLetter.replyCode(),
+            deadLetter.reason(),
+            deadLetter.failedAt());
+    }
+}
@@ -0,0 +1,18 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.util.Map;
+
+import com.fiap.notification_service._webApi.validation.EmailAddress;
+
+import jakarta.validation.constraints.NotBlank;
+public record FanOutRecipientDTO(
+
+    @NotBlank(message = "O destinatário do email é obrigatório")
+    @EmailAddress
+    String to,
+
+    // Sobrepõe as variáveis comuns só para este destinatário; sem elas o corpo renderizado é compartilhado
+    Map<String, String> variables
+) {
+
+}
@@ -0,0 +1,31 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.NotificationRecord;
+import com.fiap.notification_service.core.domain.notification.NotificationStatus;
+
+public record NotificationStatusResponseDTO(
+    UUID notificationId,
+    String to,
+    String subject,
+    NotificationStatus status,
+    int attempts,
+    String error,
+    Instant acceptedAt,
+    Instant updatedAt
+) {
+
+    public static NotificationStatusResponseDTO from(NotificationRecord record) {
+        return new NotificationStatusResponseDTO(
+            record.notificationId(),
+            record.to(),
+            record.subject(),
+            record.status(),
+            record.attempts(),
+            record.error(),
+            record.acceptedAt(),
+            record.updatedAt());
+    }
+}
@@ -0,0 +1,12 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.util.List;
+
+public record PageResponseDTO<T>(
+    List<T> content,
+    int page,
+    int size,
+    long totalElements
+) {
+
+}
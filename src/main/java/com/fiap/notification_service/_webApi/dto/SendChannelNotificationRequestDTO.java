@@ -0,0 +1,29 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+public record SendChannelNotificationRequestDTO(
+
+    // Destino no formato do canal (no webhook, a URL que recebe o POST)
+    @NotBlank(message = "O destinatário da notificação é obrigatório")
+    String recipient,
+
+    String subject,
+
+    String body,
+
+    String templateId,
+
+    Map<String, String> variables
+) {
+
+    @JsonIgnore
+    @AssertTrue(message = "O corpo da notificação ou o templateId é obrigatório")
+    public boolean isContentInformed() {
+        return (body != null && !body.isBlank()) || (templateId != null && !templateId.isBlank());
+    }
+}
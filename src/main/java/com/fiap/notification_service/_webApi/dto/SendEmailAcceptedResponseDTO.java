@@ -0,0 +1,9 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.util.UUID;
+
+public record SendEmailAcceptedResponseDTO(
+    UUID notificationId
+) {
+
+}
@@ -0,0 +1,21 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SendEmailBatchItemResultDTO(
+    int index,
+    UUID notificationId,
+    String to,
+    String status,
+    String error
+) {
+
+    public static SendEmailBatchItemResultDTO from(int index, EmailDeliveryResult result) {
+        return new SendEmailBatchItemResultDTO(index, result.notificationId(), result.to(),
+            result.sent() ? "SENT" : "FAILED", result.error());
+    }
+}
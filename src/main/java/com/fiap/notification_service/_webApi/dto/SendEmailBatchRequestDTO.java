@@ -0,0 +1,15 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+public record SendEmailBatchRequestDTO(
+
+    @NotEmpty(message = "O lote deve conter ao menos um email")
+    @Size(max = 1000, message = "O lote deve conter no máximo 1000 emails")
+    List<@Valid SendEmailRequestDTO> messages
+) {
+
+}
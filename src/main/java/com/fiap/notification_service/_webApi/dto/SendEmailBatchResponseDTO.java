@@ -0,0 +1,27 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+
+public record SendEmailBatchResponseDTO(
+    int total,
+    int sent,
+    int failed,
+    List<SendEmailBatchItemResultDTO> results
+) {
+
+    public static SendEmailBatchResponseDTO from(List<EmailDeliveryResult> deliveryResults) {
+        List<SendEmailBatchItemResultDTO> results = new ArrayList<>(deliveryResults.size());
+        int sent = 0;
+        for (int i = 0; i < deliveryResults.size(); i++) {
+            EmailDeliveryResult result = deliveryResults.get(i);
+            if (result.sent()) {
+                sent++;
+            }
+            results.add(SendEmailBatchItemResultDTO.from(i, result));
+        }
+        return new SendEmailBatchResponseDTO(results.size(), sent, results.size() - sent, results);
+    }
+}
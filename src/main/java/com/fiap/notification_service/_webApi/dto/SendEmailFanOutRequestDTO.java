@@ -0,0 +1,64 @@
+package com.fiap.notification_service._webApi.dto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+public record SendEmailFanOutRequestDTO(
+
+    @NotEmpty(message = "Informe ao menos um destinatário")
+    @Size(max = 10000, message = "No máximo 10000 destinatários por requisição")
+    List<@Valid FanOutRecipientDTO> recipients,
+
+    @NotBlank(message = "O assunto do email é obrigatório")
+    String subject,
+
+    String body,
+
+    String templateId,
+
+    Map<String, String> variables,
+
+    // BCC quando omitido
+    FanOutMode mode,
+
+    // BULK quando omitida
+    NotificationPriority priority,
+
+    @Size(max = 64, message = "O tenant deve ter no máximo 64 caracteres")
+    String tenant
+) {
+
+    @JsonIgnore
+    @AssertTrue(message = "O corpo do email ou o templateId é obrigatório")
+    public boolean isContentInformed() {
+        return (body != null && !body.isBlank()) || (templateId != null && !templateId.isBlank());
+    }
+
+    @JsonIgnore
+    public FanOutMode modeOrDefault() {
+        return mode != null ? mode : FanOutMode.BCC;
+    }
+
+    @JsonIgnore
+    public SendLane lane() {
+        return new SendLane(priority != null ? priority : NotificationPriority.BULK, tenant);
+    }
+
+    // Variáveis comuns com as do destinatário por cima
+    public Map<String, String> variablesFor(FanOutRecipientDTO recipient) {
+        Map<String, String> merged = variables != null ? new HashMap<>(variables) : new HashMap<>();
+        merged.putAll(recipient.variables());
+        return merged;
+    }
+}
@@ -1,16 +1,99 @@
 package com.fiap.notification_service._webApi.dto;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fiap.notification_service._webApi.validation.EmailAddress;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 public record SendEmailRequestDTO(
     
     @NotBlank(message = "O destinatário do email é obrigatório")
+    @EmailAddress
     String to,
     
     @NotBlank(message = "O assunto do email é obrigatório")
     String subject,
 
-    @NotBlank(message = "O corpo do email é obrigatório")
-    String body
+    String body,
+
+    String templateId,
+
+    Map<String, String> variables,
+
+    // Referências file: ou http(s): lidas em streaming no envio; só no envio síncrono
+    @Size(max = 10, message = "No máximo 10 anexos por email")
+    List<@Valid AttachmentReferenceDTO> attachments,
+
+    // Horário de envio (ISO-8601, ex.: 2025-01-31T09:00:00Z); no passado, o envio é imediato
+    Instant sendAt,
+
+    // Alternativa ao sendAt, relativa ao recebimento (ISO-8601, ex.: PT30M)
+    Duration delay,
+
+    // HIGH, NORMAL ou BULK; quando omitida, NORMAL no envio único e BULK no lote
+    NotificationPriority priority,
+
+    // Tenants de mesma prioridade se revezam no SMTP
+    @Size(max = 64, message = "O tenant deve ter no máximo 64 caracteres")
+    String tenant
 ) {
 
+    public SendEmailRequestDTO(String to, String subject, String body) {
+        this(to, subject, body, null, null);
+    }
+
+    public SendEmailRequestDTO(String to, String subject, String body, String templateId, Map<String, String> variables) {
+        this(to, subject, body, templateId, variables, null);
+    }
+
+    public SendEmailRequestDTO(String to, String subject, String body, String templateId, Map<String, String> variables,
+            List<AttachmentReferenceDTO> attachments) {
+        this(to, subject, body, templateId, variables, attachments, null, null);
+    }
+
+    public SendEmailRequestDTO(String to, String subject, String body, String templateId, Map<String, String> variables,
+            List<AttachmentReferenceDTO> attachments, Instant sendAt, Duration delay) {
+        this(to, subject, body, templateId, variables, attachments, sendAt, delay, null, null);
+    }
+
+    @JsonIgnore
+    public boolean hasAttachments() {
+        return attachments != null && !attachments.isEmpty();
+    }
+
+    @JsonIgnore
+    public SendLane laneOr(NotificationPriority defaultPriority) {
+        return new SendLane(priority != null ? priority : defaultPriority, tenant);
+    }
+
+    @JsonIgnore
+    public boolean isScheduled() {
+        return sendAt != null || delay != null;
+    }
+
+    @JsonIgnore
+    public Instant deliverAt() {
+        return sendAt != null ? sendAt : Instant.now().plus(delay);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Informe sendAt ou delay, não os dois; delay não pode ser negativo")
+    public boolean isScheduleValid() {
+        return (sendAt == null || delay == null) && (delay == null || !delay.isNegative());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "O corpo do email ou o templateId é obrigatório")
+    public boolean isContentInformed() {
+        return (body != null && !body.isBlank()) || (templateId != null && !templateId.isBlank());
+    }
 }
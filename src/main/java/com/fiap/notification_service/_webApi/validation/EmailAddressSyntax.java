@@ -0,0 +1,178 @@
+package com.fiap.notification_service._webApi.validation;
+
+/**
+ * Sintaxe de endereço de email da RFC 5321 (o que o SMTP aceita em RCPT TO), verificada caractere a caractere sem
+ * regex nem alocação. Parte local em dot-atom ou entre aspas, até 64 caracteres; domínio com rótulos de até 63
+ * caracteres (letras, dígitos e hífen, sem hífen nas pontas), ao menos dois rótulos e o último não numérico, ou um
+ * literal [IPv4] / [IPv6:...]; endereço inteiro com até 254 caracteres.
+ *
+ * Só ASCII: o envio usa InternetAddress estrito, sem SMTPUTF8, então domínios internacionais vêm em punycode (xn--).
+ */
+public final class EmailAddressSyntax {
+
+    private static final int MAX_ADDRESS_LENGTH = 254;
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private static final int MAX_IPV6_LENGTH = 45;
+
+    private EmailAddressSyntax() {
+    }
+
+    public static boolean isValid(CharSequence address) {
+        int length = address.length();
+        if (length == 0 || length > MAX_ADDRESS_LENGTH) {
+            return false;
+        }
+        int at = address.charAt(0) == '"' ? quotedLocalPartEnd(address) : dotAtomLocalPartEnd(address);
+        if (at < 1 || at > MAX_LOCAL_PART_LENGTH || at == length - 1) {
+            return false;
+        }
+        return address.charAt(at + 1) == '['
+                ? isAddressLiteral(address, at + 2, length)
+                : isDomain(address, at + 1, length);
+    }
+
+    // Índice do @ que fecha a parte local, ou -1 se ela for inválida
+    private static int dotAtomLocalPartEnd(CharSequence address) {
+        boolean afterDot = true;
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c == '@') {
+                return afterDot ? -1 : i;
+            }
+            if (c == '.') {
+                if (afterDot) {
+                    return -1;
+                }
+                afterDot = true;
+            } else if (isAtext(c)) {
+                afterDot = false;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int quotedLocalPartEnd(CharSequence address) {
+        for (int i = 1; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c == '\\') {
+                i++;
+                if (i == address.length() || address.charAt(i) < 32 || address.charAt(i) > 126) {
+                    return -1;
+                }
+            } else if (c == '"') {
+                return i + 1 < address.length() && address.charAt(i + 1) == '@' ? i + 1 : -1;
+            } else if (c < 32 || c > 126) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isDomain(CharSequence address, int start, int end) {
+        int labelStart = start;
+        boolean numeric = true;
+        int labels = 0;
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? address.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH
+                        || address.charAt(labelStart) == '-' || address.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                if (i < end) {
+                    labelStart = i + 1;
+                    numeric = true;
+                }
+            } else if (isLetter(c)) {
+                numeric = false;
+            } else if (c == '-') {
+                numeric = false;
+            } else if (!isDigit(c)) {
+                return false;
+            }
+        }
+        return labels >= 2 && !numeric;
+    }
+
+    // start aponta para depois do [
+    private static boolean isAddressLiteral(CharSequence address, int start, int end) {
+        if (end - start < 2 || address.charAt(end - 1) != ']') {
+            return false;
+        }
+        int close = end - 1;
+        if (close - start > 5 && regionMatchesIgnoreCase(address, start, "IPv6:")) {
+            return isIpv6(address, start + 5, close);
+        }
+        return isIpv4(address, start, close);
+    }
+
+    private static boolean isIpv4(CharSequence address, int start, int end) {
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? address.charAt(i) : '.';
+            if (c == '.') {
+                if (digits == 0 || value > 255) {
+                    return false;
+                }
+                octets++;
+                value = 0;
+                digits = 0;
+            } else if (isDigit(c) && digits < 3) {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else {
+                return false;
+            }
+        }
+        return octets == 4;
+    }
+
+    // Só a forma: dígitos hexadecimais, ':' e '.' (IPv4 embutido), com ao menos dois ':'
+    private static boolean isIpv6(CharSequence address, int start, int end) {
+        if (end - start > MAX_IPV6_LENGTH) {
+            return false;
+        }
+        int colons = 0;
+        for (int i = start; i < end; i++) {
+            char c = address.charAt(i);
+            if (c == ':') {
+                colons++;
+            } else if (!isDigit(c) && !(c >= 'a' && c <= 'f') && !(c >= 'A' && c <= 'F') && c != '.') {
+                return false;
+            }
+        }
+        return colons >= 2 && colons <= 7;
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence address, int start, String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase(address.charAt(start + i)) != Character.toLowerCase(prefix.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // atext da RFC 5322
+    private static boolean isAtext(char c) {
+        return isLetter(c) || isDigit(c) || "!#$%&'*+-/=?^_`{|}~".indexOf(c) >= 0;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,22 @@
+package com.fiap.notification_service._webApi.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class EmailAddressValidator implements ConstraintValidator<EmailAddress, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || isBlank(value) || EmailAddressSyntax.isValid(value);
+    }
+
+    // Mesmo critério do @NotBlank (trim): só caracteres até o espaço
+    static boolean isBlank(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
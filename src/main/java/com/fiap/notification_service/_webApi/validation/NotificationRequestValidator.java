@@ -0,0 +1,148 @@
+package com.fiap.notification_service._webApi.validation;
+
+import java.util.List;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+
+import com.fiap.notification_service._webApi.dto.AttachmentReferenceDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchRequestDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailRequestDTO;
+
+/**
+ * As regras de SendEmailRequestDTO e do lote escritas direto em código: mesmos campos, códigos e mensagens das
+ * anotações, sem os metadados e a reflexão do Hibernate Validator a cada requisição. Uma requisição válida não aloca
+ * nada aqui. Os demais tipos, e validações com grupos, seguem para o validador padrão.
+ *
+ * Mudou uma anotação desses DTOs? Mude aqui também; NotificationRequestValidatorTest compara os dois validadores.
+ */
+public class NotificationRequestValidator implements SmartValidator {
+
+    private static final String TO_REQUIRED = "O destinatário do email é obrigatório";
+
+    private static final String TO_INVALID = "O destinatário do email deve ser um endereço válido";
+
+    private static final String SUBJECT_REQUIRED = "O assunto do email é obrigatório";
+
+    private static final int MAX_ATTACHMENTS = 10;
+
+    private static final String TOO_MANY_ATTACHMENTS = "No máximo 10 anexos por email";
+
+    private static final String ATTACHMENT_URI_REQUIRED = "A referência do anexo é obrigatória";
+
+    private static final String INVALID_SCHEDULE = "Informe sendAt ou delay, não os dois; delay não pode ser negativo";
+
+    private static final int MAX_TENANT_LENGTH = 64;
+
+    private static final String TENANT_TOO_LONG = "O tenant deve ter no máximo 64 caracteres";
+
+    private static final String CONTENT_REQUIRED = "O corpo do email ou o templateId é obrigatório";
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String EMPTY_BATCH = "O lote deve conter ao menos um email";
+
+    private static final String BATCH_TOO_LARGE = "O lote deve conter no máximo 1000 emails";
+
+    private final SmartValidator delegate;
+
+    public NotificationRequestValidator(SmartValidator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return clazz == SendEmailRequestDTO.class || clazz == SendEmailBatchRequestDTO.class
+                || delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (target instanceof SendEmailRequestDTO request) {
+            validateRequest(request, -1, errors);
+        } else if (target instanceof SendEmailBatchRequestDTO batch) {
+            validateBatch(batch, errors);
+        } else {
+            delegate.validate(target, errors);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (validationHints.length == 0) {
+            validate(target, errors);
+        } else {
+            delegate.validate(target, errors, validationHints);
+        }
+    }
+
+    private static void validateBatch(SendEmailBatchRequestDTO batch, Errors errors) {
+        List<SendEmailRequestDTO> messages = batch.messages();
+        if (messages == null || messages.isEmpty()) {
+            reject(errors, "messages", "NotEmpty", messages, EMPTY_BATCH);
+            return;
+        }
+        if (messages.size() > MAX_BATCH_SIZE) {
+            reject(errors, "messages", "Size", messages, BATCH_TOO_LARGE);
+        }
+        for (int i = 0; i < messages.size(); i++) {
+            SendEmailRequestDTO message = messages.get(i);
+            if (message != null) {
+                validateRequest(message, i, errors);
+            }
+        }
+    }
+
+    // index é a posição no lote, -1 fora dele; o nome do campo só é montado quando há erro
+    private static void validateRequest(SendEmailRequestDTO request, int index, Errors errors) {
+        String to = request.to();
+        if (to == null || EmailAddressValidator.isBlank(to)) {
+            reject(errors, field(index, "to"), "NotBlank", to, TO_REQUIRED);
+        } else if (!EmailAddressSyntax.isValid(to)) {
+            reject(errors, field(index, "to"), "EmailAddress", to, TO_INVALID);
+        }
+        String subject = request.subject();
+        if (subject == null || EmailAddressValidator.isBlank(subject)) {
+            reject(errors, field(index, "subject"), "NotBlank", subject, SUBJECT_REQUIRED);
+        }
+        List<AttachmentReferenceDTO> attachments = request.attachments();
+        if (attachments != null) {
+            if (attachments.size() > MAX_ATTACHMENTS) {
+                reject(errors, field(index, "attachments"), "Size", attachments, TOO_MANY_ATTACHMENTS);
+            }
+            for (int i = 0; i < attachments.size(); i++) {
+                AttachmentReferenceDTO attachment = attachments.get(i);
+                if (attachment != null && (attachment.uri() == null || EmailAddressValidator.isBlank(attachment.uri()))) {
+                    reject(errors, field(index, "attachments[" + i + "].uri"), "NotBlank", attachment.uri(),
+                            ATTACHMENT_URI_REQUIRED);
+                }
+            }
+        }
+        if (!request.isScheduleValid()) {
+            reject(errors, field(index, "scheduleValid"), "AssertTrue", false, INVALID_SCHEDULE);
+        }
+        if (!request.isContentInformed()) {
+            reject(errors, field(index, "contentInformed"), "AssertTrue", false, CONTENT_REQUIRED);
+        }
+        String tenant = request.tenant();
+        if (tenant != null && tenant.length() > MAX_TENANT_LENGTH) {
+            reject(errors, field(index, "tenant"), "Size", tenant, TENANT_TOO_LONG);
+        }
+    }
+
+    private static String field(int index, String name) {
+        return index < 0 ? name : "messages[" + index + "]." + name;
+    }
+
+    // Como o SpringValidatorAdapter: o FieldError vai direto no BindingResult, sem ler o campo pelo BeanWrapper
+    private static void reject(Errors errors, String field, String code, Object rejectedValue, String message) {
+        if (errors instanceof BindingResult bindingResult) {
+            bindingResult.addError(new FieldError(errors.getObjectName(), field, rejectedValue, false,
+                    bindingResult.resolveMessageCodes(code, field), null, message));
+        } else {
+            errors.rejectValue(field, code, message);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.fiap.notification_service.config;
+
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.notification_service.core.gateways.notification.channel.ChannelDispatcher;
+import com.fiap.notification_service.core.gateways.notification.channel.InMemoryNotificationChannel;
+import com.fiap.notification_service.core.gateways.notification.channel.NotificationChannel;
+import com.fiap.notification_service.core.gateways.notification.channel.WebhookNotificationChannel;
+import com.fiap.notification_service.core.gateways.notification.retry.HashedWheelTimer;
+
+@Configuration
+@EnableConfigurationProperties(ChannelProperties.class)
+@ConditionalOnProperty(name = "app.notification.channels.enabled", havingValue = "true", matchIfMissing = true)
+public class ChannelConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notification.channels.webhook.enabled", havingValue = "true")
+    @RegisterReflectionForBinding(WebhookNotificationChannel.Payload.class)
+    public WebhookNotificationChannel webhookNotificationChannel(ChannelProperties properties, ObjectMapper objectMapper) {
+        ChannelProperties.Webhook webhook = properties.webhook();
+        if (webhook.allowedHosts().stream().allMatch(String::isBlank)) {
+            throw new IllegalStateException(
+                "app.notification.channels.webhook.enabled=true exige app.notification.channels.webhook.allowed-hosts");
+        }
+        return new WebhookNotificationChannel(webhook.allowedHosts(), webhook.connectTimeout(), webhook.requestTimeout(),
+                webhook.secret(), webhook.threads(), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notification.channels.stub.enabled", havingValue = "true")
+    public InMemoryNotificationChannel stubNotificationChannel(ChannelProperties properties) {
+        return new InMemoryNotificationChannel(properties.stub().name(), properties.stub().capacity());
+    }
+
+    // Cada canal registrado ganha a própria raia; o timer de retentativas não é o mesmo do email
+    @Bean
+    public ChannelDispatcher channelDispatcher(ChannelProperties properties, ObjectProvider<NotificationChannel> channels) {
+        ChannelDispatcher dispatcher = new ChannelDispatcher(
+                new HashedWheelTimer("channel-retry-timer", properties.retryTickDuration(), 512));
+        channels.orderedStream().forEach(channel -> dispatcher.register(channel, properties.settingsFor(channel.name())));
+        return dispatcher;
+    }
+}
@@ -0,0 +1,71 @@
+package com.fiap.notification_service.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.fiap.notification_service.core.gateways.notification.channel.ChannelSettings;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimit;
+import com.fiap.notification_service.core.gateways.notification.retry.RetryPolicy;
+
+// Canais em app.notification.channels.*; lanes recebe os recursos de cada canal (ex.: lanes.webhook.max-in-flight=32)
+@ConfigurationProperties("app.notification.channels")
+public record ChannelProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("100ms") Duration retryTickDuration,
+    Map<String, Lane> lanes,
+    @DefaultValue Webhook webhook,
+    @DefaultValue Stub stub
+) {
+
+    public ChannelProperties {
+        lanes = lanes != null ? lanes : Map.of();
+    }
+
+    public ChannelSettings settingsFor(String channel) {
+        return lanes.getOrDefault(channel, Lane.DEFAULT).toSettings();
+    }
+
+    // rateLimit ausente: o canal só é limitado pelo maxInFlight
+    public record Lane(
+        @DefaultValue("1000") int queueCapacity,
+        @DefaultValue("64") int maxInFlight,
+        RateLimit rateLimit,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("1s") Duration initialDelay,
+        @DefaultValue("1m") Duration maxDelay,
+        @DefaultValue("2.0") double multiplier
+    ) {
+
+        private static final Lane DEFAULT = new Lane(1000, 64, null, 5, Duration.ofSeconds(1), Duration.ofMinutes(1), 2.0);
+
+        ChannelSettings toSettings() {
+            return new ChannelSettings(queueCapacity, maxInFlight, rateLimit,
+                new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier));
+        }
+    }
+
+    public record Webhook(
+        @DefaultValue("false") boolean enabled,
+        Set<String> allowedHosts,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("10s") Duration requestTimeout,
+        String secret,
+        @DefaultValue("4") int threads
+    ) {
+
+        public Webhook {
+            allowedHosts = allowedHosts != null ? allowedHosts : Set.of();
+        }
+    }
+
+    public record Stub(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("stub") String name,
+        @DefaultValue("1000") int capacity
+    ) {
+    }
+}
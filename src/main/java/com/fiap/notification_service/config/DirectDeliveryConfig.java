@@ -0,0 +1,68 @@
+package com.fiap.notification_service.config;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fiap.notification_service.core.gateways.notification.smtp.DirectDeliveryMailSender;
+import com.fiap.notification_service.core.gateways.notification.smtp.SmtpTransportPoolSettings;
+import com.fiap.notification_service.core.gateways.notification.smtp.mx.CachingMxResolver;
+import com.fiap.notification_service.core.gateways.notification.smtp.mx.DnsMxResolver;
+
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+@ConditionalOnProperty(name = "app.mail.delivery.mode", havingValue = "direct")
+public class DirectDeliveryConfig {
+
+    @Bean
+    public CachingMxResolver mxResolver(
+            @Value("${app.mail.direct.dns-server:}") String dnsServer,
+            @Value("${app.mail.direct.dns-timeout:5s}") Duration dnsTimeout,
+            @Value("${app.mail.direct.mx-cache.min-ttl:60s}") Duration minTtl,
+            @Value("${app.mail.direct.mx-cache.max-ttl:1h}") Duration maxTtl,
+            @Value("${app.mail.direct.mx-cache.negative-ttl:5m}") Duration negativeTtl,
+            @Value("${app.mail.direct.mx-cache.error-ttl:30s}") Duration errorTtl,
+            @Value("${app.mail.direct.mx-cache.max-entries:10000}") int maxEntries) {
+        return new CachingMxResolver(new DnsMxResolver(dnsServer, dnsTimeout, negativeTtl),
+                minTtl, maxTtl, negativeTtl, errorTtl, maxEntries);
+    }
+
+    @Bean
+    public DirectDeliveryMailSender javaMailSender(CachingMxResolver mxResolver, MailProperties mailProperties,
+            @Value("${app.mail.direct.helo-name:}") String heloName,
+            @Value("${app.mail.direct.port:25}") int port,
+            @Value("${app.mail.direct.require-tls:false}") boolean requireTls,
+            @Value("${app.mail.direct.timeout:30s}") Duration timeout,
+            @Value("${app.mail.direct.max-per-host:2}") int maxPerHost,
+            @Value("${app.mail.direct.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${app.mail.direct.host-idle-timeout:5m}") Duration hostIdleTimeout,
+            @Value("${app.mail.direct.maintenance-interval:15s}") Duration maintenanceInterval) {
+        DirectDeliveryMailSender sender = new DirectDeliveryMailSender(mxResolver,
+                new SmtpTransportPoolSettings(0, maxPerHost, Duration.ofSeconds(5), idleTimeout, Duration.ofSeconds(10),
+                        maintenanceInterval),
+                hostIdleTimeout);
+        sender.setPort(port);
+        if (mailProperties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+        // As propriedades de spring.mail.* (auth, relay) não se aplicam à entrega direta
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", "false");
+        properties.put("mail.smtp.starttls.enable", "true");
+        properties.put("mail.smtp.starttls.required", String.valueOf(requireTls));
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(timeout.toMillis()));
+        properties.put("mail.smtp.timeout", String.valueOf(timeout.toMillis()));
+        properties.put("mail.smtp.writetimeout", String.valueOf(timeout.toMillis()));
+        if (!heloName.isBlank()) {
+            properties.put("mail.smtp.localhost", heloName);
+        }
+        sender.setJavaMailProperties(properties);
+        return sender;
+    }
+}
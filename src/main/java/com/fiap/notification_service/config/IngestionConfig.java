@@ -0,0 +1,50 @@
+package com.fiap.notification_service.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.notification_service._messaging.consumer.NotificationIngestionConsumer;
+import com.fiap.notification_service.core.controller.NotificationGateways;
+import com.fiap.notification_service.core.gateways.notification.ingestion.InMemoryNotificationBroker;
+import com.fiap.notification_service.core.gateways.notification.ingestion.NotificationSource;
+
+import jakarta.validation.Validator;
+
+// Ingestão por broker, ao lado da API REST; outro broker entra registrando um bean de NotificationSource
+@Configuration
+@ConditionalOnProperty(name = "app.notification.ingestion.enabled", havingValue = "true")
+public class IngestionConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notification.ingestion.broker", havingValue = "in-memory", matchIfMissing = true)
+    public InMemoryNotificationBroker inMemoryNotificationBroker(
+            @Value("${app.notification.ingestion.in-memory.capacity:10000}") int capacity) {
+        return new InMemoryNotificationBroker(capacity);
+    }
+
+    @Bean
+    public NotificationIngestionConsumer notificationIngestionConsumer(NotificationSource notificationSource,
+            NotificationGateways notificationGateways,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${app.notification.ingestion.concurrency:2}") int concurrency,
+            @Value("${app.notification.ingestion.batch-size:50}") int batchSize,
+            @Value("${app.notification.ingestion.poll-timeout:1s}") Duration pollTimeout,
+            @Value("${app.notification.ingestion.max-in-flight:1000}") int maxInFlight) {
+        return NotificationIngestionConsumer.builder()
+                .source(notificationSource)
+                .notificationGateways(notificationGateways)
+                .objectMapper(objectMapper)
+                .validator(validator)
+                .concurrency(concurrency)
+                .batchSize(batchSize)
+                .pollTimeout(pollTimeout)
+                .maxInFlight(maxInFlight)
+                .build();
+    }
+}
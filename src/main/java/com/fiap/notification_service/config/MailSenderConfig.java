@@ -0,0 +1,68 @@
+package com.fiap.notification_service.config;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fiap.notification_service.core.gateways.notification.smtp.PooledJavaMailSender;
+import com.fiap.notification_service.core.gateways.notification.smtp.SmtpTransportPoolSettings;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+@ConditionalOnProperty(name = "app.mail.pool.enabled", havingValue = "true", matchIfMissing = true)
+public class MailSenderConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.mail.delivery.mode", havingValue = "relay", matchIfMissing = true)
+    public PooledJavaMailSender javaMailSender(MailProperties mailProperties,
+            @Value("${app.mail.pool.min-idle:1}") int minIdle,
+            @Value("${app.mail.pool.max-total:8}") int maxTotal,
+            @Value("${app.mail.pool.max-wait:5s}") Duration maxWait,
+            @Value("${app.mail.pool.idle-timeout:60s}") Duration idleTimeout,
+            @Value("${app.mail.pool.validation-interval:30s}") Duration validationInterval,
+            @Value("${app.mail.pool.eviction-interval:15s}") Duration evictionInterval) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(new SmtpTransportPoolSettings(
+                minIdle, maxTotal, maxWait, idleTimeout, validationInterval, evictionInterval));
+        applyProperties(mailProperties, sender);
+        return sender;
+    }
+
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(name = "app.mail.delivery.mode", havingValue = "relay", matchIfMissing = true)
+    public MeterBinder smtpTransportPoolMetrics(PooledJavaMailSender javaMailSender) {
+        return javaMailSender.getTransportPool();
+    }
+
+    // Mesmo mapeamento de spring.mail.* feito pela auto-configuração do Spring Boot
+    private void applyProperties(MailProperties properties, PooledJavaMailSender sender) {
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(properties.getProperties());
+        applyTimeoutDefaults(javaMailProperties);
+        sender.setJavaMailProperties(javaMailProperties);
+    }
+
+    // Sem esses valores o Jakarta Mail espera para sempre por um servidor que não responde
+    static void applyTimeoutDefaults(Properties javaMailProperties) {
+        javaMailProperties.putIfAbsent("mail.smtp.connectiontimeout", "10000");
+        javaMailProperties.putIfAbsent("mail.smtp.timeout", "30000");
+        javaMailProperties.putIfAbsent("mail.smtp.writetimeout", "30000");
+    }
+}
@@ -0,0 +1,346 @@
+package com.fiap.notification_service.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.util.unit.DataSize;
+
+import com.fiap.notification_service.core.controller.NotificationGateways;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.gateways.notification.BoundedElasticEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGatewayImpl;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGatewayImpl;
+import com.fiap.notification_service.core.gateways.notification.ReactiveEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.attachment.AttachmentLimits;
+import com.fiap.notification_service.core.gateways.notification.attachment.AttachmentResolver;
+import com.fiap.notification_service.core.gateways.notification.attachment.AttachmentResolverImpl;
+import com.fiap.notification_service.core.gateways.notification.channel.ChannelDispatchGateway;
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+import com.fiap.notification_service.core.gateways.notification.deadletter.InMemoryDeadLetterStore;
+import com.fiap.notification_service.core.gateways.notification.idempotency.IdempotencyIndexFile;
+import com.fiap.notification_service.core.gateways.notification.idempotency.IdempotencyStore;
+import com.fiap.notification_service.core.gateways.notification.idempotency.InMemoryIdempotencyStore;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics;
+import com.fiap.notification_service.core.gateways.notification.mime.EncodedMimeCache;
+import com.fiap.notification_service.core.gateways.notification.outbox.EmailOutbox;
+import com.fiap.notification_service.core.gateways.notification.outbox.FileEmailOutbox;
+import com.fiap.notification_service.core.gateways.notification.priority.LaneEmailNotificationGateways;
+import com.fiap.notification_service.core.gateways.notification.priority.PriorityLaneScheduler;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimitedEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.SendRateLimiter;
+import com.fiap.notification_service.core.gateways.notification.resilience.ResilientEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.resilience.SmtpSessionGuard;
+import com.fiap.notification_service.core.gateways.notification.retry.HashedWheelTimer;
+import com.fiap.notification_service.core.gateways.notification.retry.RetryPolicy;
+import com.fiap.notification_service.core.gateways.notification.scheduling.DeliveryScheduler;
+import com.fiap.notification_service.core.gateways.notification.sharding.ShardedEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.status.InMemoryNotificationStatusStore;
+import com.fiap.notification_service.core.gateways.notification.status.NotificationStatusStore;
+import com.fiap.notification_service.core.gateways.notification.template.EmailTemplateGateway;
+import com.fiap.notification_service.core.gateways.notification.template.EmailTemplateGatewayImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class NotificationConfig {
+
+    @Bean
+    public EmailMetrics emailMetrics(MeterRegistry meterRegistry) {
+        return new EmailMetrics(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.mail.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public SendRateLimiter sendRateLimiter(RateLimitProperties properties) {
+        return new SendRateLimiter(properties.sender(), properties.domainDefault(), properties.domains(),
+                properties.maxTrackedDomains());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.mail.mime-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public EncodedMimeCache encodedMimeCache(@Value("${app.mail.mime-cache.max-size:32MB}") DataSize maxSize,
+            @Value("${app.mail.mime-cache.max-entries:10000}") int maxEntries) {
+        return new EncodedMimeCache(maxSize.toBytes(), maxEntries);
+    }
+
+    // Peso de cada prioridade na divisão do SMTP; o quantum de uma vez é peso x chunk-size mensagens.
+    // Sem max-concurrent-sends a fila admite tantos envios quanto há sessões SMTP; acima disso a ordem das faixas se
+    // perderia na fila FIFO do bulkhead, então a inicialização falha
+    @Bean
+    @ConditionalOnProperty(name = "app.notification.priority.enabled", havingValue = "true", matchIfMissing = true)
+    public PriorityLaneScheduler priorityLaneScheduler(
+            ObjectProvider<SenderShardingProperties> senderShardingProperties,
+            @Value("${app.notification.priority.max-concurrent-sends:0}") int maxConcurrentSends,
+            @Value("${app.notification.priority.chunk-size:50}") int chunkSize,
+            @Value("${app.notification.priority.weights.high:8}") int highWeight,
+            @Value("${app.notification.priority.weights.normal:4}") int normalWeight,
+            @Value("${app.notification.priority.weights.bulk:1}") int bulkWeight,
+            @Value("${app.notification.priority.max-wait:2s}") Duration maxWait,
+            @Value("${app.mail.pool.enabled:true}") boolean poolEnabled,
+            @Value("${app.mail.pool.max-total:8}") int poolMaxTotal,
+            @Value("${app.mail.resilience.enabled:true}") boolean resilienceEnabled,
+            @Value("${app.mail.resilience.max-concurrent:8}") int bulkheadMaxConcurrent) {
+        int smtpSessions = smtpSessions(senderShardingProperties.getIfAvailable(), poolEnabled, poolMaxTotal,
+                resilienceEnabled, bulkheadMaxConcurrent);
+        if (maxConcurrentSends > smtpSessions) {
+            throw new IllegalStateException("app.notification.priority.max-concurrent-sends (" + maxConcurrentSends
+                    + ") passa das " + smtpSessions + " sessões SMTP simultâneas (app.mail.resilience.max-concurrent"
+                    + " e app.mail.pool.max-total)");
+        }
+        return new PriorityLaneScheduler(maxConcurrentSends > 0 ? maxConcurrentSends : smtpSessions, chunkSize,
+                Map.of(NotificationPriority.HIGH, highWeight, NotificationPriority.NORMAL, normalWeight,
+                        NotificationPriority.BULK, bulkWeight), maxWait);
+    }
+
+    // Com sharding cada conta tem o próprio pool e não há bulkhead; sem pool nem bulkhead vale o padrão do pool
+    private static int smtpSessions(SenderShardingProperties sharding, boolean poolEnabled, int poolMaxTotal,
+            boolean resilienceEnabled, int bulkheadMaxConcurrent) {
+        if (sharding != null) {
+            return poolMaxTotal * Math.max(1, sharding.accounts().size());
+        }
+        if (resilienceEnabled) {
+            return poolEnabled ? Math.min(poolMaxTotal, bulkheadMaxConcurrent) : bulkheadMaxConcurrent;
+        }
+        return poolMaxTotal;
+    }
+
+    // Com app.mail.sharding.enabled o tráfego é dividido entre as contas configuradas em vez de usar só spring.mail.*.
+    // Sem limite de taxa: o envio síncrono e a fila assíncrona aplicam o limitador cada um do seu jeito
+    @Bean
+    public EmailNotificationGateway smtpEmailNotificationGateway(JavaMailSender javaMailSender,
+            ObjectProvider<ShardedEmailNotificationGateway> shardedGateway,
+            ObjectProvider<SmtpSessionGuard> smtpSessionGuard,
+            ObjectProvider<EncodedMimeCache> mimeCache,
+            EmailMetrics emailMetrics,
+            @Value("${app.mail.from}") String mailFrom,
+            @Value("${app.mail.batch.group-size:50}") int batchGroupSize,
+            @Value("${app.mail.fan-out.recipients-per-message:100}") int fanOutRecipientsPerMessage) {
+        ShardedEmailNotificationGateway sharded = shardedGateway.getIfAvailable();
+        if (sharded != null) {
+            return sharded;
+        }
+        EmailNotificationGateway gateway = new EmailNotificationGatewayImpl(javaMailSender, mailFrom, batchGroupSize, emailMetrics,
+            fanOutRecipientsPerMessage, mimeCache.getIfAvailable());
+        SmtpSessionGuard guard = smtpSessionGuard.getIfAvailable();
+        return guard != null ? new ResilientEmailNotificationGateway(gateway, guard) : gateway;
+    }
+
+    // O chamador síncrono espera a ficha por no máximo app.mail.rate-limit.max-wait; com sharding cada conta já tem o limitador
+    @Bean
+    @Primary
+    public EmailNotificationGateway emailNotificationGateway(
+            @Qualifier("smtpEmailNotificationGateway") EmailNotificationGateway smtpEmailNotificationGateway,
+            ObjectProvider<SendRateLimiter> sendRateLimiter,
+            RateLimitProperties rateLimitProperties,
+            @Value("${app.mail.from}") String mailFrom) {
+        return rateLimit(smtpEmailNotificationGateway, sendRateLimiter.getIfAvailable(), rateLimitProperties, mailFrom)
+                .apply(smtpEmailNotificationGateway);
+    }
+
+    // Pilha do envio síncrono por faixa: a ficha do limite de taxa vem antes da vez na fila de prioridade, então quem
+    // espera ficha não segura vaga no SMTP. Sem a fila, toda faixa usa o gateway principal
+    @Bean
+    public Function<SendLane, EmailNotificationGateway> laneEmailNotificationGateways(
+            @Qualifier("smtpEmailNotificationGateway") EmailNotificationGateway smtpEmailNotificationGateway,
+            EmailNotificationGateway emailNotificationGateway,
+            ObjectProvider<PriorityLaneScheduler> priorityLaneScheduler,
+            ObjectProvider<SendRateLimiter> sendRateLimiter,
+            RateLimitProperties rateLimitProperties,
+            @Value("${app.mail.from}") String mailFrom) {
+        PriorityLaneScheduler scheduler = priorityLaneScheduler.getIfAvailable();
+        if (scheduler == null) {
+            return lane -> emailNotificationGateway;
+        }
+        return new LaneEmailNotificationGateways(smtpEmailNotificationGateway, scheduler,
+                rateLimit(smtpEmailNotificationGateway, sendRateLimiter.getIfAvailable(), rateLimitProperties, mailFrom));
+    }
+
+    private static UnaryOperator<EmailNotificationGateway> rateLimit(EmailNotificationGateway smtpEmailNotificationGateway,
+            SendRateLimiter rateLimiter, RateLimitProperties rateLimitProperties, String mailFrom) {
+        if (rateLimiter == null || smtpEmailNotificationGateway instanceof ShardedEmailNotificationGateway) {
+            return UnaryOperator.identity();
+        }
+        return gateway -> new RateLimitedEmailNotificationGateway(gateway, rateLimiter, mailFrom,
+                rateLimitProperties.maxWait());
+    }
+
+    @Bean
+    public EmailTemplateGatewayImpl emailTemplateGateway(
+            @Value("${app.mail.templates.directory:}") String directory,
+            @Value("${app.mail.templates.cache-size:100}") int cacheSize,
+            @Value("${app.mail.templates.reload-interval:5s}") Duration reloadInterval) {
+        return new EmailTemplateGatewayImpl(directory.isBlank() ? null : Path.of(directory), cacheSize, reloadInterval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notification.outbox.enabled", havingValue = "true", matchIfMissing = true)
+    public FileEmailOutbox emailOutbox(@Value("${app.notification.outbox.directory:./data/outbox}") Path directory,
+            @Value("${app.notification.outbox.segment-size:64MB}") DataSize segmentSize,
+            @Value("${app.notification.outbox.fsync:true}") boolean fsync,
+            @Value("${app.notification.outbox.relocate-threshold:1000}") int relocateThreshold,
+            @Value("${app.notification.outbox.compaction-interval:30s}") Duration compactionInterval) {
+        return new FileEmailOutbox(directory, Math.toIntExact(segmentSize.toBytes()), fsync, relocateThreshold, compactionInterval);
+    }
+
+    @Bean
+    public RetryPolicy emailRetryPolicy(@Value("${app.notification.retry.max-attempts:5}") int maxAttempts,
+            @Value("${app.notification.retry.initial-delay:2s}") Duration initialDelay,
+            @Value("${app.notification.retry.max-delay:5m}") Duration maxDelay,
+            @Value("${app.notification.retry.multiplier:2.0}") double multiplier) {
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier);
+    }
+
+    @Bean
+    public HashedWheelTimer emailRetryTimer(@Value("${app.notification.retry.tick-duration:100ms}") Duration tickDuration,
+            @Value("${app.notification.retry.wheel-size:512}") int wheelSize) {
+        return new HashedWheelTimer("email-retry-timer", tickDuration, wheelSize);
+    }
+
+    @Bean
+    public InMemoryDeadLetterStore deadLetterStore(@Value("${app.notification.dead-letter.max-entries:10000}") int maxEntries) {
+        return new InMemoryDeadLetterStore(maxEntries);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notification.schedule.enabled", havingValue = "true", matchIfMissing = true)
+    public DeliveryScheduler deliveryScheduler(@Value("${app.notification.schedule.tick-duration:1s}") Duration tickDuration,
+            @Value("${app.notification.schedule.wheel-size:512}") int wheelSize,
+            @Value("${app.notification.schedule.levels:4}") int levels,
+            @Value("${app.notification.schedule.release-batch-size:500}") int releaseBatchSize,
+            @Value("${app.notification.schedule.max-delay:365d}") Duration maxDelay) {
+        return new DeliveryScheduler(tickDuration, wheelSize, levels, releaseBatchSize, maxDelay);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notification.status.enabled", havingValue = "true", matchIfMissing = true)
+    public InMemoryNotificationStatusStore notificationStatusStore(
+            @Value("${app.notification.status.max-entries:100000}") int maxEntries,
+            @Value("${app.notification.status.retention:7d}") Duration retention,
+            @Value("${app.notification.status.queue-capacity:65536}") int queueCapacity,
+            @Value("${app.notification.status.batch-size:1024}") int batchSize) {
+        return new InMemoryNotificationStatusStore(maxEntries, retention, queueCapacity, batchSize);
+    }
+
+    // Sem sharding a fila reserva a ficha antes do envio e, sem ficha livre, adia a notificação pelo timer de retentativas
+    // em vez de segurar o worker; com sharding o limitador de cada conta espera no máximo app.mail.rate-limit.max-wait
+    @Bean
+    public EmailDispatchGatewayImpl emailDispatchGateway(
+            @Qualifier("smtpEmailNotificationGateway") EmailNotificationGateway smtpEmailNotificationGateway,
+            ObjectProvider<SendRateLimiter> sendRateLimiter,
+            ObjectProvider<EmailOutbox> emailOutbox,
+            ObjectProvider<DeliveryScheduler> deliveryScheduler,
+            ObjectProvider<NotificationStatusStore> notificationStatusStore,
+            ObjectProvider<PriorityLaneScheduler> priorityLaneScheduler,
+            RetryPolicy emailRetryPolicy,
+            HashedWheelTimer emailRetryTimer,
+            DeadLetterStore deadLetterStore,
+            EmailMetrics emailMetrics,
+            @Value("${app.notification.dispatch.workers:8}") int workers,
+            @Value("${app.notification.dispatch.virtual-workers:200}") int virtualWorkers,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${app.notification.dispatch.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.mail.from}") String mailFrom) {
+        boolean sharded = smtpEmailNotificationGateway instanceof ShardedEmailNotificationGateway;
+        return EmailDispatchGatewayImpl.builder()
+                .emailNotificationGateway(smtpEmailNotificationGateway)
+                .sendRateLimiter(sharded ? null : sendRateLimiter.getIfAvailable())
+                .senderAccount(mailFrom)
+                .workerCount(virtualThreads ? virtualWorkers : workers)
+                .threadFactory(virtualThreads ? EmailDispatchGatewayImpl.virtualThreadFactory() : null)
+                .queueCapacity(queueCapacity)
+                .outbox(emailOutbox.getIfAvailable())
+                .retryPolicy(emailRetryPolicy)
+                .retryTimer(emailRetryTimer)
+                .deadLetterStore(deadLetterStore)
+                .emailMetrics(emailMetrics)
+                .deliveryScheduler(deliveryScheduler.getIfAvailable())
+                .statusStore(notificationStatusStore.getIfAvailable())
+                .priorityLaneScheduler(priorityLaneScheduler.getIfAvailable())
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public BoundedElasticEmailNotificationGateway reactiveEmailNotificationGateway(
+            EmailNotificationGateway emailNotificationGateway,
+            @Value("${app.notification.reactive.smtp-threads:64}") int smtpThreads,
+            @Value("${app.notification.reactive.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.mail.batch.group-size:50}") int groupSize,
+            @Value("${app.notification.reactive.batch-concurrency:4}") int batchConcurrency) {
+        return new BoundedElasticEmailNotificationGateway(emailNotificationGateway, smtpThreads, queueCapacity, groupSize,
+                batchConcurrency);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notification.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+    public InMemoryIdempotencyStore idempotencyStore(
+            @Value("${app.notification.idempotency.max-entries:262144}") int maxEntries,
+            @Value("${app.notification.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.notification.idempotency.wait-timeout:30s}") Duration waitTimeout,
+            @Value("${app.notification.idempotency.persistent:false}") boolean persistent,
+            @Value("${app.notification.idempotency.directory:./data/idempotency}") Path directory) {
+        return new InMemoryIdempotencyStore(maxEntries, ttl, waitTimeout,
+                persistent ? new IdempotencyIndexFile(directory) : null);
+    }
+
+    @Bean
+    public AttachmentLimits attachmentLimits(@Value("${app.mail.attachments.max-count:10}") int maxCount,
+            @Value("${app.mail.attachments.max-size:10MB}") DataSize maxSize,
+            @Value("${app.mail.attachments.max-total-size:25MB}") DataSize maxTotalSize) {
+        return new AttachmentLimits(maxCount, maxSize.toBytes(), maxTotalSize.toBytes());
+    }
+
+    @Bean
+    public AttachmentResolverImpl attachmentResolver(@Value("${app.mail.attachments.directory:}") String directory,
+            @Value("${app.mail.attachments.allowed-hosts:}") Set<String> allowedHosts,
+            @Value("${app.mail.attachments.fetch-timeout:30s}") Duration fetchTimeout) {
+        return new AttachmentResolverImpl(directory.isBlank() ? null : Path.of(directory), allowedHosts, fetchTimeout);
+    }
+
+    @Bean
+    public NotificationGateways notificationGateways(EmailNotificationGateway emailNotificationGateway,
+            EmailDispatchGateway emailDispatchGateway,
+            EmailTemplateGateway emailTemplateGateway,
+            DeadLetterStore deadLetterStore,
+            ObjectProvider<IdempotencyStore> idempotencyStore,
+            AttachmentResolver attachmentResolver,
+            AttachmentLimits attachmentLimits,
+            EmailMetrics emailMetrics,
+            ObjectProvider<NotificationStatusStore> notificationStatusStore,
+            ObjectProvider<ReactiveEmailNotificationGateway> reactiveEmailNotificationGateway,
+            ObjectProvider<ChannelDispatchGateway> channelDispatchGateway,
+            Function<SendLane, EmailNotificationGateway> laneEmailNotificationGateways) {
+        return NotificationGateways.builder()
+                .emailNotificationGateway(emailNotificationGateway)
+                .emailDispatchGateway(emailDispatchGateway)
+                .emailTemplateGateway(emailTemplateGateway)
+                .deadLetterStore(deadLetterStore)
+                .idempotencyStore(idempotencyStore.getIfAvailable())
+                .attachmentResolver(attachmentResolver)
+                .attachmentLimits(attachmentLimits)
+                .emailMetrics(emailMetrics)
+                .notificationStatusStore(notificationStatusStore.getIfAvailable())
+                .reactiveEmailNotificationGateway(reactiveEmailNotificationGateway.getIfAvailable())
+                .channelDispatchGateway(channelDispatchGateway.getIfAvailable())
+                .laneEmailNotificationGateways(laneEmailNotificationGateways)
+                .build();
+    }
+}
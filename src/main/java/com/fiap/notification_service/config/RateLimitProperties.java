@@ -0,0 +1,32 @@
+package com.fiap.notification_service.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimit;
+
+// Limites em app.mail.rate-limit.*; domains recebe limites próprios por domínio (ex.: domains[gmail.com].permits=20).
+// maxWait é quanto um envio síncrono espera pela ficha antes de ser recusado com 503
+@ConfigurationProperties("app.mail.rate-limit")
+public record RateLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    RateLimit sender,
+    RateLimit domainDefault,
+    Map<String, RateLimit> domains,
+    @DefaultValue("10000") int maxTrackedDomains,
+    @DefaultValue("2s") Duration maxWait
+) {
+
+    private static final RateLimit DEFAULT_SENDER = new RateLimit(2000, Duration.ofDays(1), 200);
+
+    private static final RateLimit DEFAULT_DOMAIN = new RateLimit(10, Duration.ofSeconds(1), 20);
+
+    public RateLimitProperties {
+        sender = sender != null ? sender : DEFAULT_SENDER;
+        domainDefault = domainDefault != null ? domainDefault : DEFAULT_DOMAIN;
+        domains = domains != null ? domains : Map.of();
+    }
+}
@@ -0,0 +1,44 @@
+package com.fiap.notification_service.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fiap.notification_service.core.gateways.notification.resilience.CircuitBreaker;
+import com.fiap.notification_service.core.gateways.notification.resilience.CircuitBreaker.State;
+import com.fiap.notification_service.core.gateways.notification.resilience.SmtpSessionGuard;
+
+@Configuration
+@ConditionalOnProperty(name = "app.mail.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class ResilienceConfig {
+
+    @Bean
+    public SmtpSessionGuard smtpSessionGuard(
+            @Value("${app.mail.resilience.failure-threshold:5}") int failureThreshold,
+            @Value("${app.mail.resilience.open-duration:30s}") Duration openDuration,
+            @Value("${app.mail.resilience.max-concurrent:8}") int maxConcurrent,
+            @Value("${app.mail.resilience.max-wait:2s}") Duration maxWait) {
+        return new SmtpSessionGuard(new CircuitBreaker(failureThreshold, openDuration), maxConcurrent, maxWait);
+    }
+
+    // Aparece como "smtp" em /actuator/health: DOWN enquanto o circuito está aberto
+    @Bean
+    public HealthIndicator smtpHealthIndicator(SmtpSessionGuard smtpSessionGuard) {
+        return () -> {
+            State state = smtpSessionGuard.getState();
+            Health.Builder health = state == State.OPEN ? Health.down() : Health.up();
+            health.withDetail("circuit", state.name())
+                    .withDetail("activeSessions", smtpSessionGuard.getActiveSessions())
+                    .withDetail("maxSessions", smtpSessionGuard.getMaxConcurrent());
+            if (state == State.OPEN) {
+                health.withDetail("retryAfter", smtpSessionGuard.getRemainingOpen().toString());
+            }
+            return health.build();
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.fiap.notification_service.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGatewayImpl;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics;
+import com.fiap.notification_service.core.gateways.notification.mime.EncodedMimeCache;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimitedEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.SendRateLimiter;
+import com.fiap.notification_service.core.gateways.notification.sharding.SenderAccount;
+import com.fiap.notification_service.core.gateways.notification.sharding.ShardedEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.smtp.PooledJavaMailSender;
+import com.fiap.notification_service.core.gateways.notification.smtp.SmtpTransportPoolSettings;
+
+@Configuration
+@EnableConfigurationProperties(SenderShardingProperties.class)
+@ConditionalOnProperty(name = "app.mail.sharding.enabled", havingValue = "true")
+public class SenderShardingConfig implements DisposableBean {
+
+    private final List<PooledJavaMailSender> mailSenders = new ArrayList<>();
+
+    // Cada conta tem seu JavaMailSender e pool de conexões; o limitador de taxa usa o remetente da conta como chave
+    @Bean
+    public ShardedEmailNotificationGateway shardedEmailNotificationGateway(SenderShardingProperties properties,
+            ObjectProvider<SendRateLimiter> sendRateLimiter,
+            RateLimitProperties rateLimitProperties,
+            ObjectProvider<EncodedMimeCache> mimeCache,
+            EmailMetrics emailMetrics,
+            @Value("${app.mail.from}") String mailFrom,
+            @Value("${app.mail.batch.group-size:50}") int batchGroupSize,
+            @Value("${app.mail.fan-out.recipients-per-message:100}") int fanOutRecipientsPerMessage,
+            @Value("${app.mail.pool.min-idle:1}") int minIdle,
+            @Value("${app.mail.pool.max-total:8}") int maxTotal,
+            @Value("${app.mail.pool.max-wait:5s}") Duration maxWait,
+            @Value("${app.mail.pool.idle-timeout:60s}") Duration idleTimeout,
+            @Value("${app.mail.pool.validation-interval:30s}") Duration validationInterval,
+            @Value("${app.mail.pool.eviction-interval:15s}") Duration evictionInterval) {
+        if (properties.accounts().isEmpty()) {
+            throw new IllegalStateException("app.mail.sharding.enabled=true exige ao menos uma conta em app.mail.sharding.accounts");
+        }
+        SmtpTransportPoolSettings poolSettings = new SmtpTransportPoolSettings(
+                minIdle, maxTotal, maxWait, idleTimeout, validationInterval, evictionInterval);
+        SendRateLimiter rateLimiter = sendRateLimiter.getIfAvailable();
+        List<SenderAccount> accounts = new ArrayList<>();
+        for (SenderShardingProperties.Account account : properties.accounts()) {
+            String from = account.from() != null && !account.from().isBlank() ? account.from() : mailFrom;
+            PooledJavaMailSender mailSender = mailSender(account, poolSettings);
+            EmailNotificationGateway gateway = new EmailNotificationGatewayImpl(mailSender, from, batchGroupSize, emailMetrics,
+                    fanOutRecipientsPerMessage, mimeCache.getIfAvailable());
+            if (rateLimiter != null) {
+                gateway = new RateLimitedEmailNotificationGateway(gateway, rateLimiter, from, rateLimitProperties.maxWait());
+            }
+            String name = account.name() != null && !account.name().isBlank() ? account.name() : from;
+            accounts.add(new SenderAccount(name, gateway, account.weight(), account.quota()));
+        }
+        return new ShardedEmailNotificationGateway(accounts, properties.strategy(), properties.failureThreshold(),
+                properties.openDuration());
+    }
+
+    private PooledJavaMailSender mailSender(SenderShardingProperties.Account account, SmtpTransportPoolSettings poolSettings) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(poolSettings);
+        sender.setHost(account.host());
+        sender.setPort(account.port());
+        sender.setUsername(account.username());
+        sender.setPassword(account.password());
+        sender.setDefaultEncoding("UTF-8");
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(account.properties());
+        MailSenderConfig.applyTimeoutDefaults(javaMailProperties);
+        sender.setJavaMailProperties(javaMailProperties);
+        mailSenders.add(sender);
+        return sender;
+    }
+
+    @Override
+    public void destroy() {
+        mailSenders.forEach(PooledJavaMailSender::destroy);
+    }
+}
@@ -0,0 +1,43 @@
+package com.fiap.notification_service.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimit;
+import com.fiap.notification_service.core.gateways.notification.sharding.ShardedEmailNotificationGateway.Strategy;
+
+// Contas em app.mail.sharding.accounts[n].*; sem from, a conta usa app.mail.from
+@ConfigurationProperties("app.mail.sharding")
+public record SenderShardingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("least-in-flight") Strategy strategy,
+    @DefaultValue("5") int failureThreshold,
+    @DefaultValue("30s") Duration openDuration,
+    List<Account> accounts
+) {
+
+    public SenderShardingProperties {
+        accounts = accounts != null ? accounts : List.of();
+    }
+
+    public record Account(
+        String name,
+        String host,
+        @DefaultValue("587") int port,
+        String username,
+        String password,
+        String from,
+        @DefaultValue("1") int weight,
+        RateLimit quota,
+        Map<String, String> properties
+    ) {
+
+        public Account {
+            properties = properties != null ? properties : Map.of();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.fiap.notification_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fiap.notification_service._webApi.validation.NotificationRequestValidator;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics.Stage;
+
+// Mede a validação dos DTOs (@Valid) como uma etapa do envio, separada do restante da requisição. Os DTOs de envio
+// passam pelo NotificationRequestValidator; desligando app.notification.request-fast-path, tudo vai pelo Hibernate
+@Configuration
+public class WebMetricsConfig implements WebMvcConfigurer {
+
+    private final SmartValidator validator;
+
+    private final EmailMetrics emailMetrics;
+
+    public WebMetricsConfig(jakarta.validation.Validator validator, EmailMetrics emailMetrics,
+            @Value("${app.notification.request-fast-path.enabled:true}") boolean fastPath) {
+        this.validator = requestValidator(validator, fastPath);
+        this.emailMetrics = emailMetrics;
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new TimedValidator(validator, emailMetrics);
+    }
+
+    // Mesma medição na stack reativa
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveWebMetricsConfig implements WebFluxConfigurer {
+
+        private final SmartValidator validator;
+
+        private final EmailMetrics emailMetrics;
+
+        ReactiveWebMetricsConfig(jakarta.validation.Validator validator, EmailMetrics emailMetrics,
+                @Value("${app.notification.request-fast-path.enabled:true}") boolean fastPath) {
+            this.validator = requestValidator(validator, fastPath);
+            this.emailMetrics = emailMetrics;
+        }
+
+        @Override
+        public Validator getValidator() {
+            return new TimedValidator(validator, emailMetrics);
+        }
+    }
+
+    private static SmartValidator requestValidator(jakarta.validation.Validator validator, boolean fastPath) {
+        SmartValidator adapter = new SpringValidatorAdapter(validator);
+        return fastPath ? new NotificationRequestValidator(adapter) : adapter;
+    }
+
+    private record TimedValidator(SmartValidator validator, EmailMetrics emailMetrics) implements SmartValidator {
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return validator.supports(clazz);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            long start = emailMetrics.start();
+            try {
+                validator.validate(target, errors);
+            } finally {
+                emailMetrics.record(Stage.VALIDATION, start);
+            }
+        }
+
+        @Override
+        public void validate(Object target, Errors errors, Object... validationHints) {
+            long start = emailMetrics.start();
+            try {
+                validator.validate(target, errors, validationHints);
+            } finally {
+                emailMetrics.record(Stage.VALIDATION, start);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.fiap.notification_service.config;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.notification_service._webApi.codec.SendEmailRequestHttpMessageConverter;
+import com.fiap.notification_service._webApi.codec.SendEmailRequestJsonReader;
+
+// Lê os DTOs de envio em streaming antes do conversor Jackson; a validação correspondente fica no WebMetricsConfig
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.notification.request-fast-path.enabled", havingValue = "true", matchIfMissing = true)
+public class WebRequestConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public WebRequestConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new SendEmailRequestHttpMessageConverter(new SendEmailRequestJsonReader(objectMapper)));
+    }
+}
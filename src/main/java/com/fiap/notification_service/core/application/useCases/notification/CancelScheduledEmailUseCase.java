@@ -0,0 +1,23 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.UUID;
+
+import com.fiap.notification_service.core.exceptions.NotificationNotFoundException;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
+
+
+public class CancelScheduledEmailUseCase {
+
+
+    private final EmailDispatchGateway emailDispatchGateway;
+
+    public CancelScheduledEmailUseCase(EmailDispatchGateway emailDispatchGateway) {
+        this.emailDispatchGateway = emailDispatchGateway;
+    }
+
+    public void execute(UUID notificationId) {
+        if (!emailDispatchGateway.cancelScheduled(notificationId)) {
+            throw new NotificationNotFoundException("Nenhum envio agendado pendente com o id: " + notificationId);
+        }
+    }
+}
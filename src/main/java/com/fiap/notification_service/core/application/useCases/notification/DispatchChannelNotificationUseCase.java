@@ -0,0 +1,25 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.ChannelNotification;
+import com.fiap.notification_service.core.exceptions.NotificationNotFoundException;
+import com.fiap.notification_service.core.gateways.notification.channel.ChannelDispatchGateway;
+
+
+public class DispatchChannelNotificationUseCase {
+
+
+    private final ChannelDispatchGateway channelDispatchGateway;
+
+    public DispatchChannelNotificationUseCase(ChannelDispatchGateway channelDispatchGateway) {
+        this.channelDispatchGateway = channelDispatchGateway;
+    }
+
+    public UUID execute(String channel, String recipient, String subject, String body) {
+        if (!channelDispatchGateway.getChannels().contains(channel)) {
+            throw new NotificationNotFoundException("Canal não configurado: " + channel);
+        }
+        return channelDispatchGateway.dispatch(ChannelNotification.create(channel, recipient, subject, body));
+    }
+}
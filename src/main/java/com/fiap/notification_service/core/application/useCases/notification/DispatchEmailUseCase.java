@@ -0,0 +1,26 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.gateways.notification.DispatchCallback;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
+
+
+public class DispatchEmailUseCase {
+
+
+    private final EmailDispatchGateway emailDispatchGateway;
+
+    public DispatchEmailUseCase(EmailDispatchGateway emailDispatchGateway) {
+        this.emailDispatchGateway = emailDispatchGateway;
+    }
+
+    public UUID execute(String to, String subject, String body) {
+        return emailDispatchGateway.dispatch(to, subject, body);
+    }
+
+    public UUID execute(String to, String subject, String body, DispatchCallback callback) {
+        return emailDispatchGateway.dispatch(EmailNotification.create(to, subject, body), callback);
+    }
+}
@@ -0,0 +1,23 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+import com.fiap.notification_service.core.exceptions.NotificationNotFoundException;
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+
+
+public class FindDeadLetterUseCase {
+
+
+    private final DeadLetterStore deadLetterStore;
+
+    public FindDeadLetterUseCase(DeadLetterStore deadLetterStore) {
+        this.deadLetterStore = deadLetterStore;
+    }
+
+    public DeadLetter execute(UUID notificationId) {
+        return deadLetterStore.find(notificationId)
+            .orElseThrow(() -> new NotificationNotFoundException("Notificação não encontrada na dead-letter: " + notificationId));
+    }
+}
@@ -0,0 +1,23 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.NotificationRecord;
+import com.fiap.notification_service.core.exceptions.NotificationNotFoundException;
+import com.fiap.notification_service.core.gateways.notification.status.NotificationStatusStore;
+
+
+public class FindNotificationStatusUseCase {
+
+
+    private final NotificationStatusStore notificationStatusStore;
+
+    public FindNotificationStatusUseCase(NotificationStatusStore notificationStatusStore) {
+        this.notificationStatusStore = notificationStatusStore;
+    }
+
+    public NotificationRecord execute(UUID notificationId) {
+        return notificationStatusStore.find(notificationId)
+            .orElseThrow(() -> new NotificationNotFoundException("Notificação não encontrada: " + notificationId));
+    }
+}
@@ -0,0 +1,44 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import com.fiap.notification_service.core.domain.notification.IdempotentResult;
+import com.fiap.notification_service.core.gateways.notification.idempotency.IdempotencyClaim;
+import com.fiap.notification_service.core.gateways.notification.idempotency.IdempotencyHashes;
+import com.fiap.notification_service.core.gateways.notification.idempotency.IdempotencyStore;
+
+
+public class IdempotentSendUseCase {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+
+    public IdempotentSendUseCase(IdempotencyStore idempotencyStore) {
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    // Executa o envio uma única vez por chave; repetições recebem o resultado original sem novo envio SMTP
+    public IdempotentResult execute(String scope, String idempotencyKey, String to, String subject, String body,
+            Supplier<UUID> send) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+        IdempotencyClaim claim = idempotencyStore.claim(scope + ':' + idempotencyKey,
+                IdempotencyHashes.fingerprint(to, subject, body));
+        if (claim.isReplay()) {
+            return new IdempotentResult(claim.getNotificationId(), true);
+        }
+        UUID notificationId;
+        try {
+            notificationId = send.get();
+        } catch (RuntimeException e) {
+            idempotencyStore.release(claim);
+            throw e;
+        }
+        // Fora do try: depois que o envio saiu, a chave nunca é liberada, senão a nova tentativa duplicaria o e-mail
+        idempotencyStore.complete(claim, notificationId);
+        return new IdempotentResult(notificationId, false);
+    }
+}
@@ -0,0 +1,24 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.List;
+
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+
+
+public class ListDeadLettersUseCase {
+
+
+    private final DeadLetterStore deadLetterStore;
+
+    public ListDeadLettersUseCase(DeadLetterStore deadLetterStore) {
+        this.deadLetterStore = deadLetterStore;
+    }
+
+    public List<DeadLetter> execute(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Paginação inválida: page deve ser >= 0 e size >= 1");
+        }
+        return deadLetterStore.list(page, size);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.Map;
+
+import com.fiap.notification_service.core.gateways.notification.template.EmailTemplateGateway;
+
+
+public class RenderEmailBodyUseCase {
+
+
+    private final EmailTemplateGateway emailTemplateGateway;
+
+    public RenderEmailBodyUseCase(EmailTemplateGateway emailTemplateGateway) {
+        this.emailTemplateGateway = emailTemplateGateway;
+    }
+
+    // O corpo informado tem precedência; sem ele, o corpo é renderizado a partir do template
+    public String execute(String body, String templateId, Map<String, String> variables) {
+        if (body != null && !body.isBlank()) {
+            return body;
+        }
+        if (templateId == null || templateId.isBlank()) {
+            throw new IllegalArgumentException("O corpo do email ou o templateId é obrigatório");
+        }
+        if (emailTemplateGateway == null) {
+            throw new IllegalStateException("Templates de email não configurados");
+        }
+        return emailTemplateGateway.render(templateId, variables);
+    }
+}
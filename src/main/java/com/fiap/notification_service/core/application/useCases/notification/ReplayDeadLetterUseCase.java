@@ -0,0 +1,34 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+import com.fiap.notification_service.core.exceptions.NotificationNotFoundException;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+
+
+public class ReplayDeadLetterUseCase {
+
+
+    private final DeadLetterStore deadLetterStore;
+
+    private final EmailDispatchGateway emailDispatchGateway;
+
+    public ReplayDeadLetterUseCase(DeadLetterStore deadLetterStore, EmailDispatchGateway emailDispatchGateway) {
+        this.deadLetterStore = deadLetterStore;
+        this.emailDispatchGateway = emailDispatchGateway;
+    }
+
+    // Reenfileira com o mesmo id; se a fila recusar, a mensagem volta para a dead-letter
+    public UUID execute(UUID notificationId) {
+        DeadLetter deadLetter = deadLetterStore.remove(notificationId)
+            .orElseThrow(() -> new NotificationNotFoundException("Notificação não encontrada na dead-letter: " + notificationId));
+        try {
+            return emailDispatchGateway.dispatch(deadLetter.notification());
+        } catch (RuntimeException e) {
+            deadLetterStore.add(deadLetter);
+            throw e;
+        }
+    }
+}
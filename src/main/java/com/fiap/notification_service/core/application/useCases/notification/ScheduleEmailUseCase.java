@@ -0,0 +1,22 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
+
+
+public class ScheduleEmailUseCase {
+
+
+    private final EmailDispatchGateway emailDispatchGateway;
+
+    public ScheduleEmailUseCase(EmailDispatchGateway emailDispatchGateway) {
+        this.emailDispatchGateway = emailDispatchGateway;
+    }
+
+    public UUID execute(String to, String subject, String body, Instant deliverAt) {
+        return emailDispatchGateway.schedule(EmailNotification.create(to, subject, body), deliverAt);
+    }
+}
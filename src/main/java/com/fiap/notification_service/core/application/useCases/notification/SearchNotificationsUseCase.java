@@ -0,0 +1,30 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.List;
+
+import com.fiap.notification_service.core.domain.notification.NotificationQuery;
+import com.fiap.notification_service.core.domain.notification.NotificationRecord;
+import com.fiap.notification_service.core.gateways.notification.status.NotificationStatusStore;
+
+
+public class SearchNotificationsUseCase {
+
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final NotificationStatusStore notificationStatusStore;
+
+    public SearchNotificationsUseCase(NotificationStatusStore notificationStatusStore) {
+        this.notificationStatusStore = notificationStatusStore;
+    }
+
+    public List<NotificationRecord> execute(NotificationQuery query, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Paginação inválida: page deve ser >= 0 e size entre 1 e " + MAX_PAGE_SIZE);
+        }
+        if (query.from() != null && query.until() != null && query.from().isAfter(query.until())) {
+            throw new IllegalArgumentException("Período inválido: from deve ser anterior a until");
+        }
+        return notificationStatusStore.search(query, page, size);
+    }
+}
@@ -0,0 +1,22 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.List;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+
+
+public class SendEmailBatchUseCase {
+
+
+    private final EmailNotificationGateway emailNotificationGateway;
+
+    public SendEmailBatchUseCase(EmailNotificationGateway emailNotificationGateway) {
+        this.emailNotificationGateway = emailNotificationGateway;
+    }
+
+    public List<EmailDeliveryResult> execute(List<EmailNotification> notifications) {
+        return emailNotificationGateway.sendEmails(notifications);
+    }
+}
@@ -0,0 +1,23 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.List;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+
+
+public class SendEmailFanOutUseCase {
+
+
+    private final EmailNotificationGateway emailNotificationGateway;
+
+    public SendEmailFanOutUseCase(EmailNotificationGateway emailNotificationGateway) {
+        this.emailNotificationGateway = emailNotificationGateway;
+    }
+
+    public List<EmailDeliveryResult> execute(List<EmailNotification> notifications, FanOutMode mode) {
+        return emailNotificationGateway.sendFanOut(notifications, mode);
+    }
+}
@@ -0,0 +1,20 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import com.fiap.notification_service.core.gateways.notification.ReactiveEmailNotificationGateway;
+
+import reactor.core.publisher.Mono;
+
+
+public class SendEmailReactiveUseCase {
+
+
+    private final ReactiveEmailNotificationGateway reactiveEmailNotificationGateway;
+
+    public SendEmailReactiveUseCase(ReactiveEmailNotificationGateway reactiveEmailNotificationGateway) {
+        this.reactiveEmailNotificationGateway = reactiveEmailNotificationGateway;
+    }
+
+    public Mono<Void> execute(String to, String subject, String body) {
+        return reactiveEmailNotificationGateway.sendEmail(to, subject, body);
+    }
+}
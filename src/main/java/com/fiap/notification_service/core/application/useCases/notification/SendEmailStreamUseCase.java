@@ -0,0 +1,22 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.gateways.notification.ReactiveEmailNotificationGateway;
+
+import reactor.core.publisher.Flux;
+
+
+public class SendEmailStreamUseCase {
+
+
+    private final ReactiveEmailNotificationGateway reactiveEmailNotificationGateway;
+
+    public SendEmailStreamUseCase(ReactiveEmailNotificationGateway reactiveEmailNotificationGateway) {
+        this.reactiveEmailNotificationGateway = reactiveEmailNotificationGateway;
+    }
+
+    public Flux<EmailDeliveryResult> execute(Flux<EmailNotification> notifications) {
+        return reactiveEmailNotificationGateway.sendEmails(notifications);
+    }
+}
@@ -0,0 +1,25 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import java.util.List;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.attachment.AttachmentLimits;
+
+
+public class SendEmailWithAttachmentsUseCase {
+
+
+    private final EmailNotificationGateway emailNotificationGateway;
+
+    private final AttachmentLimits attachmentLimits;
+
+    public SendEmailWithAttachmentsUseCase(EmailNotificationGateway emailNotificationGateway, AttachmentLimits attachmentLimits) {
+        this.emailNotificationGateway = emailNotificationGateway;
+        this.attachmentLimits = attachmentLimits;
+    }
+
+    public void execute(String to, String subject, String body, List<EmailAttachment> attachments) {
+        emailNotificationGateway.sendEmail(to, subject, body, attachmentLimits.enforce(attachments));
+    }
+}
@@ -1,27 +1,323 @@
 package com.fiap.notification_service.core.controller;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
 import org.springframework.mail.javamail.JavaMailSender;
 
+import com.fiap.notification_service.core.application.useCases.notification.CancelScheduledEmailUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.DispatchChannelNotificationUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.DispatchEmailUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.FindDeadLetterUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.FindNotificationStatusUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.IdempotentSendUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.ListDeadLettersUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.RenderEmailBodyUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.ReplayDeadLetterUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.ScheduleEmailUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.SearchNotificationsUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.SendEmailBatchUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.SendEmailFanOutUseCase;
 import com.fiap.notification_service.core.application.useCases.notification.SendEmailUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.SendEmailWithAttachmentsUseCase;
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.domain.notification.IdempotentResult;
+import com.fiap.notification_service.core.domain.notification.NotificationQuery;
+import com.fiap.notification_service.core.domain.notification.NotificationRecord;
+import com.fiap.notification_service.core.domain.notification.NotificationStatus;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.gateways.notification.DispatchCallback;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
 import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
 import com.fiap.notification_service.core.gateways.notification.EmailNotificationGatewayImpl;
+import com.fiap.notification_service.core.gateways.notification.channel.ChannelDispatchGateway;
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics.Stage;
+import com.fiap.notification_service.core.gateways.notification.status.NotificationStatusStore;
 
 public class NotificationController {
 
+    private static final String SEND_EMAIL_SCOPE = "send-email";
+
+    private static final String DISPATCH_EMAIL_SCOPE = "send-email-async";
+
+    private static final String SCHEDULE_EMAIL_SCOPE = "send-email-scheduled";
 
-    private final EmailNotificationGateway emailNotificationGateway;
+    private final NotificationGateways gateways;
 
-    private NotificationController(JavaMailSender javaMailSender, String mailFrom) {
-        this.emailNotificationGateway = new EmailNotificationGatewayImpl(javaMailSender, mailFrom);
+    private NotificationController(NotificationGateways gateways) {
+        this.gateways = gateways;
     }
 
     public static NotificationController build(JavaMailSender javaMailSender, String mailFrom) {
-        return new NotificationController(javaMailSender, mailFrom);
+        return new NotificationController(NotificationGateways.builder()
+            .emailNotificationGateway(new EmailNotificationGatewayImpl(javaMailSender, mailFrom))
+            .build());
+    }
+
+    public static NotificationController build(NotificationGateways gateways) {
+        return new NotificationController(gateways);
+    }
+
+
+    public UUID sendEmail(String to, String subject, String body) {
+        return sendEmail(to, subject, body, SendLane.DEFAULT);
+    }
+
+    public UUID sendEmail(String to, String subject, String body, SendLane lane) {
+        SendEmailUseCase useCase = new SendEmailUseCase(gatewayFor(lane));
+        return track(EmailNotification.create(to, subject, body), () -> {
+            long start = gateways.emailMetrics().start();
+            try {
+                useCase.execute(to, subject, body);
+            } finally {
+                gateways.emailMetrics().record(Stage.USE_CASE, start);
+            }
+        });
+    }
+
+    // Sem idempotencyKey o envio é feito normalmente; com ela, repetições devolvem o resultado original
+    public IdempotentResult sendEmail(String to, String subject, String body, String idempotencyKey) {
+        return sendEmail(to, subject, body, idempotencyKey, SendLane.DEFAULT);
+    }
+
+    public IdempotentResult sendEmail(String to, String subject, String body, String idempotencyKey, SendLane lane) {
+        if (idempotencyKey == null || gateways.idempotencyStore() == null) {
+            return new IdempotentResult(sendEmail(to, subject, body, lane), false);
+        }
+        IdempotentSendUseCase useCase = new IdempotentSendUseCase(gateways.idempotencyStore());
+        return useCase.execute(SEND_EMAIL_SCOPE, idempotencyKey, to, subject, body,
+            () -> sendEmail(to, subject, body, lane));
+    }
+
+    public IdempotentResult sendEmail(String to, String subject, String body, List<EmailAttachment> attachments,
+            String idempotencyKey) {
+        return sendEmail(to, subject, body, attachments, idempotencyKey, SendLane.DEFAULT);
+    }
+
+    public IdempotentResult sendEmail(String to, String subject, String body, List<EmailAttachment> attachments,
+            String idempotencyKey, SendLane lane) {
+        if (attachments.isEmpty()) {
+            return sendEmail(to, subject, body, idempotencyKey, lane);
+        }
+        Supplier<UUID> send = () -> {
+            SendEmailWithAttachmentsUseCase useCase = new SendEmailWithAttachmentsUseCase(
+                gatewayFor(lane), gateways.attachmentLimits());
+            return track(EmailNotification.create(to, subject, body), () -> {
+                long start = gateways.emailMetrics().start();
+                try {
+                    useCase.execute(to, subject, body, attachments);
+                } finally {
+                    gateways.emailMetrics().record(Stage.USE_CASE, start);
+                }
+            });
+        };
+        if (idempotencyKey == null || gateways.idempotencyStore() == null) {
+            return new IdempotentResult(send.get(), false);
+        }
+        // Nome e tamanho dos anexos entram na comparação; o conteúdo não é lido só para isso
+        StringBuilder fingerprint = new StringBuilder(body);
+        for (EmailAttachment attachment : attachments) {
+            fingerprint.append('\0').append(attachment.fileName()).append('\0').append(attachment.size());
+        }
+        IdempotentSendUseCase useCase = new IdempotentSendUseCase(gateways.idempotencyStore());
+        return useCase.execute(SEND_EMAIL_SCOPE, idempotencyKey, to, subject, fingerprint.toString(), send);
+    }
+
+    public EmailAttachment resolveAttachment(String fileName, String contentType, String uri) {
+        if (gateways.attachmentResolver() == null) {
+            throw new IllegalStateException("Anexos por referência não configurados");
+        }
+        return gateways.attachmentResolver().resolve(fileName, contentType, uri);
+    }
+
+    public List<EmailDeliveryResult> sendEmails(List<EmailNotification> notifications) {
+        return sendEmails(notifications, SendLane.DEFAULT);
+    }
+
+    public List<EmailDeliveryResult> sendEmails(List<EmailNotification> notifications, SendLane lane) {
+        SendEmailBatchUseCase useCase = new SendEmailBatchUseCase(gatewayFor(lane));
+        return track(notifications, () -> useCase.execute(notifications));
+    }
+
+    public List<EmailDeliveryResult> sendFanOut(List<EmailNotification> notifications, FanOutMode mode) {
+        return sendFanOut(notifications, mode, SendLane.DEFAULT);
+    }
+
+    public List<EmailDeliveryResult> sendFanOut(List<EmailNotification> notifications, FanOutMode mode, SendLane lane) {
+        SendEmailFanOutUseCase useCase = new SendEmailFanOutUseCase(gatewayFor(lane));
+        return track(notifications, () -> useCase.execute(notifications, mode));
+    }
+
+    public UUID dispatchEmail(String to, String subject, String body) {
+        DispatchEmailUseCase useCase = new DispatchEmailUseCase(requireDispatchGateway());
+        return useCase.execute(to, subject, body);
+    }
+
+    // O callback recebe o resultado final do envio, depois das retentativas
+    public UUID dispatchEmail(String to, String subject, String body, DispatchCallback callback) {
+        DispatchEmailUseCase useCase = new DispatchEmailUseCase(requireDispatchGateway());
+        return useCase.execute(to, subject, body, callback);
+    }
+
+    public int getDispatchCapacity() {
+        return requireDispatchGateway().getRemainingCapacity();
+    }
+
+    public IdempotentResult dispatchEmail(String to, String subject, String body, String idempotencyKey) {
+        if (idempotencyKey == null || gateways.idempotencyStore() == null) {
+            return new IdempotentResult(dispatchEmail(to, subject, body), false);
+        }
+        IdempotentSendUseCase useCase = new IdempotentSendUseCase(gateways.idempotencyStore());
+        return useCase.execute(DISPATCH_EMAIL_SCOPE, idempotencyKey, to, subject, body,
+            () -> dispatchEmail(to, subject, body));
     }
 
+    public UUID scheduleEmail(String to, String subject, String body, Instant deliverAt) {
+        ScheduleEmailUseCase useCase = new ScheduleEmailUseCase(requireDispatchGateway());
+        return useCase.execute(to, subject, body, deliverAt);
+    }
+
+    // O horário não entra na comparação: repetir a requisição com delay relativo não pode virar um conflito
+    public IdempotentResult scheduleEmail(String to, String subject, String body, Instant deliverAt,
+            String idempotencyKey) {
+        if (idempotencyKey == null || gateways.idempotencyStore() == null) {
+            return new IdempotentResult(scheduleEmail(to, subject, body, deliverAt), false);
+        }
+        IdempotentSendUseCase useCase = new IdempotentSendUseCase(gateways.idempotencyStore());
+        return useCase.execute(SCHEDULE_EMAIL_SCOPE, idempotencyKey, to, subject, body,
+            () -> scheduleEmail(to, subject, body, deliverAt));
+    }
+
+    public void cancelScheduledEmail(UUID notificationId) {
+        CancelScheduledEmailUseCase useCase = new CancelScheduledEmailUseCase(requireDispatchGateway());
+        useCase.execute(notificationId);
+    }
+
+    public UUID dispatchToChannel(String channel, String recipient, String subject, String body) {
+        DispatchChannelNotificationUseCase useCase = new DispatchChannelNotificationUseCase(requireChannelDispatchGateway());
+        return useCase.execute(channel, recipient, subject, body);
+    }
+
+    public Set<String> getChannels() {
+        return gateways.channelDispatchGateway() != null ? gateways.channelDispatchGateway().getChannels() : Set.of();
+    }
+
+    public String renderBody(String body, String templateId, Map<String, String> variables) {
+        RenderEmailBodyUseCase useCase = new RenderEmailBodyUseCase(gateways.emailTemplateGateway());
+        long start = gateways.emailMetrics().start();
+        try {
+            return useCase.execute(body, templateId, variables);
+        } finally {
+            gateways.emailMetrics().record(Stage.RENDER, start);
+        }
+    }
+
+    public List<DeadLetter> listDeadLetters(int page, int size) {
+        ListDeadLettersUseCase useCase = new ListDeadLettersUseCase(requireDeadLetterStore());
+        return useCase.execute(page, size);
+    }
+
+    public long countDeadLetters() {
+        return requireDeadLetterStore().count();
+    }
+
+    public DeadLetter findDeadLetter(UUID notificationId) {
+        FindDeadLetterUseCase useCase = new FindDeadLetterUseCase(requireDeadLetterStore());
+        return useCase.execute(notificationId);
+    }
+
+    public UUID replayDeadLetter(UUID notificationId) {
+        ReplayDeadLetterUseCase useCase = new ReplayDeadLetterUseCase(requireDeadLetterStore(), requireDispatchGateway());
+        return useCase.execute(notificationId);
+    }
+
+    public NotificationRecord findNotification(UUID notificationId) {
+        FindNotificationStatusUseCase useCase = new FindNotificationStatusUseCase(gateways.notificationStatusStore());
+        return useCase.execute(notificationId);
+    }
+
+    public List<NotificationRecord> searchNotifications(NotificationQuery query, int page, int size) {
+        SearchNotificationsUseCase useCase = new SearchNotificationsUseCase(gateways.notificationStatusStore());
+        return useCase.execute(query, page, size);
+    }
+
+    public long countNotifications(NotificationQuery query) {
+        return gateways.notificationStatusStore().count(query);
+    }
+
+    // A pilha de cada faixa (limitador de taxa, fila de prioridade) é montada na configuração
+    private EmailNotificationGateway gatewayFor(SendLane lane) {
+        return gateways.laneEmailNotificationGateways().apply(lane);
+    }
+
+    // Envio síncrono: o status fica ACCEPTED enquanto a requisição espera o SMTP
+    private UUID track(EmailNotification notification, Runnable send) {
+        NotificationStatusStore statusStore = gateways.notificationStatusStore();
+        statusStore.record(notification, NotificationStatus.ACCEPTED);
+        try {
+            send.run();
+        } catch (RuntimeException e) {
+            statusStore.record(notification, NotificationStatus.FAILED, 1, e.getMessage());
+            throw e;
+        }
+        statusStore.record(notification, NotificationStatus.SENT, 1, null);
+        return notification.id();
+    }
+
+    private List<EmailDeliveryResult> track(List<EmailNotification> notifications,
+            Supplier<List<EmailDeliveryResult>> send) {
+        NotificationStatusStore statusStore = gateways.notificationStatusStore();
+        Map<UUID, EmailNotification> byId = new HashMap<>(notifications.size() * 2);
+        for (EmailNotification notification : notifications) {
+            byId.put(notification.id(), notification);
+            statusStore.record(notification, NotificationStatus.ACCEPTED);
+        }
+        List<EmailDeliveryResult> results;
+        try {
+            results = send.get();
+        } catch (RuntimeException e) {
+            notifications.forEach(notification -> statusStore.record(notification, NotificationStatus.FAILED, 1,
+                e.getMessage()));
+            throw e;
+        }
+        for (EmailDeliveryResult result : results) {
+            EmailNotification notification = byId.get(result.notificationId());
+            if (notification != null) {
+                statusStore.record(notification, result.sent() ? NotificationStatus.SENT : NotificationStatus.FAILED,
+                    1, result.error());
+            }
+        }
+        return results;
+    }
+
+    private EmailDispatchGateway requireDispatchGateway() {
+        if (gateways.emailDispatchGateway() == null) {
+            throw new IllegalStateException("Envio assíncrono não configurado");
+        }
+        return gateways.emailDispatchGateway();
+    }
+
+    private ChannelDispatchGateway requireChannelDispatchGateway() {
+        if (gateways.channelDispatchGateway() == null) {
+            throw new IllegalStateException("Canais de notificação não configurados");
+        }
+        return gateways.channelDispatchGateway();
+    }
 
-    public void sendEmail(String to, String subject, String body) {
-        SendEmailUseCase useCase = new SendEmailUseCase(emailNotificationGateway);
-        useCase.execute(to, subject, body);
+    private DeadLetterStore requireDeadLetterStore() {
+        if (gateways.deadLetterStore() == null) {
+            throw new IllegalStateException("Dead-letter não configurada");
+        }
+        return gateways.deadLetterStore();
     }
 }
@@ -0,0 +1,45 @@
+package com.fiap.notification_service.core.controller;
+
+import java.util.function.Function;
+
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.ReactiveEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.attachment.AttachmentLimits;
+import com.fiap.notification_service.core.gateways.notification.attachment.AttachmentResolver;
+import com.fiap.notification_service.core.gateways.notification.channel.ChannelDispatchGateway;
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+import com.fiap.notification_service.core.gateways.notification.idempotency.IdempotencyStore;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics;
+import com.fiap.notification_service.core.gateways.notification.status.NotificationStatusStore;
+import com.fiap.notification_service.core.gateways.notification.template.EmailTemplateGateway;
+
+import lombok.Builder;
+
+@Builder
+public record NotificationGateways(
+    EmailNotificationGateway emailNotificationGateway,
+    EmailDispatchGateway emailDispatchGateway,
+    EmailTemplateGateway emailTemplateGateway,
+    DeadLetterStore deadLetterStore,
+    IdempotencyStore idempotencyStore,
+    AttachmentResolver attachmentResolver,
+    AttachmentLimits attachmentLimits,
+    EmailMetrics emailMetrics,
+    NotificationStatusStore notificationStatusStore,
+    ReactiveEmailNotificationGateway reactiveEmailNotificationGateway,
+    ChannelDispatchGateway channelDispatchGateway,
+    // Gateway do envio síncrono de cada faixa; sem ele, todas as faixas usam emailNotificationGateway
+    Function<SendLane, EmailNotificationGateway> laneEmailNotificationGateways
+) {
+
+    public NotificationGateways {
+        attachmentLimits = attachmentLimits != null ? attachmentLimits : AttachmentLimits.DEFAULT;
+        emailMetrics = emailMetrics != null ? emailMetrics : EmailMetrics.NOOP;
+        notificationStatusStore = notificationStatusStore != null ? notificationStatusStore : NotificationStatusStore.NONE;
+        laneEmailNotificationGateways = laneEmailNotificationGateways != null
+            ? laneEmailNotificationGateways
+            : lane -> emailNotificationGateway;
+    }
+}
@@ -0,0 +1,74 @@
+package com.fiap.notification_service.core.controller;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fiap.notification_service.core.application.useCases.notification.SendEmailReactiveUseCase;
+import com.fiap.notification_service.core.application.useCases.notification.SendEmailStreamUseCase;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.NotificationStatus;
+import com.fiap.notification_service.core.gateways.notification.ReactiveEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics.Stage;
+import com.fiap.notification_service.core.gateways.notification.status.NotificationStatusStore;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Envio síncrono na stack reativa; o restante (fila, agendamento, idempotência) continua no NotificationController
+public class ReactiveNotificationController {
+
+    private final NotificationGateways gateways;
+
+    private ReactiveNotificationController(NotificationGateways gateways) {
+        this.gateways = gateways;
+    }
+
+    public static ReactiveNotificationController build(NotificationGateways gateways) {
+        return new ReactiveNotificationController(gateways);
+    }
+
+
+    public Mono<UUID> sendEmail(String to, String subject, String body) {
+        SendEmailReactiveUseCase useCase = new SendEmailReactiveUseCase(requireReactiveGateway());
+        return Mono.defer(() -> {
+            EmailNotification notification = EmailNotification.create(to, subject, body);
+            NotificationStatusStore statusStore = gateways.notificationStatusStore();
+            statusStore.record(notification, NotificationStatus.ACCEPTED);
+            long start = gateways.emailMetrics().start();
+            return useCase.execute(to, subject, body)
+                .doOnSuccess(ignored -> statusStore.record(notification, NotificationStatus.SENT, 1, null))
+                .doOnError(e -> statusStore.record(notification, NotificationStatus.FAILED, 1, e.getMessage()))
+                .doFinally(signal -> gateways.emailMetrics().record(Stage.USE_CASE, start))
+                .thenReturn(notification.id());
+        });
+    }
+
+    // Só as notificações já lidas e ainda sem resultado ficam no mapa, então ele acompanha a demanda, não o lote
+    public Flux<EmailDeliveryResult> sendEmails(Flux<EmailNotification> notifications) {
+        SendEmailStreamUseCase useCase = new SendEmailStreamUseCase(requireReactiveGateway());
+        return Flux.defer(() -> {
+            NotificationStatusStore statusStore = gateways.notificationStatusStore();
+            Map<UUID, EmailNotification> pending = new ConcurrentHashMap<>();
+            Flux<EmailNotification> accepted = notifications.doOnNext(notification -> {
+                pending.put(notification.id(), notification);
+                statusStore.record(notification, NotificationStatus.ACCEPTED);
+            });
+            return useCase.execute(accepted).doOnNext(result -> {
+                EmailNotification notification = pending.remove(result.notificationId());
+                if (notification != null) {
+                    statusStore.record(notification, result.sent() ? NotificationStatus.SENT : NotificationStatus.FAILED,
+                        1, result.error());
+                }
+            });
+        });
+    }
+
+    private ReactiveEmailNotificationGateway requireReactiveGateway() {
+        if (gateways.reactiveEmailNotificationGateway() == null) {
+            throw new IllegalStateException("Stack reativa não configurada");
+        }
+        return gateways.reactiveEmailNotificationGateway();
+    }
+}
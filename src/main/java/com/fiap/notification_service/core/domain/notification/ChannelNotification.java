@@ -0,0 +1,17 @@
+package com.fiap.notification_service.core.domain.notification;
+
+import java.util.UUID;
+
+// Notificação de um canal genérico: recipient é o que o canal entende como destino (URL do webhook, telefone, token)
+public record ChannelNotification(
+    UUID id,
+    String channel,
+    String recipient,
+    String subject,
+    String body
+) {
+
+    public static ChannelNotification create(String channel, String recipient, String subject, String body) {
+        return new ChannelNotification(UUID.randomUUID(), channel, recipient, subject, body);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fiap.notification_service.core.domain.notification;
+
+import java.time.Instant;
+
+public record DeadLetter(
+    EmailNotification notification,
+    int attempts,
+    Integer replyCode,
+    String reason,
+    Instant failedAt
+) {
+
+}
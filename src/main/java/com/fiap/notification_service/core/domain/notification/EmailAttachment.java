@@ -0,0 +1,20 @@
+package com.fiap.notification_service.core.domain.notification;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// O conteúdo é aberto só no momento do envio e lido em streaming, sem ficar inteiro em memória
+public record EmailAttachment(
+    String fileName,
+    String contentType,
+    long size,
+    Content content
+) {
+
+    public static final long UNKNOWN_SIZE = -1;
+
+    @FunctionalInterface
+    public interface Content {
+        InputStream open() throws IOException;
+    }
+}
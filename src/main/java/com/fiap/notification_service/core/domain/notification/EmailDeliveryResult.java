@@ -0,0 +1,25 @@
+package com.fiap.notification_service.core.domain.notification;
+
+import java.util.UUID;
+
+public record EmailDeliveryResult(
+    UUID notificationId,
+    String to,
+    boolean sent,
+    String error,
+    boolean attempted
+) {
+
+    public static EmailDeliveryResult sent(EmailNotification notification) {
+        return new EmailDeliveryResult(notification.id(), notification.to(), true, null, true);
+    }
+
+    public static EmailDeliveryResult failed(EmailNotification notification, String error) {
+        return new EmailDeliveryResult(notification.id(), notification.to(), false, error, true);
+    }
+
+    // Falha sem o servidor ter sido tentado (ex.: sem vez na fila de prioridade); quem reservou ficha para ela a devolve
+    public static EmailDeliveryResult notAttempted(EmailNotification notification, String error) {
+        return new EmailDeliveryResult(notification.id(), notification.to(), false, error, false);
+    }
+}
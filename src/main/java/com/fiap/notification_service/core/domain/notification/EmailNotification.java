@@ -0,0 +1,15 @@
+package com.fiap.notification_service.core.domain.notification;
+
+import java.util.UUID;
+
+public record EmailNotification(
+    UUID id,
+    String to,
+    String subject,
+    String body
+) {
+
+    public static EmailNotification create(String to, String subject, String body) {
+        return new EmailNotification(UUID.randomUUID(), to, subject, body);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fiap.notification_service.core.domain.notification;
+
+// BCC: uma mensagem por grupo de destinatários, que não veem uns aos outros; INDIVIDUAL: uma cópia por destinatário com o próprio endereço no To
+public enum FanOutMode {
+    BCC,
+    INDIVIDUAL
+}
@@ -0,0 +1,11 @@
+package com.fiap.notification_service.core.domain.notification;
+
+import java.util.UUID;
+
+// replayed indica que a resposta veio de uma requisição anterior com a mesma Idempotency-Key
+public record IdempotentResult(
+    UUID notificationId,
+    boolean replayed
+) {
+
+}
@@ -0,0 +1,9 @@
+package com.fiap.notification_service.core.domain.notification;
+
+// Mensagem recebida de um broker: payload no mesmo JSON aceito por /send-email
+public record InboundMessage(
+    String messageId,
+    byte[] payload,
+    int deliveryCount
+) {
+}
@@ -0,0 +1,8 @@
+package com.fiap.notification_service.core.domain.notification;
+
+// HIGH para o transacional (redefinição de senha, confirmação de pedido), BULK para lotes e campanhas
+public enum NotificationPriority {
+    HIGH,
+    NORMAL,
+    BULK
+}
@@ -0,0 +1,13 @@
+package com.fiap.notification_service.core.domain.notification;
+
+import java.time.Instant;
+
+// Filtros opcionais (null = sem filtro); from e until delimitam o horário de aceite
+public record NotificationQuery(
+    String to,
+    NotificationStatus status,
+    Instant from,
+    Instant until
+) {
+
+}
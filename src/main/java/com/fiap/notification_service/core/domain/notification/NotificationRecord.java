@@ -0,0 +1,18 @@
+package com.fiap.notification_service.core.domain.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Estado mais recente de uma notificação; o corpo não é guardado
+public record NotificationRecord(
+    UUID notificationId,
+    String to,
+    String subject,
+    NotificationStatus status,
+    int attempts,
+    String error,
+    Instant acceptedAt,
+    Instant updatedAt
+) {
+
+}
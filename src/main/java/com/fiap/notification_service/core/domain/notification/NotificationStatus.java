@@ -0,0 +1,13 @@
+package com.fiap.notification_service.core.domain.notification;
+
+// ACCEPTED: envio síncrono em andamento; QUEUED: aguardando um worker (também entre retentativas)
+public enum NotificationStatus {
+    ACCEPTED,
+    SCHEDULED,
+    QUEUED,
+    SENDING,
+    SENT,
+    FAILED,
+    DEAD_LETTERED,
+    CANCELLED
+}
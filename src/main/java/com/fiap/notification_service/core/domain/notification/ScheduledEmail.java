@@ -0,0 +1,10 @@
+package com.fiap.notification_service.core.domain.notification;
+
+import java.time.Instant;
+
+public record ScheduledEmail(
+    EmailNotification notification,
+    Instant deliverAt
+) {
+
+}
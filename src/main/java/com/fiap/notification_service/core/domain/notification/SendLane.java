@@ -0,0 +1,15 @@
+package com.fiap.notification_service.core.domain.notification;
+
+// Faixa de envio: a prioridade divide o SMTP por peso e, dentro dela, os tenants se revezam; sem tenant é uma faixa só
+public record SendLane(
+    NotificationPriority priority,
+    String tenant
+) {
+
+    public static final SendLane DEFAULT = new SendLane(NotificationPriority.NORMAL, null);
+
+    public SendLane {
+        priority = priority != null ? priority : NotificationPriority.NORMAL;
+        tenant = tenant != null && !tenant.isBlank() ? tenant : null;
+    }
+}
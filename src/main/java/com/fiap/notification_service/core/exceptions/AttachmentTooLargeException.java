@@ -0,0 +1,8 @@
+package com.fiap.notification_service.core.exceptions;
+
+public class AttachmentTooLargeException extends RuntimeException {
+
+    public AttachmentTooLargeException(String message) {
+        super(message);
+    }
+}
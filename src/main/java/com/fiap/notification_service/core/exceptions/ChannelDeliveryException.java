@@ -0,0 +1,16 @@
+package com.fiap.notification_service.core.exceptions;
+
+public class ChannelDeliveryException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public ChannelDeliveryException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+
+    // Falhas temporárias (timeout, 5xx, 429) voltam para a fila do canal; as demais desistem na hora
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,8 @@
+package com.fiap.notification_service.core.exceptions;
+
+public class DispatchQueueFullException extends RuntimeException {
+
+    public DispatchQueueFullException(String message) {
+        super(message);
+    }
+}
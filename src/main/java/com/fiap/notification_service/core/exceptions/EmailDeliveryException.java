@@ -0,0 +1,16 @@
+package com.fiap.notification_service.core.exceptions;
+
+public abstract class EmailDeliveryException extends RuntimeException {
+
+    private final Integer replyCode;
+
+    protected EmailDeliveryException(String message, Integer replyCode, Throwable cause) {
+        super(message, cause);
+        this.replyCode = replyCode;
+    }
+
+    // Código de resposta SMTP, quando o servidor chegou a responder
+    public Integer getReplyCode() {
+        return replyCode;
+    }
+}
@@ -0,0 +1,8 @@
+package com.fiap.notification_service.core.exceptions;
+
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
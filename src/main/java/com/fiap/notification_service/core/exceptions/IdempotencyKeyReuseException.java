@@ -0,0 +1,8 @@
+package com.fiap.notification_service.core.exceptions;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
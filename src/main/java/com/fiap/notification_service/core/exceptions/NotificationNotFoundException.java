@@ -0,0 +1,8 @@
+package com.fiap.notification_service.core.exceptions;
+
+public class NotificationNotFoundException extends RuntimeException {
+
+    public NotificationNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.fiap.notification_service.core.exceptions;
+
+public class PermanentEmailDeliveryException extends EmailDeliveryException {
+
+    public PermanentEmailDeliveryException(String message, Integer replyCode, Throwable cause) {
+        super(message, replyCode, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.fiap.notification_service.core.exceptions;
+
+import java.time.Duration;
+
+// Envio recusado sem tentar o servidor (circuito aberto, sem sessão livre ou sem ficha no limite de taxa);
+// retryAfter indica quando tentar de novo
+public class SmtpUnavailableException extends TransientEmailDeliveryException {
+
+    private final Duration retryAfter;
+
+    public SmtpUnavailableException(String message, Duration retryAfter) {
+        super(message, null, null);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,8 @@
+package com.fiap.notification_service.core.exceptions;
+
+public class TransientEmailDeliveryException extends EmailDeliveryException {
+
+    public TransientEmailDeliveryException(String message, Integer replyCode, Throwable cause) {
+        super(message, replyCode, cause);
+    }
+}
@@ -0,0 +1,86 @@
+package com.fiap.notification_service.core.gateways.notification;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Adapta o EmailNotificationGateway bloqueante (Jakarta Mail) para a stack reativa: cada chamada SMTP roda em um
+ * scheduler boundedElastic próprio, com limite de threads e de tarefas na fila, e o event loop nunca espera o
+ * servidor. Com a fila do scheduler cheia o envio é recusado com DispatchQueueFullException (503).
+ *
+ * No lote, as notificações são agrupadas em groupSize (uma sessão SMTP por grupo) e no máximo concurrency grupos
+ * ficam em andamento; a demanda para o fluxo de entrada segue esse limite, então um corpo NDJSON grande é lido
+ * conforme os envios terminam, não de uma vez.
+ */
+public class BoundedElasticEmailNotificationGateway implements ReactiveEmailNotificationGateway, AutoCloseable {
+
+    private final EmailNotificationGateway emailNotificationGateway;
+
+    private final Scheduler scheduler;
+
+    private final int groupSize;
+
+    private final int concurrency;
+
+    public BoundedElasticEmailNotificationGateway(EmailNotificationGateway emailNotificationGateway, int threadCap,
+            int queuedTaskCap, int groupSize, int concurrency) {
+        this(emailNotificationGateway, Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "smtp-offload"),
+            groupSize, concurrency);
+    }
+
+    BoundedElasticEmailNotificationGateway(EmailNotificationGateway emailNotificationGateway, Scheduler scheduler,
+            int groupSize, int concurrency) {
+        if (groupSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("O lote reativo precisa de grupos e concorrência positivos");
+        }
+        this.emailNotificationGateway = emailNotificationGateway;
+        this.scheduler = scheduler;
+        this.groupSize = groupSize;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public Mono<Void> sendEmail(String to, String subject, String body) {
+        return Mono.<Void>fromRunnable(() -> emailNotificationGateway.sendEmail(to, subject, body))
+            .subscribeOn(scheduler)
+            .onErrorMap(RejectedExecutionException.class, e -> saturated());
+    }
+
+    @Override
+    public Flux<EmailDeliveryResult> sendEmails(Flux<EmailNotification> notifications) {
+        return notifications
+            .buffer(groupSize)
+            .flatMapSequential(this::sendGroup, concurrency, 1)
+            .flatMapIterable(Function.identity());
+    }
+
+    // Com a resposta já em streaming, uma falha do grupo inteiro vira falha de cada item em vez de cortar o fluxo
+    private Mono<List<EmailDeliveryResult>> sendGroup(List<EmailNotification> group) {
+        return Mono.fromCallable(() -> emailNotificationGateway.sendEmails(group))
+            .subscribeOn(scheduler)
+            .onErrorResume(e -> Mono.just(group.stream()
+                .map(notification -> EmailDeliveryResult.failed(notification, e instanceof RejectedExecutionException
+                    ? saturated().getMessage()
+                    : e.getMessage()))
+                .toList()));
+    }
+
+    private static DispatchQueueFullException saturated() {
+        return new DispatchQueueFullException("Envios SMTP em andamento no limite, tente novamente mais tarde");
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,21 @@
+package com.fiap.notification_service.core.gateways.notification;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+
+// Resultado final de uma notificação enfileirada: chamado uma única vez, depois das retentativas
+public interface DispatchCallback {
+
+    DispatchCallback NONE = new DispatchCallback() {
+        @Override
+        public void onSent(EmailNotification notification) {
+        }
+
+        @Override
+        public void onFailed(EmailNotification notification, String reason) {
+        }
+    };
+
+    void onSent(EmailNotification notification);
+
+    void onFailed(EmailNotification notification, String reason);
+}
@@ -0,0 +1,25 @@
+package com.fiap.notification_service.core.gateways.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+
+public interface EmailDispatchGateway {
+    UUID dispatch(EmailNotification notification);
+
+    // A origem cuida da reentrega (ex.: broker que só recebe ack no callback), então a notificação não passa pelo outbox
+    UUID dispatch(EmailNotification notification, DispatchCallback callback);
+
+    int getRemainingCapacity();
+
+    // A notificação fica guardada até deliverAt e só então entra na fila de envio
+    UUID schedule(EmailNotification notification, Instant deliverAt);
+
+    // false quando não há agendamento pendente com esse id (desconhecido, cancelado ou já liberado para envio)
+    boolean cancelScheduled(UUID notificationId);
+
+    default UUID dispatch(String to, String subject, String body) {
+        return dispatch(EmailNotification.create(to, subject, body));
+    }
+}
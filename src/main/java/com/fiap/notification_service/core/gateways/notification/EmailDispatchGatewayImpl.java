@@ -0,0 +1,447 @@
+package com.fiap.notification_service.core.gateways.notification;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.NotificationStatus;
+import com.fiap.notification_service.core.domain.notification.ScheduledEmail;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+import com.fiap.notification_service.core.exceptions.EmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics.Stage;
+import com.fiap.notification_service.core.gateways.notification.outbox.EmailOutbox;
+import com.fiap.notification_service.core.gateways.notification.priority.PriorityLaneScheduler;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.SendRateLimiter;
+import com.fiap.notification_service.core.gateways.notification.retry.HashedWheelTimer;
+import com.fiap.notification_service.core.gateways.notification.retry.RetryPolicy;
+import com.fiap.notification_service.core.gateways.notification.scheduling.DeliveryScheduler;
+import com.fiap.notification_service.core.gateways.notification.status.NotificationStatusStore;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class EmailDispatchGatewayImpl implements EmailDispatchGateway, MeterBinder, AutoCloseable {
+
+    private static final long POLL_TIMEOUT_MS = 200;
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private record QueuedEmail(EmailNotification notification, int attempt, DispatchCallback callback, long enqueuedNanos) {
+
+        private QueuedEmail(EmailNotification notification, int attempt, DispatchCallback callback) {
+            this(notification, attempt, callback, System.nanoTime());
+        }
+    }
+
+    private final EmailNotificationGateway emailNotificationGateway;
+
+    private final EmailOutbox outbox;
+
+    private final RetryPolicy retryPolicy;
+
+    private final HashedWheelTimer retryTimer;
+
+    private final DeadLetterStore deadLetterStore;
+
+    private final EmailMetrics metrics;
+
+    private final DeliveryScheduler scheduler;
+
+    private final NotificationStatusStore statusStore;
+
+    private final PriorityLaneScheduler priorityLaneScheduler;
+
+    private final SendRateLimiter sendRateLimiter;
+
+    private final String senderAccount;
+
+    private final BlockingQueue<QueuedEmail> queue;
+
+    private final List<Thread> workers;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong retries = new AtomicLong();
+
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    private final AtomicLong deferred = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public EmailDispatchGatewayImpl(EmailNotificationGateway emailNotificationGateway, int workerCount, int queueCapacity) {
+        this(emailNotificationGateway, workerCount, queueCapacity, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    @Builder
+    private EmailDispatchGatewayImpl(EmailNotificationGateway emailNotificationGateway, int workerCount, int queueCapacity,
+            ThreadFactory threadFactory, EmailOutbox outbox, RetryPolicy retryPolicy, HashedWheelTimer retryTimer,
+            DeadLetterStore deadLetterStore, EmailMetrics emailMetrics, DeliveryScheduler deliveryScheduler,
+            NotificationStatusStore statusStore, PriorityLaneScheduler priorityLaneScheduler, SendRateLimiter sendRateLimiter,
+            String senderAccount) {
+        if (workerCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("A fila de envio precisa de ao menos um worker e capacidade positiva");
+        }
+        if ((retryPolicy == null) != (retryTimer == null)) {
+            throw new IllegalArgumentException("Retentativas exigem política e timer configurados juntos");
+        }
+        if (sendRateLimiter != null && (retryTimer == null || senderAccount == null)) {
+            throw new IllegalArgumentException("O limite de taxa na fila exige o timer de retentativas e a conta remetente");
+        }
+        ThreadFactory factory = threadFactory != null ? threadFactory : platformThreadFactory();
+        this.emailNotificationGateway = emailNotificationGateway;
+        this.outbox = outbox;
+        this.retryPolicy = retryPolicy;
+        this.retryTimer = retryTimer;
+        this.deadLetterStore = deadLetterStore;
+        this.metrics = emailMetrics != null ? emailMetrics : EmailMetrics.NOOP;
+        this.scheduler = deliveryScheduler;
+        this.statusStore = statusStore != null ? statusStore : NotificationStatusStore.NONE;
+        this.priorityLaneScheduler = priorityLaneScheduler;
+        this.sendRateLimiter = sendRateLimiter;
+        this.senderAccount = senderAccount;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = factory.newThread(this::drain);
+            workers.add(worker);
+            worker.start();
+        }
+        if (outbox != null) {
+            replay(outbox.recoverPending(), factory);
+        }
+        if (deliveryScheduler != null) {
+            if (outbox != null) {
+                List<ScheduledEmail> scheduled = outbox.recoverScheduled();
+                scheduled.forEach(entry -> deliveryScheduler.restore(entry.notification(), entry.deliverAt()));
+                if (!scheduled.isEmpty()) {
+                    log.info("{} agendamento(s) recuperado(s) do outbox", scheduled.size());
+                }
+            }
+            deliveryScheduler.start(this::releaseDue);
+        }
+    }
+
+    @Override
+    public UUID dispatch(EmailNotification notification) {
+        return enqueue(notification, DispatchCallback.NONE, outbox);
+    }
+
+    @Override
+    public UUID dispatch(EmailNotification notification, DispatchCallback callback) {
+        return enqueue(notification, callback, null);
+    }
+
+    private UUID enqueue(EmailNotification notification, DispatchCallback callback, EmailOutbox outbox) {
+        if (!running) {
+            throw new DispatchQueueFullException("A fila de envio de e-mails está sendo encerrada");
+        }
+        // A notificação só é aceita depois de persistida no outbox
+        if (outbox != null) {
+            outbox.append(notification);
+        }
+        // Registrado antes do offer: um worker rápido não pode ter o SENDING sobrescrito por este QUEUED
+        statusStore.record(notification, NotificationStatus.QUEUED);
+        if (!queue.offer(new QueuedEmail(notification, 1, callback))) {
+            if (outbox != null) {
+                outbox.markDone(notification.id());
+            }
+            statusStore.record(notification, NotificationStatus.FAILED, 0, "Fila de envio cheia");
+            throw new DispatchQueueFullException("A fila de envio de e-mails está cheia, tente novamente mais tarde");
+        }
+        return notification.id();
+    }
+
+    // O agendamento é gravado no outbox antes de entrar na roda, então sobrevive a uma reinicialização
+    @Override
+    public UUID schedule(EmailNotification notification, Instant deliverAt) {
+        if (scheduler == null) {
+            throw new IllegalStateException("Envio agendado não configurado");
+        }
+        if (!running) {
+            throw new DispatchQueueFullException("A fila de envio de e-mails está sendo encerrada");
+        }
+        scheduler.validate(deliverAt);
+        if (outbox != null) {
+            outbox.append(notification, deliverAt);
+        }
+        statusStore.record(notification, NotificationStatus.SCHEDULED);
+        scheduler.schedule(notification, deliverAt);
+        return notification.id();
+    }
+
+    @Override
+    public boolean cancelScheduled(UUID notificationId) {
+        EmailNotification cancelled = scheduler != null ? scheduler.cancelAndGet(notificationId) : null;
+        if (cancelled == null) {
+            return false;
+        }
+        if (outbox != null) {
+            outbox.markDone(notificationId);
+        }
+        statusStore.record(cancelled, NotificationStatus.CANCELLED);
+        return true;
+    }
+
+    // Roda na thread do agendador: só offer, para não travar a roda com a fila cheia
+    private int releaseDue(List<EmailNotification> due) {
+        int accepted = 0;
+        for (EmailNotification notification : due) {
+            if (!running || !queue.offer(new QueuedEmail(notification, 1, DispatchCallback.NONE))) {
+                break;
+            }
+            accepted++;
+        }
+        return accepted;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getPendingRetries() {
+        return retryTimer != null ? retryTimer.getPendingCount() : 0;
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            QueuedEmail queued;
+            try {
+                queued = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (queued != null) {
+                send(queued);
+            }
+        }
+    }
+
+    private void send(QueuedEmail queued) {
+        EmailNotification notification = queued.notification();
+        metrics.record(Stage.QUEUE_WAIT, queued.enqueuedNanos());
+        inFlight.incrementAndGet();
+        statusStore.record(notification, NotificationStatus.SENDING, queued.attempt(), null);
+        boolean reserved = false;
+        try {
+            if (sendRateLimiter != null) {
+                // Sem ficha agora, a reserva é desfeita e o SmtpUnavailableException adia a notificação até a ficha
+                sendRateLimiter.reserve(senderAccount, notification.to(), Duration.ZERO);
+                reserved = true;
+            }
+            if (priorityLaneScheduler != null) {
+                // A fila assíncrona segue FIFO; no SMTP ela divide a vez com os envios síncronos como NORMAL
+                priorityLaneScheduler.run(SendLane.DEFAULT, () -> emailNotificationGateway.sendEmail(notification.to(),
+                        notification.subject(), notification.body()));
+            } else {
+                emailNotificationGateway.sendEmail(notification.to(), notification.subject(), notification.body());
+            }
+            statusStore.record(notification, NotificationStatus.SENT, queued.attempt(), null);
+            complete(queued);
+            notifySent(queued);
+        } catch (IllegalArgumentException e) {
+            // Mensagem inválida: reenviar não vai resolver
+            deadLetter(queued, null, e.getMessage());
+        } catch (PermanentEmailDeliveryException e) {
+            deadLetter(queued, e.getReplyCode(), e.getMessage());
+        } catch (SmtpUnavailableException e) {
+            // O servidor nem foi tentado (circuito aberto, sem ficha ou sem vez na fila de prioridade dentro do max-wait):
+            // a notificação espera sem gastar uma tentativa, e a ficha já reservada volta para o balde, já que ela
+            // reserva outra ao voltar para a fila
+            if (reserved) {
+                sendRateLimiter.cancel(senderAccount, notification.to());
+            }
+            if (retryTimer != null) {
+                deferred.incrementAndGet();
+                statusStore.record(notification, NotificationStatus.QUEUED, queued.attempt(), e.getMessage());
+                retryTimer.schedule(() -> requeue(queued), e.getRetryAfter());
+            } else {
+                fail(queued, e);
+            }
+        } catch (RuntimeException e) {
+            fail(queued, e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void fail(QueuedEmail queued, RuntimeException e) {
+        EmailNotification notification = queued.notification();
+        Integer replyCode = e instanceof EmailDeliveryException delivery ? delivery.getReplyCode() : null;
+        if (retryPolicy != null && retryPolicy.canRetry(queued.attempt())) {
+            scheduleRetry(queued, e);
+        } else if (deadLetterStore != null) {
+            deadLetter(queued, replyCode, e.getMessage());
+        } else {
+            log.error("Falha ao enviar a notificação {} para {}: {}", notification.id(), notification.to(), e.getMessage());
+            statusStore.record(notification, NotificationStatus.FAILED, queued.attempt(), e.getMessage());
+            notifyFailed(queued, e.getMessage());
+        }
+    }
+
+    private void scheduleRetry(QueuedEmail queued, RuntimeException failure) {
+        QueuedEmail next = new QueuedEmail(queued.notification(), queued.attempt() + 1, queued.callback());
+        retries.incrementAndGet();
+        statusStore.record(queued.notification(), NotificationStatus.QUEUED, queued.attempt(), failure.getMessage());
+        log.warn("Falha temporária na notificação {} (tentativa {}/{}): {}", queued.notification().id(),
+                queued.attempt(), retryPolicy.maxAttempts(), failure.getMessage());
+        retryTimer.schedule(() -> requeue(next), retryPolicy.delayFor(queued.attempt()));
+    }
+
+    // Roda na thread do timer: nunca bloqueia; com a fila cheia, tenta de novo mais tarde
+    private void requeue(QueuedEmail queued) {
+        if (!running) {
+            // Continua pendente no outbox e será reenviada na próxima inicialização
+            return;
+        }
+        if (!queue.offer(new QueuedEmail(queued.notification(), queued.attempt(), queued.callback()))) {
+            retryTimer.schedule(() -> requeue(queued), retryPolicy.initialDelay());
+        }
+    }
+
+    private void deadLetter(QueuedEmail queued, Integer replyCode, String reason) {
+        EmailNotification notification = queued.notification();
+        deadLettered.incrementAndGet();
+        log.error("Notificação {} para {} enviada para a dead-letter após {} tentativa(s): {}", notification.id(),
+                notification.to(), queued.attempt(), reason);
+        if (deadLetterStore != null) {
+            deadLetterStore.add(new DeadLetter(notification, queued.attempt(), replyCode, reason, Instant.now()));
+        }
+        statusStore.record(notification, NotificationStatus.DEAD_LETTERED, queued.attempt(), reason);
+        complete(queued);
+        notifyFailed(queued, reason);
+    }
+
+    // Um callback com erro não pode derrubar o worker
+    private void notifySent(QueuedEmail queued) {
+        try {
+            queued.callback().onSent(queued.notification());
+        } catch (RuntimeException e) {
+            log.warn("Falha no callback de envio da notificação {}: {}", queued.notification().id(), e.getMessage());
+        }
+    }
+
+    private void notifyFailed(QueuedEmail queued, String reason) {
+        try {
+            queued.callback().onFailed(queued.notification(), reason);
+        } catch (RuntimeException e) {
+            log.warn("Falha no callback de erro da notificação {}: {}", queued.notification().id(), e.getMessage());
+        }
+    }
+
+    // Só as notificações sem callback foram gravadas no outbox
+    private void complete(QueuedEmail queued) {
+        if (outbox != null && queued.callback() == DispatchCallback.NONE) {
+            outbox.markDone(queued.notification().id());
+        }
+    }
+
+    // Reenfileira as notificações aceitas antes de uma parada; bloqueia só a thread de replay quando a fila enche
+    private void replay(List<EmailNotification> pending, ThreadFactory threadFactory) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Thread replay = threadFactory.newThread(() -> {
+            for (EmailNotification notification : pending) {
+                try {
+                    statusStore.record(notification, NotificationStatus.QUEUED);
+                    queue.put(new QueuedEmail(notification, 1, DispatchCallback.NONE));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            log.info("{} notificação(ões) do outbox reenfileirada(s)", pending.size());
+        });
+        replay.start();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.dispatch.queue.depth", queue, BlockingQueue::size)
+                .description("Notificações aguardando um worker")
+                .register(registry);
+        Gauge.builder("mail.dispatch.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Vagas livres na fila de envio")
+                .register(registry);
+        Gauge.builder("mail.dispatch.inflight", inFlight, AtomicInteger::get)
+                .description("Notificações sendo enviadas pelos workers")
+                .register(registry);
+        Gauge.builder("mail.dispatch.retries.pending", this, EmailDispatchGatewayImpl::getPendingRetries)
+                .description("Retentativas agendadas aguardando o backoff")
+                .register(registry);
+        FunctionCounter.builder("mail.dispatch.retries", retries, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("mail.dispatch.dead.letters", deadLettered, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("mail.dispatch.deferred", deferred, AtomicLong::get)
+                .description("Envios adiados sem gastar tentativa porque o servidor SMTP estava indisponível")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        for (Thread worker : workers) {
+            long remaining = deadline - System.currentTimeMillis();
+            try {
+                if (remaining > 0) {
+                    worker.join(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (worker.isAlive()) {
+                worker.interrupt();
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} notificação(ões) descartada(s) no encerramento da fila de envio", queue.size());
+        }
+    }
+
+    // Workers virtuais: a espera pelo SMTP não ocupa uma thread de plataforma
+    public static ThreadFactory virtualThreadFactory() {
+        return Thread.ofVirtual().name("email-dispatch-", 1).factory();
+    }
+
+    public static ThreadFactory platformThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "email-dispatch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
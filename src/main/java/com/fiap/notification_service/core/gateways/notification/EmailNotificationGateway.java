@@ -1,6 +1,19 @@
 package com.fiap.notification_service.core.gateways.notification;
 
+import java.util.List;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+
 
 public interface EmailNotificationGateway {
     void sendEmail(String to, String subject, String body);
+
+    void sendEmail(String to, String subject, String body, List<EmailAttachment> attachments);
+
+    List<EmailDeliveryResult> sendEmails(List<EmailNotification> notifications);
+
+    List<EmailDeliveryResult> sendFanOut(List<EmailNotification> notifications, FanOutMode mode);
 }
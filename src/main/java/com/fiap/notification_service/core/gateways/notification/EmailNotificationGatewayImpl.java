@@ -1,54 +1,503 @@
 package com.fiap.notification_service.core.gateways.notification;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.exceptions.AttachmentTooLargeException;
+import com.fiap.notification_service.core.exceptions.EmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.attachment.StreamingAttachmentDataSource;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics.Stage;
+import com.fiap.notification_service.core.gateways.notification.mime.EncodedMimeCache;
+import com.fiap.notification_service.core.gateways.notification.mime.EncodedMimeContent;
+import com.fiap.notification_service.core.gateways.notification.mime.PreEncodedMimeMessage;
+import com.fiap.notification_service.core.gateways.notification.smtp.SmtpFailureClassifier;
+import com.fiap.notification_service.core.gateways.notification.template.EmailTemplateGateway;
+import com.fiap.notification_service.core.gateways.notification.template.EmailTemplateGatewayImpl;
+
+import jakarta.activation.DataHandler;
+import jakarta.mail.Address;
+import jakarta.mail.Message.RecipientType;
 import jakarta.mail.MessagingException;
+import jakarta.mail.Part;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeUtility;
 
 public class EmailNotificationGatewayImpl implements EmailNotificationGateway {
 
+    private static final int DEFAULT_BATCH_GROUP_SIZE = 50;
+
+    private static final int DEFAULT_FAN_OUT_RECIPIENTS_PER_MESSAGE = 100;
+
+    private static final String UNDISCLOSED_RECIPIENTS = "undisclosed-recipients:;";
+
+    private static final String ORDER_STATUS_TEMPLATE = "order-status";
+
+    private static final EmailTemplateGateway BUILT_IN_TEMPLATES = new EmailTemplateGatewayImpl(null, 8, Duration.ZERO);
+
     private final JavaMailSender mailSender;
 
     private final String fromAddress;
 
+    private final int batchGroupSize;
+
+    private final EmailMetrics metrics;
+
+    private final int fanOutRecipientsPerMessage;
+
+    private final EncodedMimeCache mimeCache;
+
     public EmailNotificationGatewayImpl(JavaMailSender mailSender, String fromAddress) {
+        this(mailSender, fromAddress, DEFAULT_BATCH_GROUP_SIZE);
+    }
+
+    public EmailNotificationGatewayImpl(JavaMailSender mailSender, String fromAddress, int batchGroupSize) {
+        this(mailSender, fromAddress, batchGroupSize, EmailMetrics.NOOP);
+    }
+
+    public EmailNotificationGatewayImpl(JavaMailSender mailSender, String fromAddress, int batchGroupSize,
+            EmailMetrics metrics) {
+        this(mailSender, fromAddress, batchGroupSize, metrics, DEFAULT_FAN_OUT_RECIPIENTS_PER_MESSAGE);
+    }
+
+    public EmailNotificationGatewayImpl(JavaMailSender mailSender, String fromAddress, int batchGroupSize,
+            EmailMetrics metrics, int fanOutRecipientsPerMessage) {
+        this(mailSender, fromAddress, batchGroupSize, metrics, fanOutRecipientsPerMessage, null);
+    }
+
+    // Sem mimeCache, cada mensagem é montada e codificada do zero
+    public EmailNotificationGatewayImpl(JavaMailSender mailSender, String fromAddress, int batchGroupSize,
+            EmailMetrics metrics, int fanOutRecipientsPerMessage, EncodedMimeCache mimeCache) {
+        if (batchGroupSize < 1) {
+            throw new IllegalArgumentException("O tamanho do grupo de envio em lote deve ser positivo");
+        }
+        if (fanOutRecipientsPerMessage < 1) {
+            throw new IllegalArgumentException("O número de destinatários por mensagem deve ser positivo");
+        }
         this.mailSender = mailSender;
         this.fromAddress = fromAddress;
+        this.batchGroupSize = batchGroupSize;
+        this.metrics = metrics;
+        this.fanOutRecipientsPerMessage = fanOutRecipientsPerMessage;
+        this.mimeCache = mimeCache;
     }
 
     @Override
     public void sendEmail(String to, String subject, String body) {
+        sendEmail(to, subject, body, List.of());
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String body, List<EmailAttachment> attachments) {
+        MimeMessage message;
+        long buildStart = metrics.start();
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            message = message(to, subject, body, attachments);
+        } catch (MessagingException | IOException e) {
+            metrics.recordInvalid();
+            throw new IllegalArgumentException("Erro ao enviar e-mail: " + e.getMessage());
+        } finally {
+            metrics.record(Stage.MIME_BUILD, buildStart);
+        }
 
-            helper.setFrom(fromAddress);
-            helper.setTo(to);
-            helper.setSubject(subject);
+        long sendStart = metrics.start();
+        metrics.sendStarted(1);
+        try {
+            mailSender.send(message);
+            metrics.recordSent();
+        } catch (MailException e) {
+            // O limite de um anexo sem tamanho conhecido só é detectado durante a transmissão
+            AttachmentTooLargeException tooLarge = findAttachmentTooLarge(e);
+            if (tooLarge != null) {
+                metrics.recordInvalid();
+                throw tooLarge;
+            }
+            EmailDeliveryException failure = SmtpFailureClassifier.classify(e);
+            metrics.recordFailure(failure);
+            throw failure;
+        } finally {
+            metrics.sendFinished(1);
+            metrics.record(Stage.SMTP, sendStart);
+        }
+    }
+
+    @Override
+    public List<EmailDeliveryResult> sendEmails(List<EmailNotification> notifications) {
+        List<EmailDeliveryResult> results = new ArrayList<>(notifications.size());
+        for (int start = 0; start < notifications.size(); start += batchGroupSize) {
+            List<EmailNotification> group = notifications.subList(start, Math.min(start + batchGroupSize, notifications.size()));
+            results.addAll(sendGroup(group));
+        }
+        return results;
+    }
 
-            // String htmlContent = buildHtmlContent(orderId, status.toString());
-            helper.setText(body, true);
+    // Cada grupo é entregue ao JavaMailSender em uma única chamada, que usa uma só sessão SMTP para todas as mensagens
+    private List<EmailDeliveryResult> sendGroup(List<EmailNotification> group) {
+        EmailDeliveryResult[] results = new EmailDeliveryResult[group.size()];
+        Map<MimeMessage, Integer> positions = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(group.size());
 
-            mailSender.send(message);
+        for (int i = 0; i < group.size(); i++) {
+            EmailNotification notification = group.get(i);
+            long buildStart = metrics.start();
+            try {
+                MimeMessage message = message(notification.to(), notification.subject(), notification.body(), List.of());
+                positions.put(message, i);
+                messages.add(message);
+            } catch (MessagingException | IOException e) {
+                metrics.recordInvalid();
+                results[i] = EmailDeliveryResult.failed(notification, "Erro ao montar e-mail: " + e.getMessage());
+            } finally {
+                metrics.record(Stage.MIME_BUILD, buildStart);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            long sendStart = metrics.start();
+            metrics.sendStarted(messages.size());
+            try {
+                mailSender.send(messages.toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                for (Map.Entry<Object, Exception> failure : e.getFailedMessages().entrySet()) {
+                    Integer position = positions.get(failure.getKey());
+                    if (position != null) {
+                        metrics.recordFailure(SmtpFailureClassifier.classify(failure.getValue()));
+                        results[position] = EmailDeliveryResult.failed(group.get(position),
+                                "Erro ao enviar e-mail: " + failure.getValue().getMessage());
+                    }
+                }
+                if (e.getFailedMessages().isEmpty()) {
+                    failAll(group, positions, results, e);
+                }
+            } catch (MailException e) {
+                failAll(group, positions, results, e);
+            } finally {
+                metrics.sendFinished(messages.size());
+                metrics.record(Stage.SMTP_BATCH, sendStart);
+            }
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                metrics.recordSent();
+                results[i] = EmailDeliveryResult.sent(group.get(i));
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Destinatários com o mesmo assunto e corpo compartilham um único MIME codificado; cada cópia só troca os
+     * cabeçalhos. Em BCC, cada mensagem leva até fanOutRecipientsPerMessage destinatários no envelope (um único
+     * DATA para vários RCPT TO); em INDIVIDUAL, cada destinatário recebe a própria cópia com o endereço no To.
+     */
+    @Override
+    public List<EmailDeliveryResult> sendFanOut(List<EmailNotification> notifications, FanOutMode mode) {
+        EmailDeliveryResult[] results = new EmailDeliveryResult[notifications.size()];
+        Map<List<String>, List<Integer>> contents = new LinkedHashMap<>();
+        for (int i = 0; i < notifications.size(); i++) {
+            EmailNotification notification = notifications.get(i);
+            contents.computeIfAbsent(List.of(notification.subject(), notification.body()), key -> new ArrayList<>())
+                    .add(i);
+        }
+
+        for (Map.Entry<List<String>, List<Integer>> content : contents.entrySet()) {
+            List<Integer> positions = content.getValue();
+            EncodedMimeContent encoded;
+            long buildStart = metrics.start();
+            try {
+                encoded = sharedContent(content.getKey().get(0), content.getKey().get(1));
+            } catch (MessagingException | IOException e) {
+                for (Integer position : positions) {
+                    metrics.recordInvalid();
+                    results[position] = EmailDeliveryResult.failed(notifications.get(position),
+                            "Erro ao montar e-mail: " + e.getMessage());
+                }
+                continue;
+            } finally {
+                metrics.record(Stage.MIME_BUILD, buildStart);
+            }
+            sendCopies(notifications, positions, encoded, mode, results, true);
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                metrics.recordSent();
+                results[i] = EmailDeliveryResult.sent(notifications.get(i));
+            }
+        }
+        return List.of(results);
+    }
+
+    private EncodedMimeContent sharedContent(String subject, String body) throws MessagingException, IOException {
+        return mimeCache != null
+                ? mimeCache.getOrEncode(fromAddress, subject, body, () -> encodeShared(subject, body))
+                : encodeShared(subject, body);
+    }
+
+    // Sem anexos, a mensagem sai dos bytes em cache quando o conteúdo se repete; só To, Date e Message-ID são novos
+    private MimeMessage message(String to, String subject, String body, List<EmailAttachment> attachments)
+            throws MessagingException, IOException {
+        if (mimeCache != null && attachments.isEmpty()) {
+            EncodedMimeContent cached = mimeCache.lookup(fromAddress, subject, body, () -> encodeShared(subject, body));
+            if (cached != null) {
+                InternetAddress[] recipients = InternetAddress.parse(to);
+                if (recipients.length != 1) {
+                    throw new AddressException("Illegal address", to);
+                }
+                PreEncodedMimeMessage message = new PreEncodedMimeMessage(cached.session(), cached.bytes());
+                message.setRecipients(RecipientType.TO, recipients);
+                message.setSentDate(new Date());
+                return message;
+            }
+        }
+        return buildMessage(to, subject, body, attachments);
+    }
+
+    private EncodedMimeContent encodeShared(String subject, String body) throws MessagingException, IOException {
+        MimeMessage template = buildMessage(null, subject, body, List.of());
+        template.setSentDate(new Date());
+        template.saveChanges();
+        // Cada cópia gera o próprio Message-ID
+        template.removeHeader("Message-ID");
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        template.writeTo(encoded);
+        return new EncodedMimeContent(template.getSession(), encoded.toByteArray());
+    }
+
+    private void sendCopies(List<EmailNotification> notifications, List<Integer> positions, EncodedMimeContent encoded,
+            FanOutMode mode, EmailDeliveryResult[] results, boolean retryUnsent) {
+        Map<MimeMessage, List<Integer>> recipients = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+        int perMessage = mode == FanOutMode.BCC ? fanOutRecipientsPerMessage : 1;
+        List<Integer> chunk = new ArrayList<>(perMessage);
+        List<Address> addresses = new ArrayList<>(perMessage);
+        try {
+            for (Integer position : positions) {
+                try {
+                    addresses.add(new InternetAddress(notifications.get(position).to(), true));
+                    chunk.add(position);
+                } catch (AddressException e) {
+                    metrics.recordInvalid();
+                    results[position] = EmailDeliveryResult.failed(notifications.get(position),
+                            "Erro ao montar e-mail: " + e.getMessage());
+                }
+                if (chunk.size() == perMessage) {
+                    MimeMessage message = copyFor(encoded, addresses, mode);
+                    recipients.put(message, List.copyOf(chunk));
+                    messages.add(message);
+                    chunk.clear();
+                    addresses.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                MimeMessage message = copyFor(encoded, addresses, mode);
+                recipients.put(message, List.copyOf(chunk));
+                messages.add(message);
+            }
         } catch (MessagingException e) {
-            throw new IllegalArgumentException("Erro ao enviar e-mail: " + e.getMessage());
+            for (Integer position : positions) {
+                if (results[position] == null) {
+                    metrics.recordInvalid();
+                    results[position] = EmailDeliveryResult.failed(notifications.get(position),
+                            "Erro ao montar e-mail: " + e.getMessage());
+                }
+            }
+            return;
+        }
+
+        for (int start = 0; start < messages.size(); start += batchGroupSize) {
+            List<MimeMessage> group = messages.subList(start, Math.min(start + batchGroupSize, messages.size()));
+            deliverCopies(notifications, group, recipients, encoded, mode, results, retryUnsent);
+        }
+    }
+
+    private MimeMessage copyFor(EncodedMimeContent encoded, List<Address> addresses, FanOutMode mode)
+            throws MessagingException {
+        PreEncodedMimeMessage message = new PreEncodedMimeMessage(encoded.session(), encoded.bytes());
+        // O conteúdo pode ter vindo do cache, codificado bem antes deste envio
+        message.setSentDate(new Date());
+        if (mode == FanOutMode.BCC) {
+            message.setHeader("To", UNDISCLOSED_RECIPIENTS);
+            message.setEnvelopeRecipients(addresses.toArray(Address[]::new));
+        } else {
+            message.setRecipients(RecipientType.TO, addresses.toArray(Address[]::new));
+        }
+        return message;
+    }
+
+    // Sem mail.smtp.sendpartial o servidor não recebe a mensagem quando algum RCPT TO é recusado; os endereços
+    // válidos que ficaram sem envio são reenviados uma vez, já sem os recusados
+    private void deliverCopies(List<EmailNotification> notifications, List<MimeMessage> group,
+            Map<MimeMessage, List<Integer>> recipients, EncodedMimeContent encoded, FanOutMode mode,
+            EmailDeliveryResult[] results, boolean retryUnsent) {
+        List<Integer> unsent = new ArrayList<>();
+        long sendStart = metrics.start();
+        metrics.sendStarted(group.size());
+        try {
+            mailSender.send(group.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            for (Map.Entry<Object, Exception> failure : e.getFailedMessages().entrySet()) {
+                List<Integer> positions = recipients.get(failure.getKey());
+                if (positions == null) {
+                    continue;
+                }
+                if (retryUnsent && failure.getValue() instanceof SendFailedException sendFailed
+                        && sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0) {
+                    Set<String> invalid = addressesOf(sendFailed.getInvalidAddresses());
+                    Set<String> delivered = addressesOf(sendFailed.getValidSentAddresses());
+                    for (Integer position : positions) {
+                        String to = notifications.get(position).to().toLowerCase(Locale.ROOT);
+                        if (invalid.contains(to)) {
+                            metrics.recordFailure(SmtpFailureClassifier.classify(sendFailed));
+                            results[position] = EmailDeliveryResult.failed(notifications.get(position),
+                                    "Destinatário recusado: " + sendFailed.getMessage());
+                        } else if (!delivered.contains(to)) {
+                            unsent.add(position);
+                        }
+                    }
+                } else {
+                    failCopies(notifications, positions, results, failure.getValue());
+                }
+            }
+            if (e.getFailedMessages().isEmpty()) {
+                for (MimeMessage message : group) {
+                    failCopies(notifications, recipients.get(message), results, e);
+                }
+            }
+        } catch (MailException e) {
+            for (MimeMessage message : group) {
+                failCopies(notifications, recipients.get(message), results, e);
+            }
+        } finally {
+            metrics.sendFinished(group.size());
+            metrics.record(Stage.SMTP_BATCH, sendStart);
+        }
+        if (!unsent.isEmpty()) {
+            sendCopies(notifications, unsent, encoded, mode, results, false);
+        }
+    }
+
+    private void failCopies(List<EmailNotification> notifications, List<Integer> positions,
+            EmailDeliveryResult[] results, Exception e) {
+        EmailDeliveryException failure = SmtpFailureClassifier.classify(e);
+        for (Integer position : positions) {
+            metrics.recordFailure(failure);
+            results[position] = EmailDeliveryResult.failed(notifications.get(position),
+                    "Erro ao enviar e-mail: " + e.getMessage());
+        }
+    }
+
+    private static Set<String> addressesOf(Address[] addresses) {
+        Set<String> values = new HashSet<>();
+        if (addresses != null) {
+            for (Address address : addresses) {
+                values.add(address instanceof InternetAddress internet
+                        ? internet.getAddress().toLowerCase(Locale.ROOT)
+                        : address.toString().toLowerCase(Locale.ROOT));
+            }
+        }
+        return values;
+    }
+
+    private void failAll(List<EmailNotification> group, Map<MimeMessage, Integer> positions,
+            EmailDeliveryResult[] results, MailException e) {
+        EmailDeliveryException failure = SmtpFailureClassifier.classify(e);
+        for (Integer position : positions.values()) {
+            metrics.recordFailure(failure);
+            results[position] = EmailDeliveryResult.failed(group.get(position), "Erro ao enviar e-mail: " + e.getMessage());
+        }
+    }
+
+    private MimeMessage buildMessage(String to, String subject, String body, List<EmailAttachment> attachments)
+            throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromAddress);
+        if (to != null) {
+            helper.setTo(to);
+        }
+        helper.setSubject(subject);
+
+        // String htmlContent = buildHtmlContent(orderId, status.toString());
+        helper.setText(body, true);
+        for (EmailAttachment attachment : attachments) {
+            helper.getRootMimeMultipart().addBodyPart(attachmentPart(attachment));
+        }
+        return message;
+    }
+
+    // Com o Content-Transfer-Encoding já definido, o Jakarta Mail não lê o anexo inteiro antes do envio para
+    // escolher um; o conteúdo é lido uma única vez, codificado em base64 direto no stream SMTP
+    private MimeBodyPart attachmentPart(EmailAttachment attachment) throws MessagingException {
+        MimeBodyPart part = new MimeBodyPart();
+        part.setDataHandler(new DataHandler(new StreamingAttachmentDataSource(attachment)));
+        part.setDisposition(Part.ATTACHMENT);
+        try {
+            part.setFileName(MimeUtility.encodeText(attachment.fileName(), "UTF-8", null));
+        } catch (UnsupportedEncodingException e) {
+            throw new MessagingException("Nome de anexo inválido: " + attachment.fileName(), e);
+        }
+        part.setHeader("Content-Transfer-Encoding", "base64");
+        return part;
+    }
+
+    private static AttachmentTooLargeException findAttachmentTooLarge(Throwable failure) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Throwable> pending = new ArrayDeque<>();
+        pending.add(failure);
+        while (!pending.isEmpty()) {
+            Throwable candidate = pending.poll();
+            if (candidate == null || !seen.add(candidate)) {
+                continue;
+            }
+            if (candidate instanceof AttachmentTooLargeException tooLarge) {
+                return tooLarge;
+            }
+            if (candidate instanceof MailSendException send) {
+                pending.addAll(send.getFailedMessages().values());
+            }
+            if (candidate.getCause() != null) {
+                pending.add(candidate.getCause());
+            }
+            if (candidate instanceof MessagingException messaging && messaging.getNextException() != null) {
+                pending.add(messaging.getNextException());
+            }
         }
+        return null;
     }
 
     public String buildHtmlContent(UUID orderId, String status) {
-        return """
-            <html>
-              <body style="font-family: Arial, sans-serif; color: #333;">
-                <h2>Olá!</h2>
-                <p>Seu pedido <strong>#%s</strong> está agora com o status: <strong>%s</strong>.</p>
-                <p>Agradecemos pela sua preferência.</p>
-                <br/>
-                <p>Atenciosamente,<br/>Equipe Challenge</p>
-              </body>
-            </html>
-            """.formatted(orderId, status);
+        return BUILT_IN_TEMPLATES.render(ORDER_STATUS_TEMPLATE,
+                Map.of("orderId", String.valueOf(orderId), "status", String.valueOf(status)));
     }
 }
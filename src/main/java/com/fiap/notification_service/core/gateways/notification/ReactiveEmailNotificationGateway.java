@@ -0,0 +1,16 @@
+package com.fiap.notification_service.core.gateways.notification;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+// Variante para a stack reativa: nenhum método bloqueia quem assina
+public interface ReactiveEmailNotificationGateway {
+    Mono<Void> sendEmail(String to, String subject, String body);
+
+    // Os resultados saem na ordem de entrada; o fluxo só é lido conforme os envios terminam
+    Flux<EmailDeliveryResult> sendEmails(Flux<EmailNotification> notifications);
+}
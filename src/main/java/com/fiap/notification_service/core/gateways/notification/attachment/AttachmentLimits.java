@@ -0,0 +1,109 @@
+package com.fiap.notification_service.core.gateways.notification.attachment;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.exceptions.AttachmentTooLargeException;
+
+/**
+ * Limites de anexos por mensagem. Tamanhos conhecidos são verificados antes do envio; os demais
+ * (ex.: URL sem Content-Length) são contados enquanto o conteúdo é lido. O total soma a leitura mais recente de cada
+ * anexo: quando o envio é repetido (ex.: reconexão do pool), a nova leitura substitui a anterior em vez de somar a ela.
+ */
+public record AttachmentLimits(int maxCount, long maxSize, long maxTotalSize) {
+
+    public static final AttachmentLimits DEFAULT = new AttachmentLimits(10, 10L << 20, 25L << 20);
+
+    public AttachmentLimits {
+        if (maxCount < 0 || maxSize < 1 || maxTotalSize < 1) {
+            throw new IllegalArgumentException("Limites de anexos inválidos");
+        }
+    }
+
+    public List<EmailAttachment> enforce(List<EmailAttachment> attachments) {
+        if (attachments.size() > maxCount) {
+            throw new AttachmentTooLargeException("No máximo " + maxCount + " anexo(s) por e-mail");
+        }
+        long knownTotal = 0;
+        for (EmailAttachment attachment : attachments) {
+            if (attachment.size() > maxSize) {
+                throw tooLarge(attachment.fileName());
+            }
+            knownTotal += Math.max(0, attachment.size());
+        }
+        if (knownTotal > maxTotalSize) {
+            throw new AttachmentTooLargeException("Os anexos excedem o limite total de " + maxTotalSize + " bytes");
+        }
+        AtomicLongArray readPerAttachment = new AtomicLongArray(attachments.size());
+        List<EmailAttachment> limited = new ArrayList<>(attachments.size());
+        for (int i = 0; i < attachments.size(); i++) {
+            EmailAttachment attachment = attachments.get(i);
+            EmailAttachment.Content content = attachment.content();
+            int index = i;
+            limited.add(new EmailAttachment(attachment.fileName(), attachment.contentType(), attachment.size(),
+                    () -> new LimitedInputStream(content.open(), attachment.fileName(), readPerAttachment, index)));
+        }
+        return limited;
+    }
+
+    private AttachmentTooLargeException tooLarge(String fileName) {
+        return new AttachmentTooLargeException("O anexo " + fileName + " excede o limite de " + maxSize + " bytes");
+    }
+
+    private final class LimitedInputStream extends FilterInputStream {
+
+        private final String fileName;
+
+        private final AtomicLongArray readPerAttachment;
+
+        private final int index;
+
+        private long read;
+
+        private LimitedInputStream(InputStream in, String fileName, AtomicLongArray readPerAttachment, int index) {
+            super(in);
+            this.fileName = fileName;
+            this.readPerAttachment = readPerAttachment;
+            this.index = index;
+            readPerAttachment.set(index, 0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            read += n;
+            if (read > maxSize) {
+                throw tooLarge(fileName);
+            }
+            readPerAttachment.set(index, read);
+            long total = 0;
+            for (int i = 0; i < readPerAttachment.length(); i++) {
+                total += readPerAttachment.get(i);
+            }
+            if (total > maxTotalSize) {
+                throw new AttachmentTooLargeException("Os anexos excedem o limite total de " + maxTotalSize + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.fiap.notification_service.core.gateways.notification.attachment;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+
+public interface AttachmentResolver {
+
+    // Valida a referência agora; o conteúdo só é lido durante o envio
+    EmailAttachment resolve(String fileName, String contentType, String uri);
+}
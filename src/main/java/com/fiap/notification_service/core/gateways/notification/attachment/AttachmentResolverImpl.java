@@ -0,0 +1,117 @@
+package com.fiap.notification_service.core.gateways.notification.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+
+/**
+ * Resolve referências de anexo. {@code file:} só aceita caminhos dentro do diretório configurado e
+ * {@code http(s):} só os hosts da lista; sem configuração, o tipo de referência fica desativado.
+ */
+public class AttachmentResolverImpl implements AttachmentResolver {
+
+    private final Path directory;
+
+    private final Set<String> allowedHosts;
+
+    private final Duration fetchTimeout;
+
+    private final HttpClient httpClient;
+
+    public AttachmentResolverImpl(Path directory, Set<String> allowedHosts, Duration fetchTimeout) {
+        this.directory = directory;
+        this.allowedHosts = allowedHosts.stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.fetchTimeout = fetchTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(fetchTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    public EmailAttachment resolve(String fileName, String contentType, String uri) {
+        URI reference;
+        try {
+            reference = URI.create(uri);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Referência de anexo inválida: " + uri);
+        }
+        String scheme = reference.getScheme() != null ? reference.getScheme().toLowerCase(Locale.ROOT) : "";
+        return switch (scheme) {
+            case "file" -> resolveFile(fileName, contentType, reference);
+            case "http", "https" -> resolveUrl(fileName, contentType, reference);
+            default -> throw new IllegalArgumentException("Tipo de referência de anexo não suportado: " + uri);
+        };
+    }
+
+    private EmailAttachment resolveFile(String fileName, String contentType, URI reference) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Anexos por arquivo não estão habilitados");
+        }
+        String relative = reference.getPath() != null ? reference.getPath() : reference.getSchemeSpecificPart();
+        try {
+            Path base = directory.toRealPath();
+            Path file = base.resolve(relative.replaceFirst("^/+", "")).normalize();
+            if (!file.startsWith(base)) {
+                throw new IllegalArgumentException("Anexo fora do diretório permitido: " + reference);
+            }
+            if (!Files.isRegularFile(file)) {
+                throw new IllegalArgumentException("Anexo não encontrado: " + reference);
+            }
+            // Um link simbólico dentro do diretório não pode apontar para fora dele
+            Path real = file.toRealPath();
+            if (!real.startsWith(base)) {
+                throw new IllegalArgumentException("Anexo fora do diretório permitido: " + reference);
+            }
+            String resolvedContentType = contentType != null ? contentType : Files.probeContentType(real);
+            return new EmailAttachment(fileName != null ? fileName : file.getFileName().toString(),
+                    resolvedContentType, Files.size(real), () -> Files.newInputStream(real));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o anexo " + reference, e);
+        }
+    }
+
+    private EmailAttachment resolveUrl(String fileName, String contentType, URI reference) {
+        String host = reference.getHost();
+        if (host == null || !allowedHosts.contains(host.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Host de anexo não permitido: " + host);
+        }
+        String path = reference.getPath();
+        String defaultName = path != null && path.lastIndexOf('/') < path.length() - 1
+                ? path.substring(path.lastIndexOf('/') + 1)
+                : "anexo";
+        return new EmailAttachment(fileName != null ? fileName : defaultName, contentType,
+                EmailAttachment.UNKNOWN_SIZE, () -> open(reference));
+    }
+
+    private InputStream open(URI reference) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(reference).timeout(fetchTimeout).GET().build();
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Download do anexo interrompido: " + reference, e);
+        }
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Download do anexo " + reference + " respondeu " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,42 @@
+package com.fiap.notification_service.core.gateways.notification.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+
+import jakarta.activation.DataSource;
+
+// Cada getInputStream abre o conteúdo de novo; o Jakarta Mail copia em blocos para o encoder base64 do SMTP
+public class StreamingAttachmentDataSource implements DataSource {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final EmailAttachment attachment;
+
+    public StreamingAttachmentDataSource(EmailAttachment attachment) {
+        this.attachment = attachment;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return attachment.content().open();
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        throw new IOException("Anexo somente leitura");
+    }
+
+    @Override
+    public String getContentType() {
+        String contentType = attachment.contentType();
+        return contentType != null && !contentType.isBlank() ? contentType : DEFAULT_CONTENT_TYPE;
+    }
+
+    @Override
+    public String getName() {
+        return attachment.fileName();
+    }
+}
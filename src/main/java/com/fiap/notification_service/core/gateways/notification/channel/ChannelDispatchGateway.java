@@ -0,0 +1,14 @@
+package com.fiap.notification_service.core.gateways.notification.channel;
+
+import java.util.Set;
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.ChannelNotification;
+
+public interface ChannelDispatchGateway {
+
+    // Enfileira na raia do canal e retorna na hora; DispatchQueueFullException se a fila do canal estiver cheia
+    UUID dispatch(ChannelNotification notification);
+
+    Set<String> getChannels();
+}
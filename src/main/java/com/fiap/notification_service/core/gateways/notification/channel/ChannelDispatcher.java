@@ -0,0 +1,243 @@
+package com.fiap.notification_service.core.gateways.notification.channel;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fiap.notification_service.core.domain.notification.ChannelNotification;
+import com.fiap.notification_service.core.exceptions.ChannelDeliveryException;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.TokenBucket;
+import com.fiap.notification_service.core.gateways.notification.retry.HashedWheelTimer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Motor de envio compartilhado pelos canais. Cada canal tem a sua raia: fila limitada, thread própria, limite de
+ * envios em andamento e de taxa. Um canal lento só enche a própria fila; os outros (e o email, que segue no
+ * EmailDispatchGatewayImpl) não esperam por ele. Retentativas voltam para a fila do canal pelo timer.
+ *
+ * O timer de retentativas é exclusivo do dispatcher e fechado junto com ele. Não há outbox: o que estiver na fila ou
+ * aguardando retentativa se perde numa reinicialização.
+ */
+@Slf4j
+public class ChannelDispatcher implements ChannelDispatchGateway, MeterBinder, AutoCloseable {
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    private record Attempt(ChannelNotification notification, int attempt) {
+    }
+
+    private final HashedWheelTimer retryTimer;
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    private volatile boolean running = true;
+
+    public ChannelDispatcher(HashedWheelTimer retryTimer) {
+        this.retryTimer = retryTimer;
+    }
+
+    public ChannelDispatcher register(NotificationChannel channel, ChannelSettings settings) {
+        Lane lane = new Lane(channel, settings);
+        if (lanes.putIfAbsent(channel.name(), lane) != null) {
+            throw new IllegalStateException("Canal já registrado: " + channel.name());
+        }
+        lane.thread.start();
+        return this;
+    }
+
+    @Override
+    public UUID dispatch(ChannelNotification notification) {
+        Lane lane = lanes.get(notification.channel());
+        if (lane == null) {
+            throw new IllegalArgumentException("Canal não configurado: " + notification.channel());
+        }
+        lane.channel.validateRecipient(notification.recipient());
+        if (!running || !lane.queue.offer(new Attempt(notification, 1))) {
+            lane.rejected.incrementAndGet();
+            throw new DispatchQueueFullException("Fila do canal " + notification.channel()
+                    + " cheia, tente novamente mais tarde");
+        }
+        return notification.id();
+    }
+
+    @Override
+    public Set<String> getChannels() {
+        return Collections.unmodifiableSet(lanes.keySet());
+    }
+
+    private final class Lane {
+        private final NotificationChannel channel;
+        private final ChannelSettings settings;
+        private final BlockingQueue<Attempt> queue;
+        private final Semaphore inFlight;
+        private final TokenBucket rateLimit;
+        private final Thread thread;
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong retried = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private volatile Timer sendTimer;
+
+        private Lane(NotificationChannel channel, ChannelSettings settings) {
+            this.channel = channel;
+            this.settings = settings;
+            this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+            this.inFlight = new Semaphore(settings.maxInFlight());
+            this.rateLimit = settings.rateLimit() != null ? new TokenBucket(settings.rateLimit()) : null;
+            this.thread = new Thread(this::run, "channel-" + channel.name());
+            this.thread.setDaemon(true);
+        }
+
+        private int getInFlight() {
+            return settings.maxInFlight() - inFlight.availablePermits();
+        }
+
+        // A thread da raia só espera (fila, vaga em andamento, ficha de taxa); o envio em si é assíncrono no canal
+        private void run() {
+            while (running || !queue.isEmpty()) {
+                Attempt attempt;
+                try {
+                    attempt = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (attempt == null) {
+                        continue;
+                    }
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (rateLimit != null) {
+                    long waitNanos = rateLimit.reserve();
+                    if (waitNanos > 0) {
+                        LockSupport.parkNanos(this, waitNanos);
+                    }
+                }
+                send(attempt);
+            }
+        }
+
+        private void send(Attempt attempt) {
+            long start = System.nanoTime();
+            CompletableFuture<Void> result;
+            try {
+                result = channel.send(attempt.notification());
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            result.whenComplete((ignored, error) -> {
+                inFlight.release();
+                Timer timer = sendTimer;
+                if (timer != null) {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                if (error == null) {
+                    sent.incrementAndGet();
+                } else {
+                    onFailure(attempt, unwrap(error));
+                }
+            });
+        }
+
+        private void onFailure(Attempt attempt, Throwable error) {
+            ChannelNotification notification = attempt.notification();
+            boolean retryable = !(error instanceof IllegalArgumentException)
+                    && !(error instanceof ChannelDeliveryException delivery && !delivery.isRetryable());
+            if (retryable && running && settings.retryPolicy().canRetry(attempt.attempt())) {
+                retried.incrementAndGet();
+                log.warn("Falha no canal {} ao enviar a notificação {} (tentativa {}), nova tentativa agendada: {}",
+                        channel.name(), notification.id(), attempt.attempt(), error.getMessage());
+                Attempt next = new Attempt(notification, attempt.attempt() + 1);
+                retryTimer.schedule(() -> requeue(next), settings.retryPolicy().delayFor(attempt.attempt()));
+                return;
+            }
+            failed.incrementAndGet();
+            log.error("Canal {} desistiu da notificação {} para {} após {} tentativa(s): {}", channel.name(),
+                    notification.id(), notification.recipient(), attempt.attempt(), error.getMessage());
+        }
+
+        // Roda na thread do timer: nunca bloqueia; com a fila cheia, tenta de novo mais tarde
+        private void requeue(Attempt attempt) {
+            if (running && !queue.offer(attempt)) {
+                retryTimer.schedule(() -> requeue(attempt), settings.retryPolicy().initialDelay());
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lanes.forEach((name, lane) -> {
+            Gauge.builder("notification.channel.queue.size", lane.queue, BlockingQueue::size)
+                    .tag("channel", name)
+                    .description("Notificações aguardando na fila do canal")
+                    .register(registry);
+            Gauge.builder("notification.channel.in-flight", lane, Lane::getInFlight)
+                    .tag("channel", name)
+                    .description("Envios em andamento no canal")
+                    .register(registry);
+            FunctionCounter.builder("notification.channel.sent", lane.sent, AtomicLong::get)
+                    .tag("channel", name)
+                    .description("Notificações entregues pelo canal")
+                    .register(registry);
+            FunctionCounter.builder("notification.channel.failed", lane.failed, AtomicLong::get)
+                    .tag("channel", name)
+                    .description("Notificações que o canal desistiu de entregar")
+                    .register(registry);
+            FunctionCounter.builder("notification.channel.retries", lane.retried, AtomicLong::get)
+                    .tag("channel", name)
+                    .description("Retentativas agendadas no canal")
+                    .register(registry);
+            FunctionCounter.builder("notification.channel.rejected", lane.rejected, AtomicLong::get)
+                    .tag("channel", name)
+                    .description("Notificações recusadas com a fila do canal cheia")
+                    .register(registry);
+            lane.sendTimer = Timer.builder("notification.channel.send.duration")
+                    .tag("channel", name)
+                    .description("Duração de cada tentativa de envio no canal")
+                    .register(registry);
+        });
+    }
+
+    // Para de aceitar e deixa cada raia esvaziar a fila por até 5s; fechar os canais fica com quem os criou
+    @Override
+    public void close() {
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (Lane lane : lanes.values()) {
+            try {
+                lane.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+                // Espera os envios em andamento terminarem antes de fechar o cliente do canal
+                lane.inFlight.tryAcquire(lane.settings.maxInFlight(), Math.max(0, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lane.thread.interrupt();
+            if (!lane.queue.isEmpty()) {
+                log.warn("{} notificação(ões) descartada(s) no encerramento do canal {}", lane.queue.size(),
+                        lane.channel.name());
+            }
+        }
+        retryTimer.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.fiap.notification_service.core.gateways.notification.channel;
+
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimit;
+import com.fiap.notification_service.core.gateways.notification.retry.RetryPolicy;
+
+// Recursos de uma raia do ChannelDispatcher; rateLimit nulo desliga o limite de taxa
+public record ChannelSettings(
+    int queueCapacity,
+    int maxInFlight,
+    RateLimit rateLimit,
+    RetryPolicy retryPolicy
+) {
+
+    public ChannelSettings {
+        if (queueCapacity < 1 || maxInFlight < 1 || retryPolicy == null) {
+            throw new IllegalArgumentException("Configuração inválida do canal");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.fiap.notification_service.core.gateways.notification.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fiap.notification_service.core.domain.notification.ChannelNotification;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Canal local para testes e desenvolvimento: só guarda as últimas notificações entregues, sem chamar nada externo
+@Slf4j
+public class InMemoryNotificationChannel implements NotificationChannel {
+
+    private final String name;
+
+    private final int capacity;
+
+    private final ConcurrentLinkedDeque<ChannelNotification> delivered = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    public InMemoryNotificationChannel(String name, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacidade inválida do canal " + name);
+        }
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(ChannelNotification notification) {
+        delivered.addLast(notification);
+        if (size.incrementAndGet() > capacity && delivered.pollFirst() != null) {
+            size.decrementAndGet();
+        }
+        log.debug("Canal {} recebeu a notificação {} para {}", name, notification.id(), notification.recipient());
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // Das mais antigas para as mais recentes
+    public List<ChannelNotification> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+}
@@ -0,0 +1,25 @@
+package com.fiap.notification_service.core.gateways.notification.channel;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.fiap.notification_service.core.domain.notification.ChannelNotification;
+
+/**
+ * Um canal de entrega (webhook, SMS, push...). O envio é assíncrono: o ChannelDispatcher limita quantos envios ficam
+ * em andamento por canal, então o canal não precisa de fila própria. Falhas vêm no future; ChannelDeliveryException
+ * não retentável desiste sem nova tentativa.
+ */
+public interface NotificationChannel extends AutoCloseable {
+
+    String name();
+
+    // Chamado antes de enfileirar: destino inválido vira IllegalArgumentException na requisição, não falha no envio
+    default void validateRecipient(String recipient) {
+    }
+
+    CompletableFuture<Void> send(ChannelNotification notification);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,156 @@
+package com.fiap.notification_service.core.gateways.notification.channel;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.notification_service.core.domain.notification.ChannelNotification;
+import com.fiap.notification_service.core.exceptions.ChannelDeliveryException;
+
+/**
+ * Entrega a notificação com um POST JSON na URL do destinatário. O HttpClient é um só por canal: mantém as conexões
+ * abertas (keep-alive, HTTP/2 quando o servidor aceita) e responde em um executor próprio, sem thread parada por
+ * requisição. Só hosts em allowedHosts são aceitos, como nos anexos por URL.
+ *
+ * 2xx é entrega; 408, 429 e 5xx são retentáveis; os demais 4xx desistem. Com secret, o corpo é assinado com
+ * HMAC-SHA256 no header X-Notification-Signature.
+ */
+public class WebhookNotificationChannel implements NotificationChannel {
+
+    public static final String NAME = "webhook";
+
+    static final String SIGNATURE_HEADER = "X-Notification-Signature";
+
+    // Corpo do POST; público só para o registro de reflexão da imagem nativa (ChannelConfig)
+    public record Payload(UUID id, String subject, String body, Instant sentAt) {
+    }
+
+    private final Set<String> allowedHosts;
+
+    private final Duration requestTimeout;
+
+    private final byte[] secret;
+
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService executor;
+
+    private final HttpClient httpClient;
+
+    public WebhookNotificationChannel(Set<String> allowedHosts, Duration connectTimeout, Duration requestTimeout,
+            String secret, int threads, ObjectMapper objectMapper) {
+        this.allowedHosts = allowedHosts.stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.requestTimeout = requestTimeout;
+        this.secret = secret != null && !secret.isBlank() ? secret.getBytes(StandardCharsets.UTF_8) : null;
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().daemon().name("webhook-http-", 1)
+                .factory());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void validateRecipient(String recipient) {
+        target(recipient);
+    }
+
+    @Override
+    public CompletableFuture<Void> send(ChannelNotification notification) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new Payload(notification.id(), notification.subject(),
+                    notification.body(), Instant.now()));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new ChannelDeliveryException(
+                    "Não foi possível serializar o webhook", false, e));
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(target(notification.recipient()))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("X-Notification-Id", notification.id().toString())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (secret != null) {
+            request.header(SIGNATURE_HEADER, "sha256=" + sign(secret, body));
+        }
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        throw new ChannelDeliveryException("Falha ao chamar o webhook: " + cause.getMessage(),
+                                cause instanceof IOException, cause);
+                    }
+                    int status = response.statusCode();
+                    if (status / 100 != 2) {
+                        boolean retryable = status == 408 || status == 429 || status >= 500;
+                        throw new ChannelDeliveryException("Webhook respondeu " + status, retryable, null);
+                    }
+                    return null;
+                });
+    }
+
+    static String sign(byte[] secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível", e);
+        }
+    }
+
+    private URI target(String recipient) {
+        URI uri;
+        try {
+            uri = URI.create(recipient);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("URL de webhook inválida: " + recipient);
+        }
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "";
+        if (!scheme.equals("https") && !scheme.equals("http")) {
+            throw new IllegalArgumentException("URL de webhook inválida: " + recipient);
+        }
+        String host = uri.getHost();
+        if (host == null || !allowedHosts.contains(host.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Host de webhook não permitido: " + host);
+        }
+        return uri;
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+        executor.shutdown();
+    }
+}
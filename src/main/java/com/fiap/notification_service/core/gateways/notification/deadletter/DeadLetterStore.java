@@ -0,0 +1,21 @@
+package com.fiap.notification_service.core.gateways.notification.deadletter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+
+public interface DeadLetterStore {
+
+    void add(DeadLetter deadLetter);
+
+    Optional<DeadLetter> find(UUID notificationId);
+
+    // Mais recentes primeiro
+    List<DeadLetter> list(int page, int size);
+
+    long count();
+
+    Optional<DeadLetter> remove(UUID notificationId);
+}
@@ -0,0 +1,65 @@
+package com.fiap.notification_service.core.gateways.notification.deadletter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Armazena até maxEntries mensagens; acima disso descarta as mais antigas
+@Slf4j
+public class InMemoryDeadLetterStore implements DeadLetterStore {
+
+    private final int maxEntries;
+
+    private final LinkedHashMap<UUID, DeadLetter> entries = new LinkedHashMap<>();
+
+    public InMemoryDeadLetterStore(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("A dead-letter precisa comportar ao menos uma mensagem");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public synchronized void add(DeadLetter deadLetter) {
+        entries.remove(deadLetter.notification().id());
+        entries.put(deadLetter.notification().id(), deadLetter);
+        if (entries.size() > maxEntries) {
+            Iterator<Map.Entry<UUID, DeadLetter>> oldest = entries.entrySet().iterator();
+            log.warn("Dead-letter cheia, descartando a notificação {}", oldest.next().getKey());
+            oldest.remove();
+        }
+    }
+
+    @Override
+    public synchronized Optional<DeadLetter> find(UUID notificationId) {
+        return Optional.ofNullable(entries.get(notificationId));
+    }
+
+    @Override
+    public synchronized List<DeadLetter> list(int page, int size) {
+        List<DeadLetter> newestFirst = new ArrayList<>(entries.values());
+        Collections.reverse(newestFirst);
+        int from = Math.min(page * size, newestFirst.size());
+        int to = Math.min(from + size, newestFirst.size());
+        return List.copyOf(newestFirst.subList(from, to));
+    }
+
+    @Override
+    public synchronized long count() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized Optional<DeadLetter> remove(UUID notificationId) {
+        return Optional.ofNullable(entries.remove(notificationId));
+    }
+}
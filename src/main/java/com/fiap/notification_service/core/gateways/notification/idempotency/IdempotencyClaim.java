@@ -0,0 +1,53 @@
+package com.fiap.notification_service.core.gateways.notification.idempotency;
+
+import java.util.UUID;
+
+public final class IdempotencyClaim {
+
+    private final long keyHigh;
+
+    private final long keyLow;
+
+    private final long fingerprint;
+
+    private final boolean replay;
+
+    private final UUID notificationId;
+
+    private IdempotencyClaim(long keyHigh, long keyLow, long fingerprint, boolean replay, UUID notificationId) {
+        this.keyHigh = keyHigh;
+        this.keyLow = keyLow;
+        this.fingerprint = fingerprint;
+        this.replay = replay;
+        this.notificationId = notificationId;
+    }
+
+    static IdempotencyClaim acquired(long keyHigh, long keyLow, long fingerprint) {
+        return new IdempotencyClaim(keyHigh, keyLow, fingerprint, false, null);
+    }
+
+    static IdempotencyClaim replay(long keyHigh, long keyLow, long fingerprint, UUID notificationId) {
+        return new IdempotencyClaim(keyHigh, keyLow, fingerprint, true, notificationId);
+    }
+
+    public boolean isReplay() {
+        return replay;
+    }
+
+    // Id da notificação original; nulo quando o envio original foi síncrono
+    public UUID getNotificationId() {
+        return notificationId;
+    }
+
+    long keyHigh() {
+        return keyHigh;
+    }
+
+    long keyLow() {
+        return keyLow;
+    }
+
+    long fingerprint() {
+        return fingerprint;
+    }
+}
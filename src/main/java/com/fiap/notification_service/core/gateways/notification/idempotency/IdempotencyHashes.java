@@ -0,0 +1,46 @@
+package com.fiap.notification_service.core.gateways.notification.idempotency;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * As chaves não são guardadas: o cache mantém só 128 bits do SHA-256 de cada uma, e 64 bits
+ * do conteúdo da requisição para detectar a mesma chave reutilizada com outro conteúdo.
+ */
+public final class IdempotencyHashes {
+
+    private static final byte SEPARATOR = 0;
+
+    private IdempotencyHashes() {
+    }
+
+    public static long[] key(String key) {
+        ByteBuffer digest = ByteBuffer.wrap(sha256(key));
+        return new long[] { digest.getLong(), digest.getLong() };
+    }
+
+    public static long fingerprint(String... parts) {
+        return ByteBuffer.wrap(sha256(parts)).getLong();
+    }
+
+    private static byte[] sha256(String... parts) {
+        MessageDigest digest = newDigest();
+        for (String part : parts) {
+            if (part != null) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(SEPARATOR);
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
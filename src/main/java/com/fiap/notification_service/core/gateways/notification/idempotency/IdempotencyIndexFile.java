@@ -0,0 +1,180 @@
+package com.fiap.notification_service.core.gateways.notification.idempotency;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice persistente das chaves concluídas: um log de registros de tamanho fixo, reescrito só com as
+ * entradas vivas quando cresce demais. As escritas vão para o page cache sem fsync, então o índice
+ * sobrevive a uma queda do processo, mas não necessariamente a uma queda de energia.
+ */
+@Slf4j
+public class IdempotencyIndexFile implements AutoCloseable {
+
+    static final int RECORD_SIZE = 6 * Long.BYTES;
+
+    private static final String FILE_NAME = "idempotency.idx";
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long keyHigh, long keyLow, long expiresAt, long fingerprint, long resultHigh, long resultLow);
+    }
+
+    @FunctionalInterface
+    interface Snapshot {
+        void writeTo(RecordConsumer writer);
+    }
+
+    private final Path file;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+    private FileChannel channel;
+
+    private long recordCount;
+
+    public IdempotencyIndexFile(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            this.file = directory.resolve(FILE_NAME);
+            this.channel = open(file);
+            this.recordCount = channel.size() / RECORD_SIZE;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o índice de idempotência em " + directory, e);
+        }
+    }
+
+    // Lê os registros na ordem de gravação; um registro incompleto no fim (queda durante a escrita) é ignorado
+    public void load(RecordConsumer consumer) {
+        lock.lock();
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            long position = 0;
+            long complete = recordCount * RECORD_SIZE;
+            while (position < complete) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), complete - position));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        return;
+                    }
+                }
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    consumer.accept(buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                            buffer.getLong(), buffer.getLong(), buffer.getLong());
+                }
+                position += buffer.limit();
+            }
+            channel.truncate(complete);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o índice de idempotência", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void append(long keyHigh, long keyLow, long expiresAt, long fingerprint, long resultHigh, long resultLow) {
+        lock.lock();
+        try {
+            record.clear();
+            record.putLong(keyHigh).putLong(keyLow).putLong(expiresAt)
+                    .putLong(fingerprint).putLong(resultHigh).putLong(resultLow)
+                    .flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            recordCount++;
+        } catch (IOException e) {
+            // O índice é um complemento do cache em memória: falhar aqui não deve derrubar o envio
+            log.warn("Falha ao gravar no índice de idempotência: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    // Reescreve o índice com as entradas vivas em um arquivo temporário e o troca de forma atômica
+    void rewrite(Snapshot snapshot) {
+        lock.lock();
+        Path temporary = file.resolveSibling(FILE_NAME + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            long[] written = {0};
+            snapshot.writeTo((keyHigh, keyLow, expiresAt, fingerprint, resultHigh, resultLow) -> {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    drain(out, buffer);
+                }
+                buffer.putLong(keyHigh).putLong(keyLow).putLong(expiresAt)
+                        .putLong(fingerprint).putLong(resultHigh).putLong(resultLow);
+                written[0]++;
+            });
+            drain(out, buffer);
+            out.force(true);
+            channel.close();
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open(file);
+            recordCount = written[0];
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Falha ao compactar o índice de idempotência: {}", e.getMessage());
+            reopenIfClosed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private void reopenIfClosed() {
+        if (!channel.isOpen()) {
+            try {
+                channel = open(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível reabrir o índice de idempotência", e);
+            }
+        }
+    }
+
+    // READ e APPEND não podem ser combinados: as escritas seguem a posição do canal, mantida no fim do arquivo
+    private static FileChannel open(Path file) throws IOException {
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return opened.position(opened.size());
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o índice de idempotência: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
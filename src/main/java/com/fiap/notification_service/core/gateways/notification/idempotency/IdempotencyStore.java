@@ -0,0 +1,15 @@
+package com.fiap.notification_service.core.gateways.notification.idempotency;
+
+import java.util.UUID;
+
+public interface IdempotencyStore {
+
+    // Reserva a chave ou devolve o resultado já gravado; se a chave estiver em andamento, aguarda a conclusão
+    IdempotencyClaim claim(String key, long fingerprint);
+
+    // Grava o resultado e libera quem aguarda a chave; uma falha ao persistir não desfaz a gravação em memória
+    void complete(IdempotencyClaim claim, UUID notificationId);
+
+    // Libera a chave sem gravar resultado, para que uma nova tentativa possa executar
+    void release(IdempotencyClaim claim);
+}
@@ -0,0 +1,367 @@
+package com.fiap.notification_service.core.gateways.notification.idempotency;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import com.fiap.notification_service.core.exceptions.IdempotencyConflictException;
+import com.fiap.notification_service.core.exceptions.IdempotencyKeyReuseException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache de idempotência com memória fixa: uma tabela de endereçamento aberto em arrays de long (48 bytes por
+ * entrada, alocados na criação), dividida em faixas com lock próprio. Cada chave é procurada em no máximo
+ * PROBE_LIMIT posições; sem posição livre, a entrada que expira primeiro é descartada.
+ */
+@Slf4j
+public class InMemoryIdempotencyStore implements IdempotencyStore, MeterBinder, AutoCloseable {
+
+    private static final int PROBE_LIMIT = 8;
+
+    private static final int MAX_STRIPES = 64;
+
+    private static final long EMPTY = 0;
+
+    private record KeyHash(long high, long low) {
+    }
+
+    private record InFlight(long fingerprint, CompletableFuture<Void> done) {
+    }
+
+    private final long ttlMillis;
+
+    private final long waitTimeoutNanos;
+
+    private final LongSupplier clock;
+
+    private final IdempotencyIndexFile index;
+
+    private final int stripeMask;
+
+    private final int slotsPerStripe;
+
+    private final ReentrantLock[] stripes;
+
+    private final long[] keyHigh;
+
+    private final long[] keyLow;
+
+    private final long[] expiresAt;
+
+    private final long[] fingerprints;
+
+    private final long[] resultHigh;
+
+    private final long[] resultLow;
+
+    private final ConcurrentHashMap<KeyHash, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final AtomicLong expirations = new AtomicLong();
+
+    private final AtomicLong conflicts = new AtomicLong();
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration ttl, Duration waitTimeout) {
+        this(maxEntries, ttl, waitTimeout, null);
+    }
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration ttl, Duration waitTimeout, IdempotencyIndexFile index) {
+        this(maxEntries, ttl, waitTimeout, index, System::currentTimeMillis);
+    }
+
+    InMemoryIdempotencyStore(int maxEntries, Duration ttl, Duration waitTimeout, IdempotencyIndexFile index,
+            LongSupplier clock) {
+        if (maxEntries < 1 || ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("Configuração inválida do cache de idempotência");
+        }
+        int capacity = Math.max(PROBE_LIMIT, Integer.highestOneBit(Math.max(1, maxEntries - 1)) << 1);
+        int stripeCount = Math.min(MAX_STRIPES, capacity / PROBE_LIMIT);
+        this.ttlMillis = ttl.toMillis();
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.clock = clock;
+        this.index = index;
+        this.stripeMask = stripeCount - 1;
+        this.slotsPerStripe = capacity / stripeCount;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.keyHigh = new long[capacity];
+        this.keyLow = new long[capacity];
+        this.expiresAt = new long[capacity];
+        this.fingerprints = new long[capacity];
+        this.resultHigh = new long[capacity];
+        this.resultLow = new long[capacity];
+        if (index != null) {
+            long now = clock.getAsLong();
+            index.load((high, low, expires, fingerprint, idHigh, idLow) -> {
+                if (expires > now) {
+                    put(high, low, expires, fingerprint, idHigh, idLow);
+                }
+            });
+            log.info("{} chave(s) de idempotência recuperada(s) do índice", size.get());
+        }
+    }
+
+    @Override
+    public IdempotencyClaim claim(String key, long fingerprint) {
+        long[] hash = IdempotencyHashes.key(key);
+        KeyHash id = new KeyHash(hash[0], hash[1]);
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+        while (true) {
+            IdempotencyClaim stored = find(hash[0], hash[1], fingerprint);
+            if (stored != null) {
+                hits.incrementAndGet();
+                return stored;
+            }
+            InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+            InFlight current = inFlight.putIfAbsent(id, mine);
+            if (current == null) {
+                // O dono anterior pode ter concluído entre a consulta e a reserva
+                IdempotencyClaim raced = find(hash[0], hash[1], fingerprint);
+                if (raced != null) {
+                    inFlight.remove(id, mine);
+                    mine.done().complete(null);
+                    hits.incrementAndGet();
+                    return raced;
+                }
+                misses.incrementAndGet();
+                return IdempotencyClaim.acquired(hash[0], hash[1], fingerprint);
+            }
+            if (current.fingerprint() != fingerprint) {
+                throw reused();
+            }
+            awaitOwner(current, deadline);
+        }
+    }
+
+    @Override
+    public void complete(IdempotencyClaim claim, UUID notificationId) {
+        long idHigh = notificationId != null ? notificationId.getMostSignificantBits() : EMPTY;
+        long idLow = notificationId != null ? notificationId.getLeastSignificantBits() : EMPTY;
+        long expires = clock.getAsLong() + ttlMillis;
+        put(claim.keyHigh(), claim.keyLow(), expires, claim.fingerprint(), idHigh, idLow);
+        try {
+            if (index != null) {
+                index.append(claim.keyHigh(), claim.keyLow(), expires, claim.fingerprint(), idHigh, idLow);
+                compactIndexIfNeeded();
+            }
+        } catch (RuntimeException e) {
+            // O envio já saiu: a chave continua valendo em memória, só não sobrevive a um reinício
+            log.error("Falha ao persistir a chave de idempotência no índice: {}", e.getMessage());
+        } finally {
+            release(claim);
+        }
+    }
+
+    @Override
+    public void release(IdempotencyClaim claim) {
+        InFlight owner = inFlight.remove(new KeyHash(claim.keyHigh(), claim.keyLow()));
+        if (owner != null) {
+            owner.done().complete(null);
+        }
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public int getCapacity() {
+        return expiresAt.length;
+    }
+
+    private void awaitOwner(InFlight owner, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        try {
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            owner.done().get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            conflicts.incrementAndGet();
+            throw new IdempotencyConflictException("Já existe uma requisição em andamento com esta Idempotency-Key");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrompido aguardando a requisição original com esta Idempotency-Key");
+        } catch (ExecutionException e) {
+            // O dono nunca conclui com erro: apenas libera a chave
+        }
+    }
+
+    private IdempotencyClaim find(long high, long low, long fingerprint) {
+        int stripe = stripeOf(high);
+        long now = clock.getAsLong();
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        try {
+            for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+                int slot = slotOf(stripe, low, probe);
+                if (expiresAt[slot] == EMPTY || keyHigh[slot] != high || keyLow[slot] != low) {
+                    continue;
+                }
+                if (expiresAt[slot] <= now) {
+                    clear(slot);
+                    expirations.incrementAndGet();
+                    return null;
+                }
+                if (fingerprints[slot] != fingerprint) {
+                    throw reused();
+                }
+                UUID notificationId = resultHigh[slot] == EMPTY && resultLow[slot] == EMPTY
+                        ? null
+                        : new UUID(resultHigh[slot], resultLow[slot]);
+                return IdempotencyClaim.replay(high, low, fingerprint, notificationId);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(long high, long low, long expires, long fingerprint, long idHigh, long idLow) {
+        int stripe = stripeOf(high);
+        long now = clock.getAsLong();
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        try {
+            int target = -1;
+            int free = -1;
+            int oldest = -1;
+            for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+                int slot = slotOf(stripe, low, probe);
+                if (expiresAt[slot] != EMPTY && keyHigh[slot] == high && keyLow[slot] == low) {
+                    target = slot;
+                    break;
+                }
+                if (free < 0 && (expiresAt[slot] == EMPTY || expiresAt[slot] <= now)) {
+                    free = slot;
+                }
+                if (oldest < 0 || expiresAt[slot] < expiresAt[oldest]) {
+                    oldest = slot;
+                }
+            }
+            if (target < 0) {
+                if (free >= 0) {
+                    target = free;
+                    if (expiresAt[free] == EMPTY) {
+                        size.incrementAndGet();
+                    } else {
+                        expirations.incrementAndGet();
+                    }
+                } else {
+                    target = oldest;
+                    evictions.incrementAndGet();
+                }
+            }
+            keyHigh[target] = high;
+            keyLow[target] = low;
+            expiresAt[target] = expires;
+            fingerprints[target] = fingerprint;
+            resultHigh[target] = idHigh;
+            resultLow[target] = idLow;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clear(int slot) {
+        expiresAt[slot] = EMPTY;
+        size.decrementAndGet();
+    }
+
+    private int stripeOf(long high) {
+        return (int) (high >>> 32) & stripeMask;
+    }
+
+    private int slotOf(int stripe, long low, int probe) {
+        return stripe * slotsPerStripe + (int) ((low + probe) & (slotsPerStripe - 1));
+    }
+
+    // O log cresce a cada conclusão; quando passa do dobro das entradas vivas é reescrito a partir da tabela
+    private void compactIndexIfNeeded() {
+        long threshold = 2L * Math.max(size.get(), 1024);
+        if (index.getRecordCount() <= threshold || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            index.rewrite(writer -> {
+                long now = clock.getAsLong();
+                for (int stripe = 0; stripe < stripes.length; stripe++) {
+                    stripes[stripe].lock();
+                    try {
+                        int from = stripe * slotsPerStripe;
+                        for (int slot = from; slot < from + slotsPerStripe; slot++) {
+                            if (expiresAt[slot] > now) {
+                                writer.accept(keyHigh[slot], keyLow[slot], expiresAt[slot], fingerprints[slot],
+                                        resultHigh[slot], resultLow[slot]);
+                            }
+                        }
+                    } finally {
+                        stripes[stripe].unlock();
+                    }
+                }
+            });
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private IdempotencyKeyReuseException reused() {
+        return new IdempotencyKeyReuseException("Idempotency-Key já utilizada com outro conteúdo de requisição");
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("notification.idempotency.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Requisições respondidas com o resultado de uma requisição anterior")
+                .register(registry);
+        FunctionCounter.builder("notification.idempotency.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("notification.idempotency.requests", conflicts, AtomicLong::get)
+                .tag("result", "conflict")
+                .register(registry);
+        FunctionCounter.builder("notification.idempotency.evictions", evictions, AtomicLong::get)
+                .description("Chaves descartadas antes do TTL por falta de espaço")
+                .register(registry);
+        FunctionCounter.builder("notification.idempotency.expirations", expirations, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("notification.idempotency.entries", size, AtomicInteger::get)
+                .register(registry);
+        Gauge.builder("notification.idempotency.capacity", this, InMemoryIdempotencyStore::getCapacity)
+                .register(registry);
+        Gauge.builder("notification.idempotency.in.flight", inFlight, ConcurrentHashMap::size)
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        if (index != null) {
+            index.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.fiap.notification_service.core.gateways.notification.ingestion;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fiap.notification_service.core.domain.notification.InboundMessage;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broker em memória para desenvolvimento e testes. A capacidade conta as mensagens prontas e as entregues
+ * sem ack, então uma mensagem devolvida com nack sempre tem lugar para voltar à fila, na frente das novas.
+ */
+@Slf4j
+public class InMemoryNotificationBroker implements NotificationSource, MeterBinder {
+
+    private final int capacity;
+
+    private final LinkedBlockingDeque<InboundMessage> ready = new LinkedBlockingDeque<>();
+
+    private final ConcurrentHashMap<String, InboundMessage> unacked = new ConcurrentHashMap<>();
+
+    private final AtomicInteger stored = new AtomicInteger();
+
+    private final AtomicLong published = new AtomicLong();
+
+    private final AtomicLong acked = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public InMemoryNotificationBroker(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("O broker em memória precisa de capacidade positiva");
+        }
+        this.capacity = capacity;
+    }
+
+    public String publish(String payload) {
+        return publish(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String publish(byte[] payload) {
+        if (stored.incrementAndGet() > capacity) {
+            stored.decrementAndGet();
+            throw new DispatchQueueFullException("O broker em memória está cheio");
+        }
+        InboundMessage message = new InboundMessage(UUID.randomUUID().toString(), payload, 1);
+        ready.offerLast(message);
+        published.incrementAndGet();
+        return message.messageId();
+    }
+
+    @Override
+    public List<InboundMessage> poll(int maxMessages, Duration timeout) throws InterruptedException {
+        InboundMessage first = ready.pollFirst(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        List<InboundMessage> batch = new ArrayList<>(Math.min(maxMessages, ready.size() + 1));
+        batch.add(first);
+        ready.drainTo(batch, maxMessages - 1);
+        for (InboundMessage message : batch) {
+            unacked.put(message.messageId(), message);
+        }
+        return batch;
+    }
+
+    @Override
+    public void ack(InboundMessage message) {
+        if (unacked.remove(message.messageId()) != null) {
+            stored.decrementAndGet();
+            acked.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void nack(InboundMessage message, boolean requeue) {
+        if (unacked.remove(message.messageId()) == null) {
+            return;
+        }
+        if (requeue) {
+            ready.offerFirst(new InboundMessage(message.messageId(), message.payload(), message.deliveryCount() + 1));
+            return;
+        }
+        stored.decrementAndGet();
+        rejected.incrementAndGet();
+        log.warn("Mensagem {} descartada pelo broker em memória após {} entrega(s)", message.messageId(),
+                message.deliveryCount());
+    }
+
+    public int getReadyCount() {
+        return ready.size();
+    }
+
+    public int getUnackedCount() {
+        return unacked.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notification.ingestion.broker.ready", ready, LinkedBlockingDeque::size)
+                .description("Mensagens aguardando um consumidor no broker em memória")
+                .register(registry);
+        Gauge.builder("notification.ingestion.broker.unacked", unacked, ConcurrentHashMap::size)
+                .register(registry);
+        FunctionCounter.builder("notification.ingestion.broker.published", published, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("notification.ingestion.broker.acked", acked, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("notification.ingestion.broker.rejected", rejected, AtomicLong::get)
+                .register(registry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.fiap.notification_service.core.gateways.notification.ingestion;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.fiap.notification_service.core.domain.notification.InboundMessage;
+
+/**
+ * Ponto de extensão para consumir notificações de um broker. As mensagens devolvidas por poll ficam
+ * pendentes no broker até receberem ack ou nack.
+ */
+public interface NotificationSource {
+
+    // Aguarda até timeout pela primeira mensagem e devolve no máximo maxMessages
+    List<InboundMessage> poll(int maxMessages, Duration timeout) throws InterruptedException;
+
+    void ack(InboundMessage message);
+
+    // requeue=false descarta a mensagem (ou a move para a dead-letter do broker)
+    void nack(InboundMessage message, boolean requeue);
+}
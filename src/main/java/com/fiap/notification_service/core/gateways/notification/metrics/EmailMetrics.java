@@ -0,0 +1,120 @@
+package com.fiap.notification_service.core.gateways.notification.metrics;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fiap.notification_service.core.exceptions.EmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Métricas do caminho de envio: um timer com histograma por etapa (mail.send.stage), resultados por
+ * desfecho e código SMTP (mail.send.results) e envios SMTP em andamento (mail.send.inflight).
+ */
+public class EmailMetrics {
+
+    // Registry composto vazio: os medidores existem, mas nada é registrado
+    public static final EmailMetrics NOOP = new EmailMetrics(new CompositeMeterRegistry());
+
+    public enum Stage {
+        VALIDATION,
+        RENDER,
+        USE_CASE,
+        QUEUE_WAIT,
+        MIME_BUILD,
+        SMTP,
+        SMTP_BATCH;
+
+        private String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum Outcome {
+        SENT,
+        TRANSIENT_FAILURE,
+        PERMANENT_FAILURE,
+        INVALID;
+
+        private String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final String NO_REPLY_CODE = "none";
+
+    private final MeterRegistry registry;
+
+    private final Map<Stage, Timer> stages = new EnumMap<>(Stage.class);
+
+    private final Map<String, Counter> results = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public EmailMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, Timer.builder("mail.send.stage")
+                    .tag("stage", stage.tagValue())
+                    .description("Duração de cada etapa do envio de e-mail")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofMinutes(1))
+                    .register(registry));
+        }
+        Gauge.builder("mail.send.inflight", inFlight, AtomicInteger::get)
+                .description("Transações SMTP em andamento")
+                .register(registry);
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void record(Stage stage, long startNanos) {
+        stages.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void sendStarted(int messages) {
+        inFlight.addAndGet(messages);
+    }
+
+    public void sendFinished(int messages) {
+        inFlight.addAndGet(-messages);
+    }
+
+    public void recordSent() {
+        increment(Outcome.SENT, null);
+    }
+
+    public void recordInvalid() {
+        increment(Outcome.INVALID, null);
+    }
+
+    public void recordFailure(EmailDeliveryException failure) {
+        Outcome outcome = failure instanceof PermanentEmailDeliveryException
+                ? Outcome.PERMANENT_FAILURE
+                : Outcome.TRANSIENT_FAILURE;
+        increment(outcome, failure.getReplyCode());
+    }
+
+    private void increment(Outcome outcome, Integer replyCode) {
+        String code = replyCode != null ? String.valueOf(replyCode) : NO_REPLY_CODE;
+        results.computeIfAbsent(outcome.tagValue() + ':' + code, key -> Counter.builder("mail.send.results")
+                .tag("outcome", outcome.tagValue())
+                .tag("reply_code", code)
+                .description("E-mails processados por desfecho e código de resposta SMTP")
+                .register(registry))
+                .increment();
+    }
+}
@@ -0,0 +1,173 @@
+package com.fiap.notification_service.core.gateways.notification.mime;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.MessagingException;
+
+/**
+ * Cache LRU do MIME codificado, endereçado pelo conteúdo (remetente, assunto e corpo): o mesmo conteúdo sai sempre
+ * dos mesmos bytes, sem recodificar cabeçalhos e partes em quoted-printable/base64. Limitado em bytes e em entradas;
+ * o peso de cada entrada conta o MIME e as Strings da chave.
+ *
+ * Um conteúdo só entra no cache na segunda vez em que aparece (o "porteiro" guarda só o hash da primeira), para que
+ * corpos únicos, como templates com variáveis por pedido, não expulsem os que se repetem. Nos envios em massa
+ * (getOrEncode) o conteúdo já é compartilhado por várias cópias e entra direto.
+ */
+public class EncodedMimeCache implements MeterBinder {
+
+    @FunctionalInterface
+    public interface Encoder {
+        EncodedMimeContent encode() throws MessagingException, IOException;
+    }
+
+    private record Key(String from, String subject, String body) {
+
+        private long weight() {
+            return 2L * (length(from) + length(subject) + length(body));
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() : 0;
+        }
+    }
+
+    private record Entry(EncodedMimeContent content, long weight) {
+    }
+
+    private final long maxBytes;
+
+    private final int maxEntries;
+
+    private final long maxEntryBytes;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<Integer, Boolean> doorkeeper;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private long bytes;
+
+    public EncodedMimeCache(long maxBytes, int maxEntries) {
+        if (maxBytes < 1 || maxEntries < 1) {
+            throw new IllegalArgumentException("O cache de MIME precisa de limites positivos");
+        }
+        this.maxBytes = maxBytes;
+        this.maxEntries = maxEntries;
+        // Uma entrada grande demais expulsaria boa parte do cache sozinha
+        this.maxEntryBytes = Math.max(1, maxBytes / 8);
+        int doorkeeperSize = maxEntries * 4;
+        this.doorkeeper = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+                return size() > doorkeeperSize;
+            }
+        };
+    }
+
+    /**
+     * O conteúdo em cache, codificado agora se já tinha aparecido antes, ou null na primeira vez: aí quem chama monta
+     * a mensagem normalmente, sem o custo extra de guardar os bytes.
+     */
+    public EncodedMimeContent lookup(String from, String subject, String body, Encoder encoder)
+            throws MessagingException, IOException {
+        Key key = new Key(from, subject, body);
+        EncodedMimeContent cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        boolean seen;
+        synchronized (this) {
+            seen = doorkeeper.remove(key.hashCode()) != null;
+            if (!seen) {
+                doorkeeper.put(key.hashCode(), Boolean.TRUE);
+            }
+        }
+        return seen ? encodeAndStore(key, encoder) : null;
+    }
+
+    public EncodedMimeContent getOrEncode(String from, String subject, String body, Encoder encoder)
+            throws MessagingException, IOException {
+        Key key = new Key(from, subject, body);
+        EncodedMimeContent cached = get(key);
+        return cached != null ? cached : encodeAndStore(key, encoder);
+    }
+
+    private EncodedMimeContent get(Key key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        (entry != null ? hits : misses).incrementAndGet();
+        return entry != null ? entry.content() : null;
+    }
+
+    // Dois envios simultâneos do mesmo conteúdo novo podem codificar os dois; fica o último, sem prejuízo
+    private EncodedMimeContent encodeAndStore(Key key, Encoder encoder) throws MessagingException, IOException {
+        EncodedMimeContent content = encoder.encode();
+        long weight = content.bytes().length + key.weight();
+        if (weight > maxEntryBytes) {
+            return content;
+        }
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(content, weight));
+            bytes += weight - (previous != null ? previous.weight() : 0);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while ((bytes > maxBytes || entries.size() > maxEntries) && eldest.hasNext()) {
+                bytes -= eldest.next().weight();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return content;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("mail.mime.cache.hits", hits, AtomicLong::get)
+                .description("Mensagens montadas a partir do MIME em cache")
+                .register(registry);
+        FunctionCounter.builder("mail.mime.cache.misses", misses, AtomicLong::get)
+                .description("Mensagens cujo conteúdo não estava no cache de MIME")
+                .register(registry);
+        FunctionCounter.builder("mail.mime.cache.evictions", evictions, AtomicLong::get)
+                .description("Conteúdos removidos do cache de MIME pelo limite de tamanho")
+                .register(registry);
+        Gauge.builder("mail.mime.cache.hit.ratio", this, EncodedMimeCache::getHitRatio)
+                .description("Fração das consultas ao cache de MIME atendidas por ele desde o início")
+                .register(registry);
+        Gauge.builder("mail.mime.cache.entries", this, EncodedMimeCache::size)
+                .description("Conteúdos no cache de MIME")
+                .register(registry);
+        Gauge.builder("mail.mime.cache.size", this, EncodedMimeCache::getBytes)
+                .description("Bytes ocupados pelo cache de MIME")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fiap.notification_service.core.gateways.notification.mime;
+
+import jakarta.mail.Session;
+
+// MIME já codificado (cabeçalhos comuns e partes do corpo), com a sessão usada para reabri-lo em cada cópia
+public record EncodedMimeContent(Session session, byte[] bytes) {
+}
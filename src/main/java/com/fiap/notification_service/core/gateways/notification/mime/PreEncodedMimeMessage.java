@@ -0,0 +1,39 @@
+package com.fiap.notification_service.core.gateways.notification.mime;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.SharedByteArrayInputStream;
+
+/**
+ * Mensagem sobre um MIME já codificado: o corpo é lido direto do array compartilhado entre as cópias
+ * e nunca é recodificado. Só os cabeçalhos mudam por cópia (To, Message-ID); os destinatários do
+ * envelope (RCPT TO) podem ser definidos à parte, sem aparecer nos cabeçalhos.
+ */
+public class PreEncodedMimeMessage extends MimeMessage {
+
+    private Address[] envelopeRecipients;
+
+    public PreEncodedMimeMessage(Session session, byte[] encoded) throws MessagingException {
+        super(session, new SharedByteArrayInputStream(encoded));
+    }
+
+    public void setEnvelopeRecipients(Address[] envelopeRecipients) {
+        this.envelopeRecipients = envelopeRecipients.clone();
+    }
+
+    @Override
+    public Address[] getAllRecipients() throws MessagingException {
+        return envelopeRecipients != null ? envelopeRecipients.clone() : super.getAllRecipients();
+    }
+
+    // Sem marcar o conteúdo como alterado, writeTo copia os bytes originais em vez de passar pelo DataHandler
+    @Override
+    public void saveChanges() throws MessagingException {
+        saved = true;
+        if (getHeader("Message-ID") == null) {
+            updateMessageID();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.fiap.notification_service.core.gateways.notification.outbox;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.ScheduledEmail;
+
+public interface EmailOutbox {
+
+    // Grava a notificação de forma durável; só retorna depois que o registro estiver persistido
+    void append(EmailNotification notification);
+
+    // Como append, mas a notificação volta em recoverScheduled com o horário de envio
+    void append(EmailNotification notification, Instant deliverAt);
+
+    void markDone(UUID notificationId);
+
+    // Notificações aceitas e ainda não concluídas encontradas na abertura do outbox
+    List<EmailNotification> recoverPending();
+
+    // Agendamentos não concluídos nem cancelados encontrados na abertura do outbox
+    List<ScheduledEmail> recoverScheduled();
+}
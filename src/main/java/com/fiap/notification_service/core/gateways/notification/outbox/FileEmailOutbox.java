@@ -0,0 +1,540 @@
+package com.fiap.notification_service.core.gateways.notification.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.ScheduledEmail;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outbox local em arquivos de log segmentados e mapeados em memória.
+ *
+ * Cada registro é gravado como [tamanho][crc][payload]; o tamanho é escrito por último para que um registro
+ * incompleto nunca seja lido na recuperação. Uma única thread faz o fsync dos segmentos sujos e libera de uma
+ * vez todos os produtores que aguardavam (group commit).
+ */
+@Slf4j
+public class FileEmailOutbox implements EmailOutbox, AutoCloseable {
+
+    private static final byte ACCEPTED = 1;
+
+    private static final byte DONE = 2;
+
+    // Como ACCEPTED, com o horário de envio (epoch millis) logo depois do id
+    private static final byte SCHEDULED = 3;
+
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static final String SEGMENT_PREFIX = "outbox-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private MappedByteBuffer buffer;
+        private int writePosition;
+        private int live;
+
+        private Segment(long id, Path path) {
+            this.id = id;
+            this.path = path;
+        }
+    }
+
+    private record Location(Segment segment, int offset) {
+    }
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final boolean fsync;
+
+    private final int relocateThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition flushRequested = lock.newCondition();
+
+    private final Condition flushed = lock.newCondition();
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    private final Map<UUID, Location> pending = new HashMap<>();
+
+    private final Set<Segment> dirty = new LinkedHashSet<>();
+
+    private final Thread flusher;
+
+    private final ScheduledExecutorService compactor;
+
+    private List<EmailNotification> recovered;
+
+    private List<ScheduledEmail> recoveredScheduled;
+
+    private Segment active;
+
+    private long writtenSequence;
+
+    private long durableSequence;
+
+    private volatile boolean closed;
+
+    public FileEmailOutbox(Path directory, int segmentSize, boolean fsync, int relocateThreshold, Duration compactionInterval) {
+        if (segmentSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Tamanho de segmento do outbox inválido");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.relocateThreshold = relocateThreshold;
+        try {
+            Files.createDirectories(directory);
+            recover();
+            this.active = openSegment(segments.isEmpty() ? 1 : segments.lastKey() + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o outbox em " + directory, e);
+        }
+
+        this.flusher = new Thread(this::flushLoop, "email-outbox-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+
+        if (compactionInterval != null && !compactionInterval.isZero()) {
+            this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "email-outbox-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = compactionInterval.toMillis();
+            this.compactor.scheduleWithFixedDelay(this::compact, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.compactor = null;
+        }
+    }
+
+    @Override
+    public void append(EmailNotification notification) {
+        append(notification.id(), encodeAccepted(notification, null));
+    }
+
+    @Override
+    public void append(EmailNotification notification, Instant deliverAt) {
+        append(notification.id(), encodeAccepted(notification, deliverAt));
+    }
+
+    private void append(UUID notificationId, byte[] payload) {
+        lock.lock();
+        try {
+            ensureOpen();
+            int offset = write(payload);
+            pending.put(notificationId, new Location(active, offset));
+            active.live++;
+            long sequence = ++writtenSequence;
+            flushRequested.signal();
+            if (fsync) {
+                awaitDurable(sequence);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void markDone(UUID notificationId) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            Location location = pending.remove(notificationId);
+            if (location == null) {
+                return;
+            }
+            location.segment().live--;
+            write(encodeDone(notificationId));
+            writtenSequence++;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<EmailNotification> recoverPending() {
+        lock.lock();
+        try {
+            List<EmailNotification> result = recovered;
+            recovered = List.of();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<ScheduledEmail> recoverScheduled() {
+        lock.lock();
+        try {
+            List<ScheduledEmail> result = recoveredScheduled;
+            recoveredScheduled = List.of();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remove segmentos antigos já concluídos; os poucos registros pendentes de um segmento antigo são copiados
+    // para o segmento ativo. Os segmentos são removidos sempre a partir do mais antigo, para que um registro DONE
+    // nunca desapareça antes do ACCEPTED correspondente.
+    void compact() {
+        lock.lock();
+        try {
+            for (Segment segment : new ArrayList<>(segments.values())) {
+                if (segment == active || closed) {
+                    break;
+                }
+                if (segment.live > 0) {
+                    if (segment.live > relocateThreshold) {
+                        break;
+                    }
+                    awaitDurable(relocate(segment));
+                }
+                segments.remove(segment.id);
+                dirty.remove(segment);
+                segment.buffer = null;
+                Files.deleteIfExists(segment.path);
+            }
+        } catch (IOException e) {
+            log.warn("Falha na compactação do outbox: {}", e.getMessage());
+        } catch (IllegalStateException e) {
+            log.debug("Compactação do outbox interrompida: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long relocate(Segment segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+            for (Map.Entry<UUID, Location> entry : pending.entrySet()) {
+                Location location = entry.getValue();
+                if (location.segment() != segment) {
+                    continue;
+                }
+                ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+                channel.read(header, location.offset());
+                ByteBuffer payload = ByteBuffer.allocate(header.getInt(0));
+                channel.read(payload, location.offset() + RECORD_HEADER_SIZE);
+
+                int offset = write(payload.array());
+                entry.setValue(new Location(active, offset));
+                active.live++;
+                segment.live--;
+                writtenSequence++;
+            }
+        }
+        flushRequested.signal();
+        return writtenSequence;
+    }
+
+    private int write(byte[] payload) {
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Notificação grande demais para o outbox");
+        }
+        if (active.writePosition + recordSize > segmentSize) {
+            roll();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        int offset = active.writePosition;
+        MappedByteBuffer buffer = active.buffer;
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.put(offset + RECORD_HEADER_SIZE, payload);
+        buffer.putInt(offset, payload.length);
+        active.writePosition += recordSize;
+        dirty.add(active);
+        return offset;
+    }
+
+    private void roll() {
+        try {
+            active = openSegment(active.id + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar um novo segmento do outbox", e);
+        }
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        Segment segment = new Segment(id, directory.resolve(SEGMENT_PREFIX + "%020d".formatted(id) + SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(segment.path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void awaitDurable(long sequence) {
+        try {
+            while (durableSequence < sequence) {
+                if (closed) {
+                    throw new IllegalStateException("Outbox encerrado antes de persistir a notificação");
+                }
+                flushed.await(100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a persistência no outbox", e);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<Segment> toForce;
+            long target;
+            lock.lock();
+            try {
+                while (!closed && durableSequence == writtenSequence) {
+                    flushRequested.await();
+                }
+                if (closed && durableSequence == writtenSequence) {
+                    return;
+                }
+                target = writtenSequence;
+                toForce = new ArrayList<>(dirty);
+                dirty.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // Um único fsync cobre todos os registros gravados desde o último ciclo
+            for (Segment segment : toForce) {
+                MappedByteBuffer buffer = segment.buffer;
+                if (buffer != null) {
+                    buffer.force();
+                }
+            }
+
+            lock.lock();
+            try {
+                durableSequence = target;
+                for (Segment segment : toForce) {
+                    if (segment != active && !dirty.contains(segment)) {
+                        segment.buffer = null;
+                    }
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        Map<UUID, ScheduledEmail> pendingNotifications = new LinkedHashMap<>();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = new Segment(id, file);
+            segments.put(id, segment);
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                int position = 0;
+                while (position + RECORD_HEADER_SIZE <= buffer.limit()) {
+                    int length = buffer.getInt(position);
+                    if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.limit()) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    buffer.get(position + RECORD_HEADER_SIZE, payload);
+                    CRC32C crc = new CRC32C();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                        log.warn("Registro corrompido no segmento {} do outbox, posição {}", name, position);
+                        break;
+                    }
+                    replay(ByteBuffer.wrap(payload), segment, position, pendingNotifications);
+                    position += RECORD_HEADER_SIZE + length;
+                }
+            }
+        }
+
+        if (!pendingNotifications.isEmpty()) {
+            log.info("{} notificação(ões) pendente(s) recuperada(s) do outbox", pendingNotifications.size());
+        }
+        List<EmailNotification> immediate = new ArrayList<>();
+        List<ScheduledEmail> scheduled = new ArrayList<>();
+        for (ScheduledEmail entry : pendingNotifications.values()) {
+            if (entry.deliverAt() == null) {
+                immediate.add(entry.notification());
+            } else {
+                scheduled.add(entry);
+            }
+        }
+        this.recovered = immediate;
+        this.recoveredScheduled = scheduled;
+    }
+
+    private void replay(ByteBuffer payload, Segment segment, int offset, Map<UUID, ScheduledEmail> pendingNotifications) {
+        byte type = payload.get();
+        UUID id = new UUID(payload.getLong(), payload.getLong());
+        if (type == ACCEPTED || type == SCHEDULED) {
+            Instant deliverAt = type == SCHEDULED ? Instant.ofEpochMilli(payload.getLong()) : null;
+            EmailNotification notification = new EmailNotification(id, readString(payload), readString(payload), readString(payload));
+            Location previous = pending.put(id, new Location(segment, offset));
+            if (previous != null) {
+                previous.segment().live--;
+            }
+            segment.live++;
+            pendingNotifications.putIfAbsent(id, new ScheduledEmail(notification, deliverAt));
+        } else if (type == DONE) {
+            Location location = pending.remove(id);
+            if (location != null) {
+                location.segment().live--;
+            }
+            pendingNotifications.remove(id);
+        }
+    }
+
+    private static byte[] encodeAccepted(EmailNotification notification, Instant deliverAt) {
+        byte[] to = bytes(notification.to());
+        byte[] subject = bytes(notification.subject());
+        byte[] body = bytes(notification.body());
+        int scheduleSize = deliverAt != null ? 8 : 0;
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 16 + scheduleSize + 12 + length(to) + length(subject) + length(body));
+        buffer.put(deliverAt != null ? SCHEDULED : ACCEPTED);
+        buffer.putLong(notification.id().getMostSignificantBits());
+        buffer.putLong(notification.id().getLeastSignificantBits());
+        if (deliverAt != null) {
+            buffer.putLong(deliverAt.toEpochMilli());
+        }
+        putString(buffer, to);
+        putString(buffer, subject);
+        putString(buffer, body);
+        return buffer.array();
+    }
+
+    private static byte[] encodeDone(UUID id) {
+        return ByteBuffer.allocate(1 + 16)
+                .put(DONE)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Outbox encerrado");
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushRequested.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
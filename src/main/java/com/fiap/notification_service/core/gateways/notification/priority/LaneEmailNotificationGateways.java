@@ -0,0 +1,44 @@
+package com.fiap.notification_service.core.gateways.notification.priority;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+
+// Monta a pilha do envio síncrono de cada faixa: limitador de taxa, depois a vez na fila de prioridade, depois o SMTP.
+// A vez só é pedida por quem já tem ficha. As faixas sem tenant são montadas uma vez; as de tenant, a cada envio
+public class LaneEmailNotificationGateways implements Function<SendLane, EmailNotificationGateway> {
+
+    private final EmailNotificationGateway smtpGateway;
+
+    private final PriorityLaneScheduler scheduler;
+
+    private final UnaryOperator<EmailNotificationGateway> rateLimit;
+
+    private final Map<NotificationPriority, EmailNotificationGateway> byPriority = new EnumMap<>(NotificationPriority.class);
+
+    // rateLimit envolve um gateway com o limitador de taxa; UnaryOperator.identity() quando o limite é aplicado abaixo
+    // (ex.: por conta remetente, com sharding) ou está desligado
+    public LaneEmailNotificationGateways(EmailNotificationGateway smtpGateway, PriorityLaneScheduler scheduler,
+            UnaryOperator<EmailNotificationGateway> rateLimit) {
+        this.smtpGateway = smtpGateway;
+        this.scheduler = scheduler;
+        this.rateLimit = rateLimit;
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            byPriority.put(priority, compose(new SendLane(priority, null)));
+        }
+    }
+
+    @Override
+    public EmailNotificationGateway apply(SendLane lane) {
+        return lane.tenant() == null ? byPriority.get(lane.priority()) : compose(lane);
+    }
+
+    private EmailNotificationGateway compose(SendLane lane) {
+        return rateLimit.apply(new PriorityLaneEmailNotificationGateway(smtpGateway, scheduler, lane));
+    }
+}
@@ -0,0 +1,48 @@
+package com.fiap.notification_service.core.gateways.notification.priority;
+
+import java.util.List;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+
+// Pede a vez no SMTP para a faixa de uma requisição; fica abaixo do limitador de taxa, então a vaga só é ocupada por
+// envios que já têm ficha
+public class PriorityLaneEmailNotificationGateway implements EmailNotificationGateway {
+
+    private final EmailNotificationGateway delegate;
+
+    private final PriorityLaneScheduler scheduler;
+
+    private final SendLane lane;
+
+    public PriorityLaneEmailNotificationGateway(EmailNotificationGateway delegate, PriorityLaneScheduler scheduler,
+            SendLane lane) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.lane = lane;
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String body) {
+        scheduler.run(lane, () -> delegate.sendEmail(to, subject, body));
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String body, List<EmailAttachment> attachments) {
+        scheduler.run(lane, () -> delegate.sendEmail(to, subject, body, attachments));
+    }
+
+    @Override
+    public List<EmailDeliveryResult> sendEmails(List<EmailNotification> notifications) {
+        return scheduler.runInChunks(lane, notifications, delegate::sendEmails);
+    }
+
+    @Override
+    public List<EmailDeliveryResult> sendFanOut(List<EmailNotification> notifications, FanOutMode mode) {
+        return scheduler.runInChunks(lane, notifications, chunk -> delegate.sendFanOut(chunk, mode));
+    }
+}
@@ -0,0 +1,410 @@
+package com.fiap.notification_service.core.gateways.notification.priority;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Admissão dos envios no SMTP por faixa, com deficit round-robin em dois níveis: entre as prioridades, com quantum
+ * proporcional ao peso de cada uma, e entre os tenants de uma mesma prioridade, todos com o mesmo quantum. No máximo
+ * maxConcurrent envios passam ao mesmo tempo e o custo de cada um é o número de mensagens.
+ *
+ * Lotes e fan-outs entram em pedaços de até chunkSize mensagens, então um envio HIGH espera só algum pedaço em
+ * andamento terminar, e não o lote inteiro. Enquanto há vaga e ninguém esperando, a admissão não enfileira nada.
+ * Quem não recebe a vez em maxWait sai da fila com {@link SmtpUnavailableException}: 503 no síncrono e adiamento na
+ * fila assíncrona, como no bulkhead do SmtpSessionGuard.
+ */
+public class PriorityLaneScheduler implements MeterBinder {
+
+    private static final String INTERRUPTED = "Envio interrompido aguardando a vez na fila de prioridade";
+
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private static final class Ticket {
+
+        private final SendLane lane;
+
+        private final int cost;
+
+        private final Condition admitted;
+
+        private boolean granted;
+
+        private boolean cancelled;
+
+        private Ticket(SendLane lane, int cost, Condition admitted) {
+            this.lane = lane;
+            this.cost = cost;
+            this.admitted = admitted;
+        }
+    }
+
+    private abstract static class Flow {
+
+        int deficit;
+
+        abstract Ticket peek();
+
+        abstract Ticket poll();
+
+        abstract boolean isEmpty();
+    }
+
+    // Um nível do DRR: o fluxo da vez recebe o quantum ao começar a vez e segue enquanto o deficit cobre o próximo custo
+    private static final class RoundRobin<F extends Flow> {
+
+        private final ArrayDeque<F> active = new ArrayDeque<>();
+
+        private final ToIntFunction<F> quantum;
+
+        private boolean turnStarted;
+
+        private RoundRobin(ToIntFunction<F> quantum) {
+            this.quantum = quantum;
+        }
+
+        private void activate(F flow) {
+            active.addLast(flow);
+        }
+
+        private boolean isEmpty() {
+            return active.isEmpty();
+        }
+
+        private F select() {
+            while (true) {
+                F head = active.peekFirst();
+                if (!turnStarted) {
+                    head.deficit += quantum.applyAsInt(head);
+                    turnStarted = true;
+                }
+                if (head.peek().cost <= head.deficit) {
+                    return head;
+                }
+                active.addLast(active.pollFirst());
+                turnStarted = false;
+            }
+        }
+
+        private Ticket poll() {
+            F head = select();
+            Ticket ticket = head.poll();
+            head.deficit -= ticket.cost;
+            if (head.isEmpty()) {
+                // Fluxo vazio sai do rodízio sem guardar crédito para a próxima vez
+                active.pollFirst();
+                head.deficit = 0;
+                turnStarted = false;
+            }
+            return ticket;
+        }
+    }
+
+    private static final class TenantFlow extends Flow {
+
+        private final ArrayDeque<Ticket> tickets = new ArrayDeque<>();
+
+        @Override
+        Ticket peek() {
+            return tickets.peekFirst();
+        }
+
+        @Override
+        Ticket poll() {
+            return tickets.pollFirst();
+        }
+
+        @Override
+        boolean isEmpty() {
+            return tickets.isEmpty();
+        }
+    }
+
+    // Os tenants só existem enquanto têm envios esperando, então o mapa não cresce com tenants que já passaram
+    private static final class PriorityFlow extends Flow {
+
+        private final int weight;
+
+        private final Map<String, TenantFlow> tenants = new HashMap<>();
+
+        private final RoundRobin<TenantFlow> rotation;
+
+        private int waiting;
+
+        private PriorityFlow(int weight, int tenantQuantum) {
+            this.weight = weight;
+            this.rotation = new RoundRobin<>(flow -> tenantQuantum);
+        }
+
+        private void add(Ticket ticket) {
+            TenantFlow flow = tenants.computeIfAbsent(ticket.lane.tenant(), tenant -> new TenantFlow());
+            if (flow.isEmpty()) {
+                rotation.activate(flow);
+            }
+            flow.tickets.addLast(ticket);
+            waiting++;
+        }
+
+        @Override
+        Ticket peek() {
+            return rotation.select().peek();
+        }
+
+        @Override
+        Ticket poll() {
+            Ticket ticket = rotation.poll();
+            String tenant = ticket.lane.tenant();
+            if (tenants.get(tenant).isEmpty()) {
+                tenants.remove(tenant);
+            }
+            return ticket;
+        }
+
+        @Override
+        boolean isEmpty() {
+            return rotation.isEmpty();
+        }
+    }
+
+    private final int maxConcurrent;
+
+    private final int chunkSize;
+
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<NotificationPriority, PriorityFlow> flows = new EnumMap<>(NotificationPriority.class);
+
+    private final RoundRobin<PriorityFlow> priorities;
+
+    private volatile Map<NotificationPriority, Timer> waitTimers = Map.of();
+
+    private int available;
+
+    // Inclui os cancelados que ainda não saíram das filas
+    private int queued;
+
+    public PriorityLaneScheduler(int maxConcurrent, int chunkSize, Map<NotificationPriority, Integer> weights,
+            Duration maxWait) {
+        if (maxConcurrent < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("A fila de prioridade precisa de ao menos um envio simultâneo e pedaços positivos");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.chunkSize = chunkSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.available = maxConcurrent;
+        this.priorities = new RoundRobin<>(flow -> flow.weight * chunkSize);
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            Integer weight = weights.get(priority);
+            if (weight == null || weight < 1) {
+                throw new IllegalArgumentException("Peso inválido para a prioridade " + priority + ": " + weight);
+            }
+            flows.put(priority, new PriorityFlow(weight, chunkSize));
+        }
+    }
+
+    // Bloqueia até o envio ter vez, por no máximo maxWait; cost é o número de mensagens que ele leva ao SMTP
+    public void acquire(SendLane lane, int cost) throws InterruptedException {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (queued == 0 && available > 0) {
+                available--;
+            } else {
+                await(enqueue(lane, cost));
+            }
+        } finally {
+            lock.unlock();
+        }
+        Timer timer = waitTimers.get(lane.priority());
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            available++;
+            grant();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void run(SendLane lane, Runnable send) {
+        admit(lane, 1);
+        try {
+            send.run();
+        } finally {
+            release();
+        }
+    }
+
+    // Um pedaço por vez, cada um com custo igual ao seu tamanho. Sem vez para o primeiro pedaço o lote é recusado;
+    // sem vez (ou interrompido) no meio, o resto volta como falha
+    public List<EmailDeliveryResult> runInChunks(SendLane lane, List<EmailNotification> notifications,
+            Function<List<EmailNotification>, List<EmailDeliveryResult>> send) {
+        List<EmailDeliveryResult> results = new ArrayList<>(notifications.size());
+        for (int from = 0; from < notifications.size(); from += chunkSize) {
+            List<EmailNotification> chunk = notifications.subList(from, Math.min(from + chunkSize, notifications.size()));
+            try {
+                acquire(lane, chunk.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return failRemaining(results, notifications.subList(from, notifications.size()), INTERRUPTED);
+            } catch (SmtpUnavailableException e) {
+                if (from == 0) {
+                    throw e;
+                }
+                return failRemaining(results, notifications.subList(from, notifications.size()), e.getMessage());
+            }
+            try {
+                results.addAll(send.apply(List.copyOf(chunk)));
+            } finally {
+                release();
+            }
+        }
+        return results;
+    }
+
+    private static List<EmailDeliveryResult> failRemaining(List<EmailDeliveryResult> results,
+            List<EmailNotification> pending, String reason) {
+        for (EmailNotification notification : pending) {
+            results.add(EmailDeliveryResult.notAttempted(notification, reason));
+        }
+        return results;
+    }
+
+    private void admit(SendLane lane, int cost) {
+        try {
+            acquire(lane, cost);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientEmailDeliveryException(INTERRUPTED, null, e);
+        }
+    }
+
+    private Ticket enqueue(SendLane lane, int cost) {
+        Ticket ticket = new Ticket(lane, cost, lock.newCondition());
+        PriorityFlow flow = flows.get(lane.priority());
+        if (flow.isEmpty()) {
+            priorities.activate(flow);
+        }
+        flow.add(ticket);
+        queued++;
+        grant();
+        return ticket;
+    }
+
+    private void await(Ticket ticket) throws InterruptedException {
+        long remaining = maxWaitNanos;
+        try {
+            while (!ticket.granted) {
+                if (remaining <= 0) {
+                    cancel(ticket);
+                    throw new SmtpUnavailableException("Nenhuma vez livre no SMTP dentro do tempo máximo de espera",
+                            BUSY_RETRY_AFTER);
+                }
+                remaining = ticket.admitted.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            if (ticket.granted) {
+                // A vez chegou junto com a interrupção: devolve a vaga para o próximo
+                available++;
+                grant();
+            } else {
+                cancel(ticket);
+            }
+            throw e;
+        }
+    }
+
+    // O ticket fica na fila até o grant passar por ele; só deixa de contar como esperando
+    private void cancel(Ticket ticket) {
+        ticket.cancelled = true;
+        flows.get(ticket.lane.priority()).waiting--;
+    }
+
+    private void grant() {
+        while (available > 0 && queued > 0) {
+            Ticket ticket = priorities.poll();
+            queued--;
+            if (ticket.cancelled) {
+                continue;
+            }
+            flows.get(ticket.lane.priority()).waiting--;
+            ticket.granted = true;
+            available--;
+            ticket.admitted.signal();
+        }
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getWaiting(NotificationPriority priority) {
+        lock.lock();
+        try {
+            return flows.get(priority).waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return maxConcurrent - available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map<NotificationPriority, Timer> timers = new EnumMap<>(NotificationPriority.class);
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            timers.put(priority, Timer.builder("mail.priority.queue.wait")
+                    .tag("priority", tag)
+                    .description("Espera de cada envio pela vez no SMTP, por faixa de prioridade")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofMinutes(1))
+                    .register(registry));
+            Gauge.builder("mail.priority.queue.waiting", this, scheduler -> scheduler.getWaiting(priority))
+                    .tag("priority", tag)
+                    .description("Envios aguardando a vez no SMTP, por faixa de prioridade")
+                    .register(registry);
+        }
+        Gauge.builder("mail.priority.inflight", this, PriorityLaneScheduler::getInFlight)
+                .description("Envios admitidos pela fila de prioridade e ainda em andamento")
+                .register(registry);
+        this.waitTimers = timers;
+    }
+}
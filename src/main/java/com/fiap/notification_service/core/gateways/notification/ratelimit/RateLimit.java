@@ -0,0 +1,21 @@
+package com.fiap.notification_service.core.gateways.notification.ratelimit;
+
+import java.time.Duration;
+
+// "permits" envios a cada "period", permitindo rajadas de até "burst" envios seguidos
+public record RateLimit(
+    int permits,
+    Duration period,
+    int burst
+) {
+
+    public RateLimit {
+        if (permits < 1 || burst < 1 || period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Limite de envio inválido: permits e burst devem ser positivos e period maior que zero");
+        }
+    }
+
+    public double permitsPerSecond() {
+        return permits / (period.toNanos() / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,180 @@
+package com.fiap.notification_service.core.gateways.notification.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+
+// Segura cada envio até haver ficha no limitador, por no máximo maxWait por chamada; acima disso o envio é recusado com
+// SmtpUnavailableException (503 com Retry-After no síncrono) e a ficha volta para o balde
+public class RateLimitedEmailNotificationGateway implements EmailNotificationGateway {
+
+    private static final String INTERRUPTED = "Envio interrompido aguardando o limite de taxa";
+
+    private final EmailNotificationGateway delegate;
+
+    private final SendRateLimiter rateLimiter;
+
+    private final String senderAccount;
+
+    private final Duration maxWait;
+
+    public RateLimitedEmailNotificationGateway(EmailNotificationGateway delegate, SendRateLimiter rateLimiter,
+            String senderAccount, Duration maxWait) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.senderAccount = senderAccount;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String body) {
+        acquire(to);
+        try {
+            delegate.sendEmail(to, subject, body);
+        } catch (SmtpUnavailableException e) {
+            refund(to);
+            throw e;
+        }
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String body, List<EmailAttachment> attachments) {
+        acquire(to);
+        try {
+            delegate.sendEmail(to, subject, body, attachments);
+        } catch (SmtpUnavailableException e) {
+            refund(to);
+            throw e;
+        }
+    }
+
+    // Circuito aberto, bulkhead cheio ou sem vez na fila de prioridade: o servidor nem foi tentado, então a ficha volta
+    private void refund(String to) {
+        rateLimiter.cancel(senderAccount, to);
+    }
+
+    private void acquire(String to) {
+        try {
+            rateLimiter.acquire(senderAccount, to, maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientEmailDeliveryException(INTERRUPTED, null, e);
+        }
+    }
+
+    // Envia juntas as mensagens que já têm ficha e só pausa quando o limite exige, preservando o reuso da sessão SMTP.
+    // O maxWait vale para a chamada inteira: sem ficha para a primeira mensagem o lote é recusado, e depois dela as que
+    // não couberem no prazo voltam como falha. Se a camada de baixo recusar um pedaço sem tentar o servidor (circuito
+    // aberto, bulkhead cheio), as fichas dele voltam e o lote para ali, com a mesma regra
+    @Override
+    public List<EmailDeliveryResult> sendEmails(List<EmailNotification> notifications) {
+        return throttle(notifications, delegate::sendEmails);
+    }
+
+    // Cada destinatário consome uma ficha, mesmo quando vários dividem a mesma mensagem
+    @Override
+    public List<EmailDeliveryResult> sendFanOut(List<EmailNotification> notifications, FanOutMode mode) {
+        return throttle(notifications, ready -> delegate.sendFanOut(ready, mode));
+    }
+
+    private List<EmailDeliveryResult> throttle(List<EmailNotification> notifications,
+            Function<List<EmailNotification>, List<EmailDeliveryResult>> send) {
+        List<EmailDeliveryResult> results = new ArrayList<>(notifications.size());
+        List<EmailNotification> ready = new ArrayList<>();
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        for (int i = 0; i < notifications.size(); i++) {
+            EmailNotification notification = notifications.get(i);
+            long wait;
+            try {
+                wait = rateLimiter.reserve(senderAccount, notification.to(),
+                        Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+            } catch (SmtpUnavailableException e) {
+                return flushAndFail(results, ready, notifications.subList(i, notifications.size()), e, send);
+            }
+            if (wait > 0 && !ready.isEmpty()) {
+                try {
+                    flush(results, ready, send);
+                } catch (SmtpUnavailableException e) {
+                    refund(notification.to());
+                    return failRemaining(results, notifications.subList(i - ready.size(), notifications.size()), e);
+                }
+            }
+            try {
+                rateLimiter.pause(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                refund(notification.to());
+                return flushAndFail(results, ready, notifications.subList(i, notifications.size()),
+                        new TransientEmailDeliveryException(INTERRUPTED, null, e), send);
+            }
+            ready.add(notification);
+        }
+        if (!ready.isEmpty()) {
+            try {
+                flush(results, ready, send);
+            } catch (SmtpUnavailableException e) {
+                return failRemaining(results, notifications.subList(notifications.size() - ready.size(),
+                        notifications.size()), e);
+            }
+        }
+        return results;
+    }
+
+    // Envia as mensagens que já têm ficha; as recusadas sem tentar o servidor (o pedaço inteiro, ou os itens que
+    // voltaram como não tentados, ex.: sem vez na fila de prioridade) devolvem a ficha
+    private void flush(List<EmailDeliveryResult> results, List<EmailNotification> ready,
+            Function<List<EmailNotification>, List<EmailDeliveryResult>> send) {
+        List<EmailDeliveryResult> sent;
+        try {
+            sent = send.apply(List.copyOf(ready));
+        } catch (SmtpUnavailableException e) {
+            ready.forEach(notification -> refund(notification.to()));
+            throw e;
+        }
+        for (EmailDeliveryResult result : sent) {
+            if (!result.attempted()) {
+                refund(result.to());
+            }
+        }
+        results.addAll(sent);
+        ready.clear();
+    }
+
+    // As mensagens que já têm ficha seguem; as demais voltam como falha, sem ficha reservada
+    private List<EmailDeliveryResult> flushAndFail(List<EmailDeliveryResult> results, List<EmailNotification> ready,
+            List<EmailNotification> pending, RuntimeException failure,
+            Function<List<EmailNotification>, List<EmailDeliveryResult>> send) {
+        if (!ready.isEmpty()) {
+            try {
+                flush(results, ready, send);
+            } catch (SmtpUnavailableException e) {
+                List<EmailNotification> unsent = new ArrayList<>(ready);
+                unsent.addAll(pending);
+                return failRemaining(results, unsent, e);
+            }
+        }
+        return failRemaining(results, pending, failure);
+    }
+
+    // Nenhuma mensagem saiu ainda: a chamada inteira é recusada (503 com Retry-After no síncrono). Depois da primeira,
+    // as demais voltam como falha para não perder o resultado das que já foram
+    private static List<EmailDeliveryResult> failRemaining(List<EmailDeliveryResult> results,
+            List<EmailNotification> pending, RuntimeException failure) {
+        if (results.isEmpty()) {
+            throw failure;
+        }
+        for (EmailNotification notification : pending) {
+            results.add(EmailDeliveryResult.notAttempted(notification, failure.getMessage()));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,162 @@
+package com.fiap.notification_service.core.gateways.notification.ratelimit;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Limita a taxa de envio por conta remetente e por domínio do destinatário.
+ * Cada envio reserva uma ficha nos dois baldes e espera pelo maior dos dois atrasos. Com um limite de espera, uma
+ * reserva que passaria dele é desfeita e o envio recusado com {@link SmtpUnavailableException}, cujo retryAfter é a
+ * espera que a ficha exigiria.
+ */
+public class SendRateLimiter implements MeterBinder {
+
+    private final RateLimit senderLimit;
+
+    private final RateLimit defaultDomainLimit;
+
+    private final Map<String, RateLimit> domainLimits;
+
+    private final int maxTrackedDomains;
+
+    private final ConcurrentHashMap<String, TokenBucket> senders = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, TokenBucket> domains = new ConcurrentHashMap<>();
+
+    private final AtomicLong reservations = new AtomicLong();
+
+    private final AtomicLong throttled = new AtomicLong();
+
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public SendRateLimiter(RateLimit senderLimit, RateLimit defaultDomainLimit, Map<String, RateLimit> domainLimits,
+            int maxTrackedDomains) {
+        this.senderLimit = senderLimit;
+        this.defaultDomainLimit = defaultDomainLimit;
+        this.domainLimits = new ConcurrentHashMap<>();
+        domainLimits.forEach((domain, limit) -> this.domainLimits.put(domain.toLowerCase(Locale.ROOT), limit));
+        this.maxTrackedDomains = maxTrackedDomains;
+    }
+
+    // Reserva a ficha do envio e devolve quanto esperar antes de enviar, em nanossegundos
+    public long reserve(String sender, String recipient) {
+        return reserve(sender, recipient, null);
+    }
+
+    // Como reserve(sender, recipient), mas devolve as fichas e recusa o envio quando a espera passaria de maxWait
+    public long reserve(String sender, String recipient, Duration maxWait) {
+        TokenBucket senderBucket = senders.computeIfAbsent(sender, key -> new TokenBucket(senderLimit));
+        TokenBucket domainBucket = domainBucket(domainOf(recipient));
+        long wait = Math.max(senderBucket.reserve(), domainBucket.reserve());
+        if (maxWait != null && wait > maxWait.toNanos()) {
+            senderBucket.cancel();
+            domainBucket.cancel();
+            rejected.incrementAndGet();
+            throw new SmtpUnavailableException("Limite de taxa de envio atingido para " + sender, Duration.ofNanos(wait));
+        }
+        reservations.incrementAndGet();
+        if (wait > 0) {
+            throttled.incrementAndGet();
+            waitNanos.addAndGet(wait);
+        }
+        return wait;
+    }
+
+    // Devolve as fichas de um envio que desistiu depois de reservar (ex.: interrompido durante a espera)
+    public void cancel(String sender, String recipient) {
+        senders.computeIfAbsent(sender, key -> new TokenBucket(senderLimit)).cancel();
+        domainBucket(domainOf(recipient)).cancel();
+        reservations.decrementAndGet();
+    }
+
+    // Reserva e espera pela ficha por no máximo maxWait; interrompido durante a espera, devolve a ficha
+    public void acquire(String sender, String recipient, Duration maxWait) throws InterruptedException {
+        long wait = reserve(sender, recipient, maxWait);
+        try {
+            pause(wait);
+        } catch (InterruptedException e) {
+            cancel(sender, recipient);
+            throw e;
+        }
+    }
+
+    public void pause(long nanos) throws InterruptedException {
+        if (nanos <= 0) {
+            return;
+        }
+        waiting.incrementAndGet();
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public int getTrackedDomains() {
+        return domains.size();
+    }
+
+    private TokenBucket domainBucket(String domain) {
+        TokenBucket bucket = domains.get(domain);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (domains.size() >= maxTrackedDomains) {
+            // Baldes cheios não guardam estado útil; descartá-los mantém o mapa limitado
+            domains.values().removeIf(TokenBucket::isIdle);
+        }
+        return domains.computeIfAbsent(domain, key -> new TokenBucket(domainLimits.getOrDefault(key, defaultDomainLimit)));
+    }
+
+    static String domainOf(String recipient) {
+        int at = recipient == null ? -1 : recipient.lastIndexOf('@');
+        return at < 0 ? "" : recipient.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.ratelimit.configured.rate", senderLimit, RateLimit::permitsPerSecond)
+                .tag("scope", "sender")
+                .description("Envios por segundo permitidos por conta remetente")
+                .register(registry);
+        Gauge.builder("mail.ratelimit.configured.rate", defaultDomainLimit, RateLimit::permitsPerSecond)
+                .tag("scope", "domain")
+                .description("Envios por segundo permitidos por domínio sem limite próprio")
+                .register(registry);
+        FunctionCounter.builder("mail.ratelimit.reservations", reservations, AtomicLong::get)
+                .description("Fichas reservadas; a taxa deste contador é a taxa de envio atual")
+                .register(registry);
+        FunctionCounter.builder("mail.ratelimit.rejections", rejected, AtomicLong::get)
+                .description("Envios recusados porque a ficha exigiria esperar mais que o limite de espera")
+                .register(registry);
+        FunctionTimer.builder("mail.ratelimit.wait", this,
+                        limiter -> limiter.throttled.get(),
+                        limiter -> limiter.waitNanos.get(),
+                        TimeUnit.NANOSECONDS)
+                .description("Tempo que as mensagens esperaram por uma ficha")
+                .register(registry);
+        Gauge.builder("mail.ratelimit.waiting", waiting, AtomicInteger::get)
+                .description("Envios aguardando ficha neste momento")
+                .register(registry);
+        Gauge.builder("mail.ratelimit.domains", domains, Map::size)
+                .description("Domínios com balde ativo")
+                .register(registry);
+    }
+}
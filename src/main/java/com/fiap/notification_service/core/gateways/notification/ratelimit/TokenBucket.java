@@ -0,0 +1,74 @@
+package com.fiap.notification_service.core.gateways.notification.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket sem locks no formato GCRA: todo o estado é o instante teórico de chegada (TAT) em um AtomicLong.
+ * Cada reserva avança o TAT com CAS e devolve quanto o chamador precisa esperar pela ficha; nunca recusa.
+ * Quem desiste de uma reserva (espera longa demais ou interrupção) devolve a ficha com {@link #cancel()}.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+
+    private final long toleranceNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(RateLimit limit) {
+        this(limit, System::nanoTime);
+    }
+
+    TokenBucket(RateLimit limit, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = Math.max(1, limit.period().toNanos() / limit.permits());
+        this.toleranceNanos = emissionIntervalNanos * (limit.burst() - 1);
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    // Reserva uma ficha e devolve a espera em nanossegundos (0 quando há ficha disponível)
+    public long reserve() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                long allowedAt = next - emissionIntervalNanos - toleranceNanos;
+                return Math.max(0, allowedAt - now);
+            }
+        }
+    }
+
+    // Reserva as fichas só se estiverem todas disponíveis agora; sem ficha, não altera o balde
+    public boolean tryReserve(int permits) {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = (current - now > 0 ? current : now) + emissionIntervalNanos * permits;
+            if (next - now > toleranceNanos + emissionIntervalNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    // Devolve uma ficha reservada com reserve() e não usada; com o balde já cheio o TAT fica no passado e não rende fichas extras
+    public void cancel() {
+        cancel(1);
+    }
+
+    // Devolve permits fichas reservadas juntas com tryReserve(permits) e não usadas
+    public void cancel(int permits) {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos * permits);
+    }
+
+    // Balde cheio: equivale a um balde novo e pode ser descartado sem perder estado
+    public boolean isIdle() {
+        return theoreticalArrival.get() - nanoClock.getAsLong() <= 0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.fiap.notification_service.core.gateways.notification.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuito por falhas consecutivas: abre após failureThreshold falhas seguidas e, passado openDuration,
+ * deixa passar uma única chamada de teste (meio-aberto) que fecha ou reabre o circuito.
+ */
+public class CircuitBreaker {
+
+    // Em ordem de gravidade: o ordinal é o valor exposto nas métricas
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onTransition(State from, State to);
+    }
+
+    private final int failureThreshold;
+
+    private final long openNanos;
+
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long openedAt;
+
+    private Listener listener = (from, to) -> { };
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier clock) {
+        if (failureThreshold < 1 || openDuration.isNegative()) {
+            throw new IllegalArgumentException("Configuração inválida do circuit breaker");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+    }
+
+    // Consulta sem efeito: indica se tryAcquire teria chance de liberar a chamada
+    public synchronized boolean isCallPermitted() {
+        return state == State.CLOSED || (state == State.OPEN && openElapsed());
+    }
+
+    public synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (!openElapsed()) {
+                    yield false;
+                }
+                transition(State.HALF_OPEN);
+                yield true;
+            }
+            case HALF_OPEN -> false;
+        };
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN || (state == State.CLOSED && ++consecutiveFailures >= failureThreshold)) {
+            open();
+        }
+    }
+
+    // Abre o circuito na hora, sem esperar o limite de falhas (ex.: cota esgotada informada pelo servidor)
+    public synchronized void trip() {
+        open();
+    }
+
+    // Devolve uma chamada liberada que terminou sem dizer nada sobre a saúde do destino
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+            openedAt = clock.getAsLong() - openNanos;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // Tempo até a próxima chamada de teste; zero fora do estado aberto
+    public synchronized Duration getRemainingOpen() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openNanos - (clock.getAsLong() - openedAt)));
+    }
+
+    // Chamado com o lock do circuito: o listener não deve bloquear
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    private void transition(State next) {
+        State previous = state;
+        state = next;
+        if (previous != next) {
+            listener.onTransition(previous, next);
+        }
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = clock.getAsLong();
+        consecutiveFailures = 0;
+    }
+
+    private boolean openElapsed() {
+        return clock.getAsLong() - openedAt >= openNanos;
+    }
+}
@@ -0,0 +1,55 @@
+package com.fiap.notification_service.core.gateways.notification.resilience;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+
+// Passa cada envio pelo SmtpSessionGuard: falha na hora com o relay fora do ar em vez de esperar o timeout
+public class ResilientEmailNotificationGateway implements EmailNotificationGateway {
+
+    private final EmailNotificationGateway delegate;
+
+    private final SmtpSessionGuard guard;
+
+    public ResilientEmailNotificationGateway(EmailNotificationGateway delegate, SmtpSessionGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String body) {
+        guard.call(() -> {
+            delegate.sendEmail(to, subject, body);
+            return null;
+        });
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String body, List<EmailAttachment> attachments) {
+        guard.call(() -> {
+            delegate.sendEmail(to, subject, body, attachments);
+            return null;
+        });
+    }
+
+    // O lote usa uma sessão; só conta como falha do servidor quando nenhuma mensagem foi aceita. Com o circuito aberto
+    // ou o bulkhead cheio nada é tentado, e o SmtpUnavailableException sobe como no envio único (503 com Retry-After)
+    @Override
+    public List<EmailDeliveryResult> sendEmails(List<EmailNotification> notifications) {
+        return callBatch(() -> delegate.sendEmails(notifications));
+    }
+
+    @Override
+    public List<EmailDeliveryResult> sendFanOut(List<EmailNotification> notifications, FanOutMode mode) {
+        return callBatch(() -> delegate.sendFanOut(notifications, mode));
+    }
+
+    private List<EmailDeliveryResult> callBatch(Supplier<List<EmailDeliveryResult>> send) {
+        return guard.call(send, results -> results.isEmpty() || results.stream().anyMatch(EmailDeliveryResult::sent));
+    }
+}
@@ -0,0 +1,160 @@
+package com.fiap.notification_service.core.gateways.notification.resilience;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.fiap.notification_service.core.exceptions.EmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.resilience.CircuitBreaker.State;
+import com.fiap.notification_service.core.gateways.notification.smtp.SmtpFailureClassifier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Protege o relay SMTP com um circuit breaker e um bulkhead (limite de sessões simultâneas).
+ * Com o circuito aberto ou sem sessão livre em maxWait, o envio falha na hora com {@link SmtpUnavailableException}
+ * em vez de esperar pelo timeout do socket.
+ */
+@Slf4j
+public class SmtpSessionGuard implements MeterBinder {
+
+    // Espera sugerida quando o bloqueio vem do bulkhead ou de uma chamada de teste em andamento
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final CircuitBreaker breaker;
+
+    private final Semaphore sessions;
+
+    private final int maxConcurrent;
+
+    private final long maxWaitNanos;
+
+    private final Map<State, AtomicLong> transitions = new EnumMap<>(State.class);
+
+    private final AtomicLong rejectedOpen = new AtomicLong();
+
+    private final AtomicLong rejectedFull = new AtomicLong();
+
+    public SmtpSessionGuard(CircuitBreaker breaker, int maxConcurrent, Duration maxWait) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("O bulkhead SMTP precisa de ao menos uma sessão");
+        }
+        this.breaker = breaker;
+        this.sessions = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        for (State state : State.values()) {
+            transitions.put(state, new AtomicLong());
+        }
+        breaker.setListener((from, to) -> {
+            transitions.get(to).incrementAndGet();
+            if (to == State.OPEN) {
+                log.warn("Circuito SMTP aberto ({} -> {}): envios falham na hora até a próxima chamada de teste", from, to);
+            } else {
+                log.info("Circuito SMTP {} -> {}", from, to);
+            }
+        });
+    }
+
+    public <T> T call(Supplier<T> send) {
+        return call(send, result -> true);
+    }
+
+    // healthy decide o veredito quando a falha vem no resultado e não como exceção (ex.: lote com todos os envios falhos)
+    public <T> T call(Supplier<T> send, Predicate<T> healthy) {
+        if (!breaker.tryAcquire()) {
+            rejectedOpen.incrementAndGet();
+            Duration remaining = breaker.getRemainingOpen();
+            throw new SmtpUnavailableException("Servidor SMTP indisponível (circuito aberto)",
+                    remaining.isZero() ? BUSY_RETRY_AFTER : remaining);
+        }
+        boolean permit;
+        try {
+            permit = sessions.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            breaker.release();
+            throw new TransientEmailDeliveryException("Envio interrompido aguardando sessão SMTP", null, e);
+        }
+        if (!permit) {
+            breaker.release();
+            rejectedFull.incrementAndGet();
+            throw new SmtpUnavailableException("Limite de sessões SMTP simultâneas atingido", BUSY_RETRY_AFTER);
+        }
+        try {
+            T result = send.get();
+            if (healthy.test(result)) {
+                breaker.onSuccess();
+            } else {
+                breaker.onFailure();
+            }
+            return result;
+        } catch (EmailDeliveryException e) {
+            if (SmtpFailureClassifier.isQuotaExceeded(e)) {
+                breaker.trip();
+            } else if (SmtpFailureClassifier.isServerFailure(e)) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // Mensagem inválida ou anexo grande demais: não diz nada sobre o servidor
+            breaker.release();
+            throw e;
+        } finally {
+            sessions.release();
+        }
+    }
+
+    public State getState() {
+        return breaker.getState();
+    }
+
+    public Duration getRemainingOpen() {
+        return breaker.getRemainingOpen();
+    }
+
+    public int getActiveSessions() {
+        return maxConcurrent - sessions.availablePermits();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.smtp.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("Circuito do relay SMTP: 0 fechado, 1 meio-aberto, 2 aberto")
+                .register(registry);
+        transitions.forEach((state, count) -> FunctionCounter.builder("mail.smtp.circuit.transitions", count, AtomicLong::get)
+                .tag("state", state.name().toLowerCase(Locale.ROOT))
+                .description("Mudanças de estado do circuito SMTP, pelo estado de destino")
+                .register(registry));
+        FunctionCounter.builder("mail.smtp.circuit.rejected", rejectedOpen, AtomicLong::get)
+                .tag("reason", "open")
+                .description("Envios recusados na hora sem falar com o servidor")
+                .register(registry);
+        FunctionCounter.builder("mail.smtp.circuit.rejected", rejectedFull, AtomicLong::get)
+                .tag("reason", "bulkhead")
+                .register(registry);
+        Gauge.builder("mail.smtp.bulkhead.active", this, SmtpSessionGuard::getActiveSessions)
+                .description("Sessões SMTP em uso pelo bulkhead")
+                .register(registry);
+        Gauge.builder("mail.smtp.bulkhead.max", this, SmtpSessionGuard::getMaxConcurrent)
+                .register(registry);
+    }
+}
@@ -0,0 +1,151 @@
+package com.fiap.notification_service.core.gateways.notification.retry;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Timer de roda (hashed timing wheel): agendar e cancelar custam O(1), e uma única thread avança a roda a cada tick.
+ * As tarefas rodam na thread do timer e por isso devem ser curtas.
+ */
+@Slf4j
+public class HashedWheelTimer implements AutoCloseable {
+
+    public interface Timeout {
+        boolean cancel();
+    }
+
+    private static final class Entry implements Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Entry(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public boolean cancel() {
+            boolean wasActive = !cancelled;
+            cancelled = true;
+            return wasActive;
+        }
+    }
+
+    private final long tickNanos;
+
+    private final int mask;
+
+    private final Queue<Entry>[] wheel;
+
+    private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Thread worker;
+
+    private final long startNanos;
+
+    private long tick;
+
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(String name, Duration tickDuration, int wheelSize) {
+        if (tickDuration.isZero() || tickDuration.isNegative() || wheelSize < 1) {
+            throw new IllegalArgumentException("Configuração inválida do timer de retentativas");
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = size - 1;
+        this.wheel = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout schedule(Runnable task, Duration delay) {
+        if (!running) {
+            throw new IllegalStateException("Timer encerrado");
+        }
+        Entry entry = new Entry(task, System.nanoTime() + Math.max(0, delay.toNanos()));
+        pending.incrementAndGet();
+        incoming.add(entry);
+        return entry;
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    private void run() {
+        while (running) {
+            long nextTick = startNanos + (tick + 1) * tickNanos;
+            long sleep = nextTick - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferIncoming();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferIncoming() {
+        Entry entry;
+        while ((entry = incoming.poll()) != null) {
+            long ticks = Math.max(tick, (entry.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+            entry.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(entry);
+        }
+    }
+
+    private void expire(Queue<Entry> bucket) {
+        Iterator<Entry> entries = bucket.iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            if (entry.cancelled) {
+                entries.remove();
+                pending.decrementAndGet();
+            } else if (entry.remainingRounds <= 0) {
+                entries.remove();
+                pending.decrementAndGet();
+                try {
+                    entry.task.run();
+                } catch (RuntimeException e) {
+                    log.error("Falha ao executar tarefa agendada: {}", e.getMessage());
+                }
+            } else {
+                entry.remainingRounds--;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.notification_service.core.gateways.notification.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+public record RetryPolicy(
+    int maxAttempts,
+    Duration initialDelay,
+    Duration maxDelay,
+    double multiplier
+) {
+
+    public RetryPolicy {
+        if (maxAttempts < 1 || multiplier < 1.0) {
+            throw new IllegalArgumentException("Política de retentativa inválida");
+        }
+    }
+
+    public boolean canRetry(int attempt) {
+        return attempt < maxAttempts;
+    }
+
+    // Backoff exponencial com "equal jitter": metade fixa e metade aleatória, para espalhar as retentativas
+    public Duration delayFor(int attempt) {
+        double exponential = initialDelay.toMillis() * Math.pow(multiplier, Math.max(0, attempt - 1));
+        long capped = (long) Math.min(exponential, maxDelay.toMillis());
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
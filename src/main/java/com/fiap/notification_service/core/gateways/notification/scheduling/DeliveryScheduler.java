@@ -0,0 +1,265 @@
+package com.fiap.notification_service.core.gateways.notification.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.ScheduledEmail;
+import com.fiap.notification_service.core.gateways.notification.scheduling.HierarchicalTimingWheel.Node;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guarda as notificações agendadas em uma HierarchicalTimingWheel e, a cada tick, entrega as vencidas ao Sink em
+ * lotes de até releaseBatchSize. O que o Sink não aceitar (fila de envio cheia) continua na fila de vencidas e é
+ * oferecido de novo no próximo tick, na mesma ordem; até lá ainda pode ser cancelado.
+ */
+@Slf4j
+public class DeliveryScheduler implements MeterBinder, AutoCloseable {
+
+    public interface Sink {
+        // Devolve quantas notificações do início da lista foram aceitas; as demais ficam para o próximo tick
+        int release(List<EmailNotification> due);
+    }
+
+    private final long tickMillis;
+
+    private final Duration maxDelay;
+
+    private final int releaseBatchSize;
+
+    private final LongSupplier clock;
+
+    private final boolean autoTick;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final HierarchicalTimingWheel<ScheduledEmail> wheel;
+
+    private final Map<UUID, Node<ScheduledEmail>> scheduled = new HashMap<>();
+
+    private final LinkedHashMap<UUID, EmailNotification> due = new LinkedHashMap<>();
+
+    private final AtomicLong released = new AtomicLong();
+
+    private final AtomicLong cancelled = new AtomicLong();
+
+    private Sink sink;
+
+    private Thread worker;
+
+    private volatile boolean running = true;
+
+    public DeliveryScheduler(Duration tickDuration, int wheelSize, int levels, int releaseBatchSize, Duration maxDelay) {
+        this(tickDuration, wheelSize, levels, releaseBatchSize, maxDelay, System::currentTimeMillis, true);
+    }
+
+    DeliveryScheduler(Duration tickDuration, int wheelSize, int levels, int releaseBatchSize, Duration maxDelay,
+            LongSupplier clock, boolean autoTick) {
+        if (tickDuration.toMillis() < 1 || releaseBatchSize < 1) {
+            throw new IllegalArgumentException("Configuração inválida do agendador de envios");
+        }
+        this.tickMillis = tickDuration.toMillis();
+        this.maxDelay = maxDelay;
+        this.releaseBatchSize = releaseBatchSize;
+        this.clock = clock;
+        this.autoTick = autoTick;
+        this.wheel = new HierarchicalTimingWheel<>(wheelSize, levels, clock.getAsLong() / tickMillis);
+        if (maxDelay.toMillis() / tickMillis >= wheel.getSpan()) {
+            throw new IllegalArgumentException("O atraso máximo passa do alcance da roda de agendamento");
+        }
+    }
+
+    public void start(Sink sink) {
+        lock.lock();
+        try {
+            if (this.sink != null) {
+                throw new IllegalStateException("Agendador já iniciado");
+            }
+            this.sink = sink;
+        } finally {
+            lock.unlock();
+        }
+        if (autoTick) {
+            worker = new Thread(this::run, "email-delivery-scheduler");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    // Recusa antes de gravar no outbox, para não persistir um agendamento que seria rejeitado
+    public void validate(Instant deliverAt) {
+        if (deliverAt.toEpochMilli() - clock.getAsLong() > maxDelay.toMillis()) {
+            throw new IllegalArgumentException("O envio só pode ser agendado para até " + maxDelay + " a partir de agora");
+        }
+    }
+
+    public void schedule(EmailNotification notification, Instant deliverAt) {
+        validate(deliverAt);
+        restore(notification, deliverAt);
+    }
+
+    // Agendamentos recuperados do outbox: já foram aceitos, então entram mesmo que o limite tenha mudado
+    public void restore(EmailNotification notification, Instant deliverAt) {
+        lock.lock();
+        try {
+            removeLocked(notification.id());
+            placeLocked(new ScheduledEmail(notification, deliverAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Um prazo além do alcance da roda (max-delay reduzido com agendamentos antigos no outbox) entra no último tick
+    // alcançável e, quando ele vence, volta para a roda em vez de ser liberado antes da hora
+    private void placeLocked(ScheduledEmail entry) {
+        long deadlineTick = Math.ceilDiv(entry.deliverAt().toEpochMilli(), tickMillis);
+        Node<ScheduledEmail> node = wheel.add(entry,
+                Math.min(deadlineTick, wheel.getCurrentTick() + wheel.getSpan() - 1));
+        if (node != null) {
+            scheduled.put(entry.notification().id(), node);
+        } else {
+            due.put(entry.notification().id(), entry.notification());
+        }
+    }
+
+    // false quando a notificação não está agendada ou já foi entregue à fila de envio
+    public boolean cancel(UUID notificationId) {
+        return cancelAndGet(notificationId) != null;
+    }
+
+    // Como cancel, mas devolve a notificação cancelada (ou null)
+    public EmailNotification cancelAndGet(UUID notificationId) {
+        lock.lock();
+        try {
+            EmailNotification removed = removeLocked(notificationId);
+            if (removed != null) {
+                cancelled.incrementAndGet();
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private EmailNotification removeLocked(UUID notificationId) {
+        Node<ScheduledEmail> node = scheduled.remove(notificationId);
+        if (node != null) {
+            return wheel.cancel(node) ? node.getValue().notification() : null;
+        }
+        return due.remove(notificationId);
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return scheduled.size() + due.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getDueCount() {
+        lock.lock();
+        try {
+            return due.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        long nextTick = (clock.getAsLong() / tickMillis + 1) * tickMillis;
+        while (running) {
+            long sleep = nextTick - clock.getAsLong();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(sleep));
+                continue;
+            }
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                log.error("Falha ao liberar envios agendados: {}", e.getMessage());
+            }
+            // Depois de uma pausa longa, um único tick já alcança o relógio
+            nextTick = (clock.getAsLong() / tickMillis + 1) * tickMillis;
+        }
+    }
+
+    // O Sink só faz offer na fila de envio, então pode rodar com o lock: um cancelamento nunca cruza com a liberação
+    void tick() {
+        lock.lock();
+        try {
+            List<ScheduledEmail> expired = new ArrayList<>();
+            wheel.advanceTo(clock.getAsLong() / tickMillis, expired::add);
+            for (ScheduledEmail entry : expired) {
+                scheduled.remove(entry.notification().id());
+                placeLocked(entry);
+            }
+            if (sink == null) {
+                return;
+            }
+            while (!due.isEmpty() && running) {
+                List<EmailNotification> batch = new ArrayList<>(Math.min(releaseBatchSize, due.size()));
+                Iterator<EmailNotification> pending = due.values().iterator();
+                while (pending.hasNext() && batch.size() < releaseBatchSize) {
+                    batch.add(pending.next());
+                }
+                int accepted = sink.release(batch);
+                for (int i = 0; i < accepted; i++) {
+                    due.remove(batch.get(i).id());
+                }
+                released.addAndGet(accepted);
+                if (accepted < batch.size()) {
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.schedule.pending", this, DeliveryScheduler::getPendingCount)
+                .description("Notificações agendadas ainda não entregues à fila de envio")
+                .register(registry);
+        Gauge.builder("mail.schedule.due", this, DeliveryScheduler::getDueCount)
+                .description("Notificações vencidas aguardando vaga na fila de envio")
+                .register(registry);
+        FunctionCounter.builder("mail.schedule.released", released, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("mail.schedule.cancelled", cancelled, AtomicLong::get)
+                .register(registry);
+    }
+
+    // Os agendamentos continuam no outbox e voltam na próxima inicialização
+    @Override
+    public void close() {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
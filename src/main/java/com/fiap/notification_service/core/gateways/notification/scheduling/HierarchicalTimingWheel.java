@@ -0,0 +1,182 @@
+package com.fiap.notification_service.core.gateways.notification.scheduling;
+
+import java.util.function.Consumer;
+
+/**
+ * Roda de tempo hierárquica (como a dos timers do kernel Linux): cada nível cobre wheelSize vezes o intervalo do
+ * nível de baixo, então poucos slots alcançam prazos de meses. Incluir e cancelar custam O(1); a cada tick só o
+ * slot atual do nível 0 é lido e, quando um nível completa a volta, o slot do nível de cima desce em cascata.
+ * As entradas são nós de listas duplamente encadeadas, sem array por entrada nem ordenação.
+ *
+ * Não é thread-safe: quem usa faz a sincronização.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    public static final class Node<T> {
+        private final T value;
+        private final long deadlineTick;
+        private Node<T> prev;
+        private Node<T> next;
+        private int level = -1;
+        private int slot;
+
+        private Node(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadlineTick() {
+            return deadlineTick;
+        }
+    }
+
+    private final int bits;
+
+    private final int mask;
+
+    // Cada slot é uma lista FIFO: quem vence no mesmo tick sai na ordem em que entrou
+    private final Node<T>[][] levels;
+
+    private final Node<T>[][] tails;
+
+    private long currentTick;
+
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(int wheelSize, int levelCount, long startTick) {
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levelCount < 1
+                || (long) Integer.numberOfTrailingZeros(wheelSize) * levelCount > 62) {
+            throw new IllegalArgumentException("A roda precisa de tamanho potência de 2 e ao menos um nível");
+        }
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new Node[levelCount][wheelSize];
+        this.tails = new Node[levelCount][wheelSize];
+        this.currentTick = startTick;
+    }
+
+    // Maior distância em ticks que cabe na roda
+    public long getSpan() {
+        return 1L << (bits * levels.length);
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inclui um prazo; devolve null quando ele já venceu, e quem chamou deve liberar o valor na hora.
+     */
+    public Node<T> add(T value, long deadlineTick) {
+        if (deadlineTick - currentTick >= getSpan()) {
+            throw new IllegalArgumentException("Prazo além do alcance da roda de agendamento");
+        }
+        if (deadlineTick <= currentTick) {
+            return null;
+        }
+        Node<T> node = new Node<>(value, deadlineTick);
+        place(node);
+        size++;
+        return node;
+    }
+
+    public boolean cancel(Node<T> node) {
+        if (node.level < 0) {
+            return false;
+        }
+        unlink(node);
+        size--;
+        return true;
+    }
+
+    /**
+     * Avança até o tick informado, entregando os valores vencidos na ordem dos ticks.
+     */
+    public void advanceTo(long tick, Consumer<T> expired) {
+        while (currentTick < tick) {
+            currentTick++;
+            // Do nível mais alto para o mais baixo: as entradas que descem caem em slots ainda não lidos
+            for (int level = levels.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (bits * level)) & mask), expired);
+                }
+            }
+            int slot = (int) (currentTick & mask);
+            Node<T> node = levels[0][slot];
+            while (node != null) {
+                Node<T> next = node.next;
+                detach(node);
+                size--;
+                expired.accept(node.value);
+                node = next;
+            }
+            levels[0][slot] = null;
+            tails[0][slot] = null;
+        }
+    }
+
+    private void cascade(int level, int slot, Consumer<T> expired) {
+        Node<T> node = levels[level][slot];
+        levels[level][slot] = null;
+        tails[level][slot] = null;
+        while (node != null) {
+            Node<T> next = node.next;
+            detach(node);
+            if (node.deadlineTick <= currentTick) {
+                size--;
+                expired.accept(node.value);
+            } else {
+                place(node);
+            }
+            node = next;
+        }
+    }
+
+    private void place(Node<T> node) {
+        long delta = node.deadlineTick - currentTick;
+        int level = 0;
+        while (level < levels.length - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((node.deadlineTick >>> (bits * level)) & mask);
+        node.level = level;
+        node.slot = slot;
+        node.next = null;
+        node.prev = tails[level][slot];
+        if (node.prev != null) {
+            node.prev.next = node;
+        } else {
+            levels[level][slot] = node;
+        }
+        tails[level][slot] = node;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            levels[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tails[node.level][node.slot] = node.prev;
+        }
+        detach(node);
+    }
+
+    private static <T> void detach(Node<T> node) {
+        node.level = -1;
+        node.prev = null;
+        node.next = null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.fiap.notification_service.core.gateways.notification.sharding;
+
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimit;
+
+// Conta remetente (ou relay) com seu próprio gateway; quota é opcional e, quando esgotada, o tráfego vai para outra conta
+public record SenderAccount(
+    String name,
+    EmailNotificationGateway gateway,
+    int weight,
+    RateLimit quota
+) {
+
+    public SenderAccount {
+        if (name == null || name.isBlank() || gateway == null || weight < 1) {
+            throw new IllegalArgumentException("Conta remetente inválida: nome, gateway e peso positivo são obrigatórios");
+        }
+    }
+}
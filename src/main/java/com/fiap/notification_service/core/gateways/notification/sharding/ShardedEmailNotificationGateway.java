@@ -0,0 +1,385 @@
+package com.fiap.notification_service.core.gateways.notification.sharding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.exceptions.EmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.TokenBucket;
+import com.fiap.notification_service.core.gateways.notification.resilience.CircuitBreaker;
+import com.fiap.notification_service.core.gateways.notification.smtp.SmtpFailureClassifier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Distribui os envios entre várias contas remetentes. Cada conta tem um circuit breaker e uma cota opcional;
+ * contas com circuito aberto ou sem cota ficam fora da escolha. Falhas da conta (conexão, autenticação, 4xx,
+ * cota) passam o envio, ou o pedaço do lote, para a próxima conta; recusas do destinatário (5xx) são devolvidas sem
+ * failover. No lote, itens que voltam como falha dentro de um resultado não trocam de conta. A cota reservada para
+ * envios que não saíram volta para a conta.
+ */
+public class ShardedEmailNotificationGateway implements EmailNotificationGateway, MeterBinder {
+
+    public enum Strategy { LEAST_IN_FLIGHT, WEIGHTED_ROUND_ROBIN }
+
+    private record Selection(Shard shard, int permits) { }
+
+    private static final class Shard {
+
+        private final SenderAccount account;
+
+        private final CircuitBreaker breaker;
+
+        private final TokenBucket quota;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicLong sent = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private final AtomicLong quotaSkips = new AtomicLong();
+
+        // Peso corrente do round-robin ponderado suave, protegido pelo lock do gateway
+        private long currentWeight;
+
+        private Shard(SenderAccount account, CircuitBreaker breaker) {
+            this.account = account;
+            this.breaker = breaker;
+            this.quota = account.quota() != null ? new TokenBucket(account.quota()) : null;
+        }
+
+        // Reserva uma ficha por destinatário, até a rajada da conta; devolve quantos envios a conta leva agora (0 sem cota)
+        private int tryReserveQuota(int permits) {
+            if (quota == null) {
+                return permits;
+            }
+            int granted = Math.min(permits, account.quota().burst());
+            return quota.tryReserve(granted) ? granted : 0;
+        }
+
+        // Devolve a cota de envios que não saíram, para uma conta instável não perder a cota do dia além do circuito
+        private void refundQuota(int permits) {
+            if (quota != null && permits > 0) {
+                quota.cancel(permits);
+            }
+        }
+    }
+
+    private final List<Shard> shards;
+
+    private final Strategy strategy;
+
+    private final int totalWeight;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private final AtomicLong failovers = new AtomicLong();
+
+    public ShardedEmailNotificationGateway(List<SenderAccount> accounts, Strategy strategy, int failureThreshold,
+            Duration openDuration) {
+        this(accounts, strategy, failureThreshold, openDuration, System::nanoTime);
+    }
+
+    ShardedEmailNotificationGateway(List<SenderAccount> accounts, Strategy strategy, int failureThreshold,
+            Duration openDuration, LongSupplier clock) {
+        if (accounts.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma conta remetente");
+        }
+        this.shards = accounts.stream()
+                .map(account -> new Shard(account, new CircuitBreaker(failureThreshold, openDuration, clock)))
+                .toList();
+        this.strategy = strategy;
+        this.totalWeight = accounts.stream().mapToInt(SenderAccount::weight).sum();
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String body) {
+        execute(gateway -> {
+            gateway.sendEmail(to, subject, body);
+            return null;
+        }, true);
+    }
+
+    // Sem failover: o conteúdo dos anexos já conta para o limite de tamanho na primeira leitura
+    @Override
+    public void sendEmail(String to, String subject, String body, List<EmailAttachment> attachments) {
+        execute(gateway -> {
+            gateway.sendEmail(to, subject, body, attachments);
+            return null;
+        }, attachments.isEmpty());
+    }
+
+    // Cada pedaço do lote vai por uma única conta, preservando o reuso da sessão SMTP
+    @Override
+    public List<EmailDeliveryResult> sendEmails(List<EmailNotification> notifications) {
+        return sendOnAccounts(notifications, EmailNotificationGateway::sendEmails);
+    }
+
+    // A cota é consumida por destinatário, como nos provedores que limitam destinatários por dia
+    @Override
+    public List<EmailDeliveryResult> sendFanOut(List<EmailNotification> notifications, FanOutMode mode) {
+        return sendOnAccounts(notifications, (gateway, chunk) -> gateway.sendFanOut(chunk, mode));
+    }
+
+    // Lotes maiores que a rajada da conta são quebrados em pedaços do tamanho da rajada, e cada pedaço reserva uma ficha
+    // por destinatário. Um pedaço recusado pela conta (sem sessão, erro do servidor) vai para a próxima; o que não
+    // couber em nenhuma conta volta como falha, ou como a falha da conta quando nada do lote saiu
+    private List<EmailDeliveryResult> sendOnAccounts(List<EmailNotification> notifications,
+            BiFunction<EmailNotificationGateway, List<EmailNotification>, List<EmailDeliveryResult>> send) {
+        List<EmailDeliveryResult> results = new ArrayList<>(notifications.size());
+        int from = 0;
+        while (from < notifications.size()) {
+            Set<Shard> tried = new HashSet<>();
+            RuntimeException lastFailure = null;
+            List<EmailDeliveryResult> chunkResults = null;
+            int taken = 0;
+            Selection selection;
+            while (chunkResults == null && (selection = select(tried, notifications.size() - from)) != null) {
+                tried.add(selection.shard());
+                List<EmailNotification> chunk = notifications.subList(from, from + selection.permits());
+                try {
+                    chunkResults = sendOnOneAccount(selection.shard(), chunk, send);
+                    taken = chunk.size();
+                } catch (SmtpUnavailableException e) {
+                    lastFailure = e;
+                } catch (EmailDeliveryException e) {
+                    if (!SmtpFailureClassifier.isServerFailure(e)) {
+                        return failRemaining(results, notifications, from, e);
+                    }
+                    lastFailure = e;
+                    failovers.incrementAndGet();
+                } catch (RuntimeException e) {
+                    return failRemaining(results, notifications, from, e);
+                }
+            }
+            if (chunkResults == null) {
+                if (lastFailure != null) {
+                    return failRemaining(results, notifications, from, lastFailure);
+                }
+                for (EmailNotification notification : notifications.subList(from, notifications.size())) {
+                    results.add(EmailDeliveryResult.notAttempted(notification, noAccountMessage()));
+                }
+                return results;
+            }
+            results.addAll(chunkResults);
+            from += taken;
+        }
+        return results;
+    }
+
+    // Nada do lote saiu: a falha da conta sobe como no envio único; depois disso o restante volta como falha
+    private static List<EmailDeliveryResult> failRemaining(List<EmailDeliveryResult> results,
+            List<EmailNotification> notifications, int from, RuntimeException failure) {
+        if (results.isEmpty()) {
+            throw failure;
+        }
+        for (EmailNotification notification : notifications.subList(from, notifications.size())) {
+            results.add(EmailDeliveryResult.failed(notification, failure.getMessage()));
+        }
+        return results;
+    }
+
+    private List<EmailDeliveryResult> sendOnOneAccount(Shard shard, List<EmailNotification> chunk,
+            BiFunction<EmailNotificationGateway, List<EmailNotification>, List<EmailDeliveryResult>> send) {
+        shard.inFlight.incrementAndGet();
+        try {
+            List<EmailDeliveryResult> results = send.apply(shard.account.gateway(), chunk);
+            long delivered = results.stream().filter(EmailDeliveryResult::sent).count();
+            shard.sent.addAndGet(delivered);
+            shard.failed.addAndGet(results.size() - delivered);
+            shard.refundQuota(chunk.size() - (int) delivered);
+            if (delivered > 0 || results.isEmpty()) {
+                shard.breaker.onSuccess();
+            } else {
+                shard.breaker.onFailure();
+            }
+            return results;
+        } catch (SmtpUnavailableException e) {
+            // Conta sem ficha no limite de taxa: o servidor nem foi tentado
+            shard.breaker.release();
+            shard.refundQuota(chunk.size());
+            throw e;
+        } catch (EmailDeliveryException e) {
+            shard.refundQuota(chunk.size());
+            if (!SmtpFailureClassifier.isServerFailure(e)) {
+                shard.breaker.onSuccess();
+            } else {
+                shard.failed.addAndGet(chunk.size());
+                if (SmtpFailureClassifier.isQuotaExceeded(e)) {
+                    shard.breaker.trip();
+                } else {
+                    shard.breaker.onFailure();
+                }
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            shard.breaker.onFailure();
+            shard.refundQuota(chunk.size());
+            throw e;
+        } finally {
+            shard.inFlight.decrementAndGet();
+        }
+    }
+
+    private <T> T execute(Function<EmailNotificationGateway, T> send, boolean failover) {
+        Set<Shard> tried = new HashSet<>();
+        EmailDeliveryException lastFailure = null;
+        Selection selection;
+        while ((selection = select(tried, 1)) != null) {
+            Shard shard = selection.shard();
+            tried.add(shard);
+            shard.inFlight.incrementAndGet();
+            try {
+                T result = send.apply(shard.account.gateway());
+                shard.breaker.onSuccess();
+                shard.sent.incrementAndGet();
+                return result;
+            } catch (SmtpUnavailableException e) {
+                // Conta sem ficha no limite de taxa: tenta a próxima sem contar falha para esta
+                shard.breaker.release();
+                shard.refundQuota(1);
+                if (!failover) {
+                    throw e;
+                }
+                lastFailure = e;
+            } catch (EmailDeliveryException e) {
+                shard.refundQuota(1);
+                if (!SmtpFailureClassifier.isServerFailure(e)) {
+                    // Recusa do destinatário: a conta está saudável
+                    shard.breaker.onSuccess();
+                    throw e;
+                }
+                shard.failed.incrementAndGet();
+                if (SmtpFailureClassifier.isQuotaExceeded(e)) {
+                    shard.breaker.trip();
+                } else {
+                    shard.breaker.onFailure();
+                }
+                if (!failover) {
+                    throw e;
+                }
+                lastFailure = e;
+                failovers.incrementAndGet();
+            } catch (RuntimeException e) {
+                // Mensagem inválida ou anexo grande demais: não diz nada sobre a conta
+                shard.breaker.release();
+                shard.refundQuota(1);
+                throw e;
+            } finally {
+                shard.inFlight.decrementAndGet();
+            }
+        }
+        throw lastFailure != null ? lastFailure : new TransientEmailDeliveryException(noAccountMessage(), null, null);
+    }
+
+    private Selection select(Set<Shard> excluded, int permits) {
+        Shard candidate;
+        while ((candidate = pick(excluded)) != null) {
+            excluded.add(candidate);
+            if (!candidate.breaker.tryAcquire()) {
+                continue;
+            }
+            int granted = candidate.tryReserveQuota(permits);
+            if (granted == 0) {
+                candidate.breaker.release();
+                candidate.quotaSkips.incrementAndGet();
+                continue;
+            }
+            excluded.remove(candidate);
+            return new Selection(candidate, granted);
+        }
+        return null;
+    }
+
+    private Shard pick(Set<Shard> excluded) {
+        List<Shard> available = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            if (!excluded.contains(shard) && shard.breaker.isCallPermitted()) {
+                available.add(shard);
+            }
+        }
+        if (available.isEmpty()) {
+            return null;
+        }
+        return strategy == Strategy.WEIGHTED_ROUND_ROBIN ? nextWeighted(available) : leastInFlight(available);
+    }
+
+    // Menor carga relativa ao peso; o cursor rotativo desempata para não concentrar tudo na primeira conta
+    private Shard leastInFlight(List<Shard> available) {
+        int start = Math.floorMod(cursor.getAndIncrement(), available.size());
+        Shard best = null;
+        for (int i = 0; i < available.size(); i++) {
+            Shard shard = available.get((start + i) % available.size());
+            if (best == null || (long) shard.inFlight.get() * best.account.weight()
+                    < (long) best.inFlight.get() * shard.account.weight()) {
+                best = shard;
+            }
+        }
+        return best;
+    }
+
+    // Round-robin ponderado suave (como no nginx): intercala as contas em vez de mandar rajadas para a de maior peso
+    private synchronized Shard nextWeighted(List<Shard> available) {
+        Shard best = null;
+        for (Shard shard : available) {
+            shard.currentWeight += shard.account.weight();
+            if (best == null || shard.currentWeight > best.currentWeight) {
+                best = shard;
+            }
+        }
+        best.currentWeight -= totalWeight;
+        return best;
+    }
+
+    private static String noAccountMessage() {
+        return "Nenhuma conta remetente disponível (circuito aberto ou cota esgotada)";
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Shard shard : shards) {
+            String account = shard.account.name();
+            Gauge.builder("mail.sender.account.inflight", shard.inFlight, AtomicInteger::get)
+                    .tag("account", account)
+                    .description("Envios em andamento por conta remetente")
+                    .register(registry);
+            Gauge.builder("mail.sender.account.state", shard.breaker, breaker -> breaker.getState().ordinal())
+                    .tag("account", account)
+                    .description("Circuito da conta: 0 fechado, 1 meio-aberto, 2 aberto")
+                    .register(registry);
+            FunctionCounter.builder("mail.sender.account.sends", shard.sent, AtomicLong::get)
+                    .tag("account", account)
+                    .tag("result", "sent")
+                    .register(registry);
+            FunctionCounter.builder("mail.sender.account.sends", shard.failed, AtomicLong::get)
+                    .tag("account", account)
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("mail.sender.account.quota.skips", shard.quotaSkips, AtomicLong::get)
+                    .tag("account", account)
+                    .description("Vezes em que a conta foi pulada por falta de cota")
+                    .register(registry);
+        }
+        FunctionCounter.builder("mail.sender.failovers", failovers, AtomicLong::get)
+                .description("Envios repassados para outra conta após falha da conta escolhida")
+                .register(registry);
+    }
+}
@@ -0,0 +1,327 @@
+package com.fiap.notification_service.core.gateways.notification.smtp;
+
+import java.io.IOException;
+import java.net.IDN;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.fiap.notification_service.core.gateways.notification.smtp.mx.MxLookup;
+import com.fiap.notification_service.core.gateways.notification.smtp.mx.MxRecord;
+import com.fiap.notification_service.core.gateways.notification.smtp.mx.MxResolver;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link JavaMailSenderImpl} que entrega direto no MX do domínio de cada destinatário, sem relay.
+ * Os destinatários do lote são agrupados pela rota MX (domínios com os mesmos MX compartilham a conexão),
+ * e cada host MX tem seu próprio {@link SmtpTransportPool}, criado sob demanda e fechado quando fica ocioso.
+ * Se um MX não conecta, a entrega segue para o próximo em ordem de preferência.
+ * Uma mensagem com destinatários em domínios diferentes pode ser entregue a parte deles antes de uma falha.
+ */
+@Slf4j
+public class DirectDeliveryMailSender extends JavaMailSenderImpl implements DisposableBean, MeterBinder {
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    @FunctionalInterface
+    interface HostConnector {
+        Transport connect(String host) throws MessagingException;
+    }
+
+    private record Delivery(MimeMessage message, Object original, Address[] recipients) {
+    }
+
+    private record HostPool(SmtpTransportPool pool, AtomicLong lastUsedNanos) {
+    }
+
+    private final MxResolver mxResolver;
+
+    private final SmtpTransportPoolSettings hostPoolSettings;
+
+    private final long hostIdleTimeoutNanos;
+
+    private final HostConnector connector;
+
+    private final ConcurrentHashMap<String, HostPool> hostPools = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService maintenance;
+
+    private final AtomicLong delivered = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong failovers = new AtomicLong();
+
+    public DirectDeliveryMailSender(MxResolver mxResolver, SmtpTransportPoolSettings hostPoolSettings,
+            Duration hostIdleTimeout) {
+        this(mxResolver, hostPoolSettings, hostIdleTimeout, null);
+    }
+
+    DirectDeliveryMailSender(MxResolver mxResolver, SmtpTransportPoolSettings hostPoolSettings,
+            Duration hostIdleTimeout, HostConnector connector) {
+        this.mxResolver = mxResolver;
+        // Um único agendador mantém todos os pools por host, em vez de uma thread por pool
+        this.hostPoolSettings = new SmtpTransportPoolSettings(hostPoolSettings.minIdle(), hostPoolSettings.maxTotal(),
+                hostPoolSettings.maxWait(), hostPoolSettings.idleTimeout(), hostPoolSettings.validationInterval(),
+                Duration.ZERO);
+        this.hostIdleTimeoutNanos = hostIdleTimeout.toNanos();
+        this.connector = connector != null ? connector : this::connectHost;
+        Duration interval = hostPoolSettings.evictionInterval();
+        if (interval != null && !interval.isZero()) {
+            this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "smtp-direct-maintenance");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.maintenance.scheduleWithFixedDelay(this::maintain, interval.toMillis(), interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.maintenance = null;
+        }
+    }
+
+    public int getHostPoolCount() {
+        return hostPools.size();
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        Map<List<String>, List<Delivery>> deliveriesByRoute = new LinkedHashMap<>();
+        Map<String, List<String>> routes = new LinkedHashMap<>();
+
+        for (int i = 0; i < mimeMessages.length; i++) {
+            MimeMessage mimeMessage = mimeMessages[i];
+            Object original = (originalMessages != null ? originalMessages[i] : mimeMessage);
+            Map<List<String>, List<Address>> recipientsByRoute = new LinkedHashMap<>();
+            try {
+                for (Address recipient : prepare(mimeMessage)) {
+                    List<String> route = route(recipient, routes);
+                    recipientsByRoute.computeIfAbsent(route, key -> new ArrayList<>()).add(recipient);
+                }
+            } catch (MessagingException ex) {
+                failedMessages.put(original, ex);
+                continue;
+            }
+            recipientsByRoute.forEach((route, recipients) -> deliveriesByRoute
+                    .computeIfAbsent(route, key -> new ArrayList<>())
+                    .add(new Delivery(mimeMessage, original, recipients.toArray(Address[]::new))));
+        }
+
+        deliveriesByRoute.forEach((route, deliveries) -> deliver(route, deliveries, failedMessages));
+
+        if (!failedMessages.isEmpty()) {
+            failed.addAndGet(failedMessages.size());
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    // Hosts MX em ordem de preferência; domínios sem MX válido falham como recusa permanente do destinatário
+    private List<String> route(Address recipient, Map<String, List<String>> routes) throws MessagingException {
+        InternetAddress address = (InternetAddress) recipient;
+        String domain = domainOf(address);
+        List<String> route = routes.get(domain);
+        if (route != null) {
+            return route;
+        }
+        MxLookup lookup;
+        try {
+            lookup = mxResolver.resolve(domain);
+        } catch (IOException ex) {
+            throw new MessagingException("Falha na consulta MX de " + domain, ex);
+        }
+        switch (lookup.status()) {
+            case NULL_MX -> throw new SMTPAddressFailedException(address, "RCPT TO", 556,
+                    "556 5.1.10 O domínio " + domain + " não recebe e-mail (MX nulo)");
+            case NOT_FOUND -> throw new SMTPAddressFailedException(address, "RCPT TO", 550,
+                    "550 5.1.2 Domínio inexistente: " + domain);
+            default -> {
+                route = lookup.records().stream().map(MxRecord::host).toList();
+                routes.put(domain, route);
+                return route;
+            }
+        }
+    }
+
+    private static String domainOf(InternetAddress address) throws MessagingException {
+        String value = address.getAddress();
+        int at = value == null ? -1 : value.lastIndexOf('@');
+        if (at < 0 || at == value.length() - 1) {
+            throw new SMTPAddressFailedException(address, "RCPT TO", 553, "553 5.1.3 Endereço sem domínio: " + value);
+        }
+        try {
+            return IDN.toASCII(value.substring(at + 1)).toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException ex) {
+            throw new SMTPAddressFailedException(address, "RCPT TO", 553, "553 5.1.3 Domínio inválido: " + value);
+        }
+    }
+
+    private void deliver(List<String> hosts, List<Delivery> deliveries, Map<Object, Exception> failedMessages) {
+        List<Delivery> pending = deliveries;
+        MessagingException lastFailure = null;
+        for (String host : hosts) {
+            HostPool hostPool = hostPool(host);
+            Transport transport;
+            try {
+                transport = hostPool.pool().borrow();
+            } catch (MessagingException ex) {
+                log.debug("MX {} indisponível: {}", host, ex.getMessage());
+                lastFailure = ex;
+                failovers.incrementAndGet();
+                continue;
+            }
+            List<Delivery> remaining = new ArrayList<>();
+            try {
+                for (Delivery delivery : pending) {
+                    if (transport == null) {
+                        remaining.add(delivery);
+                        continue;
+                    }
+                    try {
+                        transport.sendMessage(delivery.message(), delivery.recipients());
+                        delivered.incrementAndGet();
+                    } catch (SendFailedException ex) {
+                        // Recusa do MX: os outros MX do domínio responderiam o mesmo, então não há failover
+                        failedMessages.putIfAbsent(delivery.original(), ex);
+                        if (!transport.isConnected()) {
+                            hostPool.pool().invalidate(transport);
+                            transport = null;
+                        }
+                    } catch (MessagingException ex) {
+                        // Conexão quebrada: o restante segue para o próximo MX
+                        hostPool.pool().invalidate(transport);
+                        transport = null;
+                        lastFailure = ex;
+                        remaining.add(delivery);
+                    } catch (RuntimeException ex) {
+                        // Falha ao gerar o conteúdo no meio do DATA: a sessão não volta ao pool e o erro é da mensagem
+                        hostPool.pool().invalidate(transport);
+                        transport = null;
+                        failedMessages.putIfAbsent(delivery.original(), ex);
+                    }
+                }
+            } finally {
+                if (transport != null) {
+                    hostPool.pool().release(transport);
+                }
+            }
+            pending = remaining;
+            if (pending.isEmpty()) {
+                return;
+            }
+            failovers.incrementAndGet();
+        }
+        for (Delivery delivery : pending) {
+            failedMessages.putIfAbsent(delivery.original(),
+                    lastFailure != null ? lastFailure : new MessagingException("Nenhum MX disponível"));
+        }
+    }
+
+    private HostPool hostPool(String host) {
+        HostPool hostPool = hostPools.computeIfAbsent(host, key -> new HostPool(
+                new SmtpTransportPool(() -> connector.connect(key), hostPoolSettings), new AtomicLong()));
+        hostPool.lastUsedNanos().set(System.nanoTime());
+        return hostPool;
+    }
+
+    private Transport connectHost(String host) throws MessagingException {
+        Transport transport = getSession().getTransport(getProtocol() != null ? getProtocol() : DEFAULT_PROTOCOL);
+        // Entrega direta não autentica: o MX aceita e-mail para os próprios domínios
+        transport.connect(host, getPort(), null, null);
+        return transport;
+    }
+
+    // Mantém os pools ativos e fecha os de hosts que não recebem entregas há mais de host-idle-timeout
+    void maintain() {
+        long now = System.nanoTime();
+        hostPools.forEach((host, hostPool) -> {
+            hostPool.pool().maintain();
+            if (hostPool.pool().getActiveCount() == 0
+                    && now - hostPool.lastUsedNanos().get() >= hostIdleTimeoutNanos
+                    && hostPools.remove(host, hostPool)) {
+                hostPool.pool().close();
+            }
+        });
+    }
+
+    private Address[] prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Mantém um Message-ID definido explicitamente
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+        Address[] addresses = mimeMessage.getAllRecipients();
+        return (addresses != null ? addresses : new Address[0]);
+    }
+
+    private int sumConnections(boolean active) {
+        int count = 0;
+        for (HostPool hostPool : hostPools.values()) {
+            count += active ? hostPool.pool().getActiveCount() : hostPool.pool().getIdleCount();
+        }
+        return count;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.direct.hosts", hostPools, Map::size)
+                .description("Hosts MX com pool de conexões aberto")
+                .register(registry);
+        Gauge.builder("mail.direct.connections", this, sender -> sender.sumConnections(true))
+                .tag("state", "active")
+                .register(registry);
+        Gauge.builder("mail.direct.connections", this, sender -> sender.sumConnections(false))
+                .tag("state", "idle")
+                .register(registry);
+        FunctionCounter.builder("mail.direct.deliveries", delivered, AtomicLong::get)
+                .tag("result", "sent")
+                .description("Entregas diretas por rota MX")
+                .register(registry);
+        FunctionCounter.builder("mail.direct.deliveries", failed, AtomicLong::get)
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("mail.direct.failovers", failovers, AtomicLong::get)
+                .description("Entregas que passaram para o próximo MX")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        hostPools.values().forEach(hostPool -> hostPool.pool().close());
+        hostPools.clear();
+    }
+}
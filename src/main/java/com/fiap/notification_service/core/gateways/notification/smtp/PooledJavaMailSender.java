@@ -0,0 +1,137 @@
+package com.fiap.notification_service.core.gateways.notification.smtp;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * {@link JavaMailSenderImpl} que reaproveita conexões do {@link SmtpTransportPool}
+ * em vez de abrir uma conexão (TCP + STARTTLS + AUTH) por envio.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private static final int MAX_CONNECT_ATTEMPTS = 2;
+
+    private final SmtpTransportPool transportPool;
+
+    public PooledJavaMailSender(SmtpTransportPoolSettings settings) {
+        this.transportPool = new SmtpTransportPool(this::connectTransport, settings);
+    }
+
+    public SmtpTransportPool getTransportPool() {
+        return transportPool;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        Transport transport = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                MimeMessage mimeMessage = mimeMessages[i];
+                Object original = (originalMessages != null ? originalMessages[i] : mimeMessage);
+                Address[] recipients;
+                try {
+                    recipients = prepare(mimeMessage);
+                } catch (MessagingException ex) {
+                    failedMessages.put(original, ex);
+                    continue;
+                }
+
+                if (transport == null) {
+                    try {
+                        transport = borrow();
+                    } catch (MessagingException ex) {
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+                        }
+                        // Mantém as falhas anteriores do lote; a causa preserva o tipo para a classificação
+                        throw new MailSendException(ex instanceof AuthenticationFailedException
+                                ? "Mail server authentication failed" : "Mail server connection failed",
+                                ex, failedMessages);
+                    }
+                }
+                try {
+                    transport.sendMessage(mimeMessage, recipients);
+                } catch (SendFailedException ex) {
+                    // Destinatário ou mensagem recusados: a sessão normalmente continua válida
+                    failedMessages.put(original, ex);
+                    if (!transport.isConnected()) {
+                        transportPool.invalidate(transport);
+                        transport = null;
+                    }
+                } catch (MessagingException ex) {
+                    // Conexão caiu no meio da transação: não dá para saber se o servidor já aceitou o DATA, então
+                    // a mensagem não é reenviada (evita duplicar). Sessões ociosas derrubadas pelo servidor são
+                    // detectadas antes, pelo NOOP do pool (validation-interval)
+                    transportPool.invalidate(transport);
+                    transport = null;
+                    failedMessages.put(original, ex);
+                } catch (RuntimeException ex) {
+                    // Falha ao gerar o conteúdo (ex.: anexo acima do limite) no meio do DATA: a sessão ficou
+                    // presa na transmissão e não pode voltar ao pool
+                    transportPool.invalidate(transport);
+                    transport = null;
+                    failedMessages.put(original, ex);
+                }
+            }
+        } finally {
+            if (transport != null) {
+                transportPool.release(transport);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    // Nada foi transmitido ainda: uma falha ao conectar pode ser repetida com segurança, menos a de autenticação
+    private Transport borrow() throws MessagingException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transportPool.borrow();
+            } catch (AuthenticationFailedException ex) {
+                throw ex;
+            } catch (MessagingException ex) {
+                if (attempt >= MAX_CONNECT_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private Address[] prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Mantém um Message-ID definido explicitamente
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+        Address[] addresses = mimeMessage.getAllRecipients();
+        return (addresses != null ? addresses : new Address[0]);
+    }
+
+    @Override
+    public void destroy() {
+        transportPool.close();
+    }
+}
@@ -0,0 +1,116 @@
+package com.fiap.notification_service.core.gateways.notification.smtp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+
+import com.fiap.notification_service.core.exceptions.EmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+
+/**
+ * Classifica falhas de envio pelo código de resposta SMTP: 4xx é temporária e 5xx é permanente.
+ * Sem código (timeout, conexão recusada, I/O) a falha é tratada como temporária.
+ */
+public final class SmtpFailureClassifier {
+
+    private SmtpFailureClassifier() {
+    }
+
+    public static EmailDeliveryException classify(Exception failure) {
+        Integer replyCode = findReplyCode(failure);
+        String message = "Erro ao enviar e-mail: " + failure.getMessage();
+
+        if (replyCode != null) {
+            return replyCode >= 500
+                    ? new PermanentEmailDeliveryException(message, replyCode, failure)
+                    : new TransientEmailDeliveryException(message, replyCode, failure);
+        }
+        if (failure instanceof MailAuthenticationException
+                || failure instanceof MailParseException
+                || failure instanceof MailPreparationException
+                || contains(failure, AuthenticationFailedException.class)) {
+            return new PermanentEmailDeliveryException(message, null, failure);
+        }
+        return new TransientEmailDeliveryException(message, null, failure);
+    }
+
+    // Falhas do servidor ou da conta (conexão, timeout, autenticação, 4xx, cota) indicam que o relay não está saudável;
+    // recusa de um destinatário (5xx com código) não diz nada sobre ele
+    public static boolean isServerFailure(EmailDeliveryException failure) {
+        if (failure instanceof TransientEmailDeliveryException || isQuotaExceeded(failure)) {
+            return true;
+        }
+        Integer replyCode = failure.getReplyCode();
+        if (replyCode != null) {
+            return replyCode == 530 || replyCode == 534 || replyCode == 535;
+        }
+        return contains(failure, MailAuthenticationException.class) || contains(failure, AuthenticationFailedException.class);
+    }
+
+    // Ex.: Gmail "550 5.4.5 Daily user sending limit exceeded"; "over quota" do destinatário (5.2.2) não conta
+    public static boolean isQuotaExceeded(EmailDeliveryException failure) {
+        String message = failure.getMessage() == null ? "" : failure.getMessage().toLowerCase(Locale.ROOT);
+        return message.contains("5.4.5") || message.contains("sending quota") || message.contains("sending limit");
+    }
+
+    static Integer findReplyCode(Throwable failure) {
+        for (Throwable candidate : causes(failure)) {
+            if (candidate instanceof SMTPSendFailedException smtp) {
+                return smtp.getReturnCode();
+            }
+            if (candidate instanceof SMTPAddressFailedException smtp) {
+                return smtp.getReturnCode();
+            }
+            if (candidate instanceof SMTPSenderFailedException smtp) {
+                return smtp.getReturnCode();
+            }
+        }
+        return null;
+    }
+
+    private static boolean contains(Throwable failure, Class<? extends Throwable> type) {
+        return causes(failure).stream().anyMatch(type::isInstance);
+    }
+
+    // Percorre a cadeia de causas, as exceções encadeadas do Jakarta Mail e as falhas por mensagem do Spring
+    private static List<Throwable> causes(Throwable failure) {
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Throwable> ordered = new ArrayList<>();
+        Deque<Throwable> pending = new ArrayDeque<>();
+        pending.add(failure);
+        while (!pending.isEmpty()) {
+            Throwable current = pending.poll();
+            if (current == null || !visited.add(current)) {
+                continue;
+            }
+            ordered.add(current);
+            if (current.getCause() != null) {
+                pending.add(current.getCause());
+            }
+            if (current instanceof MessagingException messaging && messaging.getNextException() != null) {
+                pending.add(messaging.getNextException());
+            }
+            if (current instanceof MailSendException send) {
+                pending.addAll(send.getFailedMessages().values());
+            }
+        }
+        return ordered;
+    }
+}
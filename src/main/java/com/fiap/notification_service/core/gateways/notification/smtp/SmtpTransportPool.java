@@ -0,0 +1,242 @@
+package com.fiap.notification_service.core.gateways.notification.smtp;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool de conexões SMTP já conectadas e autenticadas.
+ * As conexões ociosas são validadas com NOOP antes do reuso e descartadas após o idle-timeout.
+ */
+@Slf4j
+public class SmtpTransportPool implements MeterBinder, AutoCloseable {
+
+    @FunctionalInterface
+    public interface TransportConnector {
+        Transport connect() throws MessagingException;
+    }
+
+    private record IdleTransport(Transport transport, long lastUsedNanos) {
+    }
+
+    private final TransportConnector connector;
+
+    private final SmtpTransportPoolSettings settings;
+
+    private final ConcurrentLinkedDeque<IdleTransport> idle = new ConcurrentLinkedDeque<>();
+
+    private final Semaphore permits;
+
+    private final AtomicInteger total = new AtomicInteger();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong created = new AtomicLong();
+
+    private final AtomicLong destroyed = new AtomicLong();
+
+    private final AtomicLong validationFailures = new AtomicLong();
+
+    private final AtomicLong borrows = new AtomicLong();
+
+    private final AtomicLong borrowWaitNanos = new AtomicLong();
+
+    private final ScheduledExecutorService evictor;
+
+    private volatile boolean closed;
+
+    public SmtpTransportPool(TransportConnector connector, SmtpTransportPoolSettings settings) {
+        this.connector = connector;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxTotal(), true);
+        if (settings.evictionInterval() != null && !settings.evictionInterval().isZero()) {
+            this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "smtp-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = settings.evictionInterval().toMillis();
+            this.evictor.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.evictor = null;
+        }
+    }
+
+    public Transport borrow() throws MessagingException {
+        if (closed) {
+            throw new MessagingException("Pool de conexões SMTP encerrado");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(settings.maxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new MessagingException("Tempo esgotado aguardando uma conexão SMTP livre no pool");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrompido aguardando uma conexão SMTP livre no pool", e);
+        }
+        borrows.incrementAndGet();
+        borrowWaitNanos.addAndGet(System.nanoTime() - start);
+
+        try {
+            IdleTransport candidate;
+            while ((candidate = idle.pollFirst()) != null) {
+                if (isUsable(candidate)) {
+                    active.incrementAndGet();
+                    return candidate.transport();
+                }
+                destroy(candidate.transport());
+            }
+            Transport transport = create();
+            active.incrementAndGet();
+            return transport;
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(Transport transport) {
+        active.decrementAndGet();
+        if (closed) {
+            destroy(transport);
+        } else {
+            idle.offerFirst(new IdleTransport(transport, System.nanoTime()));
+        }
+        permits.release();
+    }
+
+    public void invalidate(Transport transport) {
+        active.decrementAndGet();
+        destroy(transport);
+        permits.release();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getTotalCount() {
+        return total.get();
+    }
+
+    void maintain() {
+        try {
+            evictIdle();
+            ensureMinIdle();
+        } catch (RuntimeException e) {
+            log.warn("Falha na manutenção do pool SMTP: {}", e.getMessage());
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        long idleTimeout = settings.idleTimeout().toNanos();
+        Iterator<IdleTransport> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext() && total.get() > settings.minIdle()) {
+            IdleTransport candidate = oldestFirst.next();
+            if (now - candidate.lastUsedNanos() >= idleTimeout && idle.remove(candidate)) {
+                destroy(candidate.transport());
+            }
+        }
+    }
+
+    private void ensureMinIdle() {
+        while (!closed && total.get() < settings.minIdle()) {
+            try {
+                idle.offerLast(new IdleTransport(create(), System.nanoTime()));
+            } catch (MessagingException e) {
+                log.warn("Não foi possível abrir conexão SMTP de reserva: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private boolean isUsable(IdleTransport candidate) {
+        if (System.nanoTime() - candidate.lastUsedNanos() < settings.validationInterval().toNanos()) {
+            return true;
+        }
+        // Em SMTPTransport, isConnected() envia um NOOP ao servidor
+        if (candidate.transport().isConnected()) {
+            return true;
+        }
+        validationFailures.incrementAndGet();
+        return false;
+    }
+
+    private Transport create() throws MessagingException {
+        Transport transport = connector.connect();
+        total.incrementAndGet();
+        created.incrementAndGet();
+        return transport;
+    }
+
+    private void destroy(Transport transport) {
+        total.decrementAndGet();
+        destroyed.incrementAndGet();
+        try {
+            transport.close();
+        } catch (MessagingException | RuntimeException e) {
+            log.debug("Falha ao fechar conexão SMTP: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.smtp.pool.connections", this, SmtpTransportPool::getActiveCount)
+                .tag("state", "active")
+                .description("Conexões SMTP em uso")
+                .register(registry);
+        Gauge.builder("mail.smtp.pool.connections", this, SmtpTransportPool::getIdleCount)
+                .tag("state", "idle")
+                .description("Conexões SMTP ociosas no pool")
+                .register(registry);
+        Gauge.builder("mail.smtp.pool.connections.max", settings, SmtpTransportPoolSettings::maxTotal)
+                .register(registry);
+        FunctionCounter.builder("mail.smtp.pool.connections.created", created, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("mail.smtp.pool.connections.destroyed", destroyed, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("mail.smtp.pool.validation.failures", validationFailures, AtomicLong::get)
+                .register(registry);
+        FunctionTimer.builder("mail.smtp.pool.borrow", this,
+                        pool -> pool.borrows.get(),
+                        pool -> pool.borrowWaitNanos.get(),
+                        TimeUnit.NANOSECONDS)
+                .description("Tempo de espera por uma conexão SMTP livre")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        IdleTransport candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            destroy(candidate.transport());
+        }
+    }
+}
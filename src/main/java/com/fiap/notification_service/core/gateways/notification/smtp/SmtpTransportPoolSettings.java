@@ -0,0 +1,22 @@
+package com.fiap.notification_service.core.gateways.notification.smtp;
+
+import java.time.Duration;
+
+public record SmtpTransportPoolSettings(
+    int minIdle,
+    int maxTotal,
+    Duration maxWait,
+    Duration idleTimeout,
+    Duration validationInterval,
+    Duration evictionInterval
+) {
+
+    public SmtpTransportPoolSettings {
+        if (maxTotal < 1) {
+            throw new IllegalArgumentException("O pool SMTP precisa de ao menos uma conexão");
+        }
+        if (minIdle < 0 || minIdle > maxTotal) {
+            throw new IllegalArgumentException("min-idle do pool SMTP deve estar entre 0 e max-total");
+        }
+    }
+}
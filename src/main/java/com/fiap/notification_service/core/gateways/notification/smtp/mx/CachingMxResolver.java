@@ -0,0 +1,150 @@
+package com.fiap.notification_service.core.gateways.notification.smtp.mx;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Cache de MX por domínio que respeita o TTL da resposta (limitado a [minTtl, maxTtl]). Domínios que não
+ * recebem e-mail ficam em cache negativo e falhas de consulta ficam em cache por errorTtl, para que um DNS
+ * fora do ar não seja consultado a cada mensagem. Consultas simultâneas ao mesmo domínio compartilham a mesma ida ao DNS.
+ */
+public class CachingMxResolver implements MxResolver, MeterBinder {
+
+    private record Entry(CompletableFuture<MxLookup> result, long expiresAt) {
+    }
+
+    private final MxResolver delegate;
+
+    private final long minTtlNanos;
+
+    private final long maxTtlNanos;
+
+    private final long negativeTtlNanos;
+
+    private final long errorTtlNanos;
+
+    private final int maxEntries;
+
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    public CachingMxResolver(MxResolver delegate, Duration minTtl, Duration maxTtl, Duration negativeTtl,
+            Duration errorTtl, int maxEntries) {
+        this(delegate, minTtl, maxTtl, negativeTtl, errorTtl, maxEntries, System::nanoTime);
+    }
+
+    CachingMxResolver(MxResolver delegate, Duration minTtl, Duration maxTtl, Duration negativeTtl,
+            Duration errorTtl, int maxEntries, LongSupplier clock) {
+        if (maxEntries < 1 || minTtl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("Configuração inválida do cache de MX");
+        }
+        this.delegate = delegate;
+        this.minTtlNanos = minTtl.toNanos();
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.errorTtlNanos = errorTtl.toNanos();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public MxLookup resolve(String domain) throws IOException {
+        String key = domain.toLowerCase(Locale.ROOT);
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - clock.getAsLong() > 0) {
+                hits.incrementAndGet();
+                return await(entry.result());
+            }
+            Entry loading = new Entry(new CompletableFuture<>(), clock.getAsLong() + Long.MAX_VALUE / 2);
+            boolean claimed = entry == null ? entries.putIfAbsent(key, loading) == null : entries.replace(key, entry, loading);
+            if (claimed) {
+                misses.incrementAndGet();
+                load(key, loading);
+                return await(loading.result());
+            }
+        }
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    private void load(String domain, Entry loading) {
+        try {
+            MxLookup lookup = delegate.resolve(domain);
+            long ttl = lookup.acceptsMail() && lookup.status() == MxLookup.Status.FOUND
+                    ? Math.clamp(lookup.ttl().toNanos(), minTtlNanos, maxTtlNanos)
+                    : negativeTtlNanos;
+            entries.replace(domain, loading, new Entry(loading.result(), clock.getAsLong() + ttl));
+            loading.result().complete(lookup);
+        } catch (IOException | RuntimeException e) {
+            failures.incrementAndGet();
+            entries.replace(domain, loading, new Entry(loading.result(), clock.getAsLong() + errorTtlNanos));
+            loading.result().completeExceptionally(e);
+        }
+        trim();
+    }
+
+    // Sem espaço, remove primeiro as entradas vencidas e depois as que aparecerem primeiro na iteração
+    private void trim() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> entry.result().isDone() && entry.expiresAt() - now <= 0);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static MxLookup await(CompletableFuture<MxLookup> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido aguardando a consulta MX", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException io
+                    ? new IOException(io.getMessage(), io)
+                    : new IOException("Falha na consulta MX: " + cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("mail.mx.lookups", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Consultas MX respondidas pelo cache ou pelo DNS")
+                .register(registry);
+        FunctionCounter.builder("mail.mx.lookups", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("mail.mx.lookup.failures", failures, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("mail.mx.cache.size", entries, ConcurrentHashMap::size)
+                .register(registry);
+    }
+}
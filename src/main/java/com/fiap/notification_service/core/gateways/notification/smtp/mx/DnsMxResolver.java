@@ -0,0 +1,73 @@
+package com.fiap.notification_service.core.gateways.notification.smtp.mx;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.xbill.DNS.ExtendedResolver;
+import org.xbill.DNS.Lookup;
+import org.xbill.DNS.MXRecord;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.Record;
+import org.xbill.DNS.Resolver;
+import org.xbill.DNS.SimpleResolver;
+import org.xbill.DNS.TextParseException;
+import org.xbill.DNS.Type;
+
+// Consulta MX no DNS com o TTL de cada resposta; o cache fica no CachingMxResolver
+public class DnsMxResolver implements MxResolver {
+
+    private final Resolver resolver;
+
+    private final Duration negativeTtl;
+
+    public DnsMxResolver(String server, Duration timeout, Duration negativeTtl) {
+        try {
+            this.resolver = server == null || server.isBlank() ? new ExtendedResolver() : new SimpleResolver(server);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Servidor DNS inválido: " + server, e);
+        }
+        this.resolver.setTimeout(timeout);
+        this.negativeTtl = negativeTtl;
+    }
+
+    @Override
+    public MxLookup resolve(String domain) throws IOException {
+        Lookup lookup;
+        try {
+            lookup = new Lookup(Name.fromString(domain, Name.root), Type.MX);
+        } catch (TextParseException e) {
+            return MxLookup.notFound(negativeTtl);
+        }
+        lookup.setResolver(resolver);
+        lookup.setCache(null);
+        Record[] answers = lookup.run();
+        return switch (lookup.getResult()) {
+            case Lookup.SUCCESSFUL -> toLookup(answers);
+            case Lookup.HOST_NOT_FOUND -> MxLookup.notFound(negativeTtl);
+            case Lookup.TYPE_NOT_FOUND -> MxLookup.implicit(domain, negativeTtl);
+            default -> throw new IOException("Falha na consulta MX de " + domain + ": " + lookup.getErrorString());
+        };
+    }
+
+    private static MxLookup toLookup(Record[] answers) {
+        List<MxRecord> records = new ArrayList<>(answers.length);
+        long ttl = Long.MAX_VALUE;
+        boolean nullMx = false;
+        for (Record answer : answers) {
+            if (answer instanceof MXRecord mx) {
+                // RFC 7505: um único MX apontando para "." indica que o domínio não recebe e-mail
+                nullMx |= Name.root.equals(mx.getTarget());
+                records.add(new MxRecord(mx.getTarget().toString(true), mx.getPriority()));
+                ttl = Math.min(ttl, mx.getTTL());
+            }
+        }
+        Duration recordTtl = Duration.ofSeconds(ttl == Long.MAX_VALUE ? 0 : ttl);
+        if (nullMx && records.size() == 1) {
+            return MxLookup.nullMx(recordTtl);
+        }
+        return MxLookup.found(records, recordTtl);
+    }
+}
@@ -0,0 +1,40 @@
+package com.fiap.notification_service.core.gateways.notification.smtp.mx;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resultado de uma consulta MX. Sem registro MX o domínio recebe no próprio host (MX implícito, RFC 5321);
+ * um MX nulo (RFC 7505) ou um domínio inexistente não recebem e-mail.
+ */
+public record MxLookup(Status status, List<MxRecord> records, Duration ttl) {
+
+    public enum Status { FOUND, IMPLICIT, NULL_MX, NOT_FOUND }
+
+    public MxLookup {
+        records = records.stream()
+                .sorted(Comparator.comparingInt(MxRecord::preference).thenComparing(MxRecord::host))
+                .toList();
+    }
+
+    public static MxLookup found(List<MxRecord> records, Duration ttl) {
+        return new MxLookup(Status.FOUND, records, ttl);
+    }
+
+    public static MxLookup implicit(String domain, Duration ttl) {
+        return new MxLookup(Status.IMPLICIT, List.of(new MxRecord(domain, 0)), ttl);
+    }
+
+    public static MxLookup nullMx(Duration ttl) {
+        return new MxLookup(Status.NULL_MX, List.of(), ttl);
+    }
+
+    public static MxLookup notFound(Duration ttl) {
+        return new MxLookup(Status.NOT_FOUND, List.of(), ttl);
+    }
+
+    public boolean acceptsMail() {
+        return status == Status.FOUND || status == Status.IMPLICIT;
+    }
+}
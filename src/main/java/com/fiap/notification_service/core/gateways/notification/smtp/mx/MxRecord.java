@@ -0,0 +1,4 @@
+package com.fiap.notification_service.core.gateways.notification.smtp.mx;
+
+public record MxRecord(String host, int preference) {
+}
@@ -0,0 +1,9 @@
+package com.fiap.notification_service.core.gateways.notification.smtp.mx;
+
+import java.io.IOException;
+
+public interface MxResolver {
+
+    // IOException para falhas temporárias (timeout, SERVFAIL); domínio inexistente é um resultado, não um erro
+    MxLookup resolve(String domain) throws IOException;
+}
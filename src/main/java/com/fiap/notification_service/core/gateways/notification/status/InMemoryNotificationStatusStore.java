@@ -0,0 +1,362 @@
+package com.fiap.notification_service.core.gateways.notification.status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.NotificationQuery;
+import com.fiap.notification_service.core.domain.notification.NotificationRecord;
+import com.fiap.notification_service.core.domain.notification.NotificationStatus;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Quem envia só coloca o evento em uma fila sem lock; uma thread própria aplica os eventos em lotes. Com a fila
+ * cheia o evento é descartado e contado, nunca segura o envio.
+ *
+ * Os registros ficam em um buffer circular na ordem de aceite (horário não decrescente), o que permite achar uma
+ * janela de tempo por busca binária e descartar os mais antigos pelo início, além dos índices por id e por
+ * destinatário. O limite de registros e a retenção valem para tudo; nada sobrevive a uma reinicialização.
+ */
+@Slf4j
+public class InMemoryNotificationStatusStore implements NotificationStatusStore, MeterBinder, AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private record Event(EmailNotification notification, NotificationStatus status, int attempts, String error,
+            long at) {
+    }
+
+    private static final class Entry {
+        private final UUID id;
+        private final String to;
+        private final String recipientKey;
+        private final String subject;
+        private final long acceptedAt;
+        private NotificationStatus status;
+        private int attempts;
+        private String error;
+        private long updatedAt;
+
+        private Entry(EmailNotification notification, long acceptedAt) {
+            this.id = notification.id();
+            this.to = notification.to();
+            this.recipientKey = recipientKey(notification.to());
+            this.subject = notification.subject();
+            this.acceptedAt = acceptedAt;
+        }
+
+        private NotificationRecord toRecord() {
+            return new NotificationRecord(id, to, subject, status, attempts, error, Instant.ofEpochMilli(acceptedAt),
+                Instant.ofEpochMilli(updatedAt));
+        }
+    }
+
+    private final int queueCapacity;
+
+    private final int batchSize;
+
+    private final long retentionMillis;
+
+    private final LongSupplier clock;
+
+    private final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Entry> byId = new HashMap<>();
+
+    private final Map<String, ArrayDeque<Entry>> byRecipient = new HashMap<>();
+
+    private final Entry[] timeline;
+
+    private int head;
+
+    private volatile int size;
+
+    private long lastAcceptedAt;
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public InMemoryNotificationStatusStore(int maxEntries, Duration retention, int queueCapacity, int batchSize) {
+        this(maxEntries, retention, queueCapacity, batchSize, System::currentTimeMillis, true);
+    }
+
+    InMemoryNotificationStatusStore(int maxEntries, Duration retention, int queueCapacity, int batchSize,
+            LongSupplier clock, boolean autoFlush) {
+        if (maxEntries < 1 || queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Configuração inválida do histórico de status");
+        }
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.retentionMillis = retention.toMillis();
+        this.clock = clock;
+        this.timeline = new Entry[maxEntries];
+        if (autoFlush) {
+            writer = new Thread(this::run, "notification-status-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            writer = null;
+        }
+    }
+
+    @Override
+    public void record(EmailNotification notification, NotificationStatus status, int attempts, String error) {
+        if (pending.incrementAndGet() > queueCapacity) {
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        events.offer(new Event(notification, status, attempts, error, clock.getAsLong()));
+    }
+
+    @Override
+    public Optional<NotificationRecord> find(UUID notificationId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = byId.get(notificationId);
+            return entry != null ? Optional.of(entry.toRecord()) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<NotificationRecord> search(NotificationQuery query, int page, int size) {
+        List<NotificationRecord> result = new ArrayList<>(Math.min(size, 100));
+        long[] skip = {(long) page * size};
+        scan(query, entry -> {
+            if (skip[0] > 0) {
+                skip[0]--;
+                return true;
+            }
+            result.add(entry.toRecord());
+            return result.size() < size;
+        });
+        return result;
+    }
+
+    @Override
+    public long count(NotificationQuery query) {
+        long[] count = {0};
+        scan(query, entry -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getPendingEvents() {
+        return pending.get();
+    }
+
+    // Percorre do mais recente para o mais antigo até o visitor devolver false ou a janela acabar
+    private void scan(NotificationQuery query, Predicate<Entry> visitor) {
+        long from = query.from() != null ? query.from().toEpochMilli() : Long.MIN_VALUE;
+        long until = query.until() != null ? query.until().toEpochMilli() : Long.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            Iterator<Entry> entries = newestFirst(query.to(), until);
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                if (entry.acceptedAt > until) {
+                    continue;
+                }
+                if (entry.acceptedAt < from) {
+                    return;
+                }
+                if ((query.status() == null || entry.status == query.status()) && !visitor.test(entry)) {
+                    return;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Iterator<Entry> newestFirst(String to, long until) {
+        if (to != null) {
+            ArrayDeque<Entry> entries = byRecipient.get(recipientKey(to));
+            return entries != null ? entries.descendingIterator() : Collections.emptyIterator();
+        }
+        // Sem destinatário, a busca binária pula direto para o último registro aceito até "until"
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (at(mid).acceptedAt <= until) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int start = low - 1;
+        return new Iterator<>() {
+            private int index = start;
+
+            @Override
+            public boolean hasNext() {
+                return index >= 0;
+            }
+
+            @Override
+            public Entry next() {
+                return at(index--);
+            }
+        };
+    }
+
+    private Entry at(int index) {
+        return timeline[(head + index) % timeline.length];
+    }
+
+    private void run() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running || !events.isEmpty()) {
+            try {
+                if (drain(batch) == 0) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            } catch (RuntimeException e) {
+                log.error("Falha ao gravar o histórico de status: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Aplica tudo o que estiver na fila; usado diretamente nos testes sem a thread de escrita
+    void flush() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        int applied;
+        do {
+            applied = drain(batch);
+        } while (applied > 0);
+    }
+
+    private int drain(List<Event> batch) {
+        batch.clear();
+        Event event;
+        while (batch.size() < batchSize && (event = events.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        pending.addAndGet(-batch.size());
+        lock.writeLock().lock();
+        try {
+            for (Event each : batch) {
+                apply(each);
+            }
+            evictExpired(clock.getAsLong() - retentionMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return batch.size();
+    }
+
+    private void apply(Event event) {
+        Entry entry = byId.get(event.notification().id());
+        if (entry == null) {
+            if (size == timeline.length) {
+                evictOldest();
+            }
+            // Horário de aceite nunca volta: mantém a linha do tempo ordenada mesmo com eventos fora de ordem por ms
+            lastAcceptedAt = Math.max(lastAcceptedAt, event.at());
+            entry = new Entry(event.notification(), lastAcceptedAt);
+            byId.put(entry.id, entry);
+            byRecipient.computeIfAbsent(entry.recipientKey, key -> new ArrayDeque<>()).addLast(entry);
+            timeline[(head + size) % timeline.length] = entry;
+            size++;
+        }
+        entry.status = event.status();
+        entry.attempts = Math.max(entry.attempts, event.attempts());
+        if (event.error() != null) {
+            entry.error = event.error();
+        } else if (event.status() == NotificationStatus.SENT) {
+            entry.error = null;
+        }
+        entry.updatedAt = event.at();
+    }
+
+    private void evictExpired(long oldestAllowed) {
+        while (size > 0 && timeline[head].acceptedAt < oldestAllowed) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        Entry oldest = timeline[head];
+        timeline[head] = null;
+        head = (head + 1) % timeline.length;
+        size--;
+        byId.remove(oldest.id);
+        ArrayDeque<Entry> recipient = byRecipient.get(oldest.recipientKey);
+        recipient.pollFirst();
+        if (recipient.isEmpty()) {
+            byRecipient.remove(oldest.recipientKey);
+        }
+    }
+
+    private static String recipientKey(String to) {
+        return to.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.status.entries", this, InMemoryNotificationStatusStore::size)
+                .description("Notificações com status guardado para consulta")
+                .register(registry);
+        Gauge.builder("mail.status.events.pending", pending, AtomicInteger::get)
+                .description("Mudanças de status aguardando a gravação em lote")
+                .register(registry);
+        FunctionCounter.builder("mail.status.events.dropped", dropped, AtomicLong::get)
+                .description("Mudanças de status descartadas porque a fila de gravação estava cheia")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fiap.notification_service.core.gateways.notification.status;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.NotificationQuery;
+import com.fiap.notification_service.core.domain.notification.NotificationRecord;
+import com.fiap.notification_service.core.domain.notification.NotificationStatus;
+
+public interface NotificationStatusStore {
+
+    NotificationStatusStore NONE = new NotificationStatusStore() {
+        @Override
+        public void record(EmailNotification notification, NotificationStatus status, int attempts, String error) {
+        }
+
+        @Override
+        public Optional<NotificationRecord> find(UUID notificationId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<NotificationRecord> search(NotificationQuery query, int page, int size) {
+            return List.of();
+        }
+
+        @Override
+        public long count(NotificationQuery query) {
+            return 0;
+        }
+    };
+
+    // Chamado no caminho de envio: não bloqueia e a consulta enxerga a mudança logo depois, não na mesma hora
+    void record(EmailNotification notification, NotificationStatus status, int attempts, String error);
+
+    default void record(EmailNotification notification, NotificationStatus status) {
+        record(notification, status, 0, null);
+    }
+
+    Optional<NotificationRecord> find(UUID notificationId);
+
+    // Mais recentes primeiro
+    List<NotificationRecord> search(NotificationQuery query, int page, int size);
+
+    long count(NotificationQuery query);
+}
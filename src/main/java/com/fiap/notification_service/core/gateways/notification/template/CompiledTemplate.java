@@ -0,0 +1,111 @@
+package com.fiap.notification_service.core.gateways.notification.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template pré-compilado em uma lista de trechos literais e variáveis.
+ * {@code {{nome}}} insere o valor com escape de HTML e {@code {{&nome}}} insere o valor sem escape.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+
+    private static final String CLOSE = "}}";
+
+    // Para cada trecho i: literals[i] é texto fixo; se variables[i] != null, o valor da variável vem em seguida
+    private final String[] literals;
+
+    private final String[] variables;
+
+    private final boolean[] escaped;
+
+    private final int estimatedLength;
+
+    private CompiledTemplate(String[] literals, String[] variables, boolean[] escaped, int estimatedLength) {
+        this.literals = literals;
+        this.variables = variables;
+        this.escaped = escaped;
+        this.estimatedLength = estimatedLength;
+    }
+
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        List<Boolean> escaped = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Template inválido: '{{' sem '}}' correspondente na posição " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            boolean raw = name.startsWith("&");
+            if (raw) {
+                name = name.substring(1).trim();
+            }
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Template inválido: variável sem nome na posição " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(name);
+            escaped.add(!raw);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        variables.add(null);
+        escaped.add(false);
+
+        boolean[] escapedFlags = new boolean[escaped.size()];
+        for (int i = 0; i < escapedFlags.length; i++) {
+            escapedFlags[i] = escaped.get(i);
+        }
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new),
+                escapedFlags, source.length());
+    }
+
+    public int estimatedLength() {
+        return estimatedLength;
+    }
+
+    public void render(Map<String, ?> values, StringBuilder out) {
+        for (int i = 0; i < literals.length; i++) {
+            out.append(literals[i]);
+            String variable = variables[i];
+            if (variable == null) {
+                continue;
+            }
+            Object value = values != null ? values.get(variable) : null;
+            if (value == null) {
+                continue;
+            }
+            if (escaped[i]) {
+                appendEscaped(value instanceof CharSequence text ? text : value.toString(), out);
+            } else if (value instanceof CharSequence text) {
+                out.append(text);
+            } else {
+                out.append(value);
+            }
+        }
+    }
+
+    private static void appendEscaped(CharSequence value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
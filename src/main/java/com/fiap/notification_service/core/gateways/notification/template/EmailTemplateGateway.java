@@ -0,0 +1,7 @@
+package com.fiap.notification_service.core.gateways.notification.template;
+
+import java.util.Map;
+
+public interface EmailTemplateGateway {
+    String render(String templateId, Map<String, String> variables);
+}
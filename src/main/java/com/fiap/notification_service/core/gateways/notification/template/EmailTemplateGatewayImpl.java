@@ -0,0 +1,136 @@
+package com.fiap.notification_service.core.gateways.notification.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Resolve templates pelo id, primeiro no diretório configurado (com hot reload) e depois no classpath
+ * ({@code templates/email/<id>.html}). Os templates compilados ficam em um cache LRU limitado.
+ */
+public class EmailTemplateGatewayImpl implements EmailTemplateGateway {
+
+    private static final Pattern TEMPLATE_ID = Pattern.compile("[A-Za-z0-9_-]{1,100}");
+
+    private static final String CLASSPATH_LOCATION = "templates/email/";
+
+    private static final String EXTENSION = ".html";
+
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private record CachedTemplate(CompiledTemplate template, Path file, FileTime lastModified, long checkedAtNanos) {
+
+        private CachedTemplate checkedAt(long nanos) {
+            return new CachedTemplate(template, file, lastModified, nanos);
+        }
+    }
+
+    private final Path directory;
+
+    private final long reloadIntervalNanos;
+
+    private final Map<String, CachedTemplate> cache;
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    public EmailTemplateGatewayImpl(Path directory, int cacheSize, Duration reloadInterval) {
+        this.directory = directory;
+        this.reloadIntervalNanos = reloadInterval.toNanos();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTemplate> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public String render(String templateId, Map<String, String> variables) {
+        CompiledTemplate template = resolve(templateId);
+        StringBuilder out = buffers.get();
+        out.setLength(0);
+        template.render(variables, out);
+        String html = out.toString();
+        if (out.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            // Não mantém por thread um buffer inflado por um template excepcionalmente grande
+            buffers.set(new StringBuilder(INITIAL_BUFFER_SIZE));
+        }
+        return html;
+    }
+
+    public CompiledTemplate resolve(String templateId) {
+        if (templateId == null || !TEMPLATE_ID.matcher(templateId).matches()) {
+            throw new IllegalArgumentException("Id de template inválido: " + templateId);
+        }
+        long now = System.nanoTime();
+        CachedTemplate cached;
+        synchronized (cache) {
+            cached = cache.get(templateId);
+        }
+        if (cached != null) {
+            if (cached.file() == null || now - cached.checkedAtNanos() < reloadIntervalNanos) {
+                return cached.template();
+            }
+            if (cached.lastModified().equals(lastModified(cached.file()))) {
+                store(templateId, cached.checkedAt(now));
+                return cached.template();
+            }
+        }
+        CachedTemplate loaded = load(templateId, now);
+        store(templateId, loaded);
+        return loaded.template();
+    }
+
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private void store(String templateId, CachedTemplate template) {
+        synchronized (cache) {
+            cache.put(templateId, template);
+        }
+    }
+
+    private CachedTemplate load(String templateId, long now) {
+        try {
+            if (directory != null) {
+                Path file = directory.resolve(templateId + EXTENSION);
+                FileTime modified = lastModified(file);
+                if (modified != null) {
+                    String source = Files.readString(file, StandardCharsets.UTF_8);
+                    return new CachedTemplate(CompiledTemplate.compile(source), file, modified, now);
+                }
+            }
+            try (InputStream resource = getClass().getClassLoader()
+                    .getResourceAsStream(CLASSPATH_LOCATION + templateId + EXTENSION)) {
+                if (resource == null) {
+                    throw new IllegalArgumentException("Template de email não encontrado: " + templateId);
+                }
+                String source = new String(resource.readAllBytes(), StandardCharsets.UTF_8);
+                return new CachedTemplate(CompiledTemplate.compile(source), null, null, now);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o template de email " + templateId, e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.isRegularFile(file) ? Files.getLastModifiedTime(file) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
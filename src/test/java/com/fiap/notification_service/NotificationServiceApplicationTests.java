@@ -15,6 +15,7 @@ import org.springframework.test.context.TestPropertySource;
     "spring.mail.properties.mail.smtp.auth=false",
     "spring.mail.properties.mail.smtp.starttls.enable=false",
     "app.mail.from=no-reply@test.com",
+    "app.notification.outbox.directory=target/test-outbox",
 
     "api.security.token.secret=segredo-de-teste-muito-seguro-123"
 })
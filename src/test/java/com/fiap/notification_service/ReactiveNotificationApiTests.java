@@ -0,0 +1,89 @@
+package com.fiap.notification_service;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.main.web-application-type=reactive",
+    "spring.mail.host=localhost",
+    "spring.mail.port=1025",
+    "app.mail.from=no-reply@test.com",
+    "app.notification.outbox.directory=target/test-outbox-reactive"
+})
+class ReactiveNotificationApiTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private EmailNotificationGateway emailNotificationGateway;
+
+    @Test
+    @DisplayName("Deve enviar pela stack reativa e devolver o id da notificação")
+    void shouldSendEmailOnReactiveStack() {
+        // Act
+        webTestClient.post().uri("/api/notification/send-email")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("to", "cliente@teste.com", "subject", "Assunto", "body", "Corpo"))
+            .exchange()
+            // Assert
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$.notificationId").isNotEmpty();
+        verify(emailNotificationGateway).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+    }
+
+    @Test
+    @DisplayName("Deve processar o lote em NDJSON e responder um resultado por linha, inclusive das inválidas")
+    void shouldStreamNdjsonBatchResults() {
+        // Arrange
+        when(emailNotificationGateway.sendEmails(anyList())).thenAnswer(invocation -> {
+            List<EmailNotification> group = invocation.getArgument(0);
+            return group.stream().map(EmailDeliveryResult::sent).toList();
+        });
+        String body = """
+            {"to":"a@teste.com","subject":"Assunto","body":"Corpo"}
+            {"to":"b@teste.com","body":"Sem assunto"}
+            {"to":"c@teste.com","subject":"Assunto","body":"Corpo"}
+            """;
+
+        // Act
+        List<Map> results = webTestClient.post().uri("/api/notification/send-email/batch")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .returnResult(Map.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        // Assert
+        assertEquals(3, results.size());
+        Map<Object, Object> statusByIndex = new HashMap<>();
+        results.forEach(result -> statusByIndex.put(result.get("index"), result.get("status")));
+        assertEquals(Map.of(0, "SENT", 1, "FAILED", 2, "SENT"), statusByIndex);
+    }
+}
@@ -0,0 +1,179 @@
+package com.fiap.notification_service._messaging.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.notification_service.core.controller.NotificationGateways;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGatewayImpl;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.ingestion.InMemoryNotificationBroker;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationIngestionConsumerTest {
+
+    private static final String PAYLOAD = "{\"to\":\"cliente@teste.com\",\"subject\":\"Assunto\",\"body\":\"Corpo\"}";
+
+    @Mock
+    private EmailNotificationGateway emailNotificationGateway;
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    private final InMemoryNotificationBroker broker = new InMemoryNotificationBroker(100);
+
+    private EmailDispatchGatewayImpl dispatchGateway;
+
+    private NotificationIngestionConsumer consumer;
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) {
+            consumer.close();
+        }
+        if (dispatchGateway != null) {
+            dispatchGateway.close();
+        }
+        validatorFactory.close();
+    }
+
+    private void start(int queueCapacity, int maxInFlight) {
+        dispatchGateway = new EmailDispatchGatewayImpl(emailNotificationGateway, 1, queueCapacity);
+        consumer = NotificationIngestionConsumer.builder()
+            .source(broker)
+            .notificationGateways(NotificationGateways.builder()
+                .emailNotificationGateway(emailNotificationGateway)
+                .emailDispatchGateway(dispatchGateway)
+                .build())
+            .objectMapper(new ObjectMapper())
+            .validator(validatorFactory.getValidator())
+            .concurrency(2)
+            .batchSize(10)
+            .pollTimeout(Duration.ofMillis(20))
+            .maxInFlight(maxInFlight)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Deve enviar as mensagens do broker e dar ack só depois do envio")
+    void shouldAckAfterSend() {
+        // Arrange
+        start(10, 100);
+
+        // Act
+        broker.publish(PAYLOAD);
+        broker.publish(PAYLOAD);
+
+        // Assert
+        verify(emailNotificationGateway, timeout(2000).times(2)).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            while (broker.getUnackedCount() > 0 || broker.getReadyCount() > 0) {
+                Thread.sleep(10);
+            }
+        });
+        assertEquals(0, broker.getRejectedCount());
+        assertEquals(0, consumer.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Deve manter a mensagem sem ack enquanto o envio não terminar")
+    void shouldKeepMessageUnackedWhileSending() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(2, TimeUnit.SECONDS);
+            return null;
+        }).when(emailNotificationGateway).sendEmail(any(), any(), any());
+        start(10, 100);
+
+        // Act
+        broker.publish(PAYLOAD);
+        verify(emailNotificationGateway, timeout(2000)).sendEmail(any(), any(), any());
+
+        // Assert
+        assertEquals(1, broker.getUnackedCount());
+        release.countDown();
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            while (broker.getUnackedCount() > 0) {
+                Thread.sleep(10);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar sem reentrega as mensagens inválidas")
+    void shouldRejectInvalidPayload() {
+        // Arrange
+        start(10, 100);
+
+        // Act
+        broker.publish("{\"to\":\"cliente@teste.com\",\"body\":\"Sem assunto\"}");
+        broker.publish("não é json");
+
+        // Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            while (broker.getRejectedCount() < 2) {
+                Thread.sleep(10);
+            }
+        });
+        verifyNoInteractions(emailNotificationGateway);
+    }
+
+    @Test
+    @DisplayName("Deve dar nack sem reentrega quando o envio falhar definitivamente")
+    void shouldNackWhenSendFailsPermanently() {
+        // Arrange
+        doThrow(new PermanentEmailDeliveryException("Mailbox unavailable", 550, null))
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        start(10, 100);
+
+        // Act
+        broker.publish(PAYLOAD);
+
+        // Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            while (broker.getRejectedCount() < 1) {
+                Thread.sleep(10);
+            }
+        });
+        assertEquals(0, broker.getUnackedCount());
+    }
+
+    @Test
+    @DisplayName("Não deve buscar além do limite de mensagens sem ack")
+    void shouldStopPollingAtMaxInFlight() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(emailNotificationGateway).sendEmail(any(), any(), any());
+        start(10, 3);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            broker.publish(PAYLOAD);
+        }
+        Thread.sleep(300);
+
+        // Assert
+        assertTrue(broker.getUnackedCount() <= 3);
+        assertTrue(broker.getReadyCount() >= 17);
+        release.countDown();
+        verify(emailNotificationGateway, timeout(3000).times(20)).sendEmail(eq("cliente@teste.com"), any(), any());
+    }
+}
@@ -0,0 +1,113 @@
+package com.fiap.notification_service._webApi.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchRequestDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailRequestDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SendEmailRequestJsonReaderTest {
+
+    // Mesma configuração do ObjectMapper do Spring
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final SendEmailRequestJsonReader reader = new SendEmailRequestJsonReader(objectMapper);
+
+    private static byte[] json(String content) {
+        return content.replace('\'', '"').getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Deve ler os mesmos DTOs que o databind")
+    void shouldReadSameRequestsAsDatabind() throws IOException {
+        // Arrange
+        List<String> payloads = List.of(
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'Olá \\u00e9 \\n fim'}",
+            "{'to':'cliente@teste.com','subject':'Assunto','templateId':'order-status','variables':{'id':'1','total':10.5,'vip':true,'x':null}}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','attachments':[{'uri':'file:/tmp/a.pdf','fileName':'a.pdf','contentType':'application/pdf'},null,{}]}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','sendAt':'2030-01-31T09:00:00Z'}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','sendAt':'2030-01-31T09:00:00-03:00'}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','sendAt':1900000000}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','sendAt':1900000000.25}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','sendAt':'1900000000'}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','sendAt':''}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','delay':'PT30M'}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','delay':90}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','delay':1.5}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','priority':'HIGH','tenant':'loja-a'}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','priority':2,'tenant':7}",
+            "{'to':'cliente@teste.com','subject':'Assunto','body':'b','priority':null}",
+            "{'to':123,'subject':false,'body':null,'templateId':null,'variables':null,'attachments':null}",
+            "{'to':'a@teste.com','extra':{'nested':[1,2,{'x':'y'}]},'scheduleValid':false,'to':'b@teste.com'}",
+            "{}",
+            "null");
+
+        for (String payload : payloads) {
+            // Act
+            SendEmailRequestDTO expected = objectMapper.readValue(json(payload), SendEmailRequestDTO.class);
+            SendEmailRequestDTO actual = reader.read(json(payload));
+
+            // Assert
+            assertEquals(expected, actual, payload);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ler o lote como o databind")
+    void shouldReadBatchAsDatabind() throws IOException {
+        // Arrange
+        byte[] payload = json("{'messages':[{'to':'a@teste.com','subject':'A','body':'1'},null,{'to':'b@teste.com','subject':'B','templateId':'t'}],'other':1}");
+
+        // Act
+        SendEmailBatchRequestDTO actual = reader.readBatch(new ByteArrayInputStream(payload));
+
+        // Assert
+        assertEquals(objectMapper.readValue(payload, SendEmailBatchRequestDTO.class), actual);
+        assertEquals(3, actual.messages().size());
+    }
+
+    @Test
+    @DisplayName("Deve falhar nos mesmos tipos inválidos que o databind")
+    void shouldRejectWhatDatabindRejects() {
+        // Arrange
+        List<String> payloads = List.of(
+            "",
+            "[]",
+            "'texto'",
+            "{'to':{'x':1}}",
+            "{'to':['a@teste.com']}",
+            "{'variables':['a']}",
+            "{'variables':{'a':{'b':1}}}",
+            "{'attachments':{'uri':'file:/tmp/a'}}",
+            "{'attachments':['file:/tmp/a']}",
+            "{'sendAt':'amanhã'}",
+            "{'sendAt':true}",
+            "{'delay':'30 minutos'}",
+            "{'delay':[1]}",
+            "{'priority':'urgente'}",
+            "{'priority':''}",
+            "{'priority':'high'}",
+            "{'priority':3}",
+            "{'priority':-1}",
+            "{'priority':true}",
+            "{'priority':{}}",
+            "{'tenant':['a']}",
+            "{'to':'a@teste.com'");
+
+        for (String payload : payloads) {
+            // Act & Assert
+            assertThrows(IOException.class, () -> objectMapper.readValue(json(payload), SendEmailRequestDTO.class), payload);
+            assertThrows(IOException.class, () -> reader.read(json(payload)), payload);
+        }
+        assertThrows(MismatchedInputException.class, () -> reader.read(json("{'to':{'x':1}}")));
+    }
+}
@@ -2,11 +2,19 @@ package com.fiap.notification_service._webApi.controller.errorHandler;
 
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+import com.fiap.notification_service.core.exceptions.IdempotencyConflictException;
+import com.fiap.notification_service.core.exceptions.IdempotencyKeyReuseException;
+import com.fiap.notification_service.core.exceptions.NotificationNotFoundException;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -16,6 +24,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -46,6 +55,76 @@ class GlobalHandlerExceptionTest {
         assertEquals("Generic error", response.getBody().getMessage());
     }
 
+    @Test
+    void shouldHandleDispatchQueueFullWithServiceUnavailable() {
+        DispatchQueueFullException ex = new DispatchQueueFullException("Fila cheia");
+
+        ResponseEntity<ErrorResponse> response = handler.handleDispatchQueueFull(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Fila cheia", response.getBody().getMessage());
+    }
+
+    @Test
+    void shouldHandleTransientEmailDeliveryWithServiceUnavailable() {
+        TransientEmailDeliveryException ex = new TransientEmailDeliveryException("451 Try again later", 451, null);
+
+        ResponseEntity<ErrorResponse> response = handler.handleTransientEmailDelivery(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void shouldHandleSmtpUnavailableWithRetryAfterUntilProbe() {
+        SmtpUnavailableException ex = new SmtpUnavailableException("Circuito aberto", Duration.ofMillis(12_300));
+
+        ResponseEntity<ErrorResponse> response = handler.handleSmtpUnavailable(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("13", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void shouldHandlePermanentEmailDeliveryWithBadGateway() {
+        PermanentEmailDeliveryException ex = new PermanentEmailDeliveryException("550 No such user", 550, null);
+
+        ResponseEntity<ErrorResponse> response = handler.handlePermanentEmailDelivery(ex);
+
+        assertEquals(HttpStatus.BAD_GATEWAY, response.getStatusCode());
+        assertEquals("550 No such user", response.getBody().getMessage());
+    }
+
+    @Test
+    void shouldHandleIdempotencyConflictWithConflict() {
+        IdempotencyConflictException ex = new IdempotencyConflictException("Em andamento");
+
+        ResponseEntity<ErrorResponse> response = handler.handleIdempotencyConflict(ex);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void shouldHandleIdempotencyKeyReuseWithUnprocessableEntity() {
+        IdempotencyKeyReuseException ex = new IdempotencyKeyReuseException("Chave reutilizada");
+
+        ResponseEntity<ErrorResponse> response = handler.handleIdempotencyKeyReuse(ex);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals("Chave reutilizada", response.getBody().getMessage());
+    }
+
+    @Test
+    void shouldHandleNotificationNotFoundWithNotFound() {
+        NotificationNotFoundException ex = new NotificationNotFoundException("Notificação não encontrada");
+
+        ResponseEntity<ErrorResponse> response = handler.handleNotificationNotFound(ex);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
     @Test
     void shouldHandleSQLIntegrityConstraintViolationWithDuplicateEntry() {
         String msg = "Some preamble Duplicate entry 'test@email.com' for key 'users.email' some suffix";
@@ -88,6 +167,23 @@ class GlobalHandlerExceptionTest {
         assertEquals("must not be null", errors.get(0).get("message"));
     }
 
+    @Test
+    void shouldReuseErrorPayloadForSameFieldAndMessage() {
+        MethodArgumentNotValidException ex = mock(MethodArgumentNotValidException.class);
+        when(ex.getBindingResult()).thenReturn(bindingResult);
+        when(bindingResult.getFieldErrors()).thenReturn(List.of(
+                new FieldError("object", "to", "O destinatário do email é obrigatório"),
+                new FieldError("object", "subject", "O assunto do email é obrigatório")));
+
+        List<HashMap<String, String>> first = (List<HashMap<String, String>>) handler.handleValidation(ex).getBody().get("errors");
+        List<HashMap<String, String>> second = (List<HashMap<String, String>>) handler.handleValidation(ex).getBody().get("errors");
+
+        assertEquals(2, second.size());
+        assertSame(first.get(0), second.get(0));
+        assertEquals("subject", second.get(1).get("field"));
+        assertEquals("O assunto do email é obrigatório", second.get(1).get("message"));
+    }
+
     @Test
     void shouldHandleInvalidEnumValueException() {
         InvalidFormatException invalidFormatEx = mock(InvalidFormatException.class);
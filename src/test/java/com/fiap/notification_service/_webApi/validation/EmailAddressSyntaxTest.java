@@ -0,0 +1,72 @@
+package com.fiap.notification_service._webApi.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailAddressSyntaxTest {
+
+    @Test
+    @DisplayName("Deve aceitar endereços válidos pela RFC 5321")
+    void shouldAcceptValidAddresses() {
+        // Arrange
+        List<String> addresses = List.of(
+            "cliente@teste.com",
+            "nome.sobrenome+tag@sub.dominio.com.br",
+            "o'brien@example.org",
+            "x@a-b.io",
+            "!#$%&'*+-/=?^_`{|}~@example.com",
+            "\"com espaco\"@example.com",
+            "\"a\\\"b\"@example.com",
+            "user@[192.168.0.1]",
+            "user@[IPv6:2001:db8::1]",
+            "user@xn--bcher-kva.example",
+            "a".repeat(64) + "@example.com");
+
+        // Act & Assert
+        for (String address : addresses) {
+            assertTrue(EmailAddressSyntax.isValid(address), address);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar endereços fora da sintaxe")
+    void shouldRejectInvalidAddresses() {
+        // Arrange
+        List<String> addresses = List.of(
+            "",
+            "cliente",
+            "cliente@",
+            "@teste.com",
+            "cliente@@teste.com",
+            "cli ente@teste.com",
+            ".cliente@teste.com",
+            "cliente.@teste.com",
+            "cli..ente@teste.com",
+            "cliente@localhost",
+            "cliente@teste..com",
+            "cliente@teste.com.",
+            "cliente@-teste.com",
+            "cliente@teste-.com",
+            "cliente@teste_x.com",
+            "cliente@1.2.3.4",
+            "cliente@[256.0.0.1]",
+            "cliente@[1.2.3]",
+            "cliente@[IPv6:zz::1]",
+            "\"aberto@teste.com",
+            "\"a\"b@teste.com",
+            "clientê@teste.com",
+            "cliente@bücher.example",
+            "a".repeat(65) + "@example.com",
+            "cliente@" + "a".repeat(64) + ".com",
+            "a@" + ("b".repeat(60) + ".").repeat(4) + "c".repeat(10) + ".com");
+
+        // Act & Assert
+        for (String address : addresses) {
+            assertFalse(EmailAddressSyntax.isValid(address), address);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.fiap.notification_service._webApi.validation;
+
+import com.fiap.notification_service._webApi.dto.AttachmentReferenceDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailBatchRequestDTO;
+import com.fiap.notification_service._webApi.dto.SendEmailRequestDTO;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationRequestValidatorTest {
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    private final SmartValidator beanValidation = new SpringValidatorAdapter(validatorFactory.getValidator());
+
+    private final NotificationRequestValidator validator = new NotificationRequestValidator(beanValidation);
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    private static List<SendEmailRequestDTO> requests() {
+        List<AttachmentReferenceDTO> tooManyAttachments = Collections.nCopies(11,
+            new AttachmentReferenceDTO("file:/tmp/a.pdf", null, null));
+        return List.of(
+            new SendEmailRequestDTO("cliente@teste.com", "Assunto", "Corpo"),
+            new SendEmailRequestDTO("cliente@teste.com", "Assunto", null, "order-status", Map.of("id", "1")),
+            new SendEmailRequestDTO(null, null, null),
+            new SendEmailRequestDTO(" ", "\t", " "),
+            new SendEmailRequestDTO("cliente@", "Assunto", "Corpo"),
+            new SendEmailRequestDTO("cliente@teste.com", "Assunto", "Corpo", null, null, tooManyAttachments),
+            new SendEmailRequestDTO("cliente@teste.com", "Assunto", "Corpo", null, null,
+                Arrays.asList(new AttachmentReferenceDTO(" ", null, null), null, new AttachmentReferenceDTO(null, "a", null))),
+            new SendEmailRequestDTO("cliente@teste.com", "Assunto", "Corpo", null, null, null,
+                Instant.parse("2030-01-01T00:00:00Z"), Duration.ofMinutes(5)),
+            new SendEmailRequestDTO("cliente@teste.com", "Assunto", "Corpo", null, null, null, null, Duration.ofMinutes(-5)),
+            new SendEmailRequestDTO("cliente@teste.com", "Assunto", "Corpo", null, null, null, null, null,
+                NotificationPriority.HIGH, "t".repeat(64)),
+            new SendEmailRequestDTO("cliente@teste.com", "Assunto", "Corpo", null, null, null, null, null,
+                NotificationPriority.BULK, "t".repeat(65)));
+    }
+
+    // field | code | mensagem | valor rejeitado, sem depender da ordem (a do Hibernate não é garantida)
+    private static Set<String> errorsOf(SmartValidator validator, Object target) {
+        BindingResult result = new BeanPropertyBindingResult(target, "request");
+        validator.validate(target, result);
+        return result.getFieldErrors().stream()
+            .map(NotificationRequestValidatorTest::describe)
+            .collect(Collectors.toSet());
+    }
+
+    private static String describe(FieldError error) {
+        return error.getField() + "|" + error.getCode() + "|" + error.getDefaultMessage() + "|" + error.getRejectedValue()
+            + "|" + Arrays.toString(error.getCodes());
+    }
+
+    @Test
+    @DisplayName("Deve produzir os mesmos erros da Bean Validation para cada requisição")
+    void shouldMatchBeanValidationForRequests() {
+        for (SendEmailRequestDTO request : requests()) {
+            // Act
+            Set<String> expected = errorsOf(beanValidation, request);
+            Set<String> actual = errorsOf(validator, request);
+
+            // Assert
+            assertEquals(expected, actual, request.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve produzir os mesmos erros da Bean Validation para lotes")
+    void shouldMatchBeanValidationForBatches() {
+        // Arrange
+        List<SendEmailRequestDTO> mixed = new ArrayList<>(requests());
+        mixed.add(null);
+        List<SendEmailBatchRequestDTO> batches = List.of(
+            new SendEmailBatchRequestDTO(null),
+            new SendEmailBatchRequestDTO(List.of()),
+            new SendEmailBatchRequestDTO(mixed),
+            new SendEmailBatchRequestDTO(Collections.nCopies(1001, new SendEmailRequestDTO("cliente@teste.com", "A", "B"))));
+
+        for (SendEmailBatchRequestDTO batch : batches) {
+            // Act
+            Set<String> expected = errorsOf(beanValidation, batch);
+            Set<String> actual = errorsOf(validator, batch);
+
+            // Assert
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve delegar os demais tipos para a Bean Validation")
+    void shouldDelegateOtherTypes() {
+        // Arrange
+        AttachmentReferenceDTO attachment = new AttachmentReferenceDTO(null, null, null);
+
+        // Act
+        Set<String> errors = errorsOf(validator, attachment);
+
+        // Assert
+        assertTrue(validator.supports(AttachmentReferenceDTO.class));
+        assertEquals(errorsOf(beanValidation, attachment), errors);
+        assertEquals(1, errors.size());
+    }
+}
@@ -0,0 +1,40 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DispatchEmailUseCaseTest {
+
+    @Mock
+    private EmailDispatchGateway emailDispatchGateway;
+
+    @InjectMocks
+    private DispatchEmailUseCase dispatchEmailUseCase;
+
+    @Test
+    @DisplayName("Deve enfileirar o email e retornar o id da notificação")
+    void shouldDispatchAndReturnNotificationId() {
+        // Arrange
+        UUID notificationId = UUID.randomUUID();
+        when(emailDispatchGateway.dispatch("usuario@teste.com", "Assunto", "Corpo")).thenReturn(notificationId);
+
+        // Act
+        UUID result = dispatchEmailUseCase.execute("usuario@teste.com", "Assunto", "Corpo");
+
+        // Assert
+        assertEquals(notificationId, result);
+        verify(emailDispatchGateway).dispatch("usuario@teste.com", "Assunto", "Corpo");
+    }
+}
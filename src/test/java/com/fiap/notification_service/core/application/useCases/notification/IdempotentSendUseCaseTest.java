@@ -0,0 +1,114 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import com.fiap.notification_service.core.domain.notification.IdempotentResult;
+import com.fiap.notification_service.core.exceptions.IdempotencyKeyReuseException;
+import com.fiap.notification_service.core.gateways.notification.idempotency.IdempotencyStore;
+import com.fiap.notification_service.core.gateways.notification.idempotency.InMemoryIdempotencyStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotentSendUseCaseTest {
+
+    private final InMemoryIdempotencyStore store =
+        new InMemoryIdempotencyStore(64, Duration.ofHours(1), Duration.ofMillis(100));
+
+    private final IdempotentSendUseCase useCase = new IdempotentSendUseCase(store);
+
+    private final AtomicInteger sends = new AtomicInteger();
+
+    private final UUID id = UUID.randomUUID();
+
+    private final Supplier<UUID> send = () -> {
+        sends.incrementAndGet();
+        return id;
+    };
+
+    @Test
+    @DisplayName("Deve enviar uma única vez para a mesma Idempotency-Key")
+    void shouldSendOnlyOnce() {
+        // Act
+        IdempotentResult first = useCase.execute("send-email", "chave-1", "cliente@teste.com", "Assunto", "Corpo", send);
+        IdempotentResult second = useCase.execute("send-email", "chave-1", "cliente@teste.com", "Assunto", "Corpo", send);
+
+        // Assert
+        assertEquals(1, sends.get());
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(id, second.notificationId());
+    }
+
+    @Test
+    @DisplayName("Deve isolar a mesma chave em escopos diferentes")
+    void shouldIsolateScopes() {
+        // Act
+        useCase.execute("send-email", "chave-1", "cliente@teste.com", "Assunto", "Corpo", send);
+        useCase.execute("send-email-async", "chave-1", "cliente@teste.com", "Assunto", "Corpo", send);
+
+        // Assert
+        assertEquals(2, sends.get());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a chave reutilizada para outro destinatário")
+    void shouldRejectReuseWithDifferentPayload() {
+        // Arrange
+        useCase.execute("send-email", "chave-1", "cliente@teste.com", "Assunto", "Corpo", send);
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReuseException.class,
+            () -> useCase.execute("send-email", "chave-1", "outro@teste.com", "Assunto", "Corpo", send));
+        assertEquals(1, sends.get());
+    }
+
+    @Test
+    @DisplayName("Deve permitir nova tentativa quando o envio falhar")
+    void shouldReleaseKeyOnFailure() {
+        // Arrange
+        Supplier<UUID> failing = () -> {
+            throw new IllegalStateException("SMTP fora do ar");
+        };
+        assertThrows(IllegalStateException.class,
+            () -> useCase.execute("send-email", "chave-1", "cliente@teste.com", "Assunto", "Corpo", failing));
+
+        // Act
+        IdempotentResult result = useCase.execute("send-email", "chave-1", "cliente@teste.com", "Assunto", "Corpo", send);
+
+        // Assert
+        assertFalse(result.replayed());
+        assertEquals(1, sends.get());
+    }
+
+    @Test
+    @DisplayName("Não deve liberar a chave quando a gravação do resultado falhar depois do envio")
+    void shouldNotReleaseKeyWhenCompleteFails() {
+        // Arrange
+        IdempotencyStore failingStore = spy(store);
+        doThrow(new IllegalStateException("Índice indisponível")).when(failingStore).complete(any(), any());
+        IdempotentSendUseCase failingUseCase = new IdempotentSendUseCase(failingStore);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+            () -> failingUseCase.execute("send-email", "chave-1", "cliente@teste.com", "Assunto", "Corpo", send));
+        assertEquals(1, sends.get());
+        verify(failingStore, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar Idempotency-Key vazia ou longa demais")
+    void shouldRejectInvalidKey() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> useCase.execute("send-email", " ", "cliente@teste.com", "Assunto", "Corpo", send));
+        assertThrows(IllegalArgumentException.class,
+            () -> useCase.execute("send-email", "x".repeat(256), "cliente@teste.com", "Assunto", "Corpo", send));
+    }
+}
@@ -0,0 +1,45 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListDeadLettersUseCaseTest {
+
+    @Mock
+    private DeadLetterStore deadLetterStore;
+
+    @InjectMocks
+    private ListDeadLettersUseCase useCase;
+
+    @Test
+    @DisplayName("Deve consultar a página solicitada")
+    void shouldListRequestedPage() {
+        // Arrange
+        when(deadLetterStore.list(2, 20)).thenReturn(List.of());
+
+        // Act
+        useCase.execute(2, 20);
+
+        // Assert
+        verify(deadLetterStore).list(2, 20);
+    }
+
+    @Test
+    @DisplayName("Deve recusar paginação inválida")
+    void shouldRejectInvalidPagination() {
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(-1, 20));
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(0, 0));
+        verifyNoInteractions(deadLetterStore);
+    }
+}
@@ -0,0 +1,48 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import com.fiap.notification_service.core.gateways.notification.template.EmailTemplateGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RenderEmailBodyUseCaseTest {
+
+    @Mock
+    private EmailTemplateGateway emailTemplateGateway;
+
+    @InjectMocks
+    private RenderEmailBodyUseCase renderEmailBodyUseCase;
+
+    @Test
+    @DisplayName("Deve usar o corpo informado sem renderizar template")
+    void shouldUseInformedBody() {
+        assertEquals("<p>Corpo</p>", renderEmailBodyUseCase.execute("<p>Corpo</p>", "order-status", Map.of()));
+        verifyNoInteractions(emailTemplateGateway);
+    }
+
+    @Test
+    @DisplayName("Deve renderizar o template quando o corpo não for informado")
+    void shouldRenderTemplateWhenBodyIsMissing() {
+        Map<String, String> variables = Map.of("status", "PRONTO");
+        when(emailTemplateGateway.render("order-status", variables)).thenReturn("<p>PRONTO</p>");
+
+        assertEquals("<p>PRONTO</p>", renderEmailBodyUseCase.execute(null, "order-status", variables));
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando nem corpo nem template forem informados")
+    void shouldFailWithoutBodyAndTemplate() {
+        assertThrows(IllegalArgumentException.class, () -> renderEmailBodyUseCase.execute(" ", null, null));
+    }
+}
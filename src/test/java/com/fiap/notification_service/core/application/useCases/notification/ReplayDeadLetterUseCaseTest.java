@@ -0,0 +1,78 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+import com.fiap.notification_service.core.exceptions.NotificationNotFoundException;
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplayDeadLetterUseCaseTest {
+
+    @Mock
+    private DeadLetterStore deadLetterStore;
+
+    @Mock
+    private EmailDispatchGateway emailDispatchGateway;
+
+    @InjectMocks
+    private ReplayDeadLetterUseCase useCase;
+
+    private final DeadLetter deadLetter = new DeadLetter(
+        EmailNotification.create("cliente@teste.com", "Assunto", "Corpo"), 5, 451, "Try again later", Instant.now());
+
+    @Test
+    @DisplayName("Deve reenfileirar a notificação com o mesmo id")
+    void shouldRequeueWithSameId() {
+        // Arrange
+        UUID id = deadLetter.notification().id();
+        when(deadLetterStore.remove(id)).thenReturn(Optional.of(deadLetter));
+        when(emailDispatchGateway.dispatch(deadLetter.notification())).thenReturn(id);
+
+        // Act
+        UUID result = useCase.execute(id);
+
+        // Assert
+        assertEquals(id, result);
+        verify(deadLetterStore, never()).add(any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver para a dead-letter quando a fila recusar")
+    void shouldRestoreWhenQueueRejects() {
+        // Arrange
+        UUID id = deadLetter.notification().id();
+        when(deadLetterStore.remove(id)).thenReturn(Optional.of(deadLetter));
+        when(emailDispatchGateway.dispatch(deadLetter.notification())).thenThrow(new DispatchQueueFullException("Fila cheia"));
+
+        // Act & Assert
+        assertThrows(DispatchQueueFullException.class, () -> useCase.execute(id));
+        verify(deadLetterStore).add(deadLetter);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a notificação não estiver na dead-letter")
+    void shouldThrowWhenNotFound() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(deadLetterStore.remove(id)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(NotificationNotFoundException.class, () -> useCase.execute(id));
+        verifyNoInteractions(emailDispatchGateway);
+    }
+}
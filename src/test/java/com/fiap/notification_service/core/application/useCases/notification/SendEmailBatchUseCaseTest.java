@@ -0,0 +1,41 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SendEmailBatchUseCaseTest {
+
+    @Mock
+    private EmailNotificationGateway emailNotificationGateway;
+
+    @InjectMocks
+    private SendEmailBatchUseCase sendEmailBatchUseCase;
+
+    @Test
+    @DisplayName("Deve repassar o lote ao gateway e devolver o resultado de cada item")
+    void shouldDelegateBatchToGateway() {
+        // Arrange
+        EmailNotification notification = EmailNotification.create("usuario@teste.com", "Assunto", "Corpo");
+        List<EmailDeliveryResult> expected = List.of(EmailDeliveryResult.failed(notification, "Erro"));
+        when(emailNotificationGateway.sendEmails(List.of(notification))).thenReturn(expected);
+
+        // Act
+        List<EmailDeliveryResult> results = sendEmailBatchUseCase.execute(List.of(notification));
+
+        // Assert
+        assertEquals(expected, results);
+    }
+}
@@ -0,0 +1,42 @@
+package com.fiap.notification_service.core.application.useCases.notification;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SendEmailFanOutUseCaseTest {
+
+    @Mock
+    private EmailNotificationGateway emailNotificationGateway;
+
+    @InjectMocks
+    private SendEmailFanOutUseCase sendEmailFanOutUseCase;
+
+    @Test
+    @DisplayName("Deve repassar os destinatários e o modo do fan-out ao gateway")
+    void shouldDelegateFanOutToGateway() {
+        // Arrange
+        EmailNotification notification = EmailNotification.create("usuario@teste.com", "Assunto", "Corpo");
+        List<EmailDeliveryResult> expected = List.of(EmailDeliveryResult.failed(notification, "Erro"));
+        when(emailNotificationGateway.sendFanOut(List.of(notification), FanOutMode.BCC)).thenReturn(expected);
+
+        // Act
+        List<EmailDeliveryResult> results = sendEmailFanOutUseCase.execute(List.of(notification), FanOutMode.BCC);
+
+        // Assert
+        assertEquals(expected, results);
+    }
+}
@@ -12,6 +12,27 @@ import org.springframework.mail.javamail.JavaMailSender;
 import jakarta.mail.internet.MimeMessage; // Se estiver usando Spring Boot 3+ (Jakarta EE)
 // import javax.mail.internet.MimeMessage; // Se estiver usando Spring Boot 2 (Java EE)
 
+import com.fiap.notification_service.core.gateways.notification.EmailDispatchGateway;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.gateways.notification.priority.LaneEmailNotificationGateways;
+import com.fiap.notification_service.core.gateways.notification.priority.PriorityLaneScheduler;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimit;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimitedEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.SendRateLimiter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -50,4 +71,115 @@ class NotificationControllerTest {
         // Assert
         verify(javaMailSender, times(1)).send(any(MimeMessage.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve enfileirar o email pelo gateway de envio assíncrono")
+    void shouldDispatchEmailThroughDispatchGateway() {
+        // Arrange
+        EmailNotificationGateway emailNotificationGateway = mock(EmailNotificationGateway.class);
+        EmailDispatchGateway emailDispatchGateway = mock(EmailDispatchGateway.class);
+        UUID notificationId = UUID.randomUUID();
+        when(emailDispatchGateway.dispatch("usuario@destino.com", "Assunto", "Corpo")).thenReturn(notificationId);
+        NotificationController controller = NotificationController.build(NotificationGateways.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .emailDispatchGateway(emailDispatchGateway)
+            .build());
+
+        // Act
+        UUID result = controller.dispatchEmail("usuario@destino.com", "Assunto", "Corpo");
+
+        // Assert
+        assertEquals(notificationId, result);
+        verifyNoInteractions(emailNotificationGateway);
+    }
+
+    @Test
+    @DisplayName("Deve falhar o envio assíncrono quando não houver fila configurada")
+    void shouldFailDispatchWithoutDispatchGateway() {
+        assertThrows(IllegalStateException.class,
+            () -> notificationController.dispatchEmail("usuario@destino.com", "Assunto", "Corpo"));
+    }
+
+    @Test
+    @DisplayName("Deve enviar o lote pelo gateway de email")
+    void shouldSendBatchThroughEmailGateway() {
+        // Arrange
+        EmailNotificationGateway emailNotificationGateway = mock(EmailNotificationGateway.class);
+        List<EmailNotification> notifications = List.of(EmailNotification.create("usuario@destino.com", "Assunto", "Corpo"));
+        List<EmailDeliveryResult> expected = List.of(EmailDeliveryResult.sent(notifications.get(0)));
+        when(emailNotificationGateway.sendEmails(notifications)).thenReturn(expected);
+        NotificationController controller = NotificationController.build(NotificationGateways.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .build());
+
+        // Act
+        List<EmailDeliveryResult> results = controller.sendEmails(notifications);
+
+        // Assert
+        assertEquals(expected, results);
+    }
+
+    @Test
+    @DisplayName("Deve enviar o lote em pedaços pela fila de prioridade")
+    void shouldSendBatchInChunksThroughPriorityLanes() {
+        // Arrange
+        EmailNotificationGateway emailNotificationGateway = mock(EmailNotificationGateway.class);
+        when(emailNotificationGateway.sendEmails(any())).thenAnswer(invocation -> {
+            List<EmailNotification> chunk = invocation.getArgument(0);
+            return chunk.stream().map(EmailDeliveryResult::sent).toList();
+        });
+        PriorityLaneScheduler scheduler = new PriorityLaneScheduler(1, 2, Map.of(NotificationPriority.HIGH, 8,
+            NotificationPriority.NORMAL, 4, NotificationPriority.BULK, 1), Duration.ofSeconds(5));
+        NotificationController controller = NotificationController.build(NotificationGateways.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .laneEmailNotificationGateways(new LaneEmailNotificationGateways(emailNotificationGateway, scheduler,
+                UnaryOperator.identity()))
+            .build());
+        List<EmailNotification> notifications = List.of(
+            EmailNotification.create("a@destino.com", "Assunto", "Corpo"),
+            EmailNotification.create("b@destino.com", "Assunto", "Corpo"),
+            EmailNotification.create("c@destino.com", "Assunto", "Corpo"));
+
+        // Act
+        List<EmailDeliveryResult> results = controller.sendEmails(notifications,
+            new SendLane(NotificationPriority.BULK, "loja-a"));
+
+        // Assert
+        assertEquals(3, results.size());
+        verify(emailNotificationGateway).sendEmails(notifications.subList(0, 2));
+        verify(emailNotificationGateway).sendEmails(notifications.subList(2, 3));
+        assertEquals(0, scheduler.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Deve pedir a vez no SMTP só depois de ter a ficha do limite de taxa")
+    void shouldTakeRateLimitTokenBeforePriorityAdmission() throws InterruptedException {
+        // Arrange
+        EmailNotificationGateway smtpGateway = mock(EmailNotificationGateway.class);
+        RateLimit unlimited = new RateLimit(1000, Duration.ofMillis(1), 1000);
+        SendRateLimiter rateLimiter = new SendRateLimiter(unlimited, new RateLimit(1, Duration.ofMillis(500), 1), Map.of(), 10);
+        rateLimiter.reserve("no-reply@fiap.com.br", "a@lento.com");
+        // Se o envio sem ficha segurasse a única vaga, o HIGH desistiria da fila em 100ms
+        PriorityLaneScheduler scheduler = new PriorityLaneScheduler(1, 50, Map.of(NotificationPriority.HIGH, 8,
+            NotificationPriority.NORMAL, 4, NotificationPriority.BULK, 1), Duration.ofMillis(100));
+        UnaryOperator<EmailNotificationGateway> rateLimit = gateway -> new RateLimitedEmailNotificationGateway(gateway,
+            rateLimiter, "no-reply@fiap.com.br", Duration.ofSeconds(2));
+        NotificationController controller = NotificationController.build(NotificationGateways.builder()
+            .emailNotificationGateway(rateLimit.apply(smtpGateway))
+            .laneEmailNotificationGateways(new LaneEmailNotificationGateways(smtpGateway, scheduler, rateLimit))
+            .build());
+        Thread throttled = new Thread(() -> controller.sendEmail("b@lento.com", "Assunto", "Corpo"));
+        throttled.start();
+        Thread.sleep(50);
+
+        // Act
+        controller.sendEmail("c@rapido.com", "Assunto", "Corpo", new SendLane(NotificationPriority.HIGH, null));
+
+        // Assert
+        verify(smtpGateway).sendEmail("c@rapido.com", "Assunto", "Corpo");
+        verify(smtpGateway, never()).sendEmail("b@lento.com", "Assunto", "Corpo");
+        throttled.join(2000);
+        verify(smtpGateway).sendEmail("b@lento.com", "Assunto", "Corpo");
+        assertEquals(0, scheduler.getInFlight());
+    }
+}
@@ -0,0 +1,107 @@
+package com.fiap.notification_service.core.gateways.notification;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedElasticEmailNotificationGatewayTest {
+
+    @Mock
+    private EmailNotificationGateway emailNotificationGateway;
+
+    private BoundedElasticEmailNotificationGateway gateway;
+
+    @AfterEach
+    void tearDown() {
+        if (gateway != null) {
+            gateway.close();
+        }
+    }
+
+    private static List<EmailNotification> notifications(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> EmailNotification.create(i + "@teste.com", "Assunto", "Corpo"))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Deve enviar fora da thread de quem assina, no scheduler limitado")
+    void shouldSendOnBoundedScheduler() {
+        // Arrange
+        AtomicReference<String> thread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return null;
+        }).when(emailNotificationGateway).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+        gateway = new BoundedElasticEmailNotificationGateway(emailNotificationGateway, 2, 10, 10, 1);
+
+        // Act
+        gateway.sendEmail("cliente@teste.com", "Assunto", "Corpo").block();
+
+        // Assert
+        assertTrue(thread.get().startsWith("smtp-offload"));
+    }
+
+    @Test
+    @DisplayName("Deve agrupar o fluxo e devolver os resultados na ordem de entrada")
+    void shouldGroupStreamAndKeepOrder() {
+        // Arrange
+        List<Integer> groupSizes = new ArrayList<>();
+        when(emailNotificationGateway.sendEmails(anyList())).thenAnswer(invocation -> {
+            List<EmailNotification> group = invocation.getArgument(0);
+            synchronized (groupSizes) {
+                groupSizes.add(group.size());
+            }
+            return group.stream().map(EmailDeliveryResult::sent).toList();
+        });
+        gateway = new BoundedElasticEmailNotificationGateway(emailNotificationGateway,
+            Schedulers.newBoundedElastic(4, 100, "smtp-offload-test"), 3, 2);
+        List<EmailNotification> notifications = notifications(7);
+
+        // Act
+        List<EmailDeliveryResult> results = gateway.sendEmails(Flux.fromIterable(notifications)).collectList().block();
+
+        // Assert
+        assertEquals(notifications.stream().map(EmailNotification::id).toList(),
+            results.stream().map(EmailDeliveryResult::notificationId).toList());
+        assertEquals(List.of(1, 3, 3), groupSizes.stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Deve transformar a falha de um grupo em falha de cada item sem interromper o fluxo")
+    void shouldTurnGroupFailureIntoItemFailures() {
+        // Arrange
+        when(emailNotificationGateway.sendEmails(anyList()))
+            .thenThrow(new TransientEmailDeliveryException("421 Service not available", 421, null))
+            .thenAnswer(invocation -> {
+                List<EmailNotification> group = invocation.getArgument(0);
+                return group.stream().map(EmailDeliveryResult::sent).toList();
+            });
+        gateway = new BoundedElasticEmailNotificationGateway(emailNotificationGateway, 1, 10, 2, 1);
+
+        // Act
+        List<EmailDeliveryResult> results = gateway.sendEmails(Flux.fromIterable(notifications(4))).collectList().block();
+
+        // Assert
+        assertEquals(List.of(false, false, true, true), results.stream().map(EmailDeliveryResult::sent).toList());
+        assertEquals("421 Service not available", results.get(0).error());
+    }
+}
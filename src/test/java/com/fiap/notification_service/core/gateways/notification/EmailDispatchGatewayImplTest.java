@@ -0,0 +1,610 @@
+package com.fiap.notification_service.core.gateways.notification;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import com.fiap.notification_service.core.domain.notification.NotificationStatus;
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+import com.fiap.notification_service.core.domain.notification.ScheduledEmail;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.deadletter.DeadLetterStore;
+import com.fiap.notification_service.core.gateways.notification.deadletter.InMemoryDeadLetterStore;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics;
+import com.fiap.notification_service.core.gateways.notification.outbox.EmailOutbox;
+import com.fiap.notification_service.core.gateways.notification.priority.PriorityLaneScheduler;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimit;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.SendRateLimiter;
+import com.fiap.notification_service.core.gateways.notification.retry.HashedWheelTimer;
+import com.fiap.notification_service.core.gateways.notification.retry.RetryPolicy;
+import com.fiap.notification_service.core.gateways.notification.scheduling.DeliveryScheduler;
+import com.fiap.notification_service.core.gateways.notification.status.NotificationStatusStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDispatchGatewayImplTest {
+
+    @Mock
+    private EmailNotificationGateway emailNotificationGateway;
+
+    @Mock
+    private EmailOutbox outbox;
+
+    private EmailDispatchGatewayImpl dispatchGateway;
+
+    private DeliveryScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatchGateway != null) {
+            dispatchGateway.close();
+        }
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve enviar em segundo plano os emails enfileirados")
+    void shouldSendQueuedEmailsInBackground() {
+        // Arrange
+        dispatchGateway = new EmailDispatchGatewayImpl(emailNotificationGateway, 2, 10);
+
+        // Act
+        UUID notificationId = dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+
+        // Assert
+        assertNotNull(notificationId);
+        verify(emailNotificationGateway, timeout(2000)).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+    }
+
+    @Test
+    @DisplayName("Deve enviar com workers em threads virtuais")
+    void shouldSendOnVirtualThreadWorkers() {
+        // Arrange
+        AtomicBoolean virtual = new AtomicBoolean();
+        doAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return null;
+        }).when(emailNotificationGateway).sendEmail(any(), any(), any());
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(4)
+            .queueCapacity(10)
+            .threadFactory(EmailDispatchGatewayImpl.virtualThreadFactory())
+            .build();
+
+        // Act
+        dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+
+        // Assert
+        verify(emailNotificationGateway, timeout(2000)).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+        assertTrue(virtual.get());
+    }
+
+    @Test
+    @DisplayName("Deve recusar novos emails quando a fila estiver cheia")
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(emailNotificationGateway).sendEmail(any(), any(), any());
+        dispatchGateway = new EmailDispatchGatewayImpl(emailNotificationGateway, 1, 1);
+
+        dispatchGateway.dispatch("a@teste.com", "Assunto", "Corpo");
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        dispatchGateway.dispatch("b@teste.com", "Assunto", "Corpo");
+
+        // Act & Assert
+        assertThrows(DispatchQueueFullException.class,
+            () -> dispatchGateway.dispatch("c@teste.com", "Assunto", "Corpo"));
+        assertEquals(1, dispatchGateway.getQueueDepth());
+        assertEquals(1, dispatchGateway.getInFlight());
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Deve continuar consumindo a fila mesmo quando um envio falha")
+    void shouldKeepDrainingAfterFailure() {
+        // Arrange
+        doThrow(new IllegalArgumentException("Erro ao enviar e-mail: falha"))
+            .doNothing()
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        dispatchGateway = new EmailDispatchGatewayImpl(emailNotificationGateway, 1, 10);
+
+        // Act
+        dispatchGateway.dispatch("a@teste.com", "Assunto", "Corpo");
+        dispatchGateway.dispatch("b@teste.com", "Assunto", "Corpo");
+
+        // Assert
+        verify(emailNotificationGateway, timeout(2000)).sendEmail("b@teste.com", "Assunto", "Corpo");
+    }
+
+    @Test
+    @DisplayName("Deve gravar no outbox antes de aceitar e marcar como concluído após o envio")
+    void shouldWriteToOutboxAndMarkDoneAfterSend() {
+        // Arrange
+        when(outbox.recoverPending()).thenReturn(List.of());
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .outbox(outbox)
+            .build();
+
+        // Act
+        UUID notificationId = dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+
+        // Assert
+        verify(outbox).append(argThat(notification -> notification.id().equals(notificationId)));
+        verify(outbox, timeout(2000)).markDone(notificationId);
+    }
+
+    @Test
+    @DisplayName("Deve avisar o callback após o envio sem gravar no outbox")
+    void shouldNotifyCallbackWithoutOutbox() {
+        // Arrange
+        when(outbox.recoverPending()).thenReturn(List.of());
+        DispatchCallback callback = mock(DispatchCallback.class);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .outbox(outbox)
+            .build();
+        EmailNotification notification = EmailNotification.create("cliente@teste.com", "Assunto", "Corpo");
+
+        // Act
+        dispatchGateway.dispatch(notification, callback);
+
+        // Assert
+        verify(callback, timeout(2000)).onSent(notification);
+        verify(callback, never()).onFailed(any(), any());
+        verify(outbox, never()).append(any());
+        verify(outbox, never()).markDone(any());
+    }
+
+    @Test
+    @DisplayName("Deve avisar o callback quando a notificação for para a dead-letter")
+    void shouldNotifyCallbackOnDeadLetter() {
+        // Arrange
+        doThrow(new PermanentEmailDeliveryException("Mailbox unavailable", 550, null))
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        DispatchCallback callback = mock(DispatchCallback.class);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .deadLetterStore(new InMemoryDeadLetterStore(10))
+            .build();
+        EmailNotification notification = EmailNotification.create("cliente@teste.com", "Assunto", "Corpo");
+
+        // Act
+        dispatchGateway.dispatch(notification, callback);
+
+        // Assert
+        verify(callback, timeout(2000)).onFailed(notification, "Mailbox unavailable");
+        verify(callback, never()).onSent(any());
+    }
+
+    @Test
+    @DisplayName("Deve manter no outbox a notificação cujo envio falhou no SMTP")
+    void shouldKeepNotificationPendingWhenSmtpFails() {
+        // Arrange
+        when(outbox.recoverPending()).thenReturn(List.of());
+        doThrow(new org.springframework.mail.MailSendException("Connection refused"))
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .outbox(outbox)
+            .build();
+
+        // Act
+        dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+
+        // Assert
+        verify(emailNotificationGateway, timeout(2000)).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+        dispatchGateway.close();
+        verify(outbox, never()).markDone(any());
+    }
+
+    @Test
+    @DisplayName("Deve reenviar na inicialização as notificações pendentes do outbox")
+    void shouldReplayPendingNotificationsOnStartup() {
+        // Arrange
+        EmailNotification pending = EmailNotification.create("pendente@teste.com", "Assunto", "Corpo");
+        when(outbox.recoverPending()).thenReturn(List.of(pending));
+
+        // Act
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .outbox(outbox)
+            .build();
+
+        // Assert
+        verify(emailNotificationGateway, timeout(2000)).sendEmail("pendente@teste.com", "Assunto", "Corpo");
+        verify(outbox, timeout(2000)).markDone(pending.id());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o agendamento no outbox e enviar só depois do horário")
+    void shouldPersistAndSendScheduledNotification() {
+        // Arrange
+        scheduler = new DeliveryScheduler(Duration.ofMillis(10), 64, 4, 100, Duration.ofDays(1));
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .outbox(outbox)
+            .deliveryScheduler(scheduler)
+            .build();
+        EmailNotification notification = EmailNotification.create("agendado@teste.com", "Lembrete", "Corpo");
+        Instant deliverAt = Instant.now().plusMillis(300);
+
+        // Act
+        dispatchGateway.schedule(notification, deliverAt);
+
+        // Assert
+        verify(outbox).append(notification, deliverAt);
+        verify(emailNotificationGateway, after(100).never()).sendEmail(any(), any(), any());
+        verify(emailNotificationGateway, timeout(2000)).sendEmail("agendado@teste.com", "Lembrete", "Corpo");
+        verify(outbox, timeout(2000)).markDone(notification.id());
+        assertFalse(Instant.now().isBefore(deliverAt));
+    }
+
+    @Test
+    @DisplayName("Deve cancelar um agendamento pendente e retomar os recuperados do outbox")
+    void shouldCancelScheduledAndRestoreFromOutbox() {
+        // Arrange
+        EmailNotification recovered = EmailNotification.create("recuperado@teste.com", "Lembrete", "Corpo");
+        when(outbox.recoverScheduled()).thenReturn(List.of(new ScheduledEmail(recovered, Instant.now().plusSeconds(3600))));
+        scheduler = new DeliveryScheduler(Duration.ofMillis(10), 64, 4, 100, Duration.ofDays(1));
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .outbox(outbox)
+            .deliveryScheduler(scheduler)
+            .build();
+
+        // Act
+        boolean cancelled = dispatchGateway.cancelScheduled(recovered.id());
+
+        // Assert
+        assertTrue(cancelled);
+        verify(outbox).markDone(recovered.id());
+        assertFalse(dispatchGateway.cancelScheduled(recovered.id()));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Deve retentar falhas temporárias com backoff até conseguir enviar")
+    void shouldRetryTransientFailuresUntilSent() {
+        // Arrange
+        doThrow(new TransientEmailDeliveryException("451 Try again later", 451, null))
+            .doNothing()
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        HashedWheelTimer timer = new HashedWheelTimer("test-retry-timer", Duration.ofMillis(10), 8);
+        DeadLetterStore deadLetterStore = new InMemoryDeadLetterStore(10);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .retryPolicy(new RetryPolicy(3, Duration.ofMillis(20), Duration.ofMillis(50), 2.0))
+            .retryTimer(timer)
+            .deadLetterStore(deadLetterStore)
+            .build();
+
+        try {
+            // Act
+            dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+
+            // Assert
+            verify(emailNotificationGateway, timeout(2000).times(2)).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+            assertEquals(0, deadLetterStore.count());
+        } finally {
+            timer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve registrar cada etapa do ciclo de vida, inclusive a retentativa")
+    void shouldRecordLifecycleStatuses() {
+        // Arrange
+        doThrow(new TransientEmailDeliveryException("451 Try again later", 451, null))
+            .doNothing()
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        NotificationStatusStore statusStore = mock(NotificationStatusStore.class);
+        HashedWheelTimer timer = new HashedWheelTimer("test-retry-timer", Duration.ofMillis(10), 8);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .retryPolicy(new RetryPolicy(3, Duration.ofMillis(20), Duration.ofMillis(50), 2.0))
+            .retryTimer(timer)
+            .statusStore(statusStore)
+            .build();
+        EmailNotification notification = EmailNotification.create("cliente@teste.com", "Assunto", "Corpo");
+
+        try {
+            // Act
+            dispatchGateway.dispatch(notification);
+
+            // Assert
+            verify(statusStore, timeout(2000)).record(notification, NotificationStatus.SENT, 2, null);
+            InOrder inOrder = inOrder(statusStore);
+            inOrder.verify(statusStore).record(notification, NotificationStatus.QUEUED);
+            inOrder.verify(statusStore).record(notification, NotificationStatus.SENDING, 1, null);
+            inOrder.verify(statusStore).record(notification, NotificationStatus.QUEUED, 1, "451 Try again later");
+            inOrder.verify(statusStore).record(notification, NotificationStatus.SENDING, 2, null);
+            inOrder.verify(statusStore).record(notification, NotificationStatus.SENT, 2, null);
+        } finally {
+            timer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve adiar sem gastar tentativas enquanto o servidor SMTP estiver indisponível")
+    void shouldDeferWithoutSpendingAttemptsWhileSmtpIsUnavailable() {
+        // Arrange
+        SmtpUnavailableException unavailable = new SmtpUnavailableException("Circuito aberto", Duration.ofMillis(20));
+        doThrow(unavailable).doThrow(unavailable).doThrow(unavailable)
+            .doNothing()
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        HashedWheelTimer timer = new HashedWheelTimer("test-retry-timer", Duration.ofMillis(10), 8);
+        DeadLetterStore deadLetterStore = new InMemoryDeadLetterStore(10);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .retryPolicy(new RetryPolicy(2, Duration.ofMillis(20), Duration.ofMillis(50), 2.0))
+            .retryTimer(timer)
+            .deadLetterStore(deadLetterStore)
+            .build();
+
+        try {
+            // Act
+            dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+
+            // Assert
+            verify(emailNotificationGateway, timeout(2000).times(4)).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+            assertEquals(0, deadLetterStore.count());
+        } finally {
+            timer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve devolver a ficha do limite de taxa ao adiar o envio recusado pelo circuito")
+    void shouldRefundRateLimitTokenWhenDeferringUnavailableSmtp() {
+        // Arrange
+        SmtpUnavailableException unavailable = new SmtpUnavailableException("Circuito aberto", Duration.ofMillis(20));
+        doThrow(unavailable).doThrow(unavailable).doThrow(unavailable)
+            .doNothing()
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        RateLimit oncePerDay = new RateLimit(1, Duration.ofDays(1), 1);
+        SendRateLimiter rateLimiter = new SendRateLimiter(oncePerDay, new RateLimit(1000, Duration.ofMillis(1), 1000),
+            Map.of(), 10);
+        HashedWheelTimer timer = new HashedWheelTimer("test-retry-timer", Duration.ofMillis(10), 8);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .retryPolicy(new RetryPolicy(1, Duration.ofMillis(20), Duration.ofMillis(50), 2.0))
+            .retryTimer(timer)
+            .sendRateLimiter(rateLimiter)
+            .senderAccount("no-reply@fiap.com.br")
+            .build();
+
+        try {
+            // Act
+            dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+
+            // Assert
+            verify(emailNotificationGateway, timeout(2000).times(4)).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+            assertThrows(SmtpUnavailableException.class,
+                () -> rateLimiter.reserve("no-reply@fiap.com.br", "outro@teste.com", Duration.ZERO));
+        } finally {
+            timer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve devolver a ficha do limite de taxa quando o envio desistir da fila de prioridade")
+    void shouldRefundRateLimitTokenWhenPriorityLaneTimesOut() throws InterruptedException {
+        // Arrange
+        RateLimit oncePerDay = new RateLimit(1, Duration.ofDays(1), 1);
+        SendRateLimiter rateLimiter = new SendRateLimiter(oncePerDay, new RateLimit(1000, Duration.ofMillis(1), 1000),
+            Map.of(), 10);
+        PriorityLaneScheduler priorityLaneScheduler = new PriorityLaneScheduler(1, 1, Map.of(NotificationPriority.HIGH, 8,
+            NotificationPriority.NORMAL, 4, NotificationPriority.BULK, 1), Duration.ofMillis(30));
+        priorityLaneScheduler.acquire(SendLane.DEFAULT, 1);
+        HashedWheelTimer timer = new HashedWheelTimer("test-retry-timer", Duration.ofMillis(10), 8);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .retryPolicy(new RetryPolicy(1, Duration.ofMillis(20), Duration.ofMillis(50), 2.0))
+            .retryTimer(timer)
+            .sendRateLimiter(rateLimiter)
+            .senderAccount("no-reply@fiap.com.br")
+            .priorityLaneScheduler(priorityLaneScheduler)
+            .build();
+
+        try {
+            // Act
+            dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+            verify(emailNotificationGateway, after(300).never()).sendEmail(any(), any(), any());
+            priorityLaneScheduler.release();
+
+            // Assert
+            // Sem a devolução, a nova reserva ficaria para o dia seguinte
+            verify(emailNotificationGateway, timeout(2000)).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+        } finally {
+            timer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve adiar pelo timer, sem segurar o worker, o envio que ainda não tem ficha no limite de taxa")
+    void shouldDeferInsteadOfWaitingForRateLimitToken() {
+        // Arrange
+        RateLimit unlimited = new RateLimit(1000, Duration.ofMillis(1), 1000);
+        SendRateLimiter rateLimiter = new SendRateLimiter(new RateLimit(1, Duration.ofMillis(300), 1), unlimited, Map.of(), 10);
+        HashedWheelTimer timer = new HashedWheelTimer("test-retry-timer", Duration.ofMillis(10), 8);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .retryPolicy(new RetryPolicy(1, Duration.ofMillis(20), Duration.ofMillis(50), 2.0))
+            .retryTimer(timer)
+            .sendRateLimiter(rateLimiter)
+            .senderAccount("no-reply@fiap.com.br")
+            .build();
+
+        try {
+            // Act
+            dispatchGateway.dispatch("a@teste.com", "Assunto", "Corpo");
+            dispatchGateway.dispatch("b@teste.com", "Assunto", "Corpo");
+            dispatchGateway.dispatch("c@teste.com", "Assunto", "Corpo");
+
+            // Assert
+            verify(emailNotificationGateway, timeout(1000)).sendEmail("a@teste.com", "Assunto", "Corpo");
+            verify(emailNotificationGateway, after(150).never()).sendEmail("c@teste.com", "Assunto", "Corpo");
+            assertEquals(0, dispatchGateway.getInFlight());
+            assertTrue(dispatchGateway.getPendingRetries() > 0);
+            verify(emailNotificationGateway, timeout(2000)).sendEmail("b@teste.com", "Assunto", "Corpo");
+            verify(emailNotificationGateway, timeout(2000)).sendEmail("c@teste.com", "Assunto", "Corpo");
+        } finally {
+            timer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve enviar para a dead-letter sem retentar quando a falha for permanente")
+    void shouldDeadLetterPermanentFailuresWithoutRetry() {
+        // Arrange
+        when(outbox.recoverPending()).thenReturn(List.of());
+        doThrow(new PermanentEmailDeliveryException("550 No such user", 550, null))
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        HashedWheelTimer timer = new HashedWheelTimer("test-retry-timer", Duration.ofMillis(10), 8);
+        DeadLetterStore deadLetterStore = new InMemoryDeadLetterStore(10);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .outbox(outbox)
+            .retryPolicy(new RetryPolicy(3, Duration.ofMillis(20), Duration.ofMillis(50), 2.0))
+            .retryTimer(timer)
+            .deadLetterStore(deadLetterStore)
+            .build();
+
+        try {
+            // Act
+            UUID notificationId = dispatchGateway.dispatch("inexistente@teste.com", "Assunto", "Corpo");
+
+            // Assert
+            verify(outbox, timeout(2000)).markDone(notificationId);
+            DeadLetter deadLetter = deadLetterStore.find(notificationId).orElseThrow();
+            assertEquals(1, deadLetter.attempts());
+            assertEquals(550, deadLetter.replyCode());
+            verify(emailNotificationGateway, times(1)).sendEmail(any(), any(), any());
+        } finally {
+            timer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve enviar para a dead-letter depois de esgotar as tentativas")
+    void shouldDeadLetterAfterExhaustingAttempts() {
+        // Arrange
+        doThrow(new TransientEmailDeliveryException("Connection refused", null, null))
+            .when(emailNotificationGateway).sendEmail(any(), any(), any());
+        HashedWheelTimer timer = new HashedWheelTimer("test-retry-timer", Duration.ofMillis(10), 8);
+        DeadLetterStore deadLetterStore = new InMemoryDeadLetterStore(10);
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .retryPolicy(new RetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(20), 2.0))
+            .retryTimer(timer)
+            .deadLetterStore(deadLetterStore)
+            .build();
+
+        try {
+            // Act
+            UUID notificationId = dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+
+            // Assert
+            verify(emailNotificationGateway, timeout(2000).times(3)).sendEmail(any(), any(), any());
+            DeadLetter deadLetter = await(() -> deadLetterStore.find(notificationId).orElse(null));
+            assertEquals(3, deadLetter.attempts());
+        } finally {
+            timer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve expor a profundidade da fila e medir a espera até o envio")
+    void shouldExposeQueueMetrics() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dispatchGateway = EmailDispatchGatewayImpl.builder()
+            .emailNotificationGateway(emailNotificationGateway)
+            .workerCount(1)
+            .queueCapacity(10)
+            .emailMetrics(new EmailMetrics(registry))
+            .build();
+        dispatchGateway.bindTo(registry);
+
+        // Act
+        dispatchGateway.dispatch("cliente@teste.com", "Assunto", "Corpo");
+
+        // Assert
+        verify(emailNotificationGateway, timeout(2000)).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+        assertEquals(1, registry.get("mail.send.stage").tag("stage", "queue_wait").timer().count());
+        assertEquals(0, registry.get("mail.dispatch.queue.depth").gauge().value());
+        assertEquals(10, registry.get("mail.dispatch.queue.remaining").gauge().value());
+    }
+
+    private static <T> T await(java.util.function.Supplier<T> supplier) {
+        long deadline = System.currentTimeMillis() + 2000;
+        T value;
+        while ((value = supplier.get()) == null && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertNotNull(value);
+        return value;
+    }
+}
@@ -1,16 +1,48 @@
 package com.fiap.notification_service.core.gateways.notification;
 
+import jakarta.mail.Address;
 import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.FanOutMode;
+import com.fiap.notification_service.core.exceptions.AttachmentTooLargeException;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics;
+import com.fiap.notification_service.core.gateways.notification.mime.EncodedMimeCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -72,6 +104,56 @@ class EmailNotificationGatewayImplTest {
         verify(mailSender, never()).send(mimeMessageMock);
     }
 
+    @Test
+    @DisplayName("Deve classificar como temporária a falha de conexão com o SMTP")
+    void shouldClassifySendFailureAsTransient() {
+        // Arrange
+        MimeMessage mimeMessageMock = mock(MimeMessage.class);
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessageMock);
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(mimeMessageMock);
+
+        // Act & Assert
+        TransientEmailDeliveryException exception = assertThrows(TransientEmailDeliveryException.class,
+            () -> emailNotificationGateway.sendEmail("cliente@teste.com", "Assunto", "Corpo"));
+        assertEquals("Erro ao enviar e-mail: Connection refused", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve medir as etapas do envio e contar o resultado pelo código SMTP")
+    void shouldRecordSendMetrics() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmailNotificationGatewayImpl gateway = new EmailNotificationGatewayImpl(mailSender, FROM_ADDRESS, 50, new EmailMetrics(registry));
+        MimeMessage mimeMessageMock = mock(MimeMessage.class);
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessageMock);
+        doNothing().doThrow(new MailSendException("Falha", new SMTPSendFailedException("DATA", 452, "452 Mailbox full", null, null, null, null)))
+            .when(mailSender).send(mimeMessageMock);
+
+        // Act
+        gateway.sendEmail("cliente@teste.com", "Assunto", "Corpo");
+        assertThrows(TransientEmailDeliveryException.class, () -> gateway.sendEmail("cliente@teste.com", "Assunto", "Corpo"));
+
+        // Assert
+        assertEquals(2, registry.get("mail.send.stage").tag("stage", "mime_build").timer().count());
+        assertEquals(2, registry.get("mail.send.stage").tag("stage", "smtp").timer().count());
+        assertEquals(1, registry.get("mail.send.results").tags("outcome", "sent").counter().count());
+        assertEquals(1, registry.get("mail.send.results").tags("outcome", "transient_failure", "reply_code", "452").counter().count());
+        assertEquals(0, registry.get("mail.send.inflight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve classificar como permanente a falha de autenticação no SMTP")
+    void shouldClassifyAuthenticationFailureAsPermanent() {
+        // Arrange
+        MimeMessage mimeMessageMock = mock(MimeMessage.class);
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessageMock);
+        doThrow(new MailAuthenticationException("535 Bad credentials")).when(mailSender).send(mimeMessageMock);
+
+        // Act & Assert
+        assertThrows(PermanentEmailDeliveryException.class,
+            () -> emailNotificationGateway.sendEmail("cliente@teste.com", "Assunto", "Corpo"));
+    }
+
     @Test
     @DisplayName("Deve formatar o conteúdo HTML corretamente com ID e Status")
     void shouldBuildHtmlContentCorrectly() {
@@ -87,4 +169,306 @@ class EmailNotificationGatewayImplTest {
         assertTrue(resultHtml.contains(orderId.toString()));
         assertTrue(resultHtml.contains(status));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve enviar o lote em grupos, uma chamada ao JavaMailSender por grupo")
+    void shouldSendBatchInGroups() {
+        // Arrange
+        EmailNotificationGatewayImpl gateway = new EmailNotificationGatewayImpl(mailSender, FROM_ADDRESS, 2);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> mock(MimeMessage.class));
+        List<EmailNotification> notifications = List.of(
+            EmailNotification.create("a@teste.com", "Assunto", "Corpo"),
+            EmailNotification.create("b@teste.com", "Assunto", "Corpo"),
+            EmailNotification.create("c@teste.com", "Assunto", "Corpo"));
+
+        // Act
+        List<EmailDeliveryResult> results = gateway.sendEmails(notifications);
+
+        // Assert
+        verify(mailSender, times(2)).send(any(MimeMessage[].class));
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(EmailDeliveryResult::sent));
+        assertEquals(notifications.get(2).id(), results.get(2).notificationId());
+    }
+
+    @Test
+    @DisplayName("Deve reportar individualmente as mensagens recusadas no lote")
+    void shouldReportFailedItemsOfBatch() {
+        // Arrange
+        MimeMessage first = mock(MimeMessage.class);
+        MimeMessage second = mock(MimeMessage.class);
+        when(mailSender.createMimeMessage()).thenReturn(first, second);
+        doThrow(new MailSendException(Map.of(second, new MessagingException("550 mailbox unavailable"))))
+            .when(mailSender).send(any(MimeMessage[].class));
+
+        // Act
+        List<EmailDeliveryResult> results = emailNotificationGateway.sendEmails(List.of(
+            EmailNotification.create("a@teste.com", "Assunto", "Corpo"),
+            EmailNotification.create("b@teste.com", "Assunto", "Corpo")));
+
+        // Assert
+        assertTrue(results.get(0).sent());
+        assertFalse(results.get(1).sent());
+        assertEquals("Erro ao enviar e-mail: 550 mailbox unavailable", results.get(1).error());
+    }
+
+    @Test
+    @DisplayName("Deve marcar todo o grupo como falho quando a sessão SMTP não puder ser aberta")
+    void shouldFailWholeGroupWhenSessionFails() {
+        // Arrange
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> mock(MimeMessage.class));
+        doThrow(new MailAuthenticationException("535 authentication failed"))
+            .when(mailSender).send(any(MimeMessage[].class));
+
+        // Act
+        List<EmailDeliveryResult> results = emailNotificationGateway.sendEmails(List.of(
+            EmailNotification.create("a@teste.com", "Assunto", "Corpo"),
+            EmailNotification.create("b@teste.com", "Assunto", "Corpo")));
+
+        // Assert
+        assertTrue(results.stream().noneMatch(EmailDeliveryResult::sent));
+    }
+
+    @Test
+    @DisplayName("Deve anexar em base64 lendo o conteúdo uma única vez")
+    void shouldAttachInBase64ReadingContentOnce() throws Exception {
+        // Arrange
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        AtomicInteger opens = new AtomicInteger();
+        byte[] pdf = "%PDF-1.4 conteúdo da fatura".getBytes(StandardCharsets.UTF_8);
+        EmailAttachment attachment = new EmailAttachment("fatura.pdf", "application/pdf", pdf.length, () -> {
+            opens.incrementAndGet();
+            return new ByteArrayInputStream(pdf);
+        });
+
+        // Act
+        emailNotificationGateway.sendEmail("cliente@teste.com", "Fatura", "<p>Segue a fatura</p>", List.of(attachment));
+
+        // Assert
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender).send(captor.capture());
+        MimeMessage message = captor.getValue();
+        message.saveChanges();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        String raw = out.toString(StandardCharsets.US_ASCII);
+        assertTrue(raw.contains("filename=fatura.pdf"));
+        assertTrue(raw.contains(Base64.getMimeEncoder().encodeToString(pdf)));
+        assertEquals(1, opens.get());
+    }
+
+    @Test
+    @DisplayName("Deve transmitir anexos grandes sem alocar memória proporcional ao tamanho")
+    void shouldStreamLargeAttachmentWithFlatMemory() throws Exception {
+        // Arrange
+        long size = 64L << 20;
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        EmailAttachment attachment = new EmailAttachment("grande.bin", null, size, () -> new GeneratedInputStream(size));
+        emailNotificationGateway.sendEmail("cliente@teste.com", "Grande", "Corpo", List.of(attachment));
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender).send(captor.capture());
+        MimeMessage message = captor.getValue();
+        message.saveChanges();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CountingOutputStream out = new CountingOutputStream();
+
+        // Act
+        long before = threads.getCurrentThreadAllocatedBytes();
+        message.writeTo(out);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert
+        assertTrue(out.count > size * 4 / 3);
+        assertTrue(allocated < size / 8, "Alocados " + allocated + " bytes para um anexo de " + size);
+    }
+
+    @Test
+    @DisplayName("Deve recusar o anexo que passa do limite durante a transmissão")
+    void shouldRethrowAttachmentTooLargeFromTransmission() {
+        // Arrange
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        doThrow(new MailSendException("Falha", new AttachmentTooLargeException("O anexo excede o limite")))
+            .when(mailSender).send(any(MimeMessage.class));
+        EmailAttachment attachment = new EmailAttachment("a.bin", null, EmailAttachment.UNKNOWN_SIZE,
+            () -> new ByteArrayInputStream(new byte[1]));
+
+        // Act & Assert
+        assertThrows(AttachmentTooLargeException.class,
+            () -> emailNotificationGateway.sendEmail("cliente@teste.com", "Assunto", "Corpo", List.of(attachment)));
+    }
+
+    @Test
+    @DisplayName("Deve montar o conteúdo do fan-out uma vez e dividir os destinatários em mensagens BCC")
+    void shouldFanOutInBccChunksSharingEncodedContent() throws Exception {
+        // Arrange
+        EmailNotificationGatewayImpl gateway = new EmailNotificationGatewayImpl(mailSender, FROM_ADDRESS, 50,
+            EmailMetrics.NOOP, 2);
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        List<EmailNotification> notifications = List.of("a", "b", "c", "d", "e").stream()
+            .map(name -> EmailNotification.create(name + "@teste.com", "Promoção", "<p>Oferta</p>"))
+            .toList();
+
+        // Act
+        List<EmailDeliveryResult> results = gateway.sendFanOut(notifications, FanOutMode.BCC);
+
+        // Assert
+        ArgumentCaptor<MimeMessage[]> captor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender).send(captor.capture());
+        verify(mailSender, times(1)).createMimeMessage();
+        MimeMessage[] messages = captor.getValue();
+        assertEquals(3, messages.length);
+        assertEquals(List.of(2, 2, 1), Arrays.stream(messages).map(message -> recipientCount(message)).toList());
+        assertEquals("undisclosed-recipients:;", messages[0].getHeader("To", null));
+        assertEquals(body(messages[0]), body(messages[2]));
+        assertTrue(results.stream().allMatch(EmailDeliveryResult::sent));
+    }
+
+    @Test
+    @DisplayName("Deve enviar uma cópia por destinatário com o próprio endereço e Message-ID")
+    void shouldFanOutIndividualCopies() throws Exception {
+        // Arrange
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        List<EmailNotification> notifications = List.of(
+            EmailNotification.create("a@teste.com", "Aviso", "<p>Manutenção</p>"),
+            EmailNotification.create("b@teste.com", "Aviso", "<p>Manutenção</p>"));
+
+        // Act
+        emailNotificationGateway.sendFanOut(notifications, FanOutMode.INDIVIDUAL);
+
+        // Assert
+        ArgumentCaptor<MimeMessage[]> captor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender).send(captor.capture());
+        MimeMessage[] messages = captor.getValue();
+        assertEquals("a@teste.com", messages[0].getHeader("To", null));
+        assertEquals("b@teste.com", messages[1].getHeader("To", null));
+        messages[0].saveChanges();
+        messages[1].saveChanges();
+        assertNotNull(messages[0].getMessageID());
+        assertNotEquals(messages[0].getMessageID(), messages[1].getMessageID());
+        assertEquals(body(messages[0]), body(messages[1]));
+        assertTrue(body(messages[0]).contains("Manuten"));
+    }
+
+    @Test
+    @DisplayName("Deve reenviar aos destinatários válidos quando o servidor recusar parte do envelope")
+    void shouldResendValidRecipientsAfterPartialRejection() throws Exception {
+        // Arrange
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        List<MimeMessage[]> sends = new java.util.ArrayList<>();
+        doAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            MimeMessage[] messages = Arrays.copyOf(arguments, arguments.length, MimeMessage[].class);
+            sends.add(messages);
+            if (sends.size() == 1) {
+                SendFailedException rejected = new SendFailedException("550 mailbox unavailable", null,
+                    new Address[0],
+                    new Address[] { new InternetAddress("a@teste.com"), new InternetAddress("c@teste.com") },
+                    new Address[] { new InternetAddress("b@teste.com") });
+                throw new MailSendException(Map.of(messages[0], rejected));
+            }
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        // Act
+        List<EmailDeliveryResult> results = emailNotificationGateway.sendFanOut(List.of(
+            EmailNotification.create("a@teste.com", "Aviso", "Corpo"),
+            EmailNotification.create("b@teste.com", "Aviso", "Corpo"),
+            EmailNotification.create("c@teste.com", "Aviso", "Corpo")), FanOutMode.BCC);
+
+        // Assert
+        assertEquals(2, sends.size());
+        assertEquals(2, recipientCount(sends.get(1)[0]));
+        assertTrue(results.get(0).sent());
+        assertFalse(results.get(1).sent());
+        assertTrue(results.get(2).sent());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o MIME codificado quando o mesmo conteúdo se repete")
+    void shouldReuseEncodedMimeForRepeatedContent() throws Exception {
+        // Arrange
+        EncodedMimeCache cache = new EncodedMimeCache(1 << 20, 100);
+        EmailNotificationGatewayImpl gateway = new EmailNotificationGatewayImpl(mailSender, FROM_ADDRESS, 50,
+            EmailMetrics.NOOP, 100, cache);
+        when(mailSender.createMimeMessage())
+            .thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+
+        // Act
+        for (String to : List.of("a@teste.com", "b@teste.com", "c@teste.com")) {
+            gateway.sendEmail(to, "Pedido atualizado", "<p>Seu pedido está PRONTO</p>");
+        }
+
+        // Assert
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender, times(3)).send(captor.capture());
+        verify(mailSender, times(2)).createMimeMessage();
+        MimeMessage second = captor.getAllValues().get(1);
+        MimeMessage third = captor.getAllValues().get(2);
+        second.saveChanges();
+        third.saveChanges();
+        assertEquals("b@teste.com", second.getHeader("To", null));
+        assertEquals("c@teste.com", third.getHeader("To", null));
+        assertNotEquals(second.getMessageID(), third.getMessageID());
+        assertNotNull(third.getSentDate());
+        assertEquals(body(second), body(third));
+        assertEquals("Pedido atualizado", third.getSubject());
+        assertEquals(1, cache.size());
+        assertEquals(1.0 / 3, cache.getHitRatio(), 1e-9);
+    }
+
+    private static int recipientCount(MimeMessage message) {
+        try {
+            return new HashSet<>(Arrays.asList(message.getAllRecipients())).size();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Tudo depois do primeiro cabeçalho Content-Type, que já pertence ao conteúdo MIME compartilhado
+    private static String body(MimeMessage message) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out, new String[] { "To", "Message-ID" });
+        String raw = out.toString(StandardCharsets.US_ASCII);
+        return raw.substring(raw.indexOf("\r\n\r\n"));
+    }
+
+    private static final class GeneratedInputStream extends InputStream {
+
+        private long remaining;
+
+        private GeneratedInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            return remaining-- > 0 ? 'x' : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(length, remaining);
+            Arrays.fill(buffer, offset, offset + n, (byte) 'x');
+            remaining -= n;
+            return n;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count += length;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.fiap.notification_service.core.gateways.notification.attachment;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.exceptions.AttachmentTooLargeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentLimitsTest {
+
+    private final AttachmentLimits limits = new AttachmentLimits(2, 100, 150);
+
+    private EmailAttachment attachment(String name, long declaredSize, int actualSize) {
+        return new EmailAttachment(name, null, declaredSize, () -> new ByteArrayInputStream(new byte[actualSize]));
+    }
+
+    @Test
+    @DisplayName("Deve recusar antes do envio quando a quantidade ou os tamanhos conhecidos passarem do limite")
+    void shouldRejectKnownSizesUpFront() {
+        // Act & Assert
+        assertThrows(AttachmentTooLargeException.class,
+            () -> limits.enforce(List.of(attachment("a", 1, 1), attachment("b", 1, 1), attachment("c", 1, 1))));
+        assertThrows(AttachmentTooLargeException.class, () -> limits.enforce(List.of(attachment("a", 101, 101))));
+        assertThrows(AttachmentTooLargeException.class,
+            () -> limits.enforce(List.of(attachment("a", 80, 80), attachment("b", 80, 80))));
+    }
+
+    @Test
+    @DisplayName("Deve interromper a leitura do anexo de tamanho desconhecido que passa do limite")
+    void shouldStopReadingUnknownSizeOverLimit() throws Exception {
+        // Arrange
+        List<EmailAttachment> limited = limits.enforce(
+            List.of(attachment("a", EmailAttachment.UNKNOWN_SIZE, 101)));
+
+        // Act & Assert
+        try (InputStream in = limited.get(0).content().open()) {
+            assertThrows(AttachmentTooLargeException.class, in::readAllBytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve somar os anexos lidos no limite total")
+    void shouldEnforceTotalWhileReading() throws Exception {
+        // Arrange
+        List<EmailAttachment> limited = limits.enforce(List.of(
+            attachment("a", EmailAttachment.UNKNOWN_SIZE, 100),
+            attachment("b", EmailAttachment.UNKNOWN_SIZE, 60)));
+
+        // Act
+        try (InputStream first = limited.get(0).content().open()) {
+            assertEquals(100, first.readAllBytes().length);
+        }
+
+        // Assert
+        try (InputStream second = limited.get(1).content().open()) {
+            assertThrows(AttachmentTooLargeException.class, second::readAllBytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve contar de novo, e não em dobro, os anexos lidos outra vez numa nova tentativa de envio")
+    void shouldNotDoubleCountAttachmentsReadAgainOnRetry() throws Exception {
+        // Arrange
+        List<EmailAttachment> limited = limits.enforce(List.of(
+            attachment("a", EmailAttachment.UNKNOWN_SIZE, 70),
+            attachment("b", EmailAttachment.UNKNOWN_SIZE, 70)));
+
+        // Act & Assert
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            for (EmailAttachment attachment : limited) {
+                try (InputStream in = attachment.content().open()) {
+                    assertEquals(70, in.readAllBytes().length);
+                }
+            }
+        }
+    }
+}
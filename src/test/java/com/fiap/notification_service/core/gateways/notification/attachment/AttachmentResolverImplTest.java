@@ -0,0 +1,67 @@
+package com.fiap.notification_service.core.gateways.notification.attachment;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentResolverImplTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    @DisplayName("Deve resolver arquivos dentro do diretório configurado sem ler o conteúdo")
+    void shouldResolveFileInsideDirectory() throws Exception {
+        // Arrange
+        Path directory = Files.createDirectories(root.resolve("anexos"));
+        Files.writeString(directory.resolve("fatura.pdf"), "conteúdo");
+        AttachmentResolverImpl resolver = new AttachmentResolverImpl(directory, Set.of(), Duration.ofSeconds(1));
+
+        // Act
+        EmailAttachment attachment = resolver.resolve(null, "application/pdf", "file:fatura.pdf");
+
+        // Assert
+        assertEquals("fatura.pdf", attachment.fileName());
+        assertEquals(Files.size(directory.resolve("fatura.pdf")), attachment.size());
+        try (InputStream in = attachment.content().open()) {
+            assertEquals("conteúdo", new String(in.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar caminhos que saem do diretório configurado")
+    void shouldRejectPathTraversal() throws Exception {
+        // Arrange
+        Path directory = Files.createDirectories(root.resolve("anexos"));
+        Files.writeString(root.resolve("segredo.txt"), "segredo");
+        AttachmentResolverImpl resolver = new AttachmentResolverImpl(directory, Set.of(), Duration.ofSeconds(1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(null, null, "file:../segredo.txt"));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(null, null, "file:///../segredo.txt"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar referências desativadas, hosts fora da lista e esquemas desconhecidos")
+    void shouldRejectDisabledOrUnknownReferences() {
+        // Arrange
+        AttachmentResolverImpl resolver = new AttachmentResolverImpl(null, Set.of("arquivos.fiap.com.br"), Duration.ofSeconds(1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(null, null, "file:fatura.pdf"));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(null, null, "http://169.254.169.254/latest"));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(null, null, "ftp://arquivos.fiap.com.br/a.pdf"));
+        EmailAttachment allowed = resolver.resolve(null, null, "https://arquivos.fiap.com.br/faturas/123.pdf");
+        assertEquals("123.pdf", allowed.fileName());
+        assertEquals(EmailAttachment.UNKNOWN_SIZE, allowed.size());
+    }
+}
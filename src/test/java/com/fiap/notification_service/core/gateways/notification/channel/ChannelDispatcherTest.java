@@ -0,0 +1,143 @@
+package com.fiap.notification_service.core.gateways.notification.channel;
+
+import com.fiap.notification_service.core.domain.notification.ChannelNotification;
+import com.fiap.notification_service.core.exceptions.ChannelDeliveryException;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+import com.fiap.notification_service.core.gateways.notification.retry.HashedWheelTimer;
+import com.fiap.notification_service.core.gateways.notification.retry.RetryPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelDispatcherTest {
+
+    private static final RetryPolicy RETRY = new RetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(20), 2.0);
+
+    private final ChannelDispatcher dispatcher =
+        new ChannelDispatcher(new HashedWheelTimer("channel-retry-test", Duration.ofMillis(5), 64));
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    private record ScriptedChannel(String name, Function<ChannelNotification, CompletableFuture<Void>> script)
+            implements NotificationChannel {
+
+        @Override
+        public CompletableFuture<Void> send(ChannelNotification notification) {
+            return script.apply(notification);
+        }
+    }
+
+    private static ChannelSettings settings(int queueCapacity, int maxInFlight) {
+        return new ChannelSettings(queueCapacity, maxInFlight, null, RETRY);
+    }
+
+    @Test
+    @DisplayName("Deve retentar falhas temporárias e desistir na hora das permanentes")
+    void shouldRetryTransientFailuresAndGiveUpOnPermanentOnes() throws InterruptedException {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(1);
+        AtomicInteger permanentAttempts = new AtomicInteger();
+        dispatcher.register(new ScriptedChannel("instavel", notification -> {
+            if (attempts.incrementAndGet() < 3) {
+                return CompletableFuture.failedFuture(new ChannelDeliveryException("503", true, null));
+            }
+            delivered.countDown();
+            return CompletableFuture.completedFuture(null);
+        }), settings(10, 1));
+        dispatcher.register(new ScriptedChannel("recusa", notification -> {
+            permanentAttempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new ChannelDeliveryException("400", false, null));
+        }), settings(10, 1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dispatcher.bindTo(registry);
+
+        // Act
+        dispatcher.dispatch(ChannelNotification.create("instavel", "destino", "Assunto", "Corpo"));
+        dispatcher.dispatch(ChannelNotification.create("recusa", "destino", "Assunto", "Corpo"));
+
+        // Assert
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        Thread.sleep(100);
+        assertEquals(1, permanentAttempts.get());
+        assertEquals(2.0, registry.get("notification.channel.retries").tag("channel", "instavel").functionCounter().count());
+        assertEquals(1.0, registry.get("notification.channel.failed").tag("channel", "recusa").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve manter os canais isolados: um canal travado não atrasa os demais")
+    void shouldIsolateSlowChannel() throws InterruptedException {
+        // Arrange
+        CompletableFuture<Void> stuck = new CompletableFuture<>();
+        InMemoryNotificationChannel fast = new InMemoryNotificationChannel("rapido", 100);
+        dispatcher.register(new ScriptedChannel("lento", notification -> stuck), settings(1, 1));
+        dispatcher.register(fast, settings(100, 4));
+
+        // Act
+        // Fila de 1, um envio travado e outro esperando vaga: o lento recusa bem antes de 10
+        assertThrows(DispatchQueueFullException.class, () -> {
+            for (int i = 0; i < 10; i++) {
+                dispatcher.dispatch(ChannelNotification.create("lento", "destino", "Assunto", "Corpo " + i));
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            dispatcher.dispatch(ChannelNotification.create("rapido", "destino", "Assunto", "Corpo " + i));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (fast.getDelivered().size() < 20 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // Assert
+        assertEquals(20, fast.getDelivered().size());
+        assertEquals("Corpo 19", fast.getDelivered().get(19).body());
+        stuck.complete(null);
+    }
+
+    @Test
+    @DisplayName("Deve recusar canal desconhecido e destino que o canal não aceita")
+    void shouldRejectUnknownChannelAndInvalidRecipient() {
+        // Arrange
+        dispatcher.register(new ScriptedChannel("livre", notification -> CompletableFuture.completedFuture(null)),
+            settings(10, 1));
+        NotificationChannel strict = new NotificationChannel() {
+            @Override
+            public String name() {
+                return "estrito";
+            }
+
+            @Override
+            public void validateRecipient(String recipient) {
+                throw new IllegalArgumentException("Destino inválido: " + recipient);
+            }
+
+            @Override
+            public CompletableFuture<Void> send(ChannelNotification notification) {
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        dispatcher.register(strict, settings(10, 1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> dispatcher.dispatch(ChannelNotification.create("sms", "+5511999999999", null, "Corpo")));
+        assertThrows(IllegalArgumentException.class,
+            () -> dispatcher.dispatch(ChannelNotification.create("estrito", "qualquer", null, "Corpo")));
+        assertThrows(IllegalStateException.class, () -> dispatcher.register(strict, settings(10, 1)));
+        assertEquals(2, dispatcher.getChannels().size());
+    }
+}
@@ -0,0 +1,109 @@
+package com.fiap.notification_service.core.gateways.notification.channel;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.notification_service.core.domain.notification.ChannelNotification;
+import com.fiap.notification_service.core.exceptions.ChannelDeliveryException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookNotificationChannelTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final AtomicInteger status = new AtomicInteger(204);
+
+    private final AtomicReference<byte[]> receivedBody = new AtomicReference<>();
+
+    private final AtomicReference<String> receivedSignature = new AtomicReference<>();
+
+    private HttpServer server;
+
+    private WebhookNotificationChannel channel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/hook", exchange -> {
+            receivedBody.set(exchange.getRequestBody().readAllBytes());
+            receivedSignature.set(exchange.getRequestHeaders().getFirst(WebhookNotificationChannel.SIGNATURE_HEADER));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        channel = new WebhookNotificationChannel(Set.of("LocalHost"), Duration.ofSeconds(1), Duration.ofSeconds(2),
+            "segredo", 2, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+        server.stop(0);
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/hook";
+    }
+
+    @Test
+    @DisplayName("Deve enviar o JSON assinado com HMAC e concluir com resposta 2xx")
+    void shouldPostSignedJson() throws IOException {
+        // Arrange
+        ChannelNotification notification = ChannelNotification.create("webhook", url(), "Pedido", "Pedido enviado");
+
+        // Act
+        channel.send(notification).join();
+
+        // Assert
+        JsonNode json = objectMapper.readTree(receivedBody.get());
+        assertEquals(notification.id().toString(), json.get("id").asText());
+        assertEquals("Pedido enviado", json.get("body").asText());
+        assertEquals("sha256=" + WebhookNotificationChannel.sign("segredo".getBytes(StandardCharsets.UTF_8),
+            receivedBody.get()), receivedSignature.get());
+    }
+
+    @Test
+    @DisplayName("Deve tratar 5xx e 429 como retentáveis e os demais 4xx como definitivos")
+    void shouldClassifyErrorResponses() {
+        // Arrange
+        ChannelNotification notification = ChannelNotification.create("webhook", url(), "Pedido", "Corpo");
+
+        // Act
+        status.set(503);
+        CompletionException unavailable = assertThrows(CompletionException.class, () -> channel.send(notification).join());
+        status.set(429);
+        CompletionException throttled = assertThrows(CompletionException.class, () -> channel.send(notification).join());
+        status.set(400);
+        CompletionException rejected = assertThrows(CompletionException.class, () -> channel.send(notification).join());
+
+        // Assert
+        assertTrue(((ChannelDeliveryException) unavailable.getCause()).isRetryable());
+        assertTrue(((ChannelDeliveryException) throttled.getCause()).isRetryable());
+        assertFalse(((ChannelDeliveryException) rejected.getCause()).isRetryable());
+    }
+
+    @Test
+    @DisplayName("Deve recusar hosts fora da lista e URLs que não são http(s)")
+    void shouldRejectHostsOutsideAllowList() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> channel.validateRecipient("http://169.254.169.254/latest"));
+        assertThrows(IllegalArgumentException.class, () -> channel.validateRecipient("file:///etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> channel.validateRecipient("não é url"));
+        assertDoesNotThrow(() -> channel.validateRecipient(url()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.fiap.notification_service.core.gateways.notification.deadletter;
+
+import com.fiap.notification_service.core.domain.notification.DeadLetter;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryDeadLetterStoreTest {
+
+    @Test
+    @DisplayName("Deve listar da mais recente para a mais antiga com paginação")
+    void shouldListNewestFirstWithPagination() {
+        // Arrange
+        InMemoryDeadLetterStore store = new InMemoryDeadLetterStore(10);
+        DeadLetter first = deadLetter("a@teste.com");
+        DeadLetter second = deadLetter("b@teste.com");
+        DeadLetter third = deadLetter("c@teste.com");
+        store.add(first);
+        store.add(second);
+        store.add(third);
+
+        // Act
+        List<DeadLetter> firstPage = store.list(0, 2);
+        List<DeadLetter> secondPage = store.list(1, 2);
+
+        // Assert
+        assertEquals(List.of(third, second), firstPage);
+        assertEquals(List.of(first), secondPage);
+        assertEquals(3, store.count());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a mais antiga quando o limite for atingido")
+    void shouldEvictOldestWhenFull() {
+        // Arrange
+        InMemoryDeadLetterStore store = new InMemoryDeadLetterStore(2);
+        DeadLetter first = deadLetter("a@teste.com");
+        store.add(first);
+        store.add(deadLetter("b@teste.com"));
+
+        // Act
+        store.add(deadLetter("c@teste.com"));
+
+        // Assert
+        assertEquals(2, store.count());
+        assertTrue(store.find(first.notification().id()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve remover e devolver a mensagem")
+    void shouldRemoveEntry() {
+        // Arrange
+        InMemoryDeadLetterStore store = new InMemoryDeadLetterStore(10);
+        DeadLetter deadLetter = deadLetter("a@teste.com");
+        store.add(deadLetter);
+
+        // Act & Assert
+        assertEquals(deadLetter, store.remove(deadLetter.notification().id()).orElseThrow());
+        assertTrue(store.remove(deadLetter.notification().id()).isEmpty());
+        assertEquals(0, store.count());
+    }
+
+    private DeadLetter deadLetter(String to) {
+        return new DeadLetter(EmailNotification.create(to, "Assunto", "Corpo"), 5, 550, "No such user", Instant.now());
+    }
+}
@@ -0,0 +1,180 @@
+package com.fiap.notification_service.core.gateways.notification.idempotency;
+
+import com.fiap.notification_service.core.exceptions.IdempotencyConflictException;
+import com.fiap.notification_service.core.exceptions.IdempotencyKeyReuseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class InMemoryIdempotencyStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private InMemoryIdempotencyStore newStore(int maxEntries, IdempotencyIndexFile index) {
+        return new InMemoryIdempotencyStore(maxEntries, Duration.ofHours(1), Duration.ofMillis(200), index, now::get);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o resultado original quando a chave for repetida")
+    void shouldReplayCompletedKey() {
+        // Arrange
+        InMemoryIdempotencyStore store = newStore(16, null);
+        UUID id = UUID.randomUUID();
+        IdempotencyClaim first = store.claim("pedido-1", 42L);
+        store.complete(first, id);
+
+        // Act
+        IdempotencyClaim second = store.claim("pedido-1", 42L);
+
+        // Assert
+        assertFalse(first.isReplay());
+        assertTrue(second.isReplay());
+        assertEquals(id, second.getNotificationId());
+        assertEquals(1, store.getSize());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a chave reutilizada com outro conteúdo")
+    void shouldRejectKeyReuseWithOtherFingerprint() {
+        // Arrange
+        InMemoryIdempotencyStore store = newStore(16, null);
+        store.complete(store.claim("pedido-1", 42L), UUID.randomUUID());
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReuseException.class, () -> store.claim("pedido-1", 43L));
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave depois do TTL")
+    void shouldExpireAfterTtl() {
+        // Arrange
+        InMemoryIdempotencyStore store = newStore(16, null);
+        store.complete(store.claim("pedido-1", 42L), UUID.randomUUID());
+
+        // Act
+        now.addAndGet(Duration.ofHours(1).toMillis());
+        IdempotencyClaim claim = store.claim("pedido-1", 43L);
+
+        // Assert
+        assertFalse(claim.isReplay());
+        assertEquals(0, store.getSize());
+    }
+
+    @Test
+    @DisplayName("Deve manter o tamanho limitado à capacidade descartando as entradas mais antigas")
+    void shouldStayWithinCapacity() {
+        // Arrange
+        InMemoryIdempotencyStore store = newStore(64, null);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            now.incrementAndGet();
+            store.complete(store.claim("pedido-" + i, i), UUID.randomUUID());
+        }
+
+        // Assert
+        assertEquals(64, store.getCapacity());
+        assertTrue(store.getSize() <= store.getCapacity());
+        assertTrue(store.claim("pedido-9999", 9999).isReplay());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave quando o envio original falhar")
+    void shouldAllowRetryAfterRelease() {
+        // Arrange
+        InMemoryIdempotencyStore store = newStore(16, null);
+        store.release(store.claim("pedido-1", 42L));
+
+        // Act
+        IdempotencyClaim claim = store.claim("pedido-1", 42L);
+
+        // Assert
+        assertFalse(claim.isReplay());
+        assertEquals(0, store.getSize());
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a requisição original em andamento e devolver o seu resultado")
+    void shouldWaitForInFlightOwner() throws Exception {
+        // Arrange
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(16, Duration.ofHours(1), Duration.ofSeconds(5));
+        UUID id = UUID.randomUUID();
+        IdempotencyClaim owner = store.claim("pedido-1", 42L);
+
+        // Act
+        CompletableFuture<IdempotencyClaim> waiter = CompletableFuture.supplyAsync(() -> store.claim("pedido-1", 42L));
+        Thread.sleep(50);
+        store.complete(owner, id);
+
+        // Assert
+        IdempotencyClaim replayed = waiter.get(5, TimeUnit.SECONDS);
+        assertTrue(replayed.isReplay());
+        assertEquals(id, replayed.getNotificationId());
+    }
+
+    @Test
+    @DisplayName("Deve responder conflito quando a requisição original não concluir a tempo")
+    void shouldConflictWhenOwnerTakesTooLong() {
+        // Arrange
+        InMemoryIdempotencyStore store = newStore(16, null);
+        store.claim("pedido-1", 42L);
+
+        // Act & Assert
+        assertThrows(IdempotencyConflictException.class, () -> store.claim("pedido-1", 42L));
+    }
+
+    @Test
+    @DisplayName("Deve manter a chave em memória quando a gravação no índice falhar")
+    void shouldKeepKeyInMemoryWhenIndexFails() {
+        // Arrange
+        IdempotencyIndexFile index = mock(IdempotencyIndexFile.class);
+        doThrow(new UncheckedIOException(new IOException("Disco cheio")))
+            .when(index).append(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+        InMemoryIdempotencyStore store = newStore(16, index);
+        UUID id = UUID.randomUUID();
+
+        // Act
+        store.complete(store.claim("pedido-1", 42L), id);
+        IdempotencyClaim retry = store.claim("pedido-1", 42L);
+
+        // Assert
+        assertTrue(retry.isReplay());
+        assertEquals(id, retry.getNotificationId());
+    }
+
+    @Test
+    @DisplayName("Deve recuperar as chaves do índice após reinício")
+    void shouldReloadFromIndex(@TempDir Path directory) {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        try (InMemoryIdempotencyStore store = newStore(16, new IdempotencyIndexFile(directory))) {
+            store.complete(store.claim("pedido-1", 42L), id);
+            store.complete(store.claim("pedido-2", 7L), null);
+        }
+
+        // Act
+        try (InMemoryIdempotencyStore reloaded = newStore(16, new IdempotencyIndexFile(directory))) {
+            IdempotencyClaim first = reloaded.claim("pedido-1", 42L);
+            IdempotencyClaim second = reloaded.claim("pedido-2", 7L);
+
+            // Assert
+            assertEquals(2, reloaded.getSize());
+            assertEquals(id, first.getNotificationId());
+            assertTrue(second.isReplay());
+            assertNull(second.getNotificationId());
+        }
+    }
+}
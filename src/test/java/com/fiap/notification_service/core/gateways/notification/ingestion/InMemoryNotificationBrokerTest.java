@@ -0,0 +1,78 @@
+package com.fiap.notification_service.core.gateways.notification.ingestion;
+
+import com.fiap.notification_service.core.domain.notification.InboundMessage;
+import com.fiap.notification_service.core.exceptions.DispatchQueueFullException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryNotificationBrokerTest {
+
+    private final InMemoryNotificationBroker broker = new InMemoryNotificationBroker(3);
+
+    @Test
+    @DisplayName("Deve entregar em lote e manter as mensagens pendentes até o ack")
+    void shouldPollBatchAndKeepUnackedUntilAck() throws InterruptedException {
+        // Arrange
+        broker.publish("{\"to\":\"a@teste.com\"}");
+        broker.publish("{\"to\":\"b@teste.com\"}");
+        broker.publish("{\"to\":\"c@teste.com\"}");
+
+        // Act
+        List<InboundMessage> batch = broker.poll(2, Duration.ofMillis(10));
+
+        // Assert
+        assertEquals(2, batch.size());
+        assertEquals(1, broker.getReadyCount());
+        assertEquals(2, broker.getUnackedCount());
+        batch.forEach(broker::ack);
+        assertEquals(0, broker.getUnackedCount());
+    }
+
+    @Test
+    @DisplayName("Deve devolver a mensagem com nack para a frente da fila")
+    void shouldRequeueNackedMessageFirst() throws InterruptedException {
+        // Arrange
+        String first = broker.publish("primeira");
+        broker.publish("segunda");
+        InboundMessage delivered = broker.poll(1, Duration.ofMillis(10)).get(0);
+
+        // Act
+        broker.nack(delivered, true);
+        InboundMessage redelivered = broker.poll(1, Duration.ofMillis(10)).get(0);
+
+        // Assert
+        assertEquals(first, redelivered.messageId());
+        assertEquals(2, redelivered.deliveryCount());
+    }
+
+    @Test
+    @DisplayName("Deve contar as mensagens sem ack na capacidade e liberar a vaga no descarte")
+    void shouldCountUnackedAgainstCapacity() throws InterruptedException {
+        // Arrange
+        broker.publish("1");
+        broker.publish("2");
+        broker.publish("3");
+        List<InboundMessage> batch = broker.poll(3, Duration.ofMillis(10));
+
+        // Act & Assert
+        assertThrows(DispatchQueueFullException.class, () -> broker.publish("4"));
+        broker.nack(batch.get(0), false);
+        assertDoesNotThrow(() -> broker.publish("4"));
+        assertEquals(1, broker.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Deve devolver lista vazia quando não houver mensagens no tempo de espera")
+    void shouldReturnEmptyAfterTimeout() throws InterruptedException {
+        // Act
+        List<InboundMessage> batch = broker.poll(10, Duration.ofMillis(10));
+
+        // Assert
+        assertTrue(batch.isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+package com.fiap.notification_service.core.gateways.notification.metrics;
+
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.metrics.EmailMetrics.Stage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final EmailMetrics metrics = new EmailMetrics(registry);
+
+    @Test
+    @DisplayName("Deve registrar a duração de cada etapa em um timer próprio")
+    void shouldRecordStageTimers() {
+        // Act
+        metrics.record(Stage.MIME_BUILD, metrics.start());
+        metrics.record(Stage.SMTP, metrics.start());
+        metrics.record(Stage.SMTP, metrics.start());
+
+        // Assert
+        assertEquals(1, registry.get("mail.send.stage").tag("stage", "mime_build").timer().count());
+        assertEquals(2, registry.get("mail.send.stage").tag("stage", "smtp").timer().count());
+        assertEquals(0, registry.get("mail.send.stage").tag("stage", "validation").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve contar os resultados por desfecho e código de resposta SMTP")
+    void shouldCountResultsByOutcomeAndReplyCode() {
+        // Act
+        metrics.recordSent();
+        metrics.recordSent();
+        metrics.recordFailure(new TransientEmailDeliveryException("451", 451, null));
+        metrics.recordFailure(new PermanentEmailDeliveryException("550", 550, null));
+        metrics.recordFailure(new TransientEmailDeliveryException("timeout", null, null));
+
+        // Assert
+        assertEquals(2, registry.get("mail.send.results").tags("outcome", "sent", "reply_code", "none").counter().count());
+        assertEquals(1, registry.get("mail.send.results").tags("outcome", "transient_failure", "reply_code", "451").counter().count());
+        assertEquals(1, registry.get("mail.send.results").tags("outcome", "permanent_failure", "reply_code", "550").counter().count());
+        assertEquals(1, registry.get("mail.send.results").tags("outcome", "transient_failure", "reply_code", "none").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve expor os envios SMTP em andamento")
+    void shouldTrackInFlightSends() {
+        // Act
+        metrics.sendStarted(3);
+        metrics.sendFinished(1);
+
+        // Assert
+        assertEquals(2, registry.get("mail.send.inflight").gauge().value());
+    }
+}
@@ -0,0 +1,102 @@
+package com.fiap.notification_service.core.gateways.notification.mime;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedMimeCacheTest {
+
+    private final Session session = Session.getInstance(new Properties());
+
+    private final AtomicInteger encodings = new AtomicInteger();
+
+    private EncodedMimeCache.Encoder encoder(int size) {
+        return () -> {
+            encodings.incrementAndGet();
+            return new EncodedMimeContent(session, new byte[size]);
+        };
+    }
+
+    @Test
+    @DisplayName("Deve guardar o conteúdo só a partir da segunda vez em que aparece")
+    void shouldAdmitContentOnSecondSighting() throws Exception {
+        // Arrange
+        EncodedMimeCache cache = new EncodedMimeCache(1 << 20, 100);
+
+        // Act
+        EncodedMimeContent first = cache.lookup("no-reply@teste.com", "Assunto", "Corpo", encoder(100));
+        EncodedMimeContent second = cache.lookup("no-reply@teste.com", "Assunto", "Corpo", encoder(100));
+        EncodedMimeContent third = cache.lookup("no-reply@teste.com", "Assunto", "Corpo", encoder(100));
+
+        // Assert
+        assertNull(first);
+        assertNotNull(second);
+        assertSame(second, third);
+        assertEquals(1, encodings.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Deve remover os conteúdos menos usados ao passar do limite de bytes")
+    void shouldEvictLeastRecentlyUsedByBytes() throws Exception {
+        // Arrange: cada entrada pesa 906 bytes, cabem 8
+        EncodedMimeCache cache = new EncodedMimeCache(8_000, 100);
+        EncodedMimeContent a = cache.getOrEncode("f", "s", "a", encoder(900));
+        for (String body : new String[] { "b", "c", "d", "e", "f", "g", "h" }) {
+            cache.getOrEncode("f", "s", body, encoder(900));
+        }
+
+        // Act
+        cache.getOrEncode("f", "s", "a", encoder(900));
+        cache.getOrEncode("f", "s", "i", encoder(900));
+
+        // Assert
+        assertEquals(8, cache.size());
+        assertTrue(cache.getBytes() <= 8_000);
+        assertSame(a, cache.getOrEncode("f", "s", "a", encoder(900)));
+        assertEquals(9, encodings.get());
+        cache.getOrEncode("f", "s", "b", encoder(900));
+        assertEquals(10, encodings.get());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar conteúdo grande demais para o cache")
+    void shouldNotCacheOversizedContent() throws Exception {
+        // Arrange
+        EncodedMimeCache cache = new EncodedMimeCache(8_000, 100);
+
+        // Act
+        cache.getOrEncode("f", "s", "grande", encoder(2_000));
+        cache.getOrEncode("f", "s", "grande", encoder(2_000));
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertEquals(2, encodings.get());
+    }
+
+    @Test
+    @DisplayName("Deve publicar acertos, faltas e a taxa de acerto")
+    void shouldExposeHitMetrics() throws Exception {
+        // Arrange
+        EncodedMimeCache cache = new EncodedMimeCache(1 << 20, 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            cache.getOrEncode("f", "s", "corpo", encoder(10));
+        }
+
+        // Assert
+        assertEquals(3, registry.get("mail.mime.cache.hits").functionCounter().count());
+        assertEquals(1, registry.get("mail.mime.cache.misses").functionCounter().count());
+        assertEquals(0.75, registry.get("mail.mime.cache.hit.ratio").gauge().value());
+        assertEquals(1, registry.get("mail.mime.cache.entries").gauge().value());
+    }
+}
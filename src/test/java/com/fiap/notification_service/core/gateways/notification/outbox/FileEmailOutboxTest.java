@@ -0,0 +1,138 @@
+package com.fiap.notification_service.core.gateways.notification.outbox;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.ScheduledEmail;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileEmailOutboxTest {
+
+    @TempDir
+    Path directory;
+
+    private FileEmailOutbox open(int segmentSize) {
+        return new FileEmailOutbox(directory, segmentSize, true, 1000, Duration.ZERO);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recuperar após reinício apenas as notificações não concluídas")
+    void shouldRecoverPendingNotificationsAfterRestart() {
+        // Arrange
+        EmailNotification sent = EmailNotification.create("a@teste.com", "Assunto", "Corpo");
+        EmailNotification pending = EmailNotification.create("b@teste.com", "Pedido", "<h1>Olá</h1>");
+        try (FileEmailOutbox outbox = open(4096)) {
+            outbox.append(sent);
+            outbox.append(pending);
+            outbox.markDone(sent.id());
+        }
+
+        // Act
+        List<EmailNotification> recovered;
+        try (FileEmailOutbox reopened = open(4096)) {
+            recovered = reopened.recoverPending();
+            assertTrue(reopened.recoverPending().isEmpty());
+        }
+
+        // Assert
+        assertEquals(List.of(pending), recovered);
+    }
+
+    @Test
+    @DisplayName("Deve recuperar os agendamentos separados dos envios imediatos, sem os cancelados")
+    void shouldRecoverScheduledNotificationsAfterRestart() {
+        // Arrange
+        Instant deliverAt = Instant.parse("2030-01-31T09:00:00Z");
+        EmailNotification immediate = EmailNotification.create("a@teste.com", "Assunto", "Corpo");
+        EmailNotification scheduled = EmailNotification.create("b@teste.com", "Lembrete", "Seu pedido está pronto");
+        EmailNotification cancelled = EmailNotification.create("c@teste.com", "Lembrete", "Corpo");
+        try (FileEmailOutbox outbox = open(4096)) {
+            outbox.append(immediate);
+            outbox.append(scheduled, deliverAt);
+            outbox.append(cancelled, deliverAt);
+            outbox.markDone(cancelled.id());
+        }
+
+        // Act
+        List<EmailNotification> pending;
+        List<ScheduledEmail> recovered;
+        try (FileEmailOutbox reopened = open(4096)) {
+            pending = reopened.recoverPending();
+            recovered = reopened.recoverScheduled();
+        }
+
+        // Assert
+        assertEquals(List.of(immediate), pending);
+        assertEquals(List.of(new ScheduledEmail(scheduled, deliverAt)), recovered);
+    }
+
+    @Test
+    @DisplayName("Deve abrir novos segmentos quando o atual enche")
+    void shouldRollSegmentsWhenFull() throws IOException {
+        // Arrange & Act
+        try (FileEmailOutbox outbox = open(256)) {
+            for (int i = 0; i < 10; i++) {
+                outbox.append(EmailNotification.create("cliente" + i + "@teste.com", "Assunto", "Corpo do email"));
+            }
+
+            // Assert
+            assertTrue(outbox.getSegmentCount() > 1);
+            assertEquals(outbox.getSegmentCount(), segmentFiles());
+            assertEquals(10, outbox.getPendingCount());
+        }
+        try (FileEmailOutbox reopened = open(256)) {
+            assertEquals(10, reopened.recoverPending().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve apagar segmentos concluídos e realocar pendências na compactação")
+    void shouldCompactCompletedSegments() throws IOException {
+        // Arrange
+        EmailNotification keep = EmailNotification.create("pendente@teste.com", "Assunto", "Corpo");
+        try (FileEmailOutbox outbox = open(256)) {
+            outbox.append(keep);
+            for (int i = 0; i < 10; i++) {
+                EmailNotification done = EmailNotification.create("cliente" + i + "@teste.com", "Assunto", "Corpo do email");
+                outbox.append(done);
+                outbox.markDone(done.id());
+            }
+            assertTrue(outbox.getSegmentCount() > 2);
+
+            // Act
+            outbox.compact();
+
+            // Assert
+            assertEquals(1, outbox.getSegmentCount());
+            assertEquals(1, segmentFiles());
+        }
+        try (FileEmailOutbox reopened = open(256)) {
+            assertEquals(List.of(keep), reopened.recoverPending());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar notificações maiores que um segmento")
+    void shouldRejectRecordLargerThanSegment() {
+        try (FileEmailOutbox outbox = open(64)) {
+            assertThrows(IllegalArgumentException.class,
+                () -> outbox.append(EmailNotification.create("a@teste.com", "Assunto", "x".repeat(100))));
+        }
+    }
+}
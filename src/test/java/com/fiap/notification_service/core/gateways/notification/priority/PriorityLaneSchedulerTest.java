@@ -0,0 +1,174 @@
+package com.fiap.notification_service.core.gateways.notification.priority;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.NotificationPriority;
+import com.fiap.notification_service.core.domain.notification.SendLane;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityLaneSchedulerTest {
+
+    private static final Map<NotificationPriority, Integer> WEIGHTS = Map.of(
+        NotificationPriority.HIGH, 8, NotificationPriority.NORMAL, 4, NotificationPriority.BULK, 1);
+
+    private static final Duration MAX_WAIT = Duration.ofSeconds(5);
+
+    private static final SendLane HIGH = new SendLane(NotificationPriority.HIGH, null);
+
+    private static final SendLane BULK = new SendLane(NotificationPriority.BULK, null);
+
+    // Com a única vaga ocupada, enfileira os envios na ordem dada e devolve a ordem em que o SMTP foi liberado a eles
+    private static List<String> admissionOrder(PriorityLaneScheduler scheduler, List<SendLane> lanes)
+            throws InterruptedException {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        scheduler.acquire(SendLane.DEFAULT, 1);
+        for (int i = 0; i < lanes.size(); i++) {
+            SendLane lane = lanes.get(i);
+            String name = lane.priority() + (lane.tenant() != null ? "-" + lane.tenant() : "") + "#" + i;
+            int waiting = scheduler.getWaiting(lane.priority());
+            Thread thread = new Thread(() -> scheduler.run(lane, () -> order.add(name)));
+            thread.start();
+            threads.add(thread);
+            while (scheduler.getWaiting(lane.priority()) == waiting) {
+                Thread.sleep(1);
+            }
+        }
+        scheduler.release();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        return order.stream().map(name -> name.substring(0, name.indexOf('#'))).toList();
+    }
+
+    @Test
+    @DisplayName("Deve liberar os envios HIGH na frente do lote BULK já enfileirado, sem deixar o BULK parado")
+    void shouldServeHighAheadOfQueuedBulk() throws InterruptedException {
+        // Arrange
+        PriorityLaneScheduler scheduler = new PriorityLaneScheduler(1, 1, WEIGHTS, MAX_WAIT);
+        List<SendLane> lanes = new ArrayList<>(Collections.nCopies(4, BULK));
+        lanes.addAll(Collections.nCopies(10, HIGH));
+
+        // Act
+        List<String> order = admissionOrder(scheduler, lanes);
+
+        // Assert
+        List<String> expected = new ArrayList<>(List.of("BULK"));
+        expected.addAll(Collections.nCopies(8, "HIGH"));
+        expected.add("BULK");
+        expected.addAll(Collections.nCopies(2, "HIGH"));
+        expected.addAll(Collections.nCopies(2, "BULK"));
+        assertEquals(expected, order);
+        assertEquals(0, scheduler.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Deve revezar os tenants de uma mesma prioridade")
+    void shouldAlternateTenantsWithinPriority() throws InterruptedException {
+        // Arrange
+        PriorityLaneScheduler scheduler = new PriorityLaneScheduler(1, 1, WEIGHTS, MAX_WAIT);
+        SendLane bigTenant = new SendLane(NotificationPriority.BULK, "loja-a");
+        SendLane smallTenant = new SendLane(NotificationPriority.BULK, "loja-b");
+        List<SendLane> lanes = new ArrayList<>(Collections.nCopies(4, bigTenant));
+        lanes.addAll(Collections.nCopies(2, smallTenant));
+
+        // Act
+        List<String> order = admissionOrder(scheduler, lanes);
+
+        // Assert
+        assertEquals(List.of("BULK-loja-a", "BULK-loja-b", "BULK-loja-a", "BULK-loja-b", "BULK-loja-a", "BULK-loja-a"),
+            order);
+    }
+
+    @Test
+    @DisplayName("Deve enviar o lote em pedacos e medir a espera por prioridade")
+    void shouldSendBatchInChunksAndRecordWaitPerPriority() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PriorityLaneScheduler scheduler = new PriorityLaneScheduler(2, 3, WEIGHTS, MAX_WAIT);
+        scheduler.bindTo(registry);
+        List<EmailNotification> notifications = IntStream.range(0, 7)
+            .mapToObj(i -> EmailNotification.create("cliente" + i + "@teste.com", "Assunto", "Corpo"))
+            .toList();
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        // Act
+        List<EmailDeliveryResult> results = scheduler.runInChunks(BULK, notifications, chunk -> {
+            chunkSizes.add(chunk.size());
+            return chunk.stream().map(EmailDeliveryResult::sent).toList();
+        });
+        scheduler.run(HIGH, () -> { });
+
+        // Assert
+        assertEquals(List.of(3, 3, 1), chunkSizes);
+        assertEquals(7, results.size());
+        assertEquals(3, registry.get("mail.priority.queue.wait").tag("priority", "bulk").timer().count());
+        assertEquals(1, registry.get("mail.priority.queue.wait").tag("priority", "high").timer().count());
+        assertEquals(0, registry.get("mail.priority.inflight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve desistir da vez após o tempo máximo de espera e liberar a fila para os próximos")
+    void shouldGiveUpAfterMaxWait() throws InterruptedException {
+        // Arrange
+        PriorityLaneScheduler scheduler = new PriorityLaneScheduler(1, 1, WEIGHTS, Duration.ofMillis(50));
+        scheduler.acquire(SendLane.DEFAULT, 1);
+
+        // Act
+        SmtpUnavailableException exception = assertThrows(SmtpUnavailableException.class,
+            () -> scheduler.run(HIGH, () -> fail("O envio não deveria ter tido vez")));
+
+        // Assert
+        assertEquals(Duration.ofSeconds(1), exception.getRetryAfter());
+        assertEquals(0, scheduler.getWaiting(NotificationPriority.HIGH));
+        scheduler.release();
+        List<String> sent = new ArrayList<>();
+        scheduler.run(BULK, () -> sent.add("BULK"));
+        assertEquals(List.of("BULK"), sent);
+        assertEquals(0, scheduler.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Deve devolver como falha os pedaços do lote que não tiverem vez a tempo")
+    void shouldFailRemainingChunksAfterMaxWait() {
+        // Arrange
+        PriorityLaneScheduler scheduler = new PriorityLaneScheduler(1, 2, WEIGHTS, Duration.ofMillis(50));
+        List<EmailNotification> notifications = IntStream.range(0, 4)
+            .mapToObj(i -> EmailNotification.create("cliente" + i + "@teste.com", "Assunto", "Corpo"))
+            .toList();
+
+        // Act
+        List<EmailDeliveryResult> results = scheduler.runInChunks(BULK, notifications, chunk -> {
+            if (chunk.get(0) == notifications.get(0)) {
+                // Um envio HIGH entra na fila e fica com a vaga quando o primeiro pedaço terminar
+                new Thread(() -> {
+                    try {
+                        scheduler.acquire(HIGH, 1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }).start();
+                while (scheduler.getWaiting(NotificationPriority.HIGH) == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+            return chunk.stream().map(EmailDeliveryResult::sent).toList();
+        });
+
+        // Assert
+        assertEquals(List.of(true, true, false, false), results.stream().map(EmailDeliveryResult::sent).toList());
+        assertEquals(1, scheduler.getInFlight());
+    }
+}
@@ -0,0 +1,179 @@
+package com.fiap.notification_service.core.gateways.notification.ratelimit;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.resilience.CircuitBreaker;
+import com.fiap.notification_service.core.gateways.notification.resilience.ResilientEmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.resilience.SmtpSessionGuard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitedEmailNotificationGatewayTest {
+
+    @Mock
+    private EmailNotificationGateway delegate;
+
+    @Mock
+    private SendRateLimiter rateLimiter;
+
+    private static final Duration MAX_WAIT = Duration.ofSeconds(2);
+
+    @Test
+    @DisplayName("Deve aguardar a ficha antes de enviar")
+    void shouldAcquireBeforeSending() throws InterruptedException {
+        // Arrange
+        RateLimitedEmailNotificationGateway gateway = new RateLimitedEmailNotificationGateway(delegate, rateLimiter, "no-reply@fiap.com.br", MAX_WAIT);
+
+        // Act
+        gateway.sendEmail("cliente@teste.com", "Assunto", "Corpo");
+
+        // Assert
+        var inOrder = inOrder(rateLimiter, delegate);
+        inOrder.verify(rateLimiter).acquire("no-reply@fiap.com.br", "cliente@teste.com", MAX_WAIT);
+        inOrder.verify(delegate).sendEmail("cliente@teste.com", "Assunto", "Corpo");
+    }
+
+    @Test
+    @DisplayName("Deve enviar juntas as mensagens com ficha e separar o lote quando precisar esperar")
+    void shouldSplitBatchWhenThrottled() {
+        // Arrange
+        RateLimitedEmailNotificationGateway gateway = new RateLimitedEmailNotificationGateway(delegate, rateLimiter, "no-reply@fiap.com.br", MAX_WAIT);
+        EmailNotification a = EmailNotification.create("a@teste.com", "Assunto", "Corpo");
+        EmailNotification b = EmailNotification.create("b@teste.com", "Assunto", "Corpo");
+        EmailNotification c = EmailNotification.create("c@teste.com", "Assunto", "Corpo");
+        when(rateLimiter.reserve(eq("no-reply@fiap.com.br"), anyString(), any(Duration.class))).thenReturn(0L, 0L, 1L);
+        when(delegate.sendEmails(anyList())).thenAnswer(invocation -> invocation.<List<EmailNotification>>getArgument(0)
+            .stream().map(EmailDeliveryResult::sent).toList());
+
+        // Act
+        List<EmailDeliveryResult> results = gateway.sendEmails(List.of(a, b, c));
+
+        // Assert
+        verify(delegate).sendEmails(List.of(a, b));
+        verify(delegate).sendEmails(List.of(c));
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(EmailDeliveryResult::sent));
+    }
+
+    @Test
+    @DisplayName("Deve recusar com Retry-After, sem enviar, quando a ficha exigir esperar mais que o limite")
+    void shouldRejectWhenWaitExceedsMaxWait() throws InterruptedException {
+        // Arrange
+        RateLimitedEmailNotificationGateway gateway = new RateLimitedEmailNotificationGateway(delegate, rateLimiter, "no-reply@fiap.com.br", MAX_WAIT);
+        doThrow(new SmtpUnavailableException("Limite de taxa de envio atingido", Duration.ofSeconds(43)))
+            .when(rateLimiter).acquire("no-reply@fiap.com.br", "cliente@teste.com", MAX_WAIT);
+
+        // Act
+        SmtpUnavailableException exception = assertThrows(SmtpUnavailableException.class,
+            () -> gateway.sendEmail("cliente@teste.com", "Assunto", "Corpo"));
+
+        // Assert
+        assertEquals(Duration.ofSeconds(43), exception.getRetryAfter());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Deve enviar as mensagens com ficha e devolver como falha as que não couberem no limite de espera")
+    void shouldFailRemainingBatchItemsOverMaxWait() {
+        // Arrange
+        RateLimitedEmailNotificationGateway gateway = new RateLimitedEmailNotificationGateway(delegate, rateLimiter, "no-reply@fiap.com.br", MAX_WAIT);
+        EmailNotification a = EmailNotification.create("a@teste.com", "Assunto", "Corpo");
+        EmailNotification b = EmailNotification.create("b@teste.com", "Assunto", "Corpo");
+        when(rateLimiter.reserve(eq("no-reply@fiap.com.br"), anyString(), any(Duration.class)))
+            .thenReturn(0L)
+            .thenThrow(new SmtpUnavailableException("Limite de taxa de envio atingido", Duration.ofSeconds(43)));
+        when(delegate.sendEmails(anyList())).thenAnswer(invocation -> invocation.<List<EmailNotification>>getArgument(0)
+            .stream().map(EmailDeliveryResult::sent).toList());
+
+        // Act
+        List<EmailDeliveryResult> results = gateway.sendEmails(List.of(a, b));
+
+        // Assert
+        verify(delegate).sendEmails(List.of(a));
+        assertTrue(results.get(0).sent());
+        assertFalse(results.get(1).sent());
+        assertEquals("Limite de taxa de envio atingido", results.get(1).error());
+    }
+
+    @Test
+    @DisplayName("Deve devolver a ficha quando o circuito aberto recusar o envio sem tentar o servidor")
+    void shouldRefundTokenWhenCircuitIsOpen() {
+        // Arrange
+        RateLimit oncePerDay = new RateLimit(1, Duration.ofDays(1), 1);
+        SendRateLimiter limiter = new SendRateLimiter(oncePerDay, oncePerDay, Map.of(), 10);
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30));
+        breaker.trip();
+        RateLimitedEmailNotificationGateway gateway = new RateLimitedEmailNotificationGateway(
+            new ResilientEmailNotificationGateway(delegate, new SmtpSessionGuard(breaker, 1, MAX_WAIT)),
+            limiter, "no-reply@fiap.com.br", MAX_WAIT);
+
+        // Act
+        assertThrows(SmtpUnavailableException.class, () -> gateway.sendEmail("cliente@teste.com", "Assunto", "Corpo"));
+
+        // Assert
+        verifyNoInteractions(delegate);
+        assertEquals(0, limiter.reserve("no-reply@fiap.com.br", "cliente@teste.com", Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Deve recusar o lote com o circuito aberto e devolver a ficha de cada destinatário")
+    void shouldRejectBatchAndRefundTokensWhenCircuitIsOpen() {
+        // Arrange
+        RateLimit twicePerDay = new RateLimit(2, Duration.ofDays(1), 2);
+        SendRateLimiter limiter = new SendRateLimiter(twicePerDay, twicePerDay, Map.of(), 10);
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30));
+        breaker.trip();
+        RateLimitedEmailNotificationGateway gateway = new RateLimitedEmailNotificationGateway(
+            new ResilientEmailNotificationGateway(delegate, new SmtpSessionGuard(breaker, 1, MAX_WAIT)),
+            limiter, "no-reply@fiap.com.br", MAX_WAIT);
+        List<EmailNotification> batch = List.of(
+            EmailNotification.create("a@teste.com", "Assunto", "Corpo"),
+            EmailNotification.create("b@teste.com", "Assunto", "Corpo"));
+
+        // Act
+        SmtpUnavailableException exception = assertThrows(SmtpUnavailableException.class, () -> gateway.sendEmails(batch));
+
+        // Assert
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        verifyNoInteractions(delegate);
+        assertEquals(0, limiter.reserve("no-reply@fiap.com.br", "a@teste.com", Duration.ZERO));
+        assertEquals(0, limiter.reserve("no-reply@fiap.com.br", "b@teste.com", Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a ficha dos itens que voltarem sem o servidor ter sido tentado")
+    void shouldRefundTokensOfNotAttemptedItems() {
+        // Arrange
+        SendRateLimiter limiter = new SendRateLimiter(new RateLimit(2, Duration.ofDays(1), 2),
+            new RateLimit(1, Duration.ofDays(1), 1), Map.of(), 10);
+        RateLimitedEmailNotificationGateway gateway = new RateLimitedEmailNotificationGateway(delegate, limiter,
+            "no-reply@fiap.com.br", MAX_WAIT);
+        EmailNotification a = EmailNotification.create("cliente@a.com", "Assunto", "Corpo");
+        EmailNotification b = EmailNotification.create("cliente@b.com", "Assunto", "Corpo");
+        when(delegate.sendEmails(List.of(a, b))).thenReturn(List.of(EmailDeliveryResult.sent(a),
+            EmailDeliveryResult.notAttempted(b, "Nenhuma vez livre no SMTP dentro do tempo máximo de espera")));
+
+        // Act
+        List<EmailDeliveryResult> results = gateway.sendEmails(List.of(a, b));
+
+        // Assert
+        assertFalse(results.get(1).sent());
+        assertEquals(0, limiter.reserve("no-reply@fiap.com.br", "cliente@b.com", Duration.ZERO));
+        assertThrows(SmtpUnavailableException.class,
+            () -> limiter.reserve("no-reply@fiap.com.br", "cliente@a.com", Duration.ZERO));
+    }
+}
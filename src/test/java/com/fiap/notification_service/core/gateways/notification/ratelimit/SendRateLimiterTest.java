@@ -0,0 +1,102 @@
+package com.fiap.notification_service.core.gateways.notification.ratelimit;
+
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SendRateLimiterTest {
+
+    private static final RateLimit UNLIMITED = new RateLimit(1000, Duration.ofMillis(1), 1000);
+
+    @Test
+    @DisplayName("Deve limitar cada domínio de destino separadamente")
+    void shouldLimitEachDomainSeparately() {
+        // Arrange
+        SendRateLimiter limiter = new SendRateLimiter(UNLIMITED, new RateLimit(1, Duration.ofSeconds(10), 1), Map.of(), 100);
+
+        // Act & Assert
+        assertEquals(0, limiter.reserve("no-reply@fiap.com.br", "a@gmail.com"));
+        assertEquals(0, limiter.reserve("no-reply@fiap.com.br", "b@outlook.com"));
+        assertTrue(limiter.reserve("no-reply@fiap.com.br", "c@GMAIL.com") > 0);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o limite próprio configurado para o domínio")
+    void shouldApplyDomainOverride() {
+        // Arrange
+        SendRateLimiter limiter = new SendRateLimiter(UNLIMITED, new RateLimit(1, Duration.ofSeconds(10), 1),
+            Map.of("Gmail.com", UNLIMITED), 100);
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.reserve("no-reply@fiap.com.br", "cliente" + i + "@gmail.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve limitar a conta remetente em todos os domínios")
+    void shouldLimitSenderAcrossDomains() {
+        // Arrange
+        SendRateLimiter limiter = new SendRateLimiter(new RateLimit(1, Duration.ofSeconds(10), 2), UNLIMITED, Map.of(), 100);
+
+        // Act & Assert
+        assertEquals(0, limiter.reserve("no-reply@fiap.com.br", "a@gmail.com"));
+        assertEquals(0, limiter.reserve("no-reply@fiap.com.br", "b@outlook.com"));
+        assertTrue(limiter.reserve("no-reply@fiap.com.br", "c@yahoo.com") > 0);
+        assertEquals(0, limiter.reserve("outra-conta@fiap.com.br", "c@yahoo.com"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a reserva acima do limite de espera e devolver a ficha")
+    void shouldRejectAndRefundReservationOverMaxWait() {
+        // Arrange
+        SendRateLimiter limiter = new SendRateLimiter(new RateLimit(1, Duration.ofSeconds(10), 1), UNLIMITED, Map.of(), 100);
+        limiter.reserve("no-reply@fiap.com.br", "a@gmail.com");
+
+        // Act
+        SmtpUnavailableException exception = assertThrows(SmtpUnavailableException.class,
+            () -> limiter.reserve("no-reply@fiap.com.br", "b@gmail.com", Duration.ofSeconds(2)));
+
+        // Assert
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofSeconds(9)) > 0);
+        long wait = limiter.reserve("no-reply@fiap.com.br", "c@gmail.com");
+        assertTrue(wait <= Duration.ofSeconds(10).toNanos());
+    }
+
+    @Test
+    @DisplayName("Deve devolver a ficha quando a espera for interrompida")
+    void shouldRefundReservationWhenInterrupted() {
+        // Arrange
+        SendRateLimiter limiter = new SendRateLimiter(new RateLimit(1, Duration.ofSeconds(10), 1), UNLIMITED, Map.of(), 100);
+        limiter.reserve("no-reply@fiap.com.br", "a@gmail.com");
+        Thread.currentThread().interrupt();
+
+        // Act
+        assertThrows(InterruptedException.class,
+            () -> limiter.acquire("no-reply@fiap.com.br", "b@gmail.com", Duration.ofSeconds(20)));
+
+        // Assert
+        long wait = limiter.reserve("no-reply@fiap.com.br", "c@gmail.com");
+        assertTrue(wait <= Duration.ofSeconds(10).toNanos());
+    }
+
+    @Test
+    @DisplayName("Deve descartar baldes ociosos ao atingir o limite de domínios")
+    void shouldEvictIdleBucketsWhenTrackingTooManyDomains() {
+        // Arrange
+        SendRateLimiter limiter = new SendRateLimiter(UNLIMITED, UNLIMITED, Map.of(), 2);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limiter.reserve("no-reply@fiap.com.br", "cliente@dominio" + i + ".com");
+        }
+
+        // Assert
+        assertTrue(limiter.getTrackedDomains() <= 3);
+    }
+}
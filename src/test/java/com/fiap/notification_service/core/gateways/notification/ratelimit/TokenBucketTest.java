@@ -0,0 +1,105 @@
+package com.fiap.notification_service.core.gateways.notification.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Deve liberar a rajada imediatamente e espaçar os envios seguintes")
+    void shouldAllowBurstThenSpaceReservations() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(new RateLimit(10, Duration.ofSeconds(1), 3), now::get);
+
+        // Act & Assert
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.reserve());
+    }
+
+    @Test
+    @DisplayName("Deve repor as fichas com o passar do tempo")
+    void shouldRefillOverTime() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(new RateLimit(10, Duration.ofSeconds(1), 1), now::get);
+        bucket.reserve();
+        assertFalse(bucket.isIdle());
+
+        // Act
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Assert
+        assertTrue(bucket.isIdle());
+        assertEquals(0, bucket.reserve());
+    }
+
+    @Test
+    @DisplayName("Deve reservar sem espera só enquanto houver fichas")
+    void shouldTryReserveOnlyAvailablePermits() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(new RateLimit(10, Duration.ofSeconds(1), 3), now::get);
+
+        // Act & Assert
+        assertTrue(bucket.tryReserve(2));
+        assertFalse(bucket.tryReserve(2));
+        assertTrue(bucket.tryReserve(1));
+        assertFalse(bucket.tryReserve(1));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(bucket.tryReserve(1));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a ficha de uma reserva cancelada")
+    void shouldGiveBackCancelledReservation() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(new RateLimit(10, Duration.ofSeconds(1), 1), now::get);
+        bucket.reserve();
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+
+        // Act
+        bucket.cancel();
+
+        // Assert
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+    }
+
+    @Test
+    @DisplayName("Não deve perder reservas com acesso concorrente")
+    void shouldNotLoseReservationsUnderContention() throws InterruptedException {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(new RateLimit(1000, Duration.ofSeconds(1), 1), now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger immediate = new AtomicInteger();
+        AtomicLong maxWait = new AtomicLong();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                long wait = bucket.reserve();
+                if (wait == 0) {
+                    immediate.incrementAndGet();
+                }
+                maxWait.accumulateAndGet(wait, Math::max);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(1, immediate.get());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(999), maxWait.get());
+    }
+}
@@ -0,0 +1,88 @@
+package com.fiap.notification_service.core.gateways.notification.resilience;
+
+import com.fiap.notification_service.core.gateways.notification.resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(30), now::get);
+
+    @Test
+    @DisplayName("Deve abrir após falhas consecutivas e ignorar falhas intercaladas com sucesso")
+    void shouldOpenAfterConsecutiveFailures() {
+        // Arrange
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(State.CLOSED, breaker.getState());
+
+        // Act
+        breaker.onFailure();
+
+        // Assert
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Deve liberar uma única chamada de teste depois do tempo aberto")
+    void shouldAllowSingleProbeWhenHalfOpen() {
+        // Arrange
+        breaker.trip();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Act
+        boolean probe = breaker.tryAcquire();
+        boolean concurrent = breaker.tryAcquire();
+
+        // Assert
+        assertTrue(probe);
+        assertFalse(concurrent);
+        assertEquals(State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Deve fechar com sucesso e reabrir com falha na chamada de teste")
+    void shouldCloseOrReopenAfterProbe() {
+        // Arrange
+        breaker.trip();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        breaker.tryAcquire();
+
+        // Act
+        breaker.onFailure();
+
+        // Assert
+        assertEquals(State.OPEN, breaker.getState());
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Deve devolver a chamada de teste sem veredito")
+    void shouldReleaseProbeWithoutVerdict() {
+        // Arrange
+        breaker.trip();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        breaker.tryAcquire();
+
+        // Act
+        breaker.release();
+
+        // Assert
+        assertEquals(State.OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+}
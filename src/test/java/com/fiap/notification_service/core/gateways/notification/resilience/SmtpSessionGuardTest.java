@@ -0,0 +1,112 @@
+package com.fiap.notification_service.core.gateways.notification.resilience;
+
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.SmtpUnavailableException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpSessionGuardTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private SmtpSessionGuard guard(int maxConcurrent) {
+        return new SmtpSessionGuard(new CircuitBreaker(2, Duration.ofSeconds(30), now::get), maxConcurrent, Duration.ofMillis(50));
+    }
+
+    private Void timeout() {
+        calls.incrementAndGet();
+        throw new TransientEmailDeliveryException("Erro ao enviar e-mail: Read timed out", null, null);
+    }
+
+    @Test
+    @DisplayName("Deve falhar na hora sem chamar o servidor com o circuito aberto")
+    void shouldFailFastWhenOpen() {
+        // Arrange
+        SmtpSessionGuard guard = guard(4);
+        assertThrows(TransientEmailDeliveryException.class, () -> guard.call(this::timeout));
+        assertThrows(TransientEmailDeliveryException.class, () -> guard.call(this::timeout));
+
+        // Act
+        SmtpUnavailableException exception = assertThrows(SmtpUnavailableException.class, () -> guard.call(this::timeout));
+
+        // Assert
+        assertEquals(2, calls.get());
+        assertEquals(State.OPEN, guard.getState());
+        assertEquals(Duration.ofSeconds(30), exception.getRetryAfter());
+    }
+
+    @Test
+    @DisplayName("Deve fechar o circuito quando a chamada de teste funciona")
+    void shouldCloseAfterSuccessfulProbe() {
+        // Arrange
+        SmtpSessionGuard guard = guard(4);
+        assertThrows(TransientEmailDeliveryException.class, () -> guard.call(this::timeout));
+        assertThrows(TransientEmailDeliveryException.class, () -> guard.call(this::timeout));
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Act
+        String result = guard.call(() -> "ok");
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(State.CLOSED, guard.getState());
+    }
+
+    @Test
+    @DisplayName("Não deve abrir o circuito por recusas de destinatário")
+    void shouldIgnoreRecipientRejections() {
+        // Arrange
+        SmtpSessionGuard guard = guard(4);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertThrows(PermanentEmailDeliveryException.class, () -> guard.call(() -> {
+                throw new PermanentEmailDeliveryException("550 5.1.1 User unknown", 550, null);
+            }));
+        }
+
+        // Assert
+        assertEquals(State.CLOSED, guard.getState());
+    }
+
+    @Test
+    @DisplayName("Deve recusar o envio quando todas as sessões estão ocupadas")
+    void shouldRejectWhenBulkheadIsFull() throws InterruptedException {
+        // Arrange
+        SmtpSessionGuard guard = guard(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofPlatform().start(() -> guard.call(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        started.await();
+
+        try {
+            // Act & Assert
+            assertEquals(1, guard.getActiveSessions());
+            assertThrows(SmtpUnavailableException.class, () -> guard.call(() -> "ok"));
+            assertEquals(State.CLOSED, guard.getState());
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+        assertEquals(0, guard.getActiveSessions());
+    }
+}
@@ -0,0 +1,64 @@
+package com.fiap.notification_service.core.gateways.notification.retry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-timer", Duration.ofMillis(10), 8);
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    @DisplayName("Deve executar a tarefa após o atraso, inclusive além de uma volta da roda")
+    void shouldRunTaskAfterDelay() throws InterruptedException {
+        // Arrange
+        CountDownLatch executed = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        // Act
+        timer.schedule(executed::countDown, Duration.ofMillis(200));
+
+        // Assert
+        assertTrue(executed.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 190);
+        assertEquals(0, timer.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Não deve executar tarefa cancelada")
+    void shouldNotRunCancelledTask() throws InterruptedException {
+        // Arrange
+        AtomicBoolean executed = new AtomicBoolean();
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> executed.set(true), Duration.ofMillis(50));
+
+        // Act
+        assertTrue(timeout.cancel());
+        Thread.sleep(200);
+
+        // Assert
+        assertFalse(executed.get());
+        assertEquals(0, timer.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Deve recusar agendamentos depois de encerrado")
+    void shouldRejectScheduleAfterClose() {
+        // Act
+        timer.close();
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> timer.schedule(() -> { }, Duration.ZERO));
+    }
+}
@@ -0,0 +1,44 @@
+package com.fiap.notification_service.core.gateways.notification.retry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy policy = new RetryPolicy(4, Duration.ofSeconds(2), Duration.ofSeconds(10), 2.0);
+
+    @Test
+    @DisplayName("Deve permitir retentativas até o número máximo de tentativas")
+    void shouldAllowRetriesUntilMaxAttempts() {
+        assertTrue(policy.canRetry(1));
+        assertTrue(policy.canRetry(3));
+        assertFalse(policy.canRetry(4));
+    }
+
+    @Test
+    @DisplayName("Deve crescer o atraso exponencialmente com jitter e respeitar o limite")
+    void shouldGrowDelayExponentiallyWithJitterAndCap() {
+        for (int i = 0; i < 100; i++) {
+            Duration first = policy.delayFor(1);
+            Duration third = policy.delayFor(3);
+            Duration capped = policy.delayFor(10);
+
+            assertTrue(first.toMillis() >= 1000 && first.toMillis() <= 2000);
+            assertTrue(third.toMillis() >= 4000 && third.toMillis() <= 8000);
+            assertTrue(capped.toMillis() >= 5000 && capped.toMillis() <= 10000);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar configuração inválida")
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new RetryPolicy(0, Duration.ofSeconds(1), Duration.ofSeconds(1), 2.0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new RetryPolicy(3, Duration.ofSeconds(1), Duration.ofSeconds(1), 0.5));
+    }
+}
@@ -0,0 +1,125 @@
+package com.fiap.notification_service.core.gateways.notification.scheduling;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliverySchedulerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private DeliveryScheduler scheduler(int releaseBatchSize) {
+        return new DeliveryScheduler(Duration.ofSeconds(1), 64, 3, releaseBatchSize, Duration.ofDays(1), now::get,
+            false);
+    }
+
+    @Test
+    @DisplayName("Deve liberar as notificações só depois do horário agendado")
+    void shouldReleaseOnlyAfterDeliverAt() {
+        // Arrange
+        DeliveryScheduler scheduler = scheduler(10);
+        List<EmailNotification> released = new ArrayList<>();
+        scheduler.start(due -> {
+            released.addAll(due);
+            return due.size();
+        });
+        EmailNotification notification = EmailNotification.create("a@teste.com", "Lembrete", "Corpo");
+        scheduler.schedule(notification, Instant.ofEpochMilli(now.get() + 90_500));
+
+        // Act
+        now.addAndGet(90_000);
+        scheduler.tick();
+        boolean releasedEarly = !released.isEmpty();
+        now.addAndGet(1_000);
+        scheduler.tick();
+
+        // Assert
+        assertFalse(releasedEarly);
+        assertEquals(List.of(notification), released);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Deve manter os vencidos que não couberem na fila para o próximo tick, ainda canceláveis")
+    void shouldKeepRejectedDueNotificationsForNextTick() {
+        // Arrange
+        DeliveryScheduler scheduler = scheduler(2);
+        List<EmailNotification> released = new ArrayList<>();
+        int[] capacity = { 3 };
+        scheduler.start(due -> {
+            int accepted = Math.min(capacity[0], due.size());
+            released.addAll(due.subList(0, accepted));
+            capacity[0] -= accepted;
+            return accepted;
+        });
+        List<EmailNotification> notifications = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            EmailNotification notification = EmailNotification.create(i + "@teste.com", "Lembrete", "Corpo");
+            notifications.add(notification);
+            scheduler.schedule(notification, Instant.ofEpochMilli(now.get() + 5_000));
+        }
+
+        // Act
+        now.addAndGet(5_000);
+        scheduler.tick();
+        int firstTick = released.size();
+        boolean cancelled = scheduler.cancel(notifications.get(4).id());
+        capacity[0] = 10;
+        scheduler.tick();
+
+        // Assert
+        assertEquals(3, firstTick);
+        assertTrue(cancelled);
+        assertEquals(notifications.subList(0, 4), released);
+        assertFalse(scheduler.cancel(notifications.get(0).id()));
+    }
+
+    @Test
+    @DisplayName("Deve recusar agendamento além do atraso máximo")
+    void shouldRejectBeyondMaxDelay() {
+        // Arrange
+        DeliveryScheduler scheduler = scheduler(10);
+        EmailNotification notification = EmailNotification.create("a@teste.com", "Lembrete", "Corpo");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> scheduler.schedule(notification, Instant.ofEpochMilli(now.get()).plus(Duration.ofDays(2))));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Deve recolocar na roda o agendamento restaurado além do alcance, sem liberá-lo antes da hora")
+    void shouldRescheduleRestoredDeadlineBeyondWheelSpan() {
+        // Arrange
+        DeliveryScheduler scheduler = new DeliveryScheduler(Duration.ofSeconds(1), 4, 1, 10, Duration.ofSeconds(2),
+            now::get, false);
+        List<EmailNotification> released = new ArrayList<>();
+        scheduler.start(due -> {
+            released.addAll(due);
+            return due.size();
+        });
+        EmailNotification notification = EmailNotification.create("a@teste.com", "Lembrete", "Corpo");
+        scheduler.restore(notification, Instant.ofEpochMilli(now.get() + 10_000));
+
+        // Act
+        List<Integer> releasedPerSecond = new ArrayList<>();
+        for (int second = 1; second <= 10; second++) {
+            now.addAndGet(1_000);
+            scheduler.tick();
+            releasedPerSecond.add(released.size());
+        }
+
+        // Assert
+        assertEquals(List.of(0, 0, 0, 0, 0, 0, 0, 0, 0, 1), releasedPerSecond);
+        assertEquals(List.of(notification), released);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+}
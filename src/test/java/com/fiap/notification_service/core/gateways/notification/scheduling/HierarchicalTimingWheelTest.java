@@ -0,0 +1,76 @@
+package com.fiap.notification_service.core.gateways.notification.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    @DisplayName("Deve liberar cada prazo no seu tick, inclusive os que descem em cascata de níveis altos")
+    void shouldExpireEachDeadlineOnItsTick() {
+        // Arrange
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(8, 3, 5);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long deadline = 6 + random.nextInt(500);
+            deadlines.add(deadline);
+            assertNotNull(wheel.add(deadline, deadline));
+        }
+        List<Long> expired = new ArrayList<>();
+
+        // Act & Assert
+        for (long tick = 6; tick <= 505; tick++) {
+            long current = tick;
+            wheel.advanceTo(tick, deadline -> {
+                assertEquals(current, deadline);
+                expired.add(deadline);
+            });
+        }
+        assertEquals(deadlines.size(), expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Deve liberar de uma vez os prazos vencidos ao avançar vários ticks")
+    void shouldCatchUpAfterLongPause() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(8, 3, 0);
+        wheel.add("a", 3);
+        wheel.add("b", 100);
+        wheel.add("c", 400);
+        List<String> expired = new ArrayList<>();
+
+        // Act
+        wheel.advanceTo(150, expired::add);
+
+        // Assert
+        assertEquals(List.of("a", "b"), expired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Não deve liberar entrada cancelada e deve recusar prazos já vencidos ou além do alcance")
+    void shouldCancelAndRejectOutOfRangeDeadlines() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(8, 2, 10);
+        HierarchicalTimingWheel.Node<String> node = wheel.add("cancelada", 40);
+        List<String> expired = new ArrayList<>();
+
+        // Act
+        assertTrue(wheel.cancel(node));
+        wheel.advanceTo(73, expired::add);
+
+        // Assert
+        assertTrue(expired.isEmpty());
+        assertFalse(wheel.cancel(node));
+        assertNull(wheel.add("vencida", 73));
+        assertThrows(IllegalArgumentException.class, () -> wheel.add("longe", 73 + 64));
+    }
+}
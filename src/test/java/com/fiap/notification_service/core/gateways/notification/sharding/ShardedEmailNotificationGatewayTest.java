@@ -0,0 +1,244 @@
+package com.fiap.notification_service.core.gateways.notification.sharding;
+
+import com.fiap.notification_service.core.domain.notification.EmailDeliveryResult;
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGateway;
+import com.fiap.notification_service.core.gateways.notification.ratelimit.RateLimit;
+import com.fiap.notification_service.core.gateways.notification.sharding.ShardedEmailNotificationGateway.Strategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ShardedEmailNotificationGatewayTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final EmailNotificationGateway primary = mock(EmailNotificationGateway.class);
+
+    private final EmailNotificationGateway secondary = mock(EmailNotificationGateway.class);
+
+    private ShardedEmailNotificationGateway gateway(Strategy strategy, SenderAccount... accounts) {
+        return new ShardedEmailNotificationGateway(List.of(accounts), strategy, 2, Duration.ofSeconds(30), now::get);
+    }
+
+    @Test
+    @DisplayName("Deve distribuir os envios conforme o peso das contas")
+    void shouldSpreadByWeight() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.WEIGHTED_ROUND_ROBIN,
+            new SenderAccount("principal", primary, 2, null),
+            new SenderAccount("secundaria", secondary, 1, null));
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            gateway.sendEmail("cliente@fiap.com.br", "Assunto", "Corpo");
+        }
+
+        // Assert
+        verify(primary, times(4)).sendEmail(anyString(), anyString(), anyString());
+        verify(secondary, times(2)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve repassar o envio para outra conta e abrir o circuito da conta com falha")
+    void shouldFailOverAndOpenCircuit() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.WEIGHTED_ROUND_ROBIN,
+            new SenderAccount("principal", primary, 1, null),
+            new SenderAccount("secundaria", secondary, 1, null));
+        doThrow(new TransientEmailDeliveryException("Erro ao enviar e-mail: 421 4.7.0 Try again later", 421, null))
+            .when(primary).sendEmail(anyString(), anyString(), anyString());
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            gateway.sendEmail("cliente@fiap.com.br", "Assunto", "Corpo");
+        }
+
+        // Assert
+        verify(primary, times(2)).sendEmail(anyString(), anyString(), anyString());
+        verify(secondary, times(6)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Não deve trocar de conta quando o destinatário é recusado")
+    void shouldNotFailOverOnRecipientRejection() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.LEAST_IN_FLIGHT,
+            new SenderAccount("principal", primary, 1, null),
+            new SenderAccount("secundaria", secondary, 1, null));
+        PermanentEmailDeliveryException rejected =
+            new PermanentEmailDeliveryException("Erro ao enviar e-mail: 550 5.1.1 User unknown", 550, null);
+        doThrow(rejected).when(primary).sendEmail(anyString(), anyString(), anyString());
+        doThrow(rejected).when(secondary).sendEmail(anyString(), anyString(), anyString());
+
+        // Act & Assert
+        assertThrows(PermanentEmailDeliveryException.class,
+            () -> gateway.sendEmail("naoexiste@fiap.com.br", "Assunto", "Corpo"));
+        verify(primary, times(1)).sendEmail(anyString(), anyString(), anyString());
+        verifyNoMoreInteractions(secondary);
+    }
+
+    @Test
+    @DisplayName("Deve pular a conta com cota esgotada")
+    void shouldSkipAccountWithoutQuota() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.WEIGHTED_ROUND_ROBIN,
+            new SenderAccount("principal", primary, 1, new RateLimit(1, Duration.ofDays(1), 1)),
+            new SenderAccount("secundaria", secondary, 1, null));
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            gateway.sendEmail("cliente@fiap.com.br", "Assunto", "Corpo");
+        }
+
+        // Assert
+        verify(primary, times(1)).sendEmail(anyString(), anyString(), anyString());
+        verify(secondary, times(3)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve falhar de forma temporária quando nenhuma conta está disponível")
+    void shouldFailWhenNoAccountIsAvailable() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.LEAST_IN_FLIGHT,
+            new SenderAccount("principal", primary, 1, null));
+        doThrow(new PermanentEmailDeliveryException("Erro ao enviar e-mail: 550 5.4.5 Daily user sending limit exceeded", 550, null))
+            .when(primary).sendEmail(anyString(), anyString(), anyString());
+        assertThrows(PermanentEmailDeliveryException.class, () -> gateway.sendEmail("a@fiap.com.br", "Assunto", "Corpo"));
+
+        // Act & Assert
+        assertThrows(TransientEmailDeliveryException.class, () -> gateway.sendEmail("b@fiap.com.br", "Assunto", "Corpo"));
+        List<EmailDeliveryResult> results = gateway.sendEmails(
+            List.of(new EmailNotification(UUID.randomUUID(), "c@fiap.com.br", "Assunto", "Corpo")));
+        assertFalse(results.get(0).sent());
+        verify(primary, times(1)).sendEmail(anyString(), anyString(), anyString());
+        verify(primary, never()).sendEmails(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve enviar o lote inteiro pela mesma conta")
+    void shouldSendBatchThroughOneAccount() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.LEAST_IN_FLIGHT,
+            new SenderAccount("principal", primary, 1, null),
+            new SenderAccount("secundaria", secondary, 1, null));
+        List<EmailNotification> batch = List.of(
+            new EmailNotification(UUID.randomUUID(), "a@fiap.com.br", "Assunto", "Corpo"),
+            new EmailNotification(UUID.randomUUID(), "b@fiap.com.br", "Assunto", "Corpo"));
+        when(primary.sendEmails(any())).thenAnswer(invocation -> batch.stream().map(EmailDeliveryResult::sent).toList());
+        when(secondary.sendEmails(any())).thenAnswer(invocation -> batch.stream().map(EmailDeliveryResult::sent).toList());
+
+        // Act
+        List<EmailDeliveryResult> results = gateway.sendEmails(batch);
+
+        // Assert
+        assertTrue(results.stream().allMatch(EmailDeliveryResult::sent));
+        int calls = mockingDetails(primary).getInvocations().size() + mockingDetails(secondary).getInvocations().size();
+        assertEquals(1, calls);
+    }
+
+    @Test
+    @DisplayName("Deve quebrar o lote maior que a rajada da conta e cobrar a cota por destinatário")
+    void shouldSplitBatchLargerThanBurstAndChargeEveryRecipient() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.WEIGHTED_ROUND_ROBIN,
+            new SenderAccount("principal", primary, 1, new RateLimit(2, Duration.ofDays(1), 2)),
+            new SenderAccount("secundaria", secondary, 1, new RateLimit(2, Duration.ofDays(1), 2)));
+        List<EmailNotification> batch = IntStream.range(0, 5)
+            .mapToObj(i -> new EmailNotification(UUID.randomUUID(), "cliente" + i + "@fiap.com.br", "Assunto", "Corpo"))
+            .toList();
+        when(primary.sendEmails(any())).thenAnswer(invocation ->
+            invocation.<List<EmailNotification>>getArgument(0).stream().map(EmailDeliveryResult::sent).toList());
+        when(secondary.sendEmails(any())).thenAnswer(invocation ->
+            invocation.<List<EmailNotification>>getArgument(0).stream().map(EmailDeliveryResult::sent).toList());
+
+        // Act
+        List<EmailDeliveryResult> results = gateway.sendEmails(batch);
+
+        // Assert
+        assertEquals(List.of(true, true, true, true, false), results.stream().map(EmailDeliveryResult::sent).toList());
+        verify(primary).sendEmails(batch.subList(0, 2));
+        verify(secondary).sendEmails(batch.subList(2, 4));
+        assertThrows(TransientEmailDeliveryException.class, () -> gateway.sendEmail("a@fiap.com.br", "Assunto", "Corpo"));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a cota da conta quando o envio falhar")
+    void shouldRefundQuotaWhenSendFails() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.LEAST_IN_FLIGHT,
+            new SenderAccount("principal", primary, 1, new RateLimit(1, Duration.ofDays(1), 1)));
+        doThrow(new TransientEmailDeliveryException("Erro ao enviar e-mail: 421 4.7.0 Try again later", 421, null))
+            .doNothing()
+            .when(primary).sendEmail(anyString(), anyString(), anyString());
+        assertThrows(TransientEmailDeliveryException.class, () -> gateway.sendEmail("a@fiap.com.br", "Assunto", "Corpo"));
+
+        // Act
+        gateway.sendEmail("b@fiap.com.br", "Assunto", "Corpo");
+
+        // Assert
+        verify(primary).sendEmail("b@fiap.com.br", "Assunto", "Corpo");
+    }
+
+    @Test
+    @DisplayName("Deve passar o pedaço do lote para outra conta e devolver a cota da conta com falha")
+    void shouldFailOverBatchChunkAndRefundQuota() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.WEIGHTED_ROUND_ROBIN,
+            new SenderAccount("principal", primary, 1, new RateLimit(2, Duration.ofDays(1), 2)),
+            new SenderAccount("secundaria", secondary, 1, null));
+        List<EmailNotification> batch = List.of(
+            new EmailNotification(UUID.randomUUID(), "a@fiap.com.br", "Assunto", "Corpo"),
+            new EmailNotification(UUID.randomUUID(), "b@fiap.com.br", "Assunto", "Corpo"));
+        when(primary.sendEmails(any()))
+            .thenThrow(new TransientEmailDeliveryException("Erro ao enviar e-mail: 421 4.7.0 Try again later", 421, null))
+            .thenAnswer(invocation -> batch.stream().map(EmailDeliveryResult::sent).toList());
+        when(secondary.sendEmails(any())).thenAnswer(invocation -> batch.stream().map(EmailDeliveryResult::sent).toList());
+
+        // Act
+        List<EmailDeliveryResult> failedOver = gateway.sendEmails(batch);
+        // O round-robin volta à conta principal na terceira chamada; sem a cota devolvida ela seria pulada
+        gateway.sendEmails(batch);
+        gateway.sendEmails(batch);
+
+        // Assert
+        assertTrue(failedOver.stream().allMatch(EmailDeliveryResult::sent));
+        verify(secondary, times(2)).sendEmails(batch);
+        verify(primary, times(2)).sendEmails(batch);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a cota dos itens do lote que voltaram como falha")
+    void shouldRefundQuotaOfFailedBatchItems() {
+        // Arrange
+        ShardedEmailNotificationGateway gateway = gateway(Strategy.LEAST_IN_FLIGHT,
+            new SenderAccount("principal", primary, 1, new RateLimit(2, Duration.ofDays(1), 2)));
+        List<EmailNotification> batch = List.of(
+            new EmailNotification(UUID.randomUUID(), "a@fiap.com.br", "Assunto", "Corpo"),
+            new EmailNotification(UUID.randomUUID(), "b@fiap.com.br", "Assunto", "Corpo"));
+        when(primary.sendEmails(any()))
+            .thenReturn(List.of(EmailDeliveryResult.sent(batch.get(0)),
+                EmailDeliveryResult.failed(batch.get(1), "Erro ao enviar e-mail: 421 4.7.0 Try again later")));
+
+        // Act
+        gateway.sendEmails(batch);
+
+        // Assert
+        assertDoesNotThrow(() -> gateway.sendEmail("c@fiap.com.br", "Assunto", "Corpo"));
+        assertThrows(TransientEmailDeliveryException.class, () -> gateway.sendEmail("d@fiap.com.br", "Assunto", "Corpo"));
+        verify(primary).sendEmail("c@fiap.com.br", "Assunto", "Corpo");
+    }
+}
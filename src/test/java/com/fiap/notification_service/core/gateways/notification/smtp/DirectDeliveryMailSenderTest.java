@@ -0,0 +1,148 @@
+package com.fiap.notification_service.core.gateways.notification.smtp;
+
+import com.fiap.notification_service.core.gateways.notification.smtp.mx.MxLookup;
+import com.fiap.notification_service.core.gateways.notification.smtp.mx.MxRecord;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DirectDeliveryMailSenderTest {
+
+    private final Map<String, MxLookup> zones = new HashMap<>();
+
+    private final Map<String, Transport> transports = new HashMap<>();
+
+    private final List<String> connectedHosts = new ArrayList<>();
+
+    private final DirectDeliveryMailSender sender = new DirectDeliveryMailSender(
+        domain -> zones.getOrDefault(domain, MxLookup.notFound(Duration.ofMinutes(5))),
+        new SmtpTransportPoolSettings(0, 2, Duration.ofMillis(100), Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO),
+        Duration.ZERO,
+        host -> {
+            connectedHosts.add(host);
+            Transport transport = transports.get(host);
+            if (transport == null) {
+                throw new MessagingException("Connection refused: " + host);
+            }
+            return transport;
+        });
+
+    @AfterEach
+    void tearDown() {
+        sender.destroy();
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        message.setFrom("no-reply@fiap.com.br");
+        message.setRecipients(MimeMessage.RecipientType.TO, to);
+        message.setSubject("Assunto");
+        message.setText("Corpo");
+        return message;
+    }
+
+    private static MxLookup mx(String... hosts) {
+        List<MxRecord> records = new ArrayList<>();
+        for (int i = 0; i < hosts.length; i++) {
+            records.add(new MxRecord(hosts[i], (i + 1) * 10));
+        }
+        return MxLookup.found(records, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Deve entregar domínios com o mesmo MX pela mesma conexão")
+    void shouldShareConnectionBetweenDomainsWithSameMx() throws MessagingException {
+        // Arrange
+        zones.put("gmail.com", mx("gmail-smtp-in.l.google.com"));
+        zones.put("googlemail.com", mx("gmail-smtp-in.l.google.com"));
+        Transport transport = mock(Transport.class);
+        transports.put("gmail-smtp-in.l.google.com", transport);
+
+        // Act
+        sender.send(message("ana@gmail.com"), message("bia@googlemail.com"));
+
+        // Assert
+        assertEquals(List.of("gmail-smtp-in.l.google.com"), connectedHosts);
+        verify(transport, times(2)).sendMessage(any(MimeMessage.class), any(Address[].class));
+        assertEquals(1, sender.getHostPoolCount());
+    }
+
+    @Test
+    @DisplayName("Deve passar para o próximo MX quando o preferido não conecta")
+    void shouldFailOverToNextMx() throws MessagingException {
+        // Arrange
+        zones.put("fiap.com.br", mx("mx1.fiap.com.br", "mx2.fiap.com.br"));
+        Transport backup = mock(Transport.class);
+        transports.put("mx2.fiap.com.br", backup);
+
+        // Act
+        sender.send(message("aluno@fiap.com.br"));
+
+        // Assert
+        assertEquals(List.of("mx1.fiap.com.br", "mx2.fiap.com.br"), connectedHosts);
+        verify(backup).sendMessage(any(MimeMessage.class), any(Address[].class));
+    }
+
+    @Test
+    @DisplayName("Deve entregar no próprio domínio quando não há registro MX")
+    void shouldUseImplicitMx() throws MessagingException {
+        // Arrange
+        zones.put("exemplo.com", MxLookup.implicit("exemplo.com", Duration.ofMinutes(5)));
+        transports.put("exemplo.com", mock(Transport.class));
+
+        // Act
+        sender.send(message("contato@exemplo.com"));
+
+        // Assert
+        assertEquals(List.of("exemplo.com"), connectedHosts);
+    }
+
+    @Test
+    @DisplayName("Deve recusar de forma permanente domínios com MX nulo ou inexistentes")
+    void shouldRejectDomainsThatDoNotAcceptMail() throws MessagingException {
+        // Arrange
+        zones.put("nulo.com", MxLookup.nullMx(Duration.ofMinutes(5)));
+        MimeMessage nullMx = message("ninguem@nulo.com");
+        MimeMessage missing = message("ninguem@naoexiste.invalid");
+
+        // Act
+        MailSendException exception = assertThrows(MailSendException.class, () -> sender.send(nullMx, missing));
+
+        // Assert
+        assertEquals(556, SmtpFailureClassifier.findReplyCode(exception.getFailedMessages().get(nullMx)));
+        assertEquals(550, SmtpFailureClassifier.findReplyCode(exception.getFailedMessages().get(missing)));
+        assertTrue(connectedHosts.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve fechar o pool de um host MX ocioso")
+    void shouldCloseIdleHostPools() throws MessagingException {
+        // Arrange
+        zones.put("fiap.com.br", mx("mx1.fiap.com.br"));
+        Transport transport = mock(Transport.class);
+        transports.put("mx1.fiap.com.br", transport);
+        sender.send(message("aluno@fiap.com.br"));
+
+        // Act
+        sender.maintain();
+
+        // Assert
+        assertEquals(0, sender.getHostPoolCount());
+        verify(transport).close();
+    }
+}
@@ -0,0 +1,313 @@
+package com.fiap.notification_service.core.gateways.notification.smtp;
+
+import com.fiap.notification_service.core.domain.notification.EmailAttachment;
+import com.fiap.notification_service.core.exceptions.AttachmentTooLargeException;
+import com.fiap.notification_service.core.gateways.notification.EmailNotificationGatewayImpl;
+import com.fiap.notification_service.core.gateways.notification.attachment.AttachmentLimits;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PooledJavaMailSenderTest {
+
+    private final Deque<Transport> transports = new ArrayDeque<>();
+
+    private int connections;
+
+    private PooledJavaMailSender sender;
+
+    @BeforeEach
+    void setUp() {
+        SmtpTransportPoolSettings settings = new SmtpTransportPoolSettings(0, 2, Duration.ofMillis(100),
+            Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO);
+        sender = new PooledJavaMailSender(settings) {
+            @Override
+            protected Transport connectTransport() {
+                connections++;
+                return transports.pop();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.destroy();
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        message.setFrom("no-reply@fiap.com.br");
+        message.setRecipients(MimeMessage.RecipientType.TO, to);
+        message.setSubject("Assunto");
+        message.setText("Corpo");
+        return message;
+    }
+
+    @Test
+    @DisplayName("Deve enviar mensagens consecutivas pela mesma conexão")
+    void shouldReuseConnectionAcrossSends() throws MessagingException {
+        // Arrange
+        Transport transport = mock(Transport.class);
+        transports.push(transport);
+
+        // Act
+        sender.send(message("a@teste.com"));
+        sender.send(message("b@teste.com"));
+
+        // Assert
+        assertEquals(1, connections);
+        verify(transport, times(2)).sendMessage(any(MimeMessage.class), any(Address[].class));
+        verify(transport, never()).close();
+    }
+
+    @Test
+    @DisplayName("Não deve reenviar a mensagem quando a conexão cair no meio da transação")
+    void shouldNotResendWhenConnectionBreaksMidTransaction() throws MessagingException {
+        // Arrange
+        Transport broken = mock(Transport.class);
+        Transport fresh = mock(Transport.class);
+        doThrow(new MessagingException("Connection reset"))
+            .when(broken).sendMessage(any(MimeMessage.class), any(Address[].class));
+        transports.add(broken);
+        transports.add(fresh);
+        MimeMessage first = message("a@teste.com");
+        MimeMessage second = message("b@teste.com");
+
+        // Act
+        MailSendException exception = assertThrows(MailSendException.class, () -> sender.send(first, second));
+
+        // Assert
+        assertEquals(2, connections);
+        verify(broken).close();
+        verify(broken).sendMessage(eq(first), any(Address[].class));
+        verify(fresh, never()).sendMessage(eq(first), any(Address[].class));
+        verify(fresh).sendMessage(eq(second), any(Address[].class));
+        assertEquals(List.of(first), List.copyOf(exception.getFailedMessages().keySet()));
+    }
+
+    @Test
+    @DisplayName("Deve tentar conectar de novo quando a primeira conexão falhar")
+    void shouldRetryWhenConnectFails() throws MessagingException {
+        // Arrange
+        Transport transport = mock(Transport.class);
+        sender = new PooledJavaMailSender(new SmtpTransportPoolSettings(0, 2, Duration.ofMillis(100),
+            Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO)) {
+            @Override
+            protected Transport connectTransport() throws MessagingException {
+                if (++connections == 1) {
+                    throw new MessagingException("Connection refused");
+                }
+                return transport;
+            }
+        };
+
+        // Act
+        sender.send(message("a@teste.com"));
+
+        // Assert
+        assertEquals(2, connections);
+        verify(transport).sendMessage(any(MimeMessage.class), any(Address[].class));
+    }
+
+    @Test
+    @DisplayName("Deve manter as falhas anteriores do lote quando a autenticação falhar ao reconectar")
+    void shouldKeepEarlierFailuresWhenAuthenticationFails() throws MessagingException {
+        // Arrange
+        Transport broken = mock(Transport.class);
+        doThrow(new MessagingException("Connection reset"))
+            .when(broken).sendMessage(any(MimeMessage.class), any(Address[].class));
+        sender = new PooledJavaMailSender(new SmtpTransportPoolSettings(0, 2, Duration.ofMillis(100),
+            Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO)) {
+            @Override
+            protected Transport connectTransport() throws MessagingException {
+                if (++connections == 1) {
+                    return broken;
+                }
+                throw new AuthenticationFailedException("535 Authentication failed");
+            }
+        };
+        MimeMessage first = message("a@teste.com");
+        MimeMessage second = message("b@teste.com");
+
+        // Act
+        MailSendException exception = assertThrows(MailSendException.class, () -> sender.send(first, second));
+
+        // Assert
+        assertEquals(2, connections);
+        assertInstanceOf(AuthenticationFailedException.class, exception.getCause());
+        assertEquals(List.of(first, second), List.copyOf(exception.getFailedMessages().keySet()));
+        assertEquals("Connection reset", exception.getFailedMessages().get(first).getMessage());
+        assertInstanceOf(AuthenticationFailedException.class, exception.getFailedMessages().get(second));
+    }
+
+    @Test
+    @DisplayName("Deve reportar a falha quando o servidor estiver indisponível")
+    void shouldReportFailureWhenServerUnavailable() throws MessagingException {
+        // Arrange
+        Transport transport = mock(Transport.class);
+        doThrow(new MessagingException("Connection reset"))
+            .when(transport).sendMessage(any(MimeMessage.class), any(Address[].class));
+        transports.add(transport);
+        MimeMessage message = message("a@teste.com");
+
+        // Act & Assert
+        MailSendException exception = assertThrows(MailSendException.class, () -> sender.send(message));
+        assertTrue(exception.getFailedMessages().containsKey(message));
+        assertEquals(0, sender.getTransportPool().getActiveCount());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a conexão quando o anexo passar do limite no meio do DATA")
+    void shouldDiscardConnectionWhenAttachmentLimitBreaksData() throws IOException {
+        try (SmtpStub stub = new SmtpStub()) {
+            // Arrange
+            SmtpTransportPoolSettings settings = new SmtpTransportPoolSettings(0, 1, Duration.ofSeconds(1),
+                Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO);
+            PooledJavaMailSender realSender = new PooledJavaMailSender(settings);
+            realSender.setHost("127.0.0.1");
+            realSender.setPort(stub.port());
+            Properties properties = new Properties();
+            properties.setProperty("mail.smtp.connectiontimeout", "3000");
+            properties.setProperty("mail.smtp.timeout", "3000");
+            realSender.setJavaMailProperties(properties);
+            EmailNotificationGatewayImpl gateway = new EmailNotificationGatewayImpl(realSender, "no-reply@fiap.com.br");
+            List<EmailAttachment> attachments = new AttachmentLimits(10, 1024, 1L << 20).enforce(List.of(
+                new EmailAttachment("grande.bin", "application/octet-stream", EmailAttachment.UNKNOWN_SIZE,
+                    () -> new ByteArrayInputStream(new byte[64 * 1024]))));
+
+            try {
+                // Act
+                assertThrows(AttachmentTooLargeException.class,
+                    () -> gateway.sendEmail("a@teste.com", "Assunto", "Corpo", attachments));
+                long start = System.nanoTime();
+                gateway.sendEmail("b@teste.com", "Assunto", "Corpo");
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                // Assert
+                assertTrue(elapsed.compareTo(Duration.ofSeconds(2)) < 0, "O envio seguinte esperou " + elapsed);
+                assertEquals(List.of("b@teste.com"), stub.delivered);
+                assertEquals(2, stub.connections.get());
+                assertEquals(0, realSender.getTransportPool().getActiveCount());
+            } finally {
+                realSender.destroy();
+            }
+        }
+    }
+
+    // Servidor SMTP mínimo em um socket de verdade: aceita tudo e guarda os destinatários de cada DATA concluído
+    private static final class SmtpStub implements AutoCloseable {
+
+        private final ServerSocket server;
+
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private SmtpStub() throws IOException {
+            this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "smtp-stub");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private int port() {
+            return server.getLocalPort();
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    connections.incrementAndGet();
+                    Thread session = new Thread(() -> serve(socket), "smtp-stub-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+                reply(out, "220 stub ESMTP");
+                List<String> recipients = new ArrayList<>();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase(Locale.ROOT);
+                    if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                        reply(out, "250 stub");
+                    } else if (command.startsWith("MAIL")) {
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("RCPT")) {
+                        recipients.add(line.substring(line.indexOf('<') + 1, line.indexOf('>')));
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("DATA")) {
+                        reply(out, "354 Go ahead");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Conteúdo da mensagem
+                        }
+                        if (line == null) {
+                            // Conexão fechada no meio do DATA: nada foi entregue
+                            return;
+                        }
+                        delivered.addAll(recipients);
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else {
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // Cliente desconectou
+            }
+        }
+
+        private static void reply(Writer out, String line) throws IOException {
+            out.write(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.fiap.notification_service.core.gateways.notification.smtp;
+
+import com.fiap.notification_service.core.exceptions.EmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.PermanentEmailDeliveryException;
+import com.fiap.notification_service.core.exceptions.TransientEmailDeliveryException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpFailureClassifierTest {
+
+    @Test
+    @DisplayName("Deve classificar resposta 4xx como falha temporária")
+    void shouldClassify4xxAsTransient() {
+        // Arrange
+        SMTPSendFailedException smtp = new SMTPSendFailedException("DATA", 451, "451 Try again later", null, null, null, null);
+        MailSendException failure = new MailSendException("Falha", smtp);
+
+        // Act
+        EmailDeliveryException result = SmtpFailureClassifier.classify(failure);
+
+        // Assert
+        assertInstanceOf(TransientEmailDeliveryException.class, result);
+        assertEquals(451, result.getReplyCode());
+    }
+
+    @Test
+    @DisplayName("Deve classificar resposta 5xx de destinatário como falha permanente")
+    void shouldClassify5xxAsPermanent() throws Exception {
+        // Arrange
+        SMTPAddressFailedException address = new SMTPAddressFailedException(
+            new InternetAddress("inexistente@teste.com"), "RCPT TO", 550, "550 No such user");
+        MessagingException wrapper = new MessagingException("Invalid Addresses", address);
+        MailSendException failure = new MailSendException(Map.of(new Object(), wrapper));
+
+        // Act
+        EmailDeliveryException result = SmtpFailureClassifier.classify(failure);
+
+        // Assert
+        assertInstanceOf(PermanentEmailDeliveryException.class, result);
+        assertEquals(550, result.getReplyCode());
+    }
+
+    @Test
+    @DisplayName("Deve tratar falha de autenticação como permanente")
+    void shouldClassifyAuthenticationFailureAsPermanent() {
+        // Act
+        EmailDeliveryException result = SmtpFailureClassifier.classify(new MailAuthenticationException("535 Bad credentials"));
+
+        // Assert
+        assertInstanceOf(PermanentEmailDeliveryException.class, result);
+        assertNull(result.getReplyCode());
+    }
+
+    @Test
+    @DisplayName("Deve tratar falha de conexão sem código SMTP como temporária")
+    void shouldClassifyConnectionFailureAsTransient() {
+        // Act
+        EmailDeliveryException result = SmtpFailureClassifier.classify(
+            new MailSendException("Mail server connection failed", new MessagingException("Connection refused")));
+
+        // Assert
+        assertInstanceOf(TransientEmailDeliveryException.class, result);
+        assertNull(result.getReplyCode());
+    }
+}
@@ -0,0 +1,144 @@
+package com.fiap.notification_service.core.gateways.notification.smtp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SmtpTransportPoolTest {
+
+    private final List<Transport> connected = new ArrayList<>();
+
+    private SmtpTransportPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private SmtpTransportPool.TransportConnector connector() {
+        return () -> {
+            Transport transport = mock(Transport.class);
+            lenient().when(transport.isConnected()).thenReturn(true);
+            connected.add(transport);
+            return transport;
+        };
+    }
+
+    private SmtpTransportPoolSettings settings(int minIdle, int maxTotal, Duration validationInterval) {
+        return new SmtpTransportPoolSettings(minIdle, maxTotal, Duration.ofMillis(100),
+            Duration.ZERO, validationInterval, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar a mesma conexão entre envios")
+    void shouldReuseReleasedTransport() throws MessagingException {
+        // Arrange
+        pool = new SmtpTransportPool(connector(), settings(0, 2, Duration.ofMinutes(1)));
+
+        // Act
+        Transport first = pool.borrow();
+        pool.release(first);
+        Transport second = pool.borrow();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, connected.size());
+        assertEquals(1, pool.getActiveCount());
+        verify(first, never()).isConnected();
+    }
+
+    @Test
+    @DisplayName("Deve limitar o número de conexões ao max-total")
+    void shouldFailWhenPoolIsExhausted() throws MessagingException {
+        // Arrange
+        pool = new SmtpTransportPool(connector(), settings(0, 1, Duration.ofMinutes(1)));
+        pool.borrow();
+
+        // Act & Assert
+        MessagingException exception = assertThrows(MessagingException.class, () -> pool.borrow());
+        assertTrue(exception.getMessage().contains("Tempo esgotado"));
+        assertEquals(1, connected.size());
+    }
+
+    @Test
+    @DisplayName("Deve reconectar quando o NOOP da conexão ociosa falhar")
+    void shouldReconnectWhenNoopValidationFails() throws MessagingException {
+        // Arrange
+        pool = new SmtpTransportPool(connector(), settings(0, 1, Duration.ZERO));
+        Transport stale = pool.borrow();
+        pool.release(stale);
+        when(stale.isConnected()).thenReturn(false);
+
+        // Act
+        Transport fresh = pool.borrow();
+
+        // Assert
+        assertNotSame(stale, fresh);
+        verify(stale).close();
+        assertEquals(1, pool.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Deve descartar conexões ociosas acima do mínimo e repor o mínimo")
+    void shouldEvictIdleTransportsAndKeepMinIdle() throws MessagingException {
+        // Arrange
+        pool = new SmtpTransportPool(connector(), settings(1, 3, Duration.ofMinutes(1)));
+        Transport a = pool.borrow();
+        Transport b = pool.borrow();
+        pool.release(a);
+        pool.release(b);
+
+        // Act
+        pool.maintain();
+
+        // Assert
+        assertEquals(1, pool.getTotalCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga quando a conexão for invalidada")
+    void shouldReleasePermitOnInvalidate() throws MessagingException {
+        // Arrange
+        pool = new SmtpTransportPool(connector(), settings(0, 1, Duration.ofMinutes(1)));
+        Transport broken = pool.borrow();
+
+        // Act
+        pool.invalidate(broken);
+        Transport next = pool.borrow();
+
+        // Assert
+        verify(broken).close();
+        assertNotSame(broken, next);
+        assertEquals(2, connected.size());
+    }
+
+    @Test
+    @DisplayName("Deve publicar as métricas do pool")
+    void shouldBindPoolMetrics() throws MessagingException {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pool = new SmtpTransportPool(connector(), settings(0, 2, Duration.ofMinutes(1)));
+        pool.bindTo(registry);
+
+        // Act
+        pool.borrow();
+
+        // Assert
+        assertEquals(1.0, registry.get("mail.smtp.pool.connections").tag("state", "active").gauge().value());
+        assertEquals(1.0, registry.get("mail.smtp.pool.connections.created").functionCounter().count());
+        assertEquals(1, registry.get("mail.smtp.pool.borrow").functionTimer().count());
+    }
+}
@@ -0,0 +1,141 @@
+package com.fiap.notification_service.core.gateways.notification.smtp.mx;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingMxResolverTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private CachingMxResolver resolver(MxResolver delegate) {
+        return new CachingMxResolver(domain -> {
+            lookups.incrementAndGet();
+            return delegate.resolve(domain);
+        }, Duration.ofSeconds(60), Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofSeconds(30), 100, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static MxLookup found(Duration ttl) {
+        return MxLookup.found(List.of(new MxRecord("mx.fiap.com.br", 10)), ttl);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar a resposta até o TTL do registro expirar")
+    void shouldHonorRecordTtl() throws IOException {
+        // Arrange
+        CachingMxResolver cache = resolver(domain -> found(Duration.ofMinutes(10)));
+
+        // Act
+        cache.resolve("fiap.com.br");
+        advance(Duration.ofMinutes(9));
+        cache.resolve("FIAP.com.br");
+        advance(Duration.ofMinutes(2));
+        cache.resolve("fiap.com.br");
+
+        // Assert
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Deve limitar o TTL ao mínimo e ao máximo configurados")
+    void shouldClampTtl() throws IOException {
+        // Arrange
+        CachingMxResolver shortTtl = resolver(domain -> found(Duration.ofSeconds(1)));
+
+        // Act
+        shortTtl.resolve("fiap.com.br");
+        advance(Duration.ofSeconds(30));
+        shortTtl.resolve("fiap.com.br");
+        advance(Duration.ofSeconds(31));
+        shortTtl.resolve("fiap.com.br");
+
+        // Assert
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Deve manter domínios inexistentes em cache negativo")
+    void shouldCacheNegativeAnswers() throws IOException {
+        // Arrange
+        CachingMxResolver cache = resolver(domain -> MxLookup.notFound(Duration.ZERO));
+
+        // Act
+        MxLookup first = cache.resolve("naoexiste.invalid");
+        advance(Duration.ofMinutes(4));
+        cache.resolve("naoexiste.invalid");
+
+        // Assert
+        assertFalse(first.acceptsMail());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Deve guardar falhas de consulta por error-ttl")
+    void shouldCacheLookupFailures() {
+        // Arrange
+        CachingMxResolver cache = resolver(domain -> {
+            throw new IOException("SERVFAIL");
+        });
+
+        // Act
+        assertThrows(IOException.class, () -> cache.resolve("fiap.com.br"));
+        assertThrows(IOException.class, () -> cache.resolve("fiap.com.br"));
+        advance(Duration.ofSeconds(31));
+        assertThrows(IOException.class, () -> cache.resolve("fiap.com.br"));
+
+        // Assert
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma única consulta para pedidos simultâneos do mesmo domínio")
+    void shouldCoalesceConcurrentLookups() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CachingMxResolver cache = resolver(domain -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return found(Duration.ofMinutes(10));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // Act
+            List<Future<MxLookup>> results = List.of(
+                executor.submit(() -> cache.resolve("fiap.com.br")),
+                executor.submit(() -> cache.resolve("fiap.com.br")),
+                executor.submit(() -> cache.resolve("fiap.com.br")),
+                executor.submit(() -> cache.resolve("fiap.com.br")));
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<MxLookup> result : results) {
+                assertEquals("mx.fiap.com.br", result.get().records().get(0).host());
+            }
+
+            // Assert
+            assertEquals(1, lookups.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
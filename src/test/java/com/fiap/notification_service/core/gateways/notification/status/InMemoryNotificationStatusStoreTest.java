@@ -0,0 +1,111 @@
+package com.fiap.notification_service.core.gateways.notification.status;
+
+import com.fiap.notification_service.core.domain.notification.EmailNotification;
+import com.fiap.notification_service.core.domain.notification.NotificationQuery;
+import com.fiap.notification_service.core.domain.notification.NotificationRecord;
+import com.fiap.notification_service.core.domain.notification.NotificationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryNotificationStatusStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private InMemoryNotificationStatusStore store(int maxEntries, int queueCapacity) {
+        return new InMemoryNotificationStatusStore(maxEntries, Duration.ofHours(1), queueCapacity, 2, now::get, false);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as mudanças de status só na gravação em lote, mantendo o horário de aceite")
+    void shouldApplyStatusChangesOnFlush() {
+        // Arrange
+        InMemoryNotificationStatusStore store = store(10, 10);
+        EmailNotification notification = EmailNotification.create("cliente@teste.com", "Assunto", "Corpo");
+        store.record(notification, NotificationStatus.QUEUED);
+        now.addAndGet(100);
+        store.record(notification, NotificationStatus.SENDING, 1, null);
+        store.record(notification, NotificationStatus.QUEUED, 1, "421 tente mais tarde");
+        now.addAndGet(100);
+        store.record(notification, NotificationStatus.SENT, 2, null);
+
+        // Act
+        boolean visibleBeforeFlush = store.find(notification.id()).isPresent();
+        store.flush();
+        NotificationRecord record = store.find(notification.id()).orElseThrow();
+
+        // Assert
+        assertFalse(visibleBeforeFlush);
+        assertEquals(NotificationStatus.SENT, record.status());
+        assertEquals(2, record.attempts());
+        assertNull(record.error());
+        assertEquals(Instant.ofEpochMilli(1_000_000), record.acceptedAt());
+        assertEquals(Instant.ofEpochMilli(1_000_200), record.updatedAt());
+    }
+
+    @Test
+    @DisplayName("Deve buscar por destinatário, status e período, das mais recentes para as mais antigas")
+    void shouldSearchByRecipientStatusAndWindow() {
+        // Arrange
+        InMemoryNotificationStatusStore store = store(100, 100);
+        EmailNotification[] notifications = new EmailNotification[6];
+        for (int i = 0; i < notifications.length; i++) {
+            notifications[i] = EmailNotification.create(i % 2 == 0 ? "Par@Teste.com" : "impar@teste.com", "N" + i, "Corpo");
+            store.record(notifications[i], i == 4 ? NotificationStatus.FAILED : NotificationStatus.SENT);
+            now.addAndGet(1_000);
+        }
+        store.flush();
+        Instant start = Instant.ofEpochMilli(1_000_000);
+
+        // Act
+        List<NotificationRecord> byRecipient = store.search(new NotificationQuery("par@teste.com", null, null, null), 0, 10);
+        List<NotificationRecord> window = store.search(
+            new NotificationQuery(null, null, start.plusSeconds(1), start.plusSeconds(4)), 0, 10);
+        List<NotificationRecord> secondPage = store.search(
+            new NotificationQuery(null, NotificationStatus.SENT, null, null), 1, 2);
+
+        // Assert
+        assertEquals(List.of("N4", "N2", "N0"), byRecipient.stream().map(NotificationRecord::subject).toList());
+        assertEquals(List.of("N4", "N3", "N2", "N1"), window.stream().map(NotificationRecord::subject).toList());
+        assertEquals(List.of("N2", "N1"), secondPage.stream().map(NotificationRecord::subject).toList());
+        assertEquals(5, store.count(new NotificationQuery(null, NotificationStatus.SENT, null, null)));
+        assertEquals(0, store.count(new NotificationQuery("ninguem@teste.com", null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Deve descartar os registros mais antigos e os eventos que não couberem na fila")
+    void shouldEvictOldestAndDropOverflowingEvents() {
+        // Arrange
+        InMemoryNotificationStatusStore store = store(2, 3);
+        EmailNotification first = EmailNotification.create("a@teste.com", "Primeira", "Corpo");
+        EmailNotification second = EmailNotification.create("a@teste.com", "Segunda", "Corpo");
+        EmailNotification third = EmailNotification.create("b@teste.com", "Terceira", "Corpo");
+        EmailNotification dropped = EmailNotification.create("c@teste.com", "Descartada", "Corpo");
+
+        // Act
+        store.record(first, NotificationStatus.SENT);
+        store.record(second, NotificationStatus.SENT);
+        store.record(third, NotificationStatus.SENT);
+        store.record(dropped, NotificationStatus.SENT);
+        store.flush();
+        now.addAndGet(Duration.ofHours(2).toMillis());
+        EmailNotification recent = EmailNotification.create("d@teste.com", "Recente", "Corpo");
+        store.record(recent, NotificationStatus.QUEUED);
+        store.flush();
+
+        // Assert
+        assertTrue(store.find(first.id()).isEmpty());
+        assertTrue(store.find(second.id()).isEmpty());
+        assertTrue(store.find(third.id()).isEmpty());
+        assertTrue(store.find(dropped.id()).isEmpty());
+        assertEquals(1, store.size());
+        assertEquals(0, store.count(new NotificationQuery("a@teste.com", null, null, null)));
+        assertEquals(NotificationStatus.QUEUED, store.find(recent.id()).orElseThrow().status());
+    }
+}
@@ -0,0 +1,46 @@
+package com.fiap.notification_service.core.gateways.notification.template;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledTemplateTest {
+
+    private String render(String source, Map<String, ?> values) {
+        StringBuilder out = new StringBuilder();
+        CompiledTemplate.compile(source).render(values, out);
+        return out.toString();
+    }
+
+    @Test
+    @DisplayName("Deve substituir as variáveis aplicando escape de HTML")
+    void shouldRenderVariablesWithHtmlEscape() {
+        String html = render("<p>Olá {{ nome }}, pedido #{{pedido}}</p>",
+            Map.of("nome", "<Ana & Cia>", "pedido", 42));
+
+        assertEquals("<p>Olá &lt;Ana &amp; Cia&gt;, pedido #42</p>", html);
+    }
+
+    @Test
+    @DisplayName("Deve inserir sem escape as variáveis marcadas com &")
+    void shouldRenderRawVariables() {
+        assertEquals("<div><b>ok</b></div>", render("<div>{{&conteudo}}</div>", Map.of("conteudo", "<b>ok</b>")));
+    }
+
+    @Test
+    @DisplayName("Deve renderizar variáveis ausentes como vazio")
+    void shouldRenderMissingVariablesAsEmpty() {
+        assertEquals("Olá !", render("Olá {{nome}}!", Map.of()));
+        assertEquals("sem variáveis", render("sem variáveis", null));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar templates com marcação incompleta")
+    void shouldRejectUnclosedPlaceholder() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Olá {{nome"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Olá {{ }}"));
+    }
+}
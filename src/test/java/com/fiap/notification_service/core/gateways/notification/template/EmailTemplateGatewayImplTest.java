@@ -0,0 +1,87 @@
+package com.fiap.notification_service.core.gateways.notification.template;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateGatewayImplTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Deve renderizar template do classpath pelo id")
+    void shouldRenderClasspathTemplate() {
+        // Arrange
+        EmailTemplateGatewayImpl gateway = new EmailTemplateGatewayImpl(null, 10, Duration.ofSeconds(5));
+
+        // Act
+        String html = gateway.render("order-status", Map.of("orderId", "123", "status", "PRONTO"));
+
+        // Assert
+        assertTrue(html.contains("#123"));
+        assertTrue(html.contains("PRONTO"));
+    }
+
+    @Test
+    @DisplayName("Deve compilar o template uma vez e reutilizar do cache")
+    void shouldCacheCompiledTemplate() {
+        EmailTemplateGatewayImpl gateway = new EmailTemplateGatewayImpl(null, 10, Duration.ofSeconds(5));
+
+        assertSame(gateway.resolve("order-status"), gateway.resolve("order-status"));
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o template do diretório quando o arquivo mudar")
+    void shouldHotReloadChangedTemplate() throws IOException {
+        // Arrange
+        Path file = directory.resolve("boas-vindas.html");
+        Files.writeString(file, "Olá {{nome}}");
+        EmailTemplateGatewayImpl gateway = new EmailTemplateGatewayImpl(directory, 10, Duration.ZERO);
+        assertEquals("Olá Ana", gateway.render("boas-vindas", Map.of("nome", "Ana")));
+
+        // Act
+        Files.writeString(file, "Bem-vinda, {{nome}}!");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+
+        // Assert
+        assertEquals("Bem-vinda, Ana!", gateway.render("boas-vindas", Map.of("nome", "Ana")));
+    }
+
+    @Test
+    @DisplayName("Deve limitar o número de templates em cache")
+    void shouldBoundCacheSize() throws IOException {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(directory.resolve("t" + i + ".html"), "template " + i);
+        }
+        EmailTemplateGatewayImpl gateway = new EmailTemplateGatewayImpl(directory, 2, Duration.ofMinutes(1));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            gateway.render("t" + i, Map.of());
+        }
+
+        // Assert
+        assertEquals(2, gateway.getCacheSize());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar template inexistente ou id inválido")
+    void shouldRejectUnknownOrInvalidTemplate() {
+        EmailTemplateGatewayImpl gateway = new EmailTemplateGatewayImpl(directory, 10, Duration.ZERO);
+
+        assertThrows(IllegalArgumentException.class, () -> gateway.render("inexistente", Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> gateway.render("../application", Map.of()));
+    }
+}